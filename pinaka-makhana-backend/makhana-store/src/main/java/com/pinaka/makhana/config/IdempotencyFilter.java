@@ -0,0 +1,143 @@
+package com.pinaka.makhana.config;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.pinaka.makhana.util.IdempotencyStore;
+import com.pinaka.makhana.util.IdempotencyStore.Claim;
+import com.pinaka.makhana.util.IdempotencyStore.StoredResponse;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Honours the Idempotency-Key header on mutating order, cart and coupon endpoints.
+ * The first request with a key executes; retries and concurrent duplicates replay
+ * the stored status, content type and body byte-for-byte.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+	public static final String HEADER = "Idempotency-Key";
+	public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+	private static final List<String> PATHS = List.of("/api/orders/place", "/api/cart", "/api/coupons");
+	private static final int MAX_KEY_LENGTH = 255;
+
+	private final IdempotencyStore store;
+	private final long waitMillis;
+
+	public IdempotencyFilter(IdempotencyStore store,
+			@Value("${app.idempotency.wait-ms:30000}") long waitMillis) {
+		this.store = store;
+		this.waitMillis = waitMillis;
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		String method = request.getMethod();
+		if ("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method)) {
+			return true;
+		}
+		String key = request.getHeader(HEADER);
+		if (key == null || key.isBlank()) {
+			return true;
+		}
+		String path = request.getRequestURI();
+		return PATHS.stream().noneMatch(path::startsWith);
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		String key = request.getHeader(HEADER).trim();
+		if (key.length() > MAX_KEY_LENGTH) {
+			response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Idempotency-Key too long");
+			return;
+		}
+
+		String scopedKey = scope(request) + "|" + key;
+		String fingerprint = request.getMethod() + " " + request.getRequestURI() + "?"
+				+ (request.getQueryString() != null ? request.getQueryString() : "");
+
+		// A duplicate whose original failed gets one more chance to become the owner
+		for (int attempt = 0; attempt < 2; attempt++) {
+			Claim claim = store.claim(scopedKey, fingerprint);
+			if (claim == null) {
+				response.setHeader("Retry-After", "1");
+				response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Too many requests in progress");
+				return;
+			}
+			if (!claim.matches(fingerprint)) {
+				response.sendError(422, "Idempotency-Key reused for a different request");
+				return;
+			}
+			if (claim.isOwner()) {
+				execute(scopedKey, claim, request, response, chain);
+				return;
+			}
+
+			StoredResponse stored;
+			try {
+				stored = claim.await(waitMillis);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+				return;
+			}
+			if (stored != null) {
+				replay(stored, response);
+				return;
+			}
+		}
+		response.sendError(HttpServletResponse.SC_CONFLICT, "Request with this Idempotency-Key is still in progress");
+	}
+
+	private void execute(String scopedKey, Claim claim, HttpServletRequest request, HttpServletResponse response,
+			FilterChain chain) throws ServletException, IOException {
+		ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+		boolean completed = false;
+		try {
+			chain.doFilter(request, wrapper);
+			if (wrapper.getStatus() < 500) {
+				store.complete(claim,
+						new StoredResponse(wrapper.getStatus(), wrapper.getContentType(), wrapper.getContentAsByteArray()));
+				completed = true;
+			}
+		} finally {
+			if (!completed) {
+				store.abandon(scopedKey, claim);
+			}
+			wrapper.copyBodyToResponse();
+		}
+	}
+
+	private void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+		response.setStatus(stored.status());
+		if (stored.contentType() != null) {
+			response.setContentType(stored.contentType());
+		}
+		response.setHeader(REPLAYED_HEADER, "true");
+		response.setContentLength(stored.body().length);
+		response.getOutputStream().write(stored.body());
+	}
+
+	private String scope(HttpServletRequest request) {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (authentication != null && authentication.isAuthenticated() && authentication.getName() != null
+				&& !"anonymousUser".equals(authentication.getName())) {
+			return "user:" + authentication.getName();
+		}
+		return "ip:" + request.getRemoteAddr();
+	}
+
+}
@@ -57,18 +57,17 @@ public class JwtFilter extends GenericFilter {
 		if (authHeader != null && authHeader.startsWith("Bearer ")) {
 			String jwt = authHeader.substring(7);
 			try {
-				if (jwtUtil.validateToken(jwt)) {
-					String email = jwtUtil.extractEmail(jwt);
+				// Verified once; controllers reading the same token get the cached result
+				String email = jwtUtil.verify(jwt).email();
 
-					User user = userRepository.findByEmail(email).orElseThrow();
-					List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority(user.getRole()));
+				User user = userRepository.findByEmail(email).orElseThrow();
+				List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority(user.getRole()));
 
-					UsernamePasswordAuthenticationToken token = new UsernamePasswordAuthenticationToken(email, null,
-							authorities);
-					token.setDetails(new WebAuthenticationDetailsSource().buildDetails(http));
+				UsernamePasswordAuthenticationToken token = new UsernamePasswordAuthenticationToken(email, null,
+						authorities);
+				token.setDetails(new WebAuthenticationDetailsSource().buildDetails(http));
 
-					SecurityContextHolder.getContext().setAuthentication(token);
-				}
+				SecurityContextHolder.getContext().setAuthentication(token);
 			} catch (Exception e) {
 				System.err.println("Invalid JWT: " + e.getMessage());
 			}
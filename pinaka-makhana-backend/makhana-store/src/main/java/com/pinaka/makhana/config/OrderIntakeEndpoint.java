@@ -0,0 +1,28 @@
+package com.pinaka.makhana.config;
+
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import com.pinaka.makhana.service.OrderIntakeService;
+
+/**
+ * Actuator view of the async order intake: queue depth, batch sizes, commit latency.
+ */
+@Component
+@Endpoint(id = "orderintake")
+public class OrderIntakeEndpoint {
+
+    private final OrderIntakeService orderIntakeService;
+
+    public OrderIntakeEndpoint(OrderIntakeService orderIntakeService) {
+        this.orderIntakeService = orderIntakeService;
+    }
+
+    @ReadOperation
+    public Map<String, Object> intake() {
+        return orderIntakeService.getIntakeStats();
+    }
+}
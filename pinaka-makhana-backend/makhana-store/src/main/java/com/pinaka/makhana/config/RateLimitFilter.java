@@ -0,0 +1,130 @@
+package com.pinaka.makhana.config;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.pinaka.makhana.util.JwtUtil;
+import com.pinaka.makhana.util.RateLimiter;
+import com.pinaka.makhana.util.RateLimiter.Policy;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Throttles the unauthenticated endpoints (login, registration, coupons) per
+ * client before any JWT, BCrypt or database work happens. Clients are keyed by
+ * user id when they send a valid token, otherwise by remote address; behind a
+ * proxy that address comes from server.forward-headers-strategy, never from a
+ * raw header a client could forge. Rejected requests get 429 with Retry-After.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+	private record Route(Policy policy, String method, String path, boolean prefix, Counter allowed,
+			Counter rejected) {
+
+		boolean matches(String requestMethod, String requestPath) {
+			return (method == null || method.equals(requestMethod))
+					&& (prefix ? requestPath.startsWith(path) : requestPath.equals(path));
+		}
+	}
+
+	private final RateLimiter limiter;
+	private final JwtUtil jwtUtil;
+	private final boolean enabled;
+	private final List<Route> routes;
+
+	public RateLimitFilter(JwtUtil jwtUtil, MeterRegistry meterRegistry,
+			@Value("${app.ratelimit.enabled:true}") boolean enabled,
+			@Value("${app.ratelimit.max-buckets:100000}") int maxBuckets,
+			@Value("${app.ratelimit.login.capacity:10}") int loginCapacity,
+			@Value("${app.ratelimit.login.refill-per-minute:10}") int loginRefill,
+			@Value("${app.ratelimit.register.capacity:5}") int registerCapacity,
+			@Value("${app.ratelimit.register.refill-per-minute:5}") int registerRefill,
+			@Value("${app.ratelimit.coupons.capacity:60}") int couponsCapacity,
+			@Value("${app.ratelimit.coupons.refill-per-minute:300}") int couponsRefill) {
+		this.limiter = new RateLimiter(maxBuckets);
+		this.jwtUtil = jwtUtil;
+		this.enabled = enabled;
+		this.routes = List.of(
+				throttle(meterRegistry, Policy.perMinute("login", loginCapacity, loginRefill), "POST", "/api/auth/login",
+						false),
+				throttle(meterRegistry, Policy.perMinute("register", registerCapacity, registerRefill), "POST",
+						"/api/auth/register", false),
+				throttle(meterRegistry, Policy.perMinute("coupons", couponsCapacity, couponsRefill), null, "/api/coupons",
+						true));
+		meterRegistry.gauge("ratelimit.buckets", limiter, RateLimiter::size);
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return !enabled || "OPTIONS".equals(request.getMethod()) || route(request) == null;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		Route route = route(request);
+		long waitNanos = limiter.tryAcquire(route.policy(), client(request), System.nanoTime());
+		if (waitNanos > 0) {
+			route.rejected().increment();
+			long seconds = Math.max(1L, (waitNanos + 999_999_999L) / 1_000_000_000L);
+			response.setHeader("Retry-After", String.valueOf(seconds));
+			response.sendError(429, "Too many requests, retry in " + seconds + "s");
+			return;
+		}
+		route.allowed().increment();
+		chain.doFilter(request, response);
+	}
+
+	@Scheduled(fixedDelayString = "${app.ratelimit.sweep-interval-ms:60000}")
+	public void evictIdleBuckets() {
+		limiter.evictIdle(System.nanoTime());
+	}
+
+	private Route route(HttpServletRequest request) {
+		String method = request.getMethod();
+		String path = request.getRequestURI();
+		for (Route route : routes) {
+			if (route.matches(method, path)) {
+				return route;
+			}
+		}
+		return null;
+	}
+
+	private String client(HttpServletRequest request) {
+		String authHeader = request.getHeader("Authorization");
+		if (authHeader != null && authHeader.startsWith("Bearer ")) {
+			try {
+				// Only a verified token may choose its bucket; anything else falls back to the address
+				Long userId = jwtUtil.extractUserId(authHeader.substring(7));
+				if (userId != null) {
+					return "user:" + userId;
+				}
+			} catch (RuntimeException e) {
+				// Invalid or expired token: treated as anonymous
+			}
+		}
+		return "ip:" + request.getRemoteAddr();
+	}
+
+	private static Route throttle(MeterRegistry meterRegistry, Policy policy, String method, String path,
+			boolean prefix) {
+		return new Route(policy, method, path, prefix,
+				Counter.builder("ratelimit.requests").tag("policy", policy.name()).tag("outcome", "allowed")
+						.register(meterRegistry),
+				Counter.builder("ratelimit.requests").tag("policy", policy.name()).tag("outcome", "rejected")
+						.register(meterRegistry));
+	}
+
+}
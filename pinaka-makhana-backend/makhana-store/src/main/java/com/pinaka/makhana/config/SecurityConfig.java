@@ -14,15 +14,19 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import java.util.Arrays;
 
+import jakarta.servlet.DispatcherType;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity(prePostEnabled = true)
 public class SecurityConfig {
 
 	private final JwtFilter jwtFilter;
+	private final RateLimitFilter rateLimitFilter;
 
-	public SecurityConfig(JwtFilter jwtFilter) {
+	public SecurityConfig(JwtFilter jwtFilter, RateLimitFilter rateLimitFilter) {
 		this.jwtFilter = jwtFilter;
+		this.rateLimitFilter = rateLimitFilter;
 	}
 
 	@Bean
@@ -30,10 +34,15 @@ public class SecurityConfig {
 		http.csrf(csrf -> csrf.disable())
 			.cors(cors -> cors.configurationSource(corsConfigurationSource()))
 	    	.authorizeHttpRequests(auth -> auth
+	    		// Streaming responses (SSE, exports) re-dispatch when they finish; the original request was already authorized
+	    		.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
 	    		.requestMatchers("/api/auth/**", "/api/products/**", "/api/coupons/**", "/api/health", "/api/", "/api/ping", "/error").permitAll()
+	    		.requestMatchers("/actuator/**").hasRole("ADMIN")
 	    		.anyRequest().authenticated()
 	    	)
-	    	.addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
+	    	.addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+	    	// Throttled clients are turned away before any token or password work
+	    	.addFilterBefore(rateLimitFilter, JwtFilter.class);
 
 	    return http.build();
 	}
@@ -0,0 +1,40 @@
+package com.pinaka.makhana.controller;
+
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.pinaka.makhana.service.AbandonedCartService;
+
+@RestController
+@RequestMapping("/api/admin/carts")
+@CrossOrigin(origins = "*")
+public class AdminCartController {
+
+    private final AbandonedCartService abandonedCartService;
+
+    public AdminCartController(AbandonedCartService abandonedCartService) {
+        this.abandonedCartService = abandonedCartService;
+    }
+
+    // 🛒 Abandoned cart summary
+    @GetMapping("/abandoned")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getAbandonedCartSummary() {
+        return ResponseEntity.ok(abandonedCartService.getAbandonedCartSummary());
+    }
+
+    // 🧹 Run the sweeper now
+    @PostMapping("/abandoned/sweep")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> sweepAbandonedCarts() {
+        int deleted = abandonedCartService.sweepAbandonedCarts();
+        return ResponseEntity.ok(Map.of("deleted", deleted));
+    }
+}
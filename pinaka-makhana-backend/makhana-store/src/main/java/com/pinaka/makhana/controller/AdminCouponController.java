@@ -0,0 +1,90 @@
+package com.pinaka.makhana.controller;
+
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.pinaka.makhana.service.CouponCodeService;
+import com.pinaka.makhana.service.CouponService;
+
+@RestController
+@RequestMapping("/api/admin/coupons")
+@CrossOrigin(origins = "*")
+public class AdminCouponController {
+
+    private final CouponService couponService;
+    private final CouponCodeService couponCodeService;
+
+    public AdminCouponController(CouponService couponService, CouponCodeService couponCodeService) {
+        this.couponService = couponService;
+        this.couponCodeService = couponCodeService;
+    }
+
+    // 🔎 Code lookup filter: size, false positive rate, rejected lookups
+    @GetMapping("/lookup-stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getCodeLookupStats() {
+        return ResponseEntity.ok(couponService.getCodeLookupStats());
+    }
+
+    // 🏭 Generate single-use campaign codes for a coupon template (runs in the background)
+    @PostMapping("/{couponId}/codes")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> generateCodes(@PathVariable Long couponId, @RequestParam int count) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(couponCodeService.startGeneration(couponId, count));
+    }
+
+    // ⏳ Progress of a generation job
+    @GetMapping("/code-jobs/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getCodeJob(@PathVariable Long jobId) {
+        return ResponseEntity.ok(couponCodeService.getJob(jobId));
+    }
+
+    // 📊 Issued vs redeemed campaign codes
+    @GetMapping("/{couponId}/codes/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getCodeStats(@PathVariable Long couponId) {
+        return ResponseEntity.ok(couponCodeService.getCodeStats(couponId));
+    }
+
+    // 📤 Campaign codes, one per line, for mail-merge or print
+    @GetMapping("/{couponId}/codes/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportCodes(@PathVariable Long couponId,
+            @RequestParam(defaultValue = "true") boolean unredeemedOnly,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 8192);
+                couponCodeService.exportCodes(couponId, unredeemedOnly, compressed);
+                compressed.finish();
+            } else {
+                couponCodeService.exportCodes(couponId, unredeemedOnly, out);
+            }
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.TEXT_PLAIN)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"coupon-" + couponId + "-codes.txt\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+}
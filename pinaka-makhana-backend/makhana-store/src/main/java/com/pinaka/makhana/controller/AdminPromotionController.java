@@ -0,0 +1,65 @@
+package com.pinaka.makhana.controller;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.pinaka.makhana.entity.Promotion;
+import com.pinaka.makhana.service.PromotionService;
+
+@RestController
+@RequestMapping("/api/admin/promotions")
+@CrossOrigin(origins = "*")
+public class AdminPromotionController {
+
+    private final PromotionService promotionService;
+
+    public AdminPromotionController(PromotionService promotionService) {
+        this.promotionService = promotionService;
+    }
+
+    // 🏷️ All promotions, including inactive and scheduled ones
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<Promotion>> getAllPromotions() {
+        return ResponseEntity.ok(promotionService.getAllPromotions());
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Promotion> getPromotion(@PathVariable Long id) {
+        return ResponseEntity.ok(promotionService.getPromotionById(id));
+    }
+
+    // ➕ Buy-X-get-Y, bundle or quantity tier, on one product or a whole category
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Promotion> createPromotion(@RequestBody Promotion promotion) {
+        return new ResponseEntity<>(promotionService.createPromotion(promotion), HttpStatus.CREATED);
+    }
+
+    @PutMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Promotion> updatePromotion(@PathVariable Long id, @RequestBody Promotion promotion) {
+        return ResponseEntity.ok(promotionService.updatePromotion(id, promotion));
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> deletePromotion(@PathVariable Long id) {
+        promotionService.deletePromotion(id);
+        return ResponseEntity.noContent().build();
+    }
+
+}
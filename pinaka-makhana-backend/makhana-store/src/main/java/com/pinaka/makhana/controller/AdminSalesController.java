@@ -0,0 +1,73 @@
+package com.pinaka.makhana.controller;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.pinaka.makhana.service.SalesRollupService;
+import com.pinaka.makhana.service.SalesRollupService.Dimension;
+import com.pinaka.makhana.service.SalesRollupService.Granularity;
+
+@RestController
+@RequestMapping("/api/admin/sales")
+@CrossOrigin(origins = "*")
+public class AdminSalesController {
+
+    private final SalesRollupService salesRollupService;
+
+    public AdminSalesController(SalesRollupService salesRollupService) {
+        this.salesRollupService = salesRollupService;
+    }
+
+    // 📊 Revenue today, yesterday, this week, this month and over the last 24 hours
+    @GetMapping("/overview")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getOverview() {
+        return ResponseEntity.ok(salesRollupService.getOverview());
+    }
+
+    // 📈 Time series of buckets, e.g. ?granularity=DAY&dimension=CATEGORY&key=CLASSIC
+    @GetMapping("/series")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<Map<String, Object>>> getSeries(
+            @RequestParam(defaultValue = "DAY") Granularity granularity,
+            @RequestParam(defaultValue = "TOTAL") Dimension dimension,
+            @RequestParam(required = false) String key,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(granularity == Granularity.HOUR ? 1 : 30);
+        return ResponseEntity.ok(salesRollupService.getSeries(granularity, dimension, key, start, end));
+    }
+
+    // 🏆 Best sellers by product, category or state over a window
+    @GetMapping("/top")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<Map<String, Object>>> getTopKeys(
+            @RequestParam(defaultValue = "DAY") Granularity granularity,
+            @RequestParam(defaultValue = "PRODUCT") Dimension dimension,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "10") int limit) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(30);
+        return ResponseEntity.ok(salesRollupService.getTopKeys(granularity, dimension, start, end, limit));
+    }
+
+    // 🔧 Recompute all rollups from orders (repair)
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> rebuild() {
+        return ResponseEntity.ok(salesRollupService.rebuild());
+    }
+}
@@ -1,6 +1,8 @@
 package com.pinaka.makhana.controller;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -11,12 +13,18 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.pinaka.makhana.dto.CouponSuggestion;
 import com.pinaka.makhana.entity.Coupon;
 import com.pinaka.makhana.service.CouponService;
+import com.pinaka.makhana.util.JwtUtil;
+
+import io.jsonwebtoken.JwtException;
 
 @RestController
 @RequestMapping("/api/coupons")
@@ -24,9 +32,11 @@ import com.pinaka.makhana.service.CouponService;
 public class CouponController {
 
     private final CouponService couponService;
+    private final JwtUtil jwtUtil;
 
-    public CouponController(CouponService couponService) {
+    public CouponController(CouponService couponService, JwtUtil jwtUtil) {
         this.couponService = couponService;
+        this.jwtUtil = jwtUtil;
     }
 
     @GetMapping
@@ -34,14 +44,23 @@ public class CouponController {
         return ResponseEntity.ok(couponService.getAllCoupons());
     }
 
+    // The ETag changes whenever a coupon window opens or closes, so clients can revalidate cheaply
     @GetMapping("/active")
-    public ResponseEntity<List<Coupon>> getActiveCoupons() {
-        return ResponseEntity.ok(couponService.getActiveCoupons());
+    public ResponseEntity<List<Coupon>> getActiveCoupons(WebRequest request) {
+        String eTag = couponService.getActiveCouponsETag();
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(couponService.getActiveCoupons());
     }
 
     @GetMapping("/first-time")
-    public ResponseEntity<List<Coupon>> getFirstTimeCoupons() {
-        return ResponseEntity.ok(couponService.getActiveCouponsForFirstTimeUsers());
+    public ResponseEntity<List<Coupon>> getFirstTimeCoupons(WebRequest request) {
+        String eTag = couponService.getActiveCouponsETag();
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(couponService.getActiveCouponsForFirstTimeUsers());
     }
 
     @GetMapping("/{id}")
@@ -51,11 +70,9 @@ public class CouponController {
 
     @GetMapping("/code/{code}")
     public ResponseEntity<Coupon> getCouponByCode(@PathVariable String code) {
-        try {
-            return ResponseEntity.ok(couponService.getCouponByCode(code));
-        } catch (RuntimeException e) {
-            return ResponseEntity.notFound().build();
-        }
+        return couponService.findCouponByCode(code)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @PostMapping
@@ -76,25 +93,52 @@ public class CouponController {
 
     @GetMapping("/validate")
     public ResponseEntity<Boolean> validateCoupon(
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
             @RequestParam String code,
             @RequestParam Double amount,
             @RequestParam(required = false, defaultValue = "false") Boolean firstTimeUser) {
-        boolean isValid = couponService.validateCoupon(code, amount, firstTimeUser);
+        boolean isValid = couponService.validateCoupon(code, amount, firstTimeUser(authHeader, firstTimeUser));
         return ResponseEntity.ok(isValid);
     }
 
     @GetMapping("/calculate")
     public ResponseEntity<Double> calculateDiscount(
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
             @RequestParam String code,
             @RequestParam Double amount,
             @RequestParam(required = false, defaultValue = "false") Boolean firstTimeUser) {
-        Double discount = couponService.calculateDiscount(code, amount, firstTimeUser);
+        Double discount = couponService.calculateDiscount(code, amount, firstTimeUser(authHeader, firstTimeUser));
         return ResponseEntity.ok(discount);
     }
     
-    @PostMapping("/increment-usage/{code}")
-    public ResponseEntity<Void> incrementCouponUsage(@PathVariable String code) {
-        couponService.incrementCouponUsage(code);
-        return ResponseEntity.ok().build();
+    // Best applicable coupon for a cart total plus ranked alternatives
+    @GetMapping("/best")
+    public ResponseEntity<Map<String, Object>> getBestCoupons(
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @RequestParam Double amount,
+            @RequestParam(required = false, defaultValue = "false") Boolean firstTimeUser,
+            @RequestParam(required = false, defaultValue = "5") int limit) {
+        List<CouponSuggestion> ranked = couponService.findBestCoupons(amount, firstTimeUser(authHeader, firstTimeUser),
+                limit + 1);
+        Map<String, Object> result = new HashMap<>();
+        result.put("amount", amount);
+        result.put("best", ranked.isEmpty() ? null : ranked.get(0));
+        result.put("alternatives", ranked.size() > 1 ? ranked.subList(1, ranked.size()) : List.of());
+        return ResponseEntity.ok(result);
+    }
+
+    // Signed-in callers are judged from their own order history; the request flag is only a
+    // preview hint for anonymous callers, and checkout re-checks eligibility regardless
+    private boolean firstTimeUser(String authHeader, Boolean claimed) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return Boolean.TRUE.equals(claimed);
+        }
+        String token = authHeader.substring(7);
+        try {
+            JwtUtil.VerifiedToken verified = jwtUtil.verify(token);
+            return couponService.isFirstTimeUser(verified.email(), verified.userId());
+        } catch (JwtException e) {
+            return false;
+        }
     }
 }
\ No newline at end of file
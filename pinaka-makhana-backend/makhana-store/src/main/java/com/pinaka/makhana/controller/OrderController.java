@@ -1,8 +1,17 @@
 package com.pinaka.makhana.controller;
 
+import java.math.BigDecimal;
+import java.security.Principal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -13,11 +22,24 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.pinaka.makhana.dto.AdminOrderPage;
+import com.pinaka.makhana.dto.OrderHistoryPage;
+import com.pinaka.makhana.dto.OrderLineDTO;
+import com.pinaka.makhana.dto.OrderQuote;
+import com.pinaka.makhana.dto.OrderSearchCriteria;
 import com.pinaka.makhana.entity.Order;
+import com.pinaka.makhana.entity.OrderStatusHistory;
+import com.pinaka.makhana.service.OrderArchiveService;
+import com.pinaka.makhana.service.OrderExportService;
+import com.pinaka.makhana.service.OrderIntakeService;
 import com.pinaka.makhana.service.OrderService;
 import com.pinaka.makhana.util.JwtUtil;
+import com.pinaka.makhana.util.OrderEventHub;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -25,22 +47,87 @@ import com.pinaka.makhana.util.JwtUtil;
 public class OrderController {
 
 	private final OrderService orderService;
+	private final OrderIntakeService orderIntakeService;
+	private final OrderExportService orderExportService;
+	private final OrderArchiveService orderArchiveService;
+	private final OrderEventHub orderEventHub;
 	private final JwtUtil jwtUtil;
 
-	public OrderController(OrderService orderService, JwtUtil jwtUtil) {
+	public OrderController(OrderService orderService, OrderIntakeService orderIntakeService,
+			OrderExportService orderExportService, OrderArchiveService orderArchiveService,
+			OrderEventHub orderEventHub, JwtUtil jwtUtil) {
 		this.orderService = orderService;
+		this.orderIntakeService = orderIntakeService;
+		this.orderExportService = orderExportService;
+		this.orderArchiveService = orderArchiveService;
+		this.orderEventHub = orderEventHub;
 		this.jwtUtil = jwtUtil;
 	}
 
-	// 📦 Place Order (from cart)
+	// 📦 Place Order (from cart); 202 + order id when async intake is enabled
 	@PostMapping("/place")
 	@PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-	public ResponseEntity<String> placeOrder(@RequestHeader("Authorization") String authHeader) {
+	public ResponseEntity<?> placeOrder(@RequestHeader("Authorization") String authHeader,
+			@RequestParam(required = false) String couponCode) {
 		String email = extractEmail(authHeader);
-		orderService.placeOrder(email);
+		if (orderIntakeService.isEnabled()) {
+			return ResponseEntity.status(HttpStatus.ACCEPTED).body(orderIntakeService.submitOrder(email, couponCode));
+		}
+		orderService.placeOrder(email, couponCode);
 		return ResponseEntity.ok("Order placed successfully.");
 	}
 
+	// ⏳ Poll order status (async intake)
+	@GetMapping("/{orderId}/status")
+	@PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+	public ResponseEntity<Map<String, Object>> getOrderStatus(@RequestHeader("Authorization") String authHeader,
+			@PathVariable Long orderId) {
+		String email = extractEmail(authHeader);
+		String status = orderService.getOrderStatus(email, orderId);
+		if (status == null) {
+			return ResponseEntity.notFound().build();
+		}
+		return ResponseEntity.ok(Map.of("orderId", orderId, "status", status));
+	}
+
+	// 📡 Live status stream for one of the caller's orders (Server-Sent Events, resumable via Last-Event-ID)
+	@GetMapping(value = "/{orderId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	@PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+	public ResponseEntity<SseEmitter> streamOrderEvents(@RequestHeader("Authorization") String authHeader,
+			@PathVariable Long orderId, @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+		String email = extractEmail(authHeader);
+		if (orderService.getOrderStatus(email, orderId) == null) {
+			return ResponseEntity.notFound().build();
+		}
+		Long afterEventId;
+		try {
+			afterEventId = lastEventId == null || lastEventId.isBlank() ? null : Long.valueOf(lastEventId.trim());
+		} catch (NumberFormatException e) {
+			return ResponseEntity.badRequest().build();
+		}
+
+		try {
+			SseEmitter emitter = orderEventHub.subscribe(orderId, () -> orderService
+					.getOrderStatusEvents(orderId, afterEventId).stream().map(OrderEventHub.OrderEvent::from).toList());
+			return ResponseEntity.ok()
+					.header(HttpHeaders.CACHE_CONTROL, "no-cache")
+					.header("X-Accel-Buffering", "no")
+					.body(emitter);
+		} catch (RuntimeException e) {
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+		}
+	}
+
+	// 🧾 Quote current cart (subtotal, coupon, shipping, tax) without placing the order
+	@PostMapping("/quote")
+	@PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+	public ResponseEntity<OrderQuote> quoteOrder(@RequestHeader("Authorization") String authHeader,
+			@RequestBody(required = false) Map<String, String> request) {
+		String email = extractEmail(authHeader);
+		String couponCode = request != null ? request.get("couponCode") : null;
+		return ResponseEntity.ok(orderService.quoteOrder(email, couponCode));
+	}
+
 	// 📜 Get Order History
 	@GetMapping("/history")
 	@PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
@@ -50,6 +137,24 @@ public class OrderController {
 		return ResponseEntity.ok(orders);
 	}
 
+	// 📄 Order history page (newest first); pass nextCursor to continue
+	@GetMapping("/history/page")
+	@PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+	public ResponseEntity<OrderHistoryPage> getOrderHistoryPage(@RequestHeader("Authorization") String authHeader,
+			@RequestParam(required = false) String cursor, @RequestParam(defaultValue = "20") int limit) {
+		String email = extractEmail(authHeader);
+		return ResponseEntity.ok(orderService.getOrderHistoryPage(email, cursor, limit));
+	}
+
+	// 🔍 Line details for one order, loaded when the order is expanded
+	@GetMapping("/history/{orderId}/items")
+	@PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+	public ResponseEntity<List<OrderLineDTO>> getOrderLines(@RequestHeader("Authorization") String authHeader,
+			@PathVariable Long orderId) {
+		String email = extractEmail(authHeader);
+		return ResponseEntity.ok(orderService.getOrderLines(email, orderId));
+	}
+
 	// 🔧 Admin: Get All Orders
 	@GetMapping("/admin/all")
 	@PreAuthorize("hasRole('ADMIN')")
@@ -58,6 +163,85 @@ public class OrderController {
 		return ResponseEntity.ok(orders);
 	}
 
+	// 🔧 Admin: Search orders (newest first) by status, date range, user email and total range
+	@GetMapping("/admin/search")
+	@PreAuthorize("hasRole('ADMIN')")
+	public ResponseEntity<AdminOrderPage> searchOrdersForAdmin(@RequestParam(required = false) String status,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+			@RequestParam(required = false) String email, @RequestParam(required = false) BigDecimal minTotal,
+			@RequestParam(required = false) BigDecimal maxTotal, @RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "50") int limit) {
+		OrderSearchCriteria criteria = new OrderSearchCriteria(blankToNull(status), from, to, blankToNull(email),
+				minTotal, maxTotal);
+		return ResponseEntity.ok(orderService.searchOrders(criteria, cursor, limit));
+	}
+
+	// 🔧 Admin: Stream every matching order with its lines as NDJSON or CSV (gzipped when accepted)
+	@GetMapping("/admin/export")
+	@PreAuthorize("hasRole('ADMIN')")
+	public ResponseEntity<StreamingResponseBody> exportOrders(@RequestParam(defaultValue = "ndjson") String format,
+			@RequestParam(required = false) String status,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+			@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+		OrderExportService.Format exportFormat;
+		try {
+			exportFormat = OrderExportService.Format.valueOf(format.trim().toUpperCase());
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().build();
+		}
+		OrderSearchCriteria criteria = new OrderSearchCriteria(blankToNull(status), from, to, null, null, null);
+		boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+
+		StreamingResponseBody body = out -> {
+			if (gzip) {
+				GZIPOutputStream compressed = new GZIPOutputStream(out, 8192);
+				orderExportService.exportOrders(criteria, exportFormat, compressed);
+				compressed.finish();
+			} else {
+				orderExportService.exportOrders(criteria, exportFormat, out);
+			}
+		};
+
+		boolean csv = exportFormat == OrderExportService.Format.CSV;
+		ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+				.contentType(csv ? new MediaType("text", "csv") : new MediaType("application", "x-ndjson"))
+				.header(HttpHeaders.CONTENT_DISPOSITION,
+						"attachment; filename=\"orders." + (csv ? "csv" : "ndjson") + "\"")
+				.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+		if (gzip) {
+			response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+		}
+		return response.body(body);
+	}
+
+	// 🗄️ Admin: Archive totals and last run
+	@GetMapping("/admin/archive")
+	@PreAuthorize("hasRole('ADMIN')")
+	public ResponseEntity<Map<String, Object>> getArchiveSummary() {
+		return ResponseEntity.ok(orderArchiveService.getArchiveSummary());
+	}
+
+	// 🗄️ Admin: Archive finished orders past the retention age now
+	@PostMapping("/admin/archive/run")
+	@PreAuthorize("hasRole('ADMIN')")
+	public ResponseEntity<Map<String, Object>> runArchive() {
+		int archived = orderArchiveService.archiveOldOrders();
+		return ResponseEntity.ok(Map.of("archivedOrders", archived));
+	}
+
+	// 🗄️ Admin: Re-check an archive batch against its stored checksum
+	@GetMapping("/admin/archive/batches/{batchId}/verify")
+	@PreAuthorize("hasRole('ADMIN')")
+	public ResponseEntity<?> verifyArchiveBatch(@PathVariable Long batchId) {
+		try {
+			return ResponseEntity.ok(orderArchiveService.verifyBatch(batchId));
+		} catch (RuntimeException e) {
+			return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+		}
+	}
+
 	// 🔧 Admin: Get Order by ID
 	@GetMapping("/admin/{orderId}")
 	@PreAuthorize("hasRole('ADMIN')")
@@ -69,16 +253,72 @@ public class OrderController {
 		return ResponseEntity.notFound().build();
 	}
 
-	// 🔧 Admin: Update Order Status
+	// 🔧 Admin: Update Order Status; send the order's "version" to reject stale edits
 	@PutMapping("/admin/{orderId}/status")
 	@PreAuthorize("hasRole('ADMIN')")
-	public ResponseEntity<Order> updateOrderStatus(@PathVariable Long orderId, @RequestBody Map<String, String> statusUpdate) {
-		String newStatus = statusUpdate.get("status");
-		Order updatedOrder = orderService.updateOrderStatus(orderId, newStatus);
-		if (updatedOrder != null) {
-			return ResponseEntity.ok(updatedOrder);
+	public ResponseEntity<?> updateOrderStatus(@PathVariable Long orderId, @RequestBody Map<String, Object> statusUpdate,
+			Principal principal) {
+		Object status = statusUpdate.get("status");
+		Object version = statusUpdate.get("version");
+		try {
+			Order updatedOrder = orderService.updateOrderStatus(orderId, status != null ? status.toString() : null,
+					version != null ? Long.valueOf(version.toString()) : null, principal.getName());
+			if (updatedOrder != null) {
+				return ResponseEntity.ok(updatedOrder);
+			}
+			return ResponseEntity.notFound().build();
+		} catch (OptimisticLockingFailureException e) {
+			return ResponseEntity.status(HttpStatus.CONFLICT)
+					.body(Map.of("error", "⚠️ Order " + orderId + " was changed by someone else; reload and retry"));
+		} catch (RuntimeException e) {
+			return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
 		}
-		return ResponseEntity.notFound().build();
+	}
+
+	// 🔧 Admin: Move many orders to one status; body {"orderIds": [...], "status": "SHIPPED"}
+	@PutMapping("/admin/status/bulk")
+	@PreAuthorize("hasRole('ADMIN')")
+	public ResponseEntity<?> bulkUpdateOrderStatus(@RequestBody Map<String, Object> request, Principal principal) {
+		try {
+			List<Long> orderIds = ((List<?>) request.getOrDefault("orderIds", List.of())).stream()
+					.map(id -> Long.valueOf(id.toString()))
+					.toList();
+			Object status = request.get("status");
+			return ResponseEntity.ok(orderService.bulkUpdateOrderStatus(orderIds,
+					status != null ? status.toString() : null, principal.getName()));
+		} catch (OptimisticLockingFailureException e) {
+			return ResponseEntity.status(HttpStatus.CONFLICT)
+					.body(Map.of("error", "⚠️ Some orders were changed concurrently; nothing was updated"));
+		} catch (RuntimeException e) {
+			return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+		}
+	}
+
+	// 🔧 Admin: Status transition history of one order
+	@GetMapping("/admin/{orderId}/history")
+	@PreAuthorize("hasRole('ADMIN')")
+	public ResponseEntity<List<OrderStatusHistory>> getOrderStatusHistory(@PathVariable Long orderId) {
+		return ResponseEntity.ok(orderService.getOrderStatusHistory(orderId));
+	}
+
+	// 📊 Admin: Time between two statuses for orders that reached the second one in the window
+	@GetMapping("/admin/sla")
+	@PreAuthorize("hasRole('ADMIN')")
+	public ResponseEntity<?> getStatusTransitionSla(@RequestParam(defaultValue = "PLACED") String from,
+			@RequestParam(defaultValue = "SHIPPED") String to,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime until) {
+		LocalDateTime end = until != null ? until : LocalDateTime.now();
+		LocalDateTime start = since != null ? since : end.minusDays(30);
+		try {
+			return ResponseEntity.ok(orderService.getStatusTransitionSla(from, to, start, end));
+		} catch (RuntimeException e) {
+			return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+		}
+	}
+
+	private String blankToNull(String value) {
+		return value == null || value.isBlank() ? null : value.trim();
 	}
 
 	// Utility: Extract email from token
@@ -0,0 +1,59 @@
+package com.pinaka.makhana.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One keyset page of the admin order search, with per-status counts for the
+ * same filters (ignoring the status filter itself).
+ */
+public class AdminOrderPage {
+	private List<AdminOrderSummaryDTO> orders;
+	private String nextCursor;
+	private boolean hasMore;
+	private Map<String, Long> statusCounts;
+
+	public AdminOrderPage() {
+	}
+
+	public AdminOrderPage(List<AdminOrderSummaryDTO> orders, String nextCursor, boolean hasMore,
+			Map<String, Long> statusCounts) {
+		this.orders = orders;
+		this.nextCursor = nextCursor;
+		this.hasMore = hasMore;
+		this.statusCounts = statusCounts;
+	}
+
+	public List<AdminOrderSummaryDTO> getOrders() {
+		return orders;
+	}
+
+	public void setOrders(List<AdminOrderSummaryDTO> orders) {
+		this.orders = orders;
+	}
+
+	public String getNextCursor() {
+		return nextCursor;
+	}
+
+	public void setNextCursor(String nextCursor) {
+		this.nextCursor = nextCursor;
+	}
+
+	public boolean isHasMore() {
+		return hasMore;
+	}
+
+	public void setHasMore(boolean hasMore) {
+		this.hasMore = hasMore;
+	}
+
+	public Map<String, Long> getStatusCounts() {
+		return statusCounts;
+	}
+
+	public void setStatusCounts(Map<String, Long> statusCounts) {
+		this.statusCounts = statusCounts;
+	}
+
+}
@@ -0,0 +1,96 @@
+package com.pinaka.makhana.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.pinaka.makhana.entity.OrderStatus;
+
+/**
+ * Admin order list row: order header plus the owning user, without items.
+ */
+public class AdminOrderSummaryDTO {
+	private Long id;
+	private LocalDateTime orderDate;
+	private String status;
+	private BigDecimal totalAmount;
+	private Long userId;
+	private String userName;
+	private String userEmail;
+
+	public AdminOrderSummaryDTO() {
+	}
+
+	public AdminOrderSummaryDTO(Long id, LocalDateTime orderDate, OrderStatus status, BigDecimal totalAmount,
+			Long userId, String userName, String userEmail) {
+		this.id = id;
+		this.orderDate = orderDate;
+		this.status = status != null ? status.name() : null;
+		this.totalAmount = totalAmount;
+		this.userId = userId;
+		this.userName = userName;
+		this.userEmail = userEmail;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public LocalDateTime getOrderDate() {
+		return orderDate;
+	}
+
+	public void setOrderDate(LocalDateTime orderDate) {
+		this.orderDate = orderDate;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	public BigDecimal getTotalAmount() {
+		return totalAmount;
+	}
+
+	public void setTotalAmount(BigDecimal totalAmount) {
+		this.totalAmount = totalAmount;
+	}
+
+	public Long getUserId() {
+		return userId;
+	}
+
+	public void setUserId(Long userId) {
+		this.userId = userId;
+	}
+
+	public String getUserName() {
+		return userName;
+	}
+
+	public void setUserName(String userName) {
+		this.userName = userName;
+	}
+
+	public String getUserEmail() {
+		return userEmail;
+	}
+
+	public void setUserEmail(String userEmail) {
+		this.userEmail = userEmail;
+	}
+
+	@Override
+	public String toString() {
+		return "AdminOrderSummaryDTO [id=" + id + ", orderDate=" + orderDate + ", status=" + status + ", totalAmount="
+				+ totalAmount + ", userEmail=" + userEmail + "]";
+	}
+
+}
@@ -0,0 +1,88 @@
+package com.pinaka.makhana.dto;
+
+import java.math.BigDecimal;
+
+import com.pinaka.makhana.entity.Coupon.DiscountType;
+
+/**
+ * An applicable coupon for a cart total and what it would save.
+ */
+public class CouponSuggestion {
+    private String code;
+    private String description;
+    private DiscountType discountType;
+    private BigDecimal discount;
+    private BigDecimal shippingSaving;
+    private BigDecimal totalSavings;
+    private boolean freeShipping;
+
+    public CouponSuggestion() {
+    }
+
+    public CouponSuggestion(String code, String description, DiscountType discountType, BigDecimal discount,
+            BigDecimal shippingSaving, BigDecimal totalSavings, boolean freeShipping) {
+        this.code = code;
+        this.description = description;
+        this.discountType = discountType;
+        this.discount = discount;
+        this.shippingSaving = shippingSaving;
+        this.totalSavings = totalSavings;
+        this.freeShipping = freeShipping;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public DiscountType getDiscountType() {
+        return discountType;
+    }
+
+    public void setDiscountType(DiscountType discountType) {
+        this.discountType = discountType;
+    }
+
+    public BigDecimal getDiscount() {
+        return discount;
+    }
+
+    public void setDiscount(BigDecimal discount) {
+        this.discount = discount;
+    }
+
+    public BigDecimal getShippingSaving() {
+        return shippingSaving;
+    }
+
+    public void setShippingSaving(BigDecimal shippingSaving) {
+        this.shippingSaving = shippingSaving;
+    }
+
+    public BigDecimal getTotalSavings() {
+        return totalSavings;
+    }
+
+    public void setTotalSavings(BigDecimal totalSavings) {
+        this.totalSavings = totalSavings;
+    }
+
+    public boolean isFreeShipping() {
+        return freeShipping;
+    }
+
+    public void setFreeShipping(boolean freeShipping) {
+        this.freeShipping = freeShipping;
+    }
+}
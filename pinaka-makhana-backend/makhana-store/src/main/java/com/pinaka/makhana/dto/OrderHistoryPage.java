@@ -0,0 +1,46 @@
+package com.pinaka.makhana.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page of order summaries; pass nextCursor back to fetch the next page.
+ */
+public class OrderHistoryPage {
+	private List<OrderSummaryDTO> orders;
+	private String nextCursor;
+	private boolean hasMore;
+
+	public OrderHistoryPage() {
+	}
+
+	public OrderHistoryPage(List<OrderSummaryDTO> orders, String nextCursor, boolean hasMore) {
+		this.orders = orders;
+		this.nextCursor = nextCursor;
+		this.hasMore = hasMore;
+	}
+
+	public List<OrderSummaryDTO> getOrders() {
+		return orders;
+	}
+
+	public void setOrders(List<OrderSummaryDTO> orders) {
+		this.orders = orders;
+	}
+
+	public String getNextCursor() {
+		return nextCursor;
+	}
+
+	public void setNextCursor(String nextCursor) {
+		this.nextCursor = nextCursor;
+	}
+
+	public boolean isHasMore() {
+		return hasMore;
+	}
+
+	public void setHasMore(boolean hasMore) {
+		this.hasMore = hasMore;
+	}
+
+}
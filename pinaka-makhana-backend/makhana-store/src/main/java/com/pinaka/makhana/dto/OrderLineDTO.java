@@ -0,0 +1,123 @@
+package com.pinaka.makhana.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * One order line as shown when an order is expanded.
+ */
+public class OrderLineDTO {
+	private Long id;
+	private Long productId;
+	private String productName;
+	private String sku;
+	private String weight;
+	private int quantity;
+	private BigDecimal unitPrice;
+	private BigDecimal originalPrice;
+	private BigDecimal lineTotal;
+	private String thumbnailUrl;
+
+	public OrderLineDTO() {
+	}
+
+	public OrderLineDTO(Long id, Long productId, String productName, String sku, String weight, int quantity,
+			BigDecimal unitPrice, BigDecimal originalPrice, String thumbnailUrl) {
+		this.id = id;
+		this.productId = productId;
+		this.productName = productName;
+		this.sku = sku;
+		this.weight = weight;
+		this.quantity = quantity;
+		this.unitPrice = unitPrice;
+		this.originalPrice = originalPrice;
+		this.thumbnailUrl = thumbnailUrl;
+		this.lineTotal = unitPrice != null ? unitPrice.multiply(BigDecimal.valueOf(quantity)) : null;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public Long getProductId() {
+		return productId;
+	}
+
+	public void setProductId(Long productId) {
+		this.productId = productId;
+	}
+
+	public String getProductName() {
+		return productName;
+	}
+
+	public void setProductName(String productName) {
+		this.productName = productName;
+	}
+
+	public String getSku() {
+		return sku;
+	}
+
+	public void setSku(String sku) {
+		this.sku = sku;
+	}
+
+	public String getWeight() {
+		return weight;
+	}
+
+	public void setWeight(String weight) {
+		this.weight = weight;
+	}
+
+	public int getQuantity() {
+		return quantity;
+	}
+
+	public void setQuantity(int quantity) {
+		this.quantity = quantity;
+	}
+
+	public BigDecimal getUnitPrice() {
+		return unitPrice;
+	}
+
+	public void setUnitPrice(BigDecimal unitPrice) {
+		this.unitPrice = unitPrice;
+	}
+
+	public BigDecimal getOriginalPrice() {
+		return originalPrice;
+	}
+
+	public void setOriginalPrice(BigDecimal originalPrice) {
+		this.originalPrice = originalPrice;
+	}
+
+	public String getThumbnailUrl() {
+		return thumbnailUrl;
+	}
+
+	public void setThumbnailUrl(String thumbnailUrl) {
+		this.thumbnailUrl = thumbnailUrl;
+	}
+
+	public BigDecimal getLineTotal() {
+		return lineTotal;
+	}
+
+	public void setLineTotal(BigDecimal lineTotal) {
+		this.lineTotal = lineTotal;
+	}
+
+	@Override
+	public String toString() {
+		return "OrderLineDTO [id=" + id + ", productId=" + productId + ", productName=" + productName
+				+ ", quantity=" + quantity + ", unitPrice=" + unitPrice + "]";
+	}
+
+}
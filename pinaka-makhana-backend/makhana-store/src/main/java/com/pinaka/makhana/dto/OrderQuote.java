@@ -0,0 +1,129 @@
+package com.pinaka.makhana.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Price breakdown for the caller's current cart. Nothing is persisted.
+ */
+public class OrderQuote {
+	private int itemCount;
+	private BigDecimal subtotal;
+	private BigDecimal promotionDiscount;
+	private List<String> promotions = List.of();
+	private String couponCode;
+	private boolean couponApplied;
+	private BigDecimal discount;
+	private BigDecimal shipping;
+	private BigDecimal tax;
+	private BigDecimal total;
+	private long cartVersion;
+	private long catalogVersion;
+
+	public OrderQuote() {
+	}
+
+	public int getItemCount() {
+		return itemCount;
+	}
+
+	public void setItemCount(int itemCount) {
+		this.itemCount = itemCount;
+	}
+
+	public BigDecimal getSubtotal() {
+		return subtotal;
+	}
+
+	public void setSubtotal(BigDecimal subtotal) {
+		this.subtotal = subtotal;
+	}
+
+	public BigDecimal getPromotionDiscount() {
+		return promotionDiscount;
+	}
+
+	public void setPromotionDiscount(BigDecimal promotionDiscount) {
+		this.promotionDiscount = promotionDiscount;
+	}
+
+	public List<String> getPromotions() {
+		return promotions;
+	}
+
+	public void setPromotions(List<String> promotions) {
+		this.promotions = promotions;
+	}
+
+	public String getCouponCode() {
+		return couponCode;
+	}
+
+	public void setCouponCode(String couponCode) {
+		this.couponCode = couponCode;
+	}
+
+	public boolean isCouponApplied() {
+		return couponApplied;
+	}
+
+	public void setCouponApplied(boolean couponApplied) {
+		this.couponApplied = couponApplied;
+	}
+
+	public BigDecimal getDiscount() {
+		return discount;
+	}
+
+	public void setDiscount(BigDecimal discount) {
+		this.discount = discount;
+	}
+
+	public BigDecimal getShipping() {
+		return shipping;
+	}
+
+	public void setShipping(BigDecimal shipping) {
+		this.shipping = shipping;
+	}
+
+	public BigDecimal getTax() {
+		return tax;
+	}
+
+	public void setTax(BigDecimal tax) {
+		this.tax = tax;
+	}
+
+	public BigDecimal getTotal() {
+		return total;
+	}
+
+	public void setTotal(BigDecimal total) {
+		this.total = total;
+	}
+
+	public long getCartVersion() {
+		return cartVersion;
+	}
+
+	public void setCartVersion(long cartVersion) {
+		this.cartVersion = cartVersion;
+	}
+
+	public long getCatalogVersion() {
+		return catalogVersion;
+	}
+
+	public void setCatalogVersion(long catalogVersion) {
+		this.catalogVersion = catalogVersion;
+	}
+
+	@Override
+	public String toString() {
+		return "OrderQuote [itemCount=" + itemCount + ", subtotal=" + subtotal + ", promotionDiscount="
+				+ promotionDiscount + ", couponCode=" + couponCode + ", couponApplied=" + couponApplied + ", discount="
+				+ discount + ", shipping=" + shipping + ", tax=" + tax + ", total=" + total + "]";
+	}
+
+}
@@ -0,0 +1,79 @@
+package com.pinaka.makhana.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Optional filters for the admin order search; null fields are not applied.
+ * The date range is half-open: from inclusive, to exclusive.
+ */
+public class OrderSearchCriteria {
+	private String status;
+	private LocalDateTime from;
+	private LocalDateTime to;
+	private String userEmail;
+	private BigDecimal minTotal;
+	private BigDecimal maxTotal;
+
+	public OrderSearchCriteria() {
+	}
+
+	public OrderSearchCriteria(String status, LocalDateTime from, LocalDateTime to, String userEmail,
+			BigDecimal minTotal, BigDecimal maxTotal) {
+		this.status = status;
+		this.from = from;
+		this.to = to;
+		this.userEmail = userEmail;
+		this.minTotal = minTotal;
+		this.maxTotal = maxTotal;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	public LocalDateTime getFrom() {
+		return from;
+	}
+
+	public void setFrom(LocalDateTime from) {
+		this.from = from;
+	}
+
+	public LocalDateTime getTo() {
+		return to;
+	}
+
+	public void setTo(LocalDateTime to) {
+		this.to = to;
+	}
+
+	public String getUserEmail() {
+		return userEmail;
+	}
+
+	public void setUserEmail(String userEmail) {
+		this.userEmail = userEmail;
+	}
+
+	public BigDecimal getMinTotal() {
+		return minTotal;
+	}
+
+	public void setMinTotal(BigDecimal minTotal) {
+		this.minTotal = minTotal;
+	}
+
+	public BigDecimal getMaxTotal() {
+		return maxTotal;
+	}
+
+	public void setMaxTotal(BigDecimal maxTotal) {
+		this.maxTotal = maxTotal;
+	}
+
+}
@@ -0,0 +1,86 @@
+package com.pinaka.makhana.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.pinaka.makhana.entity.OrderStatus;
+
+/**
+ * Compact order row for history lists; line details are fetched separately.
+ */
+public class OrderSummaryDTO {
+	private Long id;
+	private LocalDateTime orderDate;
+	private String status;
+	private BigDecimal totalAmount;
+	private long lineCount;
+	private long itemCount;
+
+	public OrderSummaryDTO() {
+	}
+
+	public OrderSummaryDTO(Long id, LocalDateTime orderDate, OrderStatus status, BigDecimal totalAmount,
+			Long lineCount, Long itemCount) {
+		this.id = id;
+		this.orderDate = orderDate;
+		this.status = status != null ? status.name() : null;
+		this.totalAmount = totalAmount;
+		this.lineCount = lineCount != null ? lineCount : 0L;
+		this.itemCount = itemCount != null ? itemCount : 0L;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public LocalDateTime getOrderDate() {
+		return orderDate;
+	}
+
+	public void setOrderDate(LocalDateTime orderDate) {
+		this.orderDate = orderDate;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	public BigDecimal getTotalAmount() {
+		return totalAmount;
+	}
+
+	public void setTotalAmount(BigDecimal totalAmount) {
+		this.totalAmount = totalAmount;
+	}
+
+	public long getLineCount() {
+		return lineCount;
+	}
+
+	public void setLineCount(long lineCount) {
+		this.lineCount = lineCount;
+	}
+
+	public long getItemCount() {
+		return itemCount;
+	}
+
+	public void setItemCount(long itemCount) {
+		this.itemCount = itemCount;
+	}
+
+	@Override
+	public String toString() {
+		return "OrderSummaryDTO [id=" + id + ", orderDate=" + orderDate + ", status=" + status + ", totalAmount="
+				+ totalAmount + ", lineCount=" + lineCount + ", itemCount=" + itemCount + "]";
+	}
+
+}
@@ -1,21 +1,29 @@
 package com.pinaka.makhana.entity;
 
+import java.time.LocalDateTime;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 
 @Entity
 @Table(name = "cart_items")
 public class CartItem {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "cart_items_id")
+	@TableGenerator(name = "cart_items_id", table = "id_generators", pkColumnName = "sequence_name",
+			valueColumnName = "next_val", pkColumnValue = "cart_items", allocationSize = 50)
 	private Long id;
 
 	@ManyToOne(optional = false)
@@ -29,6 +37,10 @@ public class CartItem {
 
 	private int quantity;
 
+	// Touched on every insert/update so the abandoned-cart sweeper can age rows out
+	@Column(name = "last_modified")
+	private LocalDateTime lastModified;
+
 	public CartItem() {
 	}
 
@@ -77,9 +89,24 @@ public class CartItem {
 		this.quantity = quantity;
 	}
 
+	public LocalDateTime getLastModified() {
+		return lastModified;
+	}
+
+	public void setLastModified(LocalDateTime lastModified) {
+		this.lastModified = lastModified;
+	}
+
+	@PrePersist
+	@PreUpdate
+	protected void touch() {
+		lastModified = LocalDateTime.now();
+	}
+
 	@Override
 	public String toString() {
-		return "CartItem [id=" + id + ", user=" + user + ", product=" + product + ", quantity=" + quantity + "]";
+		return "CartItem [id=" + id + ", user=" + user + ", product=" + product + ", quantity=" + quantity
+				+ ", lastModified=" + lastModified + "]";
 	}
 
 }
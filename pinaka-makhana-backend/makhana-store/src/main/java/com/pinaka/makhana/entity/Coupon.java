@@ -3,6 +3,8 @@ package com.pinaka.makhana.entity;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
+import com.pinaka.makhana.util.PricingEngine;
+
 @Entity
 @Table(name = "coupons")
 public class Coupon {
@@ -20,10 +22,12 @@ public class Coupon {
     @Column(nullable = false)
     private DiscountType discountType;
 
-    @Column(nullable = false)
+    @Column(nullable = false, columnDefinition = "DECIMAL(12,2)")
     private Double discountValue; // Percentage or fixed amount
 
+    @Column(columnDefinition = "DECIMAL(12,2)")
     private Double minimumOrderAmount;
+    @Column(columnDefinition = "DECIMAL(12,2)")
     private Double maximumDiscountAmount; // For percentage discounts
 
     @Column(nullable = false)
@@ -42,6 +46,10 @@ public class Coupon {
     private boolean firstTimeUserOnly = false;
     private boolean freeShipping = false;
 
+    // Campaign template: only its generated codes redeem, never its own code
+    @Column(nullable = false)
+    private boolean campaignOnly = false;
+
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
@@ -224,6 +232,15 @@ public class Coupon {
         this.updatedAt = LocalDateTime.now();
     }
 
+    public boolean isCampaignOnly() {
+        return campaignOnly;
+    }
+
+    public void setCampaignOnly(boolean campaignOnly) {
+        this.campaignOnly = campaignOnly;
+        this.updatedAt = LocalDateTime.now();
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -242,9 +259,13 @@ public class Coupon {
     }
 
     public boolean canBeUsed(Double orderAmount, boolean isFirstTimeUser) {
+        return canBeUsed(PricingEngine.toPaise(orderAmount), isFirstTimeUser);
+    }
+
+    public boolean canBeUsed(long orderAmountPaise, boolean isFirstTimeUser) {
         if (!isValid()) return false;
         
-        if (minimumOrderAmount != null && orderAmount < minimumOrderAmount) {
+        if (minimumOrderAmount != null && orderAmountPaise < PricingEngine.toPaise(minimumOrderAmount)) {
             return false;
         }
         
@@ -256,27 +277,26 @@ public class Coupon {
     }
 
     public Double calculateDiscount(Double orderAmount, boolean isFirstTimeUser) {
-        if (!canBeUsed(orderAmount, isFirstTimeUser)) return 0.0;
-        
-        Double discount = 0.0;
+        long discount = calculateDiscount(PricingEngine.toPaise(orderAmount), isFirstTimeUser);
+        return PricingEngine.toRupeesDouble(discount);
+    }
+
+    // Discount in paise for an order amount in paise
+    public long calculateDiscount(long orderAmountPaise, boolean isFirstTimeUser) {
+        if (!canBeUsed(orderAmountPaise, isFirstTimeUser)) return 0L;
         
         switch (discountType) {
             case PERCENTAGE:
-                discount = orderAmount * (discountValue / 100);
-                if (maximumDiscountAmount != null && discount > maximumDiscountAmount) {
-                    discount = maximumDiscountAmount;
-                }
-                break;
+                long cap = maximumDiscountAmount != null ? PricingEngine.toPaise(maximumDiscountAmount) : -1L;
+                return PricingEngine.percentageDiscount(orderAmountPaise,
+                        PricingEngine.toBasisPoints(discountValue), cap);
             case FIXED_AMOUNT:
-                discount = Math.min(discountValue, orderAmount);
-                break;
+                return PricingEngine.fixedDiscount(orderAmountPaise, PricingEngine.toPaise(discountValue));
             case FREE_SHIPPING:
-                // Free shipping discount would be calculated based on shipping cost
-                discount = 0.0; // This would be handled separately
-                break;
+            default:
+                // Free shipping is applied to the shipping charge, not the order amount
+                return 0L;
         }
-        
-        return discount;
     }
     
     // Keep the old method for backward compatibility
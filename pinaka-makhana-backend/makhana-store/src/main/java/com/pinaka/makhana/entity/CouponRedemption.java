@@ -0,0 +1,78 @@
+package com.pinaka.makhana.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * One use of a coupon by a user. {@code slot} runs from 1 to the coupon's per-user
+ * limit; the unique (coupon, user, slot) index makes two concurrent checkouts
+ * claiming the same slot fail instead of both succeeding. Coupons without a
+ * per-user limit have no rows here.
+ */
+@Entity
+@Table(name = "coupon_redemptions", uniqueConstraints = @UniqueConstraint(name = "uk_coupon_redemptions_slot",
+		columnNames = { "coupon_id", "user_id", "slot" }))
+public class CouponRedemption {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "coupon_id", nullable = false)
+	private Long couponId;
+
+	@Column(name = "user_id", nullable = false)
+	private Long userId;
+
+	@Column(nullable = false)
+	private int slot;
+
+	@Column(name = "order_id")
+	private Long orderId;
+
+	@Column(name = "redeemed_at", nullable = false)
+	private LocalDateTime redeemedAt;
+
+	protected CouponRedemption() {
+	}
+
+	public CouponRedemption(Long couponId, Long userId, int slot, Long orderId) {
+		this.couponId = couponId;
+		this.userId = userId;
+		this.slot = slot;
+		this.orderId = orderId;
+		this.redeemedAt = LocalDateTime.now();
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public Long getCouponId() {
+		return couponId;
+	}
+
+	public Long getUserId() {
+		return userId;
+	}
+
+	public int getSlot() {
+		return slot;
+	}
+
+	public Long getOrderId() {
+		return orderId;
+	}
+
+	public LocalDateTime getRedeemedAt() {
+		return redeemedAt;
+	}
+
+}
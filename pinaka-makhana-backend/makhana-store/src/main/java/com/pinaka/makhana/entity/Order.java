@@ -1,12 +1,19 @@
 package com.pinaka.makhana.entity;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -14,13 +21,17 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import jakarta.persistence.Version;
 
 @Entity
 @Table(name = "orders")
 public class Order {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "orders_id")
+	@TableGenerator(name = "orders_id", table = "id_generators", pkColumnName = "sequence_name",
+			valueColumnName = "next_val", pkColumnValue = "orders", allocationSize = 50)
 	private Long id;
 
 	@ManyToOne(optional = false)
@@ -29,9 +40,35 @@ public class Order {
 
 	private LocalDateTime orderDate = LocalDateTime.now();
 
-	private Double totalAmount;
+	@Column(precision = 12, scale = 2)
+	private BigDecimal totalAmount;
+
+	// Coupon applied at checkout; totalAmount is already net of the discount
+	@Column(length = 50)
+	private String couponCode;
+
+	@Column(precision = 12, scale = 2)
+	private BigDecimal discountAmount;
+
+	// Automatic promotions; applied before the coupon, also already taken off totalAmount
+	@Column(precision = 12, scale = 2)
+	private BigDecimal promotionDiscount;
 
-	private String status;
+	// Charged on top of the discounted lines; totalAmount already includes both
+	@Column(precision = 12, scale = 2)
+	private BigDecimal shippingAmount;
+
+	@Column(precision = 12, scale = 2)
+	private BigDecimal taxAmount;
+
+	@Enumerated(EnumType.STRING)
+	@JdbcTypeCode(SqlTypes.VARCHAR)
+	@Column(length = 20)
+	private OrderStatus status;
+
+	// Optimistic lock: concurrent status updates fail instead of overwriting each other
+	@Version
+	private Long version;
 
 	@OneToMany(mappedBy = "order", cascade = CascadeType.ALL)
 	@JsonManagedReference
@@ -40,7 +77,7 @@ public class Order {
 	public Order() {
 	}
 
-	public Order(Long id, User user, LocalDateTime orderDate, Double totalAmount, String status,
+	public Order(Long id, User user, LocalDateTime orderDate, BigDecimal totalAmount, OrderStatus status,
 			List<OrderItem> items) {
 		super();
 		this.id = id;
@@ -75,22 +112,70 @@ public class Order {
 		this.orderDate = orderDate;
 	}
 
-	public Double getTotalAmount() {
+	public BigDecimal getTotalAmount() {
 		return totalAmount;
 	}
 
-	public void setTotalAmount(Double totalAmount) {
+	public void setTotalAmount(BigDecimal totalAmount) {
 		this.totalAmount = totalAmount;
 	}
 
-	public String getStatus() {
+	public String getCouponCode() {
+		return couponCode;
+	}
+
+	public void setCouponCode(String couponCode) {
+		this.couponCode = couponCode;
+	}
+
+	public BigDecimal getDiscountAmount() {
+		return discountAmount;
+	}
+
+	public void setDiscountAmount(BigDecimal discountAmount) {
+		this.discountAmount = discountAmount;
+	}
+
+	public BigDecimal getPromotionDiscount() {
+		return promotionDiscount;
+	}
+
+	public void setPromotionDiscount(BigDecimal promotionDiscount) {
+		this.promotionDiscount = promotionDiscount;
+	}
+
+	public BigDecimal getShippingAmount() {
+		return shippingAmount;
+	}
+
+	public void setShippingAmount(BigDecimal shippingAmount) {
+		this.shippingAmount = shippingAmount;
+	}
+
+	public BigDecimal getTaxAmount() {
+		return taxAmount;
+	}
+
+	public void setTaxAmount(BigDecimal taxAmount) {
+		this.taxAmount = taxAmount;
+	}
+
+	public OrderStatus getStatus() {
 		return status;
 	}
 
-	public void setStatus(String status) {
+	public void setStatus(OrderStatus status) {
 		this.status = status;
 	}
 
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
 	public List<OrderItem> getItems() {
 		return items;
 	}
@@ -1,21 +1,29 @@
 package com.pinaka.makhana.entity;
 
+import java.math.BigDecimal;
+
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 
 @Entity
 @Table(name = "order_items")
 public class OrderItem {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "order_items_id")
+	@TableGenerator(name = "order_items_id", table = "id_generators", pkColumnName = "sequence_name",
+			valueColumnName = "next_val", pkColumnValue = "order_items", allocationSize = 50)
 	private Long id;
 
 	@ManyToOne(optional = false)
@@ -23,18 +31,37 @@ public class OrderItem {
 	@JsonBackReference
 	private Order order;
 
-	@ManyToOne(optional = false)
+	// Live product link kept for reference only; reads use the snapshot columns below
+	@ManyToOne(optional = false, fetch = FetchType.LAZY)
 	@JoinColumn(name = "product_id")
+	@JsonIgnore
 	private Product product;
 
 	private int quantity;
 
-	private double price; // unit price
+	@Column(precision = 12, scale = 2)
+	private BigDecimal price; // unit price
+
+	// Product snapshot captured at checkout, immune to later catalog edits
+	@Column(name = "product_name", updatable = false)
+	private String productName;
+
+	@Column(name = "product_sku", length = 100, updatable = false)
+	private String productSku;
+
+	@Column(name = "product_weight", length = 50, updatable = false)
+	private String productWeight;
+
+	@Column(name = "original_price", precision = 12, scale = 2, updatable = false)
+	private BigDecimal originalPrice;
+
+	@Column(name = "thumbnail_url", length = 1000, updatable = false)
+	private String thumbnailUrl;
 
 	public OrderItem() {
 	}
 
-	public OrderItem(Long id, Order order, Product product, int quantity, double price) {
+	public OrderItem(Long id, Order order, Product product, int quantity, BigDecimal price) {
 		super();
 		this.id = id;
 		this.order = order;
@@ -75,18 +102,63 @@ public class OrderItem {
 		this.quantity = quantity;
 	}
 
-	public double getPrice() {
+	public BigDecimal getPrice() {
 		return price;
 	}
 
-	public void setPrice(double price) {
+	public void setPrice(BigDecimal price) {
 		this.price = price;
 	}
 
+	public Long getProductId() {
+		// Reads the FK from the proxy without loading the product row
+		return product != null ? product.getId() : null;
+	}
+
+	public String getProductName() {
+		return productName;
+	}
+
+	public void setProductName(String productName) {
+		this.productName = productName;
+	}
+
+	public String getProductSku() {
+		return productSku;
+	}
+
+	public void setProductSku(String productSku) {
+		this.productSku = productSku;
+	}
+
+	public String getProductWeight() {
+		return productWeight;
+	}
+
+	public void setProductWeight(String productWeight) {
+		this.productWeight = productWeight;
+	}
+
+	public BigDecimal getOriginalPrice() {
+		return originalPrice;
+	}
+
+	public void setOriginalPrice(BigDecimal originalPrice) {
+		this.originalPrice = originalPrice;
+	}
+
+	public String getThumbnailUrl() {
+		return thumbnailUrl;
+	}
+
+	public void setThumbnailUrl(String thumbnailUrl) {
+		this.thumbnailUrl = thumbnailUrl;
+	}
+
 	@Override
 	public String toString() {
-		return "OrderItem [id=" + id + ", order=" + order + ", product=" + product + ", quantity=" + quantity
-				+ ", price=" + price + "]";
+		return "OrderItem [id=" + id + ", productName=" + productName + ", productSku=" + productSku + ", quantity="
+				+ quantity + ", price=" + price + "]";
 	}
 
 }
@@ -0,0 +1,66 @@
+package com.pinaka.makhana.entity;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Order lifecycle. PENDING and FAILED belong to async intake; the rest is the
+ * fulfilment path. Forward skips (e.g. PLACED straight to SHIPPED) are allowed,
+ * going backwards or leaving a terminal state is not.
+ */
+public enum OrderStatus {
+	PENDING, PLACED, CONFIRMED, SHIPPED, DELIVERED, CANCELLED, FAILED;
+
+	private Set<OrderStatus> next;
+
+	static {
+		PENDING.next = EnumSet.of(PLACED, FAILED, CANCELLED);
+		PLACED.next = EnumSet.of(CONFIRMED, SHIPPED, DELIVERED, CANCELLED);
+		CONFIRMED.next = EnumSet.of(SHIPPED, DELIVERED, CANCELLED);
+		SHIPPED.next = EnumSet.of(DELIVERED);
+		DELIVERED.next = EnumSet.noneOf(OrderStatus.class);
+		CANCELLED.next = EnumSet.noneOf(OrderStatus.class);
+		FAILED.next = EnumSet.noneOf(OrderStatus.class);
+	}
+
+	public boolean canTransitionTo(OrderStatus target) {
+		return next.contains(target);
+	}
+
+	public boolean isTerminal() {
+		return next.isEmpty();
+	}
+
+	/** Whether an order in this status contributes to sales figures. */
+	public boolean countsAsSale() {
+		return this == PLACED || this == CONFIRMED || this == SHIPPED || this == DELIVERED;
+	}
+
+	/** The statuses for which {@link #countsAsSale()} holds. */
+	public static Set<OrderStatus> saleStatuses() {
+		Set<OrderStatus> sales = EnumSet.noneOf(OrderStatus.class);
+		for (OrderStatus status : values()) {
+			if (status.countsAsSale()) {
+				sales.add(status);
+			}
+		}
+		return sales;
+	}
+
+	/** Case-insensitive lookup; accepts the "canceled" spelling the admin UI has used. */
+	public static OrderStatus fromString(String value) {
+		if (value == null || value.isBlank()) {
+			throw new RuntimeException("❌ Order status is required");
+		}
+		String normalized = value.trim().toUpperCase();
+		if ("CANCELED".equals(normalized)) {
+			return CANCELLED;
+		}
+		try {
+			return valueOf(normalized);
+		} catch (IllegalArgumentException e) {
+			throw new RuntimeException("❌ Unknown order status: " + value);
+		}
+	}
+
+}
@@ -0,0 +1,101 @@
+package com.pinaka.makhana.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+
+/**
+ * One status transition of an order. Rows are only ever inserted.
+ */
+@Entity
+@Immutable
+@Table(name = "order_status_history")
+public class OrderStatusHistory {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "order_status_history_id")
+	@TableGenerator(name = "order_status_history_id", table = "id_generators", pkColumnName = "sequence_name",
+			valueColumnName = "next_val", pkColumnValue = "order_status_history", allocationSize = 50)
+	private Long id;
+
+	@Column(name = "order_id", nullable = false)
+	private Long orderId;
+
+	@Enumerated(EnumType.STRING)
+	@JdbcTypeCode(SqlTypes.VARCHAR)
+	@Column(name = "from_status", length = 20)
+	private OrderStatus fromStatus;
+
+	@Enumerated(EnumType.STRING)
+	@JdbcTypeCode(SqlTypes.VARCHAR)
+	@Column(name = "to_status", length = 20, nullable = false)
+	private OrderStatus toStatus;
+
+	@Column(name = "changed_at", nullable = false)
+	private LocalDateTime changedAt;
+
+	@Column(name = "changed_by")
+	private String changedBy;
+
+	protected OrderStatusHistory() {
+	}
+
+	public OrderStatusHistory(Long orderId, OrderStatus fromStatus, OrderStatus toStatus, LocalDateTime changedAt,
+			String changedBy) {
+		this.orderId = orderId;
+		this.fromStatus = fromStatus;
+		this.toStatus = toStatus;
+		this.changedAt = changedAt;
+		this.changedBy = changedBy;
+	}
+
+	/** A row read back from the archive, keeping its original id. */
+	public OrderStatusHistory(Long id, Long orderId, OrderStatus fromStatus, OrderStatus toStatus,
+			LocalDateTime changedAt, String changedBy) {
+		this(orderId, fromStatus, toStatus, changedAt, changedBy);
+		this.id = id;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public Long getOrderId() {
+		return orderId;
+	}
+
+	public OrderStatus getFromStatus() {
+		return fromStatus;
+	}
+
+	public OrderStatus getToStatus() {
+		return toStatus;
+	}
+
+	public LocalDateTime getChangedAt() {
+		return changedAt;
+	}
+
+	public String getChangedBy() {
+		return changedBy;
+	}
+
+	@Override
+	public String toString() {
+		return "OrderStatusHistory [orderId=" + orderId + ", fromStatus=" + fromStatus + ", toStatus=" + toStatus
+				+ ", changedAt=" + changedAt + ", changedBy=" + changedBy + "]";
+	}
+
+}
@@ -8,12 +8,15 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Lob;
+import jakarta.persistence.TableGenerator;
 import java.time.LocalDateTime;
 
 @Entity
 public class Product {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "product_id")
+	@TableGenerator(name = "product_id", table = "id_generators", pkColumnName = "sequence_name",
+			valueColumnName = "next_val", pkColumnValue = "product", allocationSize = 50)
 	private Long id;
 
 	@Column(nullable = false)
@@ -27,9 +30,10 @@ public class Product {
 	@Column(length = 500)
 	private String shortDescription;
 	
-	@Column(nullable = false)
+	@Column(nullable = false, columnDefinition = "DECIMAL(12,2)")
 	private Double price;
 	
+	@Column(columnDefinition = "DECIMAL(12,2)")
 	private Double originalPrice; // For displaying discounts
 
 	@Lob
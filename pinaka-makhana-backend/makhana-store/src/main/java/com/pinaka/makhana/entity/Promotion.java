@@ -0,0 +1,230 @@
+package com.pinaka.makhana.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+
+/**
+ * Automatic cart promotion, applied at checkout without a code. It targets either
+ * one product ({@code productId}) or a whole {@code category}:
+ * <ul>
+ * <li>BUY_X_GET_Y: for every {@code buyQuantity} bought, {@code freeQuantity} more
+ * are free (the cheapest units, for a category)</li>
+ * <li>BUNDLE: any {@code bundleQuantity} units for {@code bundlePrice}</li>
+ * <li>QUANTITY_TIER: {@code discountPercent} off once at least {@code minQuantity}
+ * units are in the cart; several tiers on the same target form a ladder</li>
+ * </ul>
+ */
+@Entity
+@Table(name = "promotions")
+public class Promotion {
+
+	public enum PromotionType {
+		BUY_X_GET_Y, BUNDLE, QUANTITY_TIER
+	}
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "promotions_id")
+	@TableGenerator(name = "promotions_id", table = "id_generators", pkColumnName = "sequence_name",
+			valueColumnName = "next_val", pkColumnValue = "promotions", allocationSize = 50)
+	private Long id;
+
+	@Column(nullable = false, length = 100)
+	private String name;
+
+	private String description;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 20)
+	private PromotionType type;
+
+	@Column(name = "product_id")
+	private Long productId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(length = 50)
+	private Product.ProductCategory category;
+
+	private Integer buyQuantity;
+	private Integer freeQuantity;
+	private Integer minQuantity;
+
+	@Column(columnDefinition = "DECIMAL(5,2)")
+	private Double discountPercent;
+
+	private Integer bundleQuantity;
+
+	@Column(columnDefinition = "DECIMAL(12,2)")
+	private Double bundlePrice;
+
+	private LocalDateTime startDate;
+	private LocalDateTime endDate;
+
+	@Column(nullable = false)
+	private boolean active = true;
+
+	@Column(nullable = false)
+	private LocalDateTime createdAt;
+
+	private LocalDateTime updatedAt;
+
+	public Promotion() {
+	}
+
+	public Promotion(String name, PromotionType type, Long productId, Product.ProductCategory category) {
+		this.name = name;
+		this.type = type;
+		this.productId = productId;
+		this.category = category;
+	}
+
+	@PrePersist
+	protected void onCreate() {
+		createdAt = LocalDateTime.now();
+		updatedAt = createdAt;
+	}
+
+	@PreUpdate
+	protected void onUpdate() {
+		updatedAt = LocalDateTime.now();
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public String getDescription() {
+		return description;
+	}
+
+	public void setDescription(String description) {
+		this.description = description;
+	}
+
+	public PromotionType getType() {
+		return type;
+	}
+
+	public void setType(PromotionType type) {
+		this.type = type;
+	}
+
+	public Long getProductId() {
+		return productId;
+	}
+
+	public void setProductId(Long productId) {
+		this.productId = productId;
+	}
+
+	public Product.ProductCategory getCategory() {
+		return category;
+	}
+
+	public void setCategory(Product.ProductCategory category) {
+		this.category = category;
+	}
+
+	public Integer getBuyQuantity() {
+		return buyQuantity;
+	}
+
+	public void setBuyQuantity(Integer buyQuantity) {
+		this.buyQuantity = buyQuantity;
+	}
+
+	public Integer getFreeQuantity() {
+		return freeQuantity;
+	}
+
+	public void setFreeQuantity(Integer freeQuantity) {
+		this.freeQuantity = freeQuantity;
+	}
+
+	public Integer getMinQuantity() {
+		return minQuantity;
+	}
+
+	public void setMinQuantity(Integer minQuantity) {
+		this.minQuantity = minQuantity;
+	}
+
+	public Double getDiscountPercent() {
+		return discountPercent;
+	}
+
+	public void setDiscountPercent(Double discountPercent) {
+		this.discountPercent = discountPercent;
+	}
+
+	public Integer getBundleQuantity() {
+		return bundleQuantity;
+	}
+
+	public void setBundleQuantity(Integer bundleQuantity) {
+		this.bundleQuantity = bundleQuantity;
+	}
+
+	public Double getBundlePrice() {
+		return bundlePrice;
+	}
+
+	public void setBundlePrice(Double bundlePrice) {
+		this.bundlePrice = bundlePrice;
+	}
+
+	public LocalDateTime getStartDate() {
+		return startDate;
+	}
+
+	public void setStartDate(LocalDateTime startDate) {
+		this.startDate = startDate;
+	}
+
+	public LocalDateTime getEndDate() {
+		return endDate;
+	}
+
+	public void setEndDate(LocalDateTime endDate) {
+		this.endDate = endDate;
+	}
+
+	public boolean isActive() {
+		return active;
+	}
+
+	public void setActive(boolean active) {
+		this.active = active;
+	}
+
+	public LocalDateTime getCreatedAt() {
+		return createdAt;
+	}
+
+	public LocalDateTime getUpdatedAt() {
+		return updatedAt;
+	}
+
+}
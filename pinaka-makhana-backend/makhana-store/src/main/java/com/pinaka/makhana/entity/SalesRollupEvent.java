@@ -0,0 +1,62 @@
+package com.pinaka.makhana.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+
+/**
+ * Outbox row asking the rollup worker to add ({@code delta = 1}) or remove
+ * ({@code delta = -1}) one order's lines from the sales rollups. Written in the
+ * same transaction as the status change, deleted once applied.
+ */
+@Entity
+@Table(name = "sales_rollup_outbox")
+public class SalesRollupEvent {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "sales_rollup_outbox_id")
+	@TableGenerator(name = "sales_rollup_outbox_id", table = "id_generators", pkColumnName = "sequence_name",
+			valueColumnName = "next_val", pkColumnValue = "sales_rollup_outbox", allocationSize = 50)
+	private Long id;
+
+	@Column(name = "order_id", nullable = false)
+	private Long orderId;
+
+	@Column(nullable = false)
+	private int delta;
+
+	@Column(name = "created_at", nullable = false)
+	private LocalDateTime createdAt;
+
+	protected SalesRollupEvent() {
+	}
+
+	public SalesRollupEvent(Long orderId, int delta) {
+		this.orderId = orderId;
+		this.delta = delta;
+		this.createdAt = LocalDateTime.now();
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public Long getOrderId() {
+		return orderId;
+	}
+
+	public int getDelta() {
+		return delta;
+	}
+
+	public LocalDateTime getCreatedAt() {
+		return createdAt;
+	}
+
+}
@@ -1,9 +1,14 @@
 package com.pinaka.makhana.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.pinaka.makhana.entity.CartItem;
@@ -21,4 +26,43 @@ public interface CartItemRepository extends JpaRepository<CartItem, Long> {
 
 	void deleteByUser(User user);
 
+	boolean existsByUser(User user);
+
+	@Query("SELECT c FROM CartItem c JOIN FETCH c.product WHERE c.user = :user")
+	List<CartItem> findByUserWithProduct(@Param("user") User user);
+
+	// Single DELETE statement instead of loading and removing each row
+	@Modifying
+	@Query("DELETE FROM CartItem c WHERE c.user = :user")
+	int deleteAllByUserInBulk(@Param("user") User user);
+
+	// Checkout: removes exactly the lines that were priced, still in one statement;
+	// a line added while the order was being placed stays in the cart
+	@Modifying
+	@Query("DELETE FROM CartItem c WHERE c.id IN :ids")
+	int deleteCheckedOut(@Param("ids") List<Long> ids);
+
+	// Abandoned-cart sweeper: a cart is stale only when its newest line is older than the
+	// cutoff; walk such carts in user-id order, one bounded chunk at a time
+	@Query("SELECT c.user.id FROM CartItem c WHERE c.user.id > :afterUserId GROUP BY c.user.id "
+			+ "HAVING MAX(c.lastModified) < :cutoff ORDER BY c.user.id")
+	List<Long> findStaleUserIdsAfter(@Param("afterUserId") Long afterUserId, @Param("cutoff") LocalDateTime cutoff,
+			Pageable pageable);
+
+	// Re-check inside the delete transaction: drops users whose cart was touched since the chunk was read
+	@Query("SELECT c.user.id FROM CartItem c WHERE c.user.id IN :userIds GROUP BY c.user.id "
+			+ "HAVING MAX(c.lastModified) < :cutoff")
+	List<Long> findStaleUserIdsIn(@Param("userIds") List<Long> userIds, @Param("cutoff") LocalDateTime cutoff);
+
+	@Modifying
+	@Query("DELETE FROM CartItem c WHERE c.user.id IN :userIds")
+	int deleteByUserIds(@Param("userIds") List<Long> userIds);
+
+	// [carts, items, units, value, oldest] for carts whose newest line is older than the cutoff
+	@Query("SELECT COUNT(DISTINCT c.user.id), COUNT(c), COALESCE(SUM(c.quantity), 0), "
+			+ "COALESCE(SUM(c.quantity * c.product.price), 0), MIN(c.lastModified) "
+			+ "FROM CartItem c WHERE c.user.id IN (SELECT s.user.id FROM CartItem s GROUP BY s.user.id "
+			+ "HAVING MAX(s.lastModified) < :cutoff)")
+	List<Object[]> summarizeStale(@Param("cutoff") LocalDateTime cutoff);
+
 }
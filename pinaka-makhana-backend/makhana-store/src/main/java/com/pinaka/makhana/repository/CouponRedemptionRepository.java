@@ -0,0 +1,13 @@
+package com.pinaka.makhana.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.pinaka.makhana.entity.CouponRedemption;
+
+@Repository
+public interface CouponRedemptionRepository extends JpaRepository<CouponRedemption, Long> {
+
+	long countByCouponIdAndUserId(Long couponId, Long userId);
+
+}
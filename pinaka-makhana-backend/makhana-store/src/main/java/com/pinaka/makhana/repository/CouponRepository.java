@@ -4,6 +4,9 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.pinaka.makhana.entity.Coupon;
@@ -14,6 +17,15 @@ public interface CouponRepository extends JpaRepository<Coupon, Long> {
     Optional<Coupon> findByCode(String code);
     
     List<Coupon> findByActiveTrue();
+
+    @Query("SELECT c.code FROM Coupon c")
+    List<String> findAllCodes();
     
     List<Coupon> findByActiveTrueAndFirstTimeUserOnly(boolean firstTimeUserOnly);
+
+    // Atomic claim of one use: 0 rows updated means the global limit is already reached
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Coupon c SET c.usageCount = COALESCE(c.usageCount, 0) + 1 WHERE c.id = :id "
+            + "AND (c.usageLimit IS NULL OR COALESCE(c.usageCount, 0) < c.usageLimit)")
+    int incrementUsageIfAvailable(@Param("id") Long id);
 }
\ No newline at end of file
@@ -1,16 +1,50 @@
 package com.pinaka.makhana.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.pinaka.makhana.dto.OrderLineDTO;
+import com.pinaka.makhana.dto.OrderSummaryDTO;
 import com.pinaka.makhana.entity.Order;
+import com.pinaka.makhana.entity.OrderStatus;
 import com.pinaka.makhana.entity.User;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderSearchRepository {
 
 	List<Order> findByUser(User user);
 
+	boolean existsByUserAndStatusIn(User user, Collection<OrderStatus> statuses);
+
+	// Order history, newest first, keyset-paginated over (user_id, order_date, id)
+	String HISTORY_SELECT = "SELECT new com.pinaka.makhana.dto.OrderSummaryDTO(o.id, o.orderDate, o.status, o.totalAmount, "
+			+ "COUNT(i), SUM(i.quantity)) FROM Order o LEFT JOIN o.items i WHERE o.user.email = :email ";
+	String HISTORY_GROUP = "GROUP BY o.id, o.orderDate, o.status, o.totalAmount ORDER BY o.orderDate DESC, o.id DESC";
+
+	@Query(HISTORY_SELECT + HISTORY_GROUP)
+	List<OrderSummaryDTO> findHistoryFirstPage(@Param("email") String email, Pageable pageable);
+
+	@Query(HISTORY_SELECT + "AND (o.orderDate < :beforeDate OR (o.orderDate = :beforeDate AND o.id < :beforeId)) "
+			+ HISTORY_GROUP)
+	List<OrderSummaryDTO> findHistoryPageBefore(@Param("email") String email,
+			@Param("beforeDate") LocalDateTime beforeDate, @Param("beforeId") Long beforeId, Pageable pageable);
+
+	// Served from order_items snapshot columns; product is never joined
+	@Query("SELECT new com.pinaka.makhana.dto.OrderLineDTO(i.id, i.product.id, i.productName, i.productSku, "
+			+ "i.productWeight, i.quantity, i.price, i.originalPrice, i.thumbnailUrl) "
+			+ "FROM OrderItem i WHERE i.order.id = :orderId AND i.order.user.email = :email ORDER BY i.id")
+	List<OrderLineDTO> findOrderLines(@Param("email") String email, @Param("orderId") Long orderId);
+
+	// [orderId, userEmail] pairs, used to re-queue intake work after a restart
+	@Query("SELECT o.id, o.user.email FROM Order o WHERE o.status = :status ORDER BY o.id")
+	List<Object[]> findIdAndEmailByStatus(@Param("status") OrderStatus status);
+
 }
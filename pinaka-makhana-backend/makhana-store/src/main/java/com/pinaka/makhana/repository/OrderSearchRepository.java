@@ -0,0 +1,20 @@
+package com.pinaka.makhana.repository;
+
+import java.util.List;
+import java.util.Map;
+
+import com.pinaka.makhana.dto.AdminOrderSummaryDTO;
+import com.pinaka.makhana.dto.OrderSearchCriteria;
+import com.pinaka.makhana.util.OrderCursor;
+
+/**
+ * Admin order search; the JPQL is assembled from whichever filters are set so
+ * each query shape can use its index instead of "(:x IS NULL OR ...)" predicates.
+ */
+public interface OrderSearchRepository {
+
+	List<AdminOrderSummaryDTO> searchOrders(OrderSearchCriteria criteria, OrderCursor before, int limit);
+
+	Map<String, Long> countOrdersByStatus(OrderSearchCriteria criteria);
+
+}
@@ -0,0 +1,94 @@
+package com.pinaka.makhana.repository;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.pinaka.makhana.dto.AdminOrderSummaryDTO;
+import com.pinaka.makhana.dto.OrderSearchCriteria;
+import com.pinaka.makhana.entity.OrderStatus;
+import com.pinaka.makhana.util.OrderCursor;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+class OrderSearchRepositoryImpl implements OrderSearchRepository {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public List<AdminOrderSummaryDTO> searchOrders(OrderSearchCriteria criteria, OrderCursor before, int limit) {
+		StringBuilder jpql = new StringBuilder(
+				"SELECT new com.pinaka.makhana.dto.AdminOrderSummaryDTO(o.id, o.orderDate, o.status, o.totalAmount, "
+						+ "u.id, u.name, u.email) FROM Order o JOIN o.user u WHERE 1 = 1");
+		Map<String, Object> params = new HashMap<>();
+		appendFilters(jpql, params, criteria, true);
+		if (before != null) {
+			jpql.append(" AND (o.orderDate < :beforeDate OR (o.orderDate = :beforeDate AND o.id < :beforeId))");
+			params.put("beforeDate", before.orderDate());
+			params.put("beforeId", before.id());
+		}
+		jpql.append(" ORDER BY o.orderDate DESC, o.id DESC");
+
+		TypedQuery<AdminOrderSummaryDTO> query = entityManager.createQuery(jpql.toString(),
+				AdminOrderSummaryDTO.class);
+		params.forEach(query::setParameter);
+		return query.setMaxResults(limit).getResultList();
+	}
+
+	@Override
+	public Map<String, Long> countOrdersByStatus(OrderSearchCriteria criteria) {
+		StringBuilder jpql = new StringBuilder("SELECT o.status, COUNT(o) FROM Order o");
+		if (criteria != null && criteria.getUserEmail() != null) {
+			jpql.append(" JOIN o.user u");
+		}
+		jpql.append(" WHERE 1 = 1");
+		Map<String, Object> params = new HashMap<>();
+		appendFilters(jpql, params, criteria, false);
+		jpql.append(" GROUP BY o.status");
+
+		TypedQuery<Object[]> query = entityManager.createQuery(jpql.toString(), Object[].class);
+		params.forEach(query::setParameter);
+
+		Map<String, Long> counts = new LinkedHashMap<>();
+		for (Object[] row : query.getResultList()) {
+			counts.put(row[0] != null ? ((OrderStatus) row[0]).name() : "unknown", (Long) row[1]);
+		}
+		return counts;
+	}
+
+	private void appendFilters(StringBuilder jpql, Map<String, Object> params, OrderSearchCriteria criteria,
+			boolean includeStatus) {
+		if (criteria == null) {
+			return;
+		}
+		if (includeStatus && criteria.getStatus() != null) {
+			jpql.append(" AND o.status = :status");
+			params.put("status", OrderStatus.fromString(criteria.getStatus()));
+		}
+		if (criteria.getFrom() != null) {
+			jpql.append(" AND o.orderDate >= :fromDate");
+			params.put("fromDate", criteria.getFrom());
+		}
+		if (criteria.getTo() != null) {
+			jpql.append(" AND o.orderDate < :toDate");
+			params.put("toDate", criteria.getTo());
+		}
+		if (criteria.getUserEmail() != null) {
+			jpql.append(" AND u.email = :email");
+			params.put("email", criteria.getUserEmail());
+		}
+		if (criteria.getMinTotal() != null) {
+			jpql.append(" AND o.totalAmount >= :minTotal");
+			params.put("minTotal", criteria.getMinTotal());
+		}
+		if (criteria.getMaxTotal() != null) {
+			jpql.append(" AND o.totalAmount <= :maxTotal");
+			params.put("maxTotal", criteria.getMaxTotal());
+		}
+	}
+
+}
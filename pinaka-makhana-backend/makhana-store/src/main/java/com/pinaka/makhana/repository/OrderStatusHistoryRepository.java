@@ -0,0 +1,39 @@
+package com.pinaka.makhana.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.pinaka.makhana.entity.OrderStatus;
+import com.pinaka.makhana.entity.OrderStatusHistory;
+
+@Repository
+public interface OrderStatusHistoryRepository extends JpaRepository<OrderStatusHistory, Long> {
+
+	List<OrderStatusHistory> findByOrderIdOrderByChangedAtAscIdAsc(Long orderId);
+
+	// Pooled ids are unique but each instance hands out its own block, so they do not
+	// follow time across instances; streams resume on (changedAt, id) instead
+	@Query("SELECT h FROM OrderStatusHistory h WHERE h.orderId = :orderId AND (h.changedAt > :changedAt "
+			+ "OR (h.changedAt = :changedAt AND h.id > :id)) ORDER BY h.changedAt, h.id")
+	List<OrderStatusHistory> findAfter(@Param("orderId") Long orderId, @Param("changedAt") LocalDateTime changedAt,
+			@Param("id") Long id);
+
+	Optional<OrderStatusHistory> findByIdAndOrderId(Long id, Long orderId);
+
+	Optional<OrderStatusHistory> findFirstByOrderIdOrderByChangedAtDescIdDesc(Long orderId);
+
+	// [enteredFrom, enteredTo] pairs for orders that reached :to within the window;
+	// driven by idx_osh_status_time, then one idx_osh_order_status probe per order
+	@Query("SELECT s.changedAt, e.changedAt FROM OrderStatusHistory e, OrderStatusHistory s "
+			+ "WHERE e.toStatus = :to AND e.changedAt >= :since AND e.changedAt < :until "
+			+ "AND s.orderId = e.orderId AND s.toStatus = :from")
+	List<Object[]> findTransitionTimes(@Param("from") OrderStatus from, @Param("to") OrderStatus to,
+			@Param("since") LocalDateTime since, @Param("until") LocalDateTime until);
+
+}
@@ -0,0 +1,15 @@
+package com.pinaka.makhana.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.pinaka.makhana.entity.Promotion;
+
+@Repository
+public interface PromotionRepository extends JpaRepository<Promotion, Long> {
+
+	List<Promotion> findByActiveTrue();
+
+}
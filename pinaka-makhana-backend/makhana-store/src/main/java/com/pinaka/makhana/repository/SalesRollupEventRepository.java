@@ -0,0 +1,11 @@
+package com.pinaka.makhana.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.pinaka.makhana.entity.SalesRollupEvent;
+
+@Repository
+public interface SalesRollupEventRepository extends JpaRepository<SalesRollupEvent, Long> {
+
+}
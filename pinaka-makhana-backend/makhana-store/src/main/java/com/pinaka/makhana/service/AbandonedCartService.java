@@ -0,0 +1,11 @@
+package com.pinaka.makhana.service;
+
+import java.util.Map;
+
+public interface AbandonedCartService {
+
+	int sweepAbandonedCarts();
+
+	Map<String, Object> getAbandonedCartSummary();
+
+}
@@ -0,0 +1,27 @@
+package com.pinaka.makhana.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+import com.pinaka.makhana.util.CouponRule;
+
+public interface CouponCodeService {
+
+	/** Queues a job generating {@code count} single-use codes for a coupon template; returns its progress. */
+	Map<String, Object> startGeneration(Long couponId, int count);
+
+	Map<String, Object> getJob(Long jobId);
+
+	Map<String, Object> getCodeStats(Long couponId);
+
+	/** Streams the campaign's codes, one per line; returns how many were written. */
+	long exportCodes(Long couponId, boolean unredeemedOnly, OutputStream out) throws IOException;
+
+	/** Template rule for an unredeemed campaign code, or null when it was never issued or is used up. */
+	CouponRule resolve(String code);
+
+	/** Marks a campaign code used; false when it was already redeemed or never issued. */
+	boolean markRedeemed(String code);
+
+}
@@ -1,7 +1,10 @@
 package com.pinaka.makhana.service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
+import com.pinaka.makhana.dto.CouponSuggestion;
 import com.pinaka.makhana.entity.Coupon;
 
 public interface CouponService {
@@ -11,10 +14,19 @@ public interface CouponService {
     Coupon getCouponById(Long id);
     
     Coupon getCouponByCode(String code);
+
+    /** Empty for unknown codes; most of them are rejected by the code filter without a query. */
+    Optional<Coupon> findCouponByCode(String code);
+
+    Map<String, Object> getCodeLookupStats();
     
+    /** Coupons whose window is open and usage limit not reached, without date filtering per request. */
     List<Coupon> getActiveCoupons();
     
     List<Coupon> getActiveCouponsForFirstTimeUsers();
+
+    /** Changes whenever the set of live coupons does, including at window boundaries. */
+    String getActiveCouponsETag();
     
     Coupon createCoupon(Coupon coupon);
     
@@ -22,9 +34,13 @@ public interface CouponService {
     
     void deleteCoupon(Long id);
     
+    /** Whether the user has never ordered; {@code userId} saves the lookup by email when the caller has it. */
+    boolean isFirstTimeUser(String email, Long userId);
+
     Double calculateDiscount(String couponCode, Double orderAmount, boolean isFirstTimeUser);
     
     boolean validateCoupon(String couponCode, Double orderAmount, boolean isFirstTimeUser);
     
-    void incrementCouponUsage(String couponCode);
+    /** Applicable coupons for an order amount, highest total savings (discount plus shipping) first. */
+    List<CouponSuggestion> findBestCoupons(Double orderAmount, boolean isFirstTimeUser, int limit);
 }
\ No newline at end of file
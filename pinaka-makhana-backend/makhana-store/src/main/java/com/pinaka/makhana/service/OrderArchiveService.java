@@ -0,0 +1,42 @@
+package com.pinaka.makhana.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import com.pinaka.makhana.dto.OrderLineDTO;
+import com.pinaka.makhana.dto.OrderSummaryDTO;
+import com.pinaka.makhana.entity.Order;
+import com.pinaka.makhana.entity.OrderStatusHistory;
+import com.pinaka.makhana.entity.User;
+import com.pinaka.makhana.util.OrderCursor;
+
+public interface OrderArchiveService {
+
+	/** Moves finished orders past the retention age to the archive tables; returns how many moved. */
+	int archiveOldOrders();
+
+	Map<String, Object> getArchiveSummary();
+
+	/** Recomputes a batch's checksum from the archive tables and compares it with the stored one. */
+	Map<String, Object> verifyBatch(Long batchId);
+
+	/** Newest order date that may have been archived, or null when nothing has been. */
+	LocalDateTime getArchivedThrough();
+
+	// Read-through lookups used when an order is no longer in the hot tables
+
+	Order findArchivedOrder(Long orderId);
+
+	List<Order> findArchivedOrdersByUser(User user);
+
+	/** Whether the user has an archived order in a status that counts as a sale. */
+	boolean hasArchivedOrders(Long userId);
+
+	List<OrderSummaryDTO> findArchivedHistory(String email, OrderCursor before, int limit);
+
+	List<OrderLineDTO> findArchivedOrderLines(String email, Long orderId);
+
+	List<OrderStatusHistory> findArchivedStatusHistory(Long orderId);
+
+}
@@ -0,0 +1,20 @@
+package com.pinaka.makhana.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.pinaka.makhana.dto.OrderSearchCriteria;
+
+public interface OrderExportService {
+
+	enum Format {
+		NDJSON, CSV
+	}
+
+	/**
+	 * Streams every matching order with its lines to {@code out}, oldest first.
+	 * Returns the number of orders written.
+	 */
+	long exportOrders(OrderSearchCriteria criteria, Format format, OutputStream out) throws IOException;
+
+}
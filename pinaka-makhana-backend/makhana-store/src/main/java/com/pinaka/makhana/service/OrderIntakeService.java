@@ -0,0 +1,15 @@
+package com.pinaka.makhana.service;
+
+import java.util.Map;
+
+public interface OrderIntakeService {
+
+	boolean isEnabled();
+
+	Map<String, Object> submitOrder(String email);
+
+	Map<String, Object> submitOrder(String email, String couponCode);
+
+	Map<String, Object> getIntakeStats();
+
+}
@@ -1,20 +1,59 @@
 package com.pinaka.makhana.service;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
+import com.pinaka.makhana.dto.AdminOrderPage;
+import com.pinaka.makhana.dto.OrderHistoryPage;
+import com.pinaka.makhana.dto.OrderLineDTO;
+import com.pinaka.makhana.dto.OrderQuote;
+import com.pinaka.makhana.dto.OrderSearchCriteria;
 import com.pinaka.makhana.entity.Order;
+import com.pinaka.makhana.entity.OrderStatusHistory;
 
 public interface OrderService {
 
 	void placeOrder(String email);
 
+	/** Places the cart as an order with the coupon applied and one use of it redeemed; null for none. */
+	void placeOrder(String email, String couponCode);
+
+	OrderQuote quoteOrder(String email, String couponCode);
+
 	List<Order> getOrdersByUser(String email);
 
+	String getOrderStatus(String email, Long orderId);
+
+	/**
+	 * Status events for an order's live stream, in (changedAt, id) order: those
+	 * after the event {@code afterEventId}, the whole history when that event is
+	 * unknown, or just the latest one when the client has not seen any yet.
+	 */
+	List<OrderStatusHistory> getOrderStatusEvents(Long orderId, Long afterEventId);
+
+	OrderHistoryPage getOrderHistoryPage(String email, String cursor, int limit);
+
+	List<OrderLineDTO> getOrderLines(String email, Long orderId);
+
 	// Admin methods
 	List<Order> getAllOrders();
 
+	AdminOrderPage searchOrders(OrderSearchCriteria criteria, String cursor, int limit);
+
 	Order getOrderById(Long orderId);
 
-	Order updateOrderStatus(Long orderId, String status);
+	/**
+	 * Applies one lifecycle transition. When {@code expectedVersion} is given it must
+	 * match the stored version, otherwise the update is rejected as a conflict.
+	 */
+	Order updateOrderStatus(Long orderId, String status, Long expectedVersion, String changedBy);
+
+	Map<String, Object> bulkUpdateOrderStatus(List<Long> orderIds, String status, String changedBy);
+
+	List<OrderStatusHistory> getOrderStatusHistory(Long orderId);
+
+	Map<String, Object> getStatusTransitionSla(String fromStatus, String toStatus, LocalDateTime since,
+			LocalDateTime until);
 
 }
@@ -0,0 +1,19 @@
+package com.pinaka.makhana.service;
+
+import java.util.List;
+
+import com.pinaka.makhana.entity.Promotion;
+
+public interface PromotionService {
+
+	List<Promotion> getAllPromotions();
+
+	Promotion getPromotionById(Long id);
+
+	Promotion createPromotion(Promotion promotion);
+
+	Promotion updatePromotion(Long id, Promotion promotion);
+
+	void deletePromotion(Long id);
+
+}
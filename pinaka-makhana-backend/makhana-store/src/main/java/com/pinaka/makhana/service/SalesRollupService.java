@@ -0,0 +1,31 @@
+package com.pinaka.makhana.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public interface SalesRollupService {
+
+	enum Granularity {
+		HOUR, DAY
+	}
+
+	enum Dimension {
+		TOTAL, PRODUCT, CATEGORY, STATE
+	}
+
+	/** Applies queued outbox events to the rollups; returns how many were applied. */
+	int applyPendingEvents();
+
+	List<Map<String, Object>> getSeries(Granularity granularity, Dimension dimension, String key, LocalDateTime from,
+			LocalDateTime to);
+
+	List<Map<String, Object>> getTopKeys(Granularity granularity, Dimension dimension, LocalDateTime from,
+			LocalDateTime to, int limit);
+
+	Map<String, Object> getOverview();
+
+	/** Recomputes every rollup from orders, one day per task, in parallel. */
+	Map<String, Object> rebuild();
+
+}
@@ -0,0 +1,161 @@
+package com.pinaka.makhana.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.pinaka.makhana.repository.CartItemRepository;
+import com.pinaka.makhana.service.AbandonedCartService;
+import com.pinaka.makhana.util.CheckoutVersions;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Removes carts that have not been touched within the retention window. A cart is
+ * judged as a whole: it is abandoned only when its most recently modified line is
+ * older than the cutoff, so an old line in a cart the user is still filling is kept.
+ * Each chunk of carts is selected by user id and deleted in its own short transaction,
+ * so the sweeper never holds row locks for longer than one chunk.
+ */
+@Service
+public class AbandonedCartServiceImpl implements AbandonedCartService {
+
+	private static final Logger log = LoggerFactory.getLogger(AbandonedCartServiceImpl.class);
+
+	private final CartItemRepository cartItemRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final CheckoutVersions checkoutVersions;
+
+	private final int retentionDays;
+	private final int chunkSize;
+	private final long pauseMillis;
+
+	private final AtomicBoolean running = new AtomicBoolean(false);
+	private final AtomicLong currentRunDeleted = new AtomicLong();
+	private final AtomicLong lastRunDeleted = new AtomicLong();
+	private volatile LocalDateTime lastRunAt;
+
+	private final Counter deletedCounter;
+	private final Counter chunkCounter;
+	private final Timer sweepTimer;
+
+	public AbandonedCartServiceImpl(CartItemRepository cartItemRepository, TransactionTemplate transactionTemplate,
+			CheckoutVersions checkoutVersions, MeterRegistry meterRegistry,
+			@Value("${app.cart.abandoned.retention-days:30}") int retentionDays,
+			@Value("${app.cart.abandoned.chunk-size:500}") int chunkSize,
+			@Value("${app.cart.abandoned.chunk-pause-ms:50}") long pauseMillis) {
+		this.cartItemRepository = cartItemRepository;
+		this.transactionTemplate = transactionTemplate;
+		this.checkoutVersions = checkoutVersions;
+		this.retentionDays = retentionDays;
+		this.chunkSize = chunkSize;
+		this.pauseMillis = pauseMillis;
+
+		this.deletedCounter = Counter.builder("cart.sweeper.rows.deleted")
+				.description("Abandoned cart rows removed by the sweeper").register(meterRegistry);
+		this.chunkCounter = Counter.builder("cart.sweeper.chunks")
+				.description("Delete chunks executed by the sweeper").register(meterRegistry);
+		this.sweepTimer = Timer.builder("cart.sweeper.duration")
+				.description("Wall time of a full sweeper run").register(meterRegistry);
+		meterRegistry.gauge("cart.sweeper.running", running, r -> r.get() ? 1 : 0);
+		meterRegistry.gauge("cart.sweeper.current.deleted", currentRunDeleted);
+		meterRegistry.gauge("cart.sweeper.last.deleted", lastRunDeleted);
+	}
+
+	@Override
+	@Scheduled(cron = "${app.cart.abandoned.sweep-cron:0 30 3 * * *}")
+	public int sweepAbandonedCarts() {
+		if (!running.compareAndSet(false, true)) {
+			log.warn("⏭️ Abandoned-cart sweep already in progress, skipping");
+			return 0;
+		}
+
+		long start = System.nanoTime();
+		currentRunDeleted.set(0);
+		LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+		log.info("🧹 Sweeping carts not modified since {}", cutoff);
+
+		try {
+			long afterUserId = 0L;
+			while (true) {
+				List<Long> userIds = cartItemRepository.findStaleUserIdsAfter(afterUserId, cutoff,
+						PageRequest.of(0, chunkSize));
+				if (userIds.isEmpty()) {
+					break;
+				}
+
+				Integer deleted = transactionTemplate.execute(status -> {
+					List<Long> stillStale = cartItemRepository.findStaleUserIdsIn(userIds, cutoff);
+					return stillStale.isEmpty() ? 0 : cartItemRepository.deleteByUserIds(stillStale);
+				});
+				int count = deleted != null ? deleted : 0;
+				currentRunDeleted.addAndGet(count);
+				deletedCounter.increment(count);
+				chunkCounter.increment();
+				afterUserId = userIds.get(userIds.size() - 1);
+
+				if (userIds.size() < chunkSize) {
+					break;
+				}
+				pause();
+			}
+		} finally {
+			if (currentRunDeleted.get() > 0) {
+				checkoutVersions.bumpAllCarts();
+			}
+			lastRunDeleted.set(currentRunDeleted.get());
+			lastRunAt = LocalDateTime.now();
+			sweepTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			running.set(false);
+		}
+
+		log.info("✅ Abandoned-cart sweep removed {} cart items", lastRunDeleted.get());
+		return (int) lastRunDeleted.get();
+	}
+
+	@Override
+	public Map<String, Object> getAbandonedCartSummary() {
+		LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+		Object[] row = cartItemRepository.summarizeStale(cutoff).get(0);
+
+		Map<String, Object> summary = new HashMap<>();
+		summary.put("retentionDays", retentionDays);
+		summary.put("cutoff", cutoff);
+		summary.put("abandonedCarts", row[0]);
+		summary.put("abandonedItems", row[1]);
+		summary.put("abandonedUnits", row[2]);
+		summary.put("abandonedValue", Math.round(((Number) row[3]).doubleValue() * 100.0) / 100.0);
+		summary.put("oldestActivity", row[4]);
+		summary.put("sweepRunning", running.get());
+		summary.put("currentRunDeleted", currentRunDeleted.get());
+		summary.put("lastRunDeleted", lastRunDeleted.get());
+		summary.put("lastRunAt", lastRunAt);
+		return summary;
+	}
+
+	private void pause() {
+		if (pauseMillis <= 0) {
+			return;
+		}
+		try {
+			Thread.sleep(pauseMillis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
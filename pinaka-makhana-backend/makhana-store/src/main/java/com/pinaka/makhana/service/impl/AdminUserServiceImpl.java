@@ -18,6 +18,7 @@ import com.pinaka.makhana.entity.User;
 import com.pinaka.makhana.repository.OrderRepository;
 import com.pinaka.makhana.repository.UserRepository;
 import com.pinaka.makhana.service.AdminUserService;
+import com.pinaka.makhana.util.PricingEngine;
 
 @Service
 @Transactional
@@ -107,9 +108,9 @@ public class AdminUserServiceImpl implements AdminUserService {
         // Order statistics
         stats.put("totalOrders", userOrders.size());
         
-        double totalSpent = userOrders.stream()
-            .mapToDouble(order -> order.getTotalAmount() != null ? order.getTotalAmount() : 0.0)
-            .sum();
+        double totalSpent = PricingEngine.toRupeesDouble(userOrders.stream()
+            .mapToLong(order -> PricingEngine.toPaise(order.getTotalAmount()))
+            .sum());
         stats.put("totalSpent", totalSpent);
         
         double averageOrderValue = userOrders.isEmpty() ? 0.0 : totalSpent / userOrders.size();
@@ -126,7 +127,7 @@ public class AdminUserServiceImpl implements AdminUserService {
         // Order status breakdown
         Map<String, Long> orderStatusCounts = new HashMap<>();
         userOrders.forEach(order -> {
-            String status = order.getStatus() != null ? order.getStatus() : "unknown";
+            String status = order.getStatus() != null ? order.getStatus().name() : "unknown";
             orderStatusCounts.put(status, orderStatusCounts.getOrDefault(status, 0L) + 1);
         });
         stats.put("orderStatusBreakdown", orderStatusCounts);
@@ -12,6 +12,7 @@ import com.pinaka.makhana.repository.CartItemRepository;
 import com.pinaka.makhana.repository.ProductRepository;
 import com.pinaka.makhana.repository.UserRepository;
 import com.pinaka.makhana.service.CartService;
+import com.pinaka.makhana.util.CheckoutVersions;
 
 @Service
 public class CartServiceImpl implements CartService {
@@ -19,12 +20,14 @@ public class CartServiceImpl implements CartService {
 	private final CartItemRepository cartItemRepository;
 	private final UserRepository userRepository;
 	private final ProductRepository productRepository;
+	private final CheckoutVersions checkoutVersions;
 
 	public CartServiceImpl(CartItemRepository cartItemRepository, UserRepository userRepository,
-			ProductRepository productRepository) {
+			ProductRepository productRepository, CheckoutVersions checkoutVersions) {
 		this.cartItemRepository = cartItemRepository;
 		this.userRepository = userRepository;
 		this.productRepository = productRepository;
+		this.checkoutVersions = checkoutVersions;
 	}
 
 	@Override
@@ -40,6 +43,7 @@ public class CartServiceImpl implements CartService {
 		}).orElse(new CartItem(user, product, quantity));
 
 		cartItemRepository.save(cartItem);
+		checkoutVersions.bumpCart(email);
 	}
 
 	@Override
@@ -50,6 +54,7 @@ public class CartServiceImpl implements CartService {
 				.orElseThrow(() -> new RuntimeException("Product not found"));
 
 		cartItemRepository.deleteByUserAndProduct(user, product);
+		checkoutVersions.bumpCart(email);
 	}
 
 	@Override
@@ -68,6 +73,7 @@ public class CartServiceImpl implements CartService {
 			cartItem.setQuantity(quantity);
 			cartItemRepository.save(cartItem);
 		}
+		checkoutVersions.bumpCart(email);
 	}
 
 	@Override
@@ -80,7 +86,8 @@ public class CartServiceImpl implements CartService {
 	@Transactional
 	public void clearCart(String email) {
 		User user = userRepository.findByEmail(email).orElseThrow(() -> new RuntimeException("User not found"));
-		cartItemRepository.deleteByUser(user);
+		cartItemRepository.deleteAllByUserInBulk(user);
+		checkoutVersions.bumpCart(email);
 	}
 
 }
@@ -0,0 +1,289 @@
+package com.pinaka.makhana.service.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.pinaka.makhana.entity.Coupon;
+import com.pinaka.makhana.repository.CouponRepository;
+import com.pinaka.makhana.service.CouponCodeService;
+import com.pinaka.makhana.util.CouponCodeFilter;
+import com.pinaka.makhana.util.CouponCodes;
+import com.pinaka.makhana.util.CouponRule;
+import com.pinaka.makhana.util.CouponRuleCache;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Bulk single-use codes for campaigns. A job reserves a block of sequence numbers
+ * for the campaign in id_generators, turns each into a code with
+ * {@link CouponCodes}, and inserts them in JDBC batches, one transaction per
+ * batch, so progress is visible and a failure keeps what was already written.
+ * Jobs run one at a time on a background thread.
+ */
+@Service
+public class CouponCodeServiceImpl implements CouponCodeService {
+
+	private static final Logger log = LoggerFactory.getLogger(CouponCodeServiceImpl.class);
+
+	private static final int MAX_CODES_PER_JOB = 10_000_000;
+	private static final int RETAINED_JOBS = 100;
+
+	private static final class GenerationJob {
+		final long id;
+		final Long couponId;
+		final int requested;
+		final AtomicLong generated = new AtomicLong();
+		final LocalDateTime createdAt = LocalDateTime.now();
+		volatile String status = "QUEUED";
+		volatile LocalDateTime startedAt;
+		volatile LocalDateTime finishedAt;
+		volatile String error;
+
+		GenerationJob(long id, Long couponId, int requested) {
+			this.id = id;
+			this.couponId = couponId;
+			this.requested = requested;
+		}
+	}
+
+	private final CouponRepository couponRepository;
+	private final CouponRuleCache couponRuleCache;
+	private final CouponCodeFilter couponCodeFilter;
+	private final JdbcTemplate jdbcTemplate;
+	private final JdbcTemplate exportTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final int batchSize;
+
+	private final AtomicLong jobIds = new AtomicLong();
+	private final Map<Long, GenerationJob> jobs = new LinkedHashMap<>();
+	private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "coupon-code-generator");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	public CouponCodeServiceImpl(CouponRepository couponRepository, CouponRuleCache couponRuleCache,
+			CouponCodeFilter couponCodeFilter, JdbcTemplate jdbcTemplate, DataSource dataSource, TransactionTemplate transactionTemplate,
+			@Value("${app.coupons.codes.batch-size:10000}") int batchSize,
+			@Value("${app.coupons.codes.export-fetch-size:10000}") int exportFetchSize) {
+		this.couponRepository = couponRepository;
+		this.couponRuleCache = couponRuleCache;
+		this.couponCodeFilter = couponCodeFilter;
+		this.jdbcTemplate = jdbcTemplate;
+		// Dedicated template so the fetch size only applies to export cursors
+		this.exportTemplate = new JdbcTemplate(dataSource);
+		this.exportTemplate.setFetchSize(exportFetchSize);
+		this.transactionTemplate = transactionTemplate;
+		this.batchSize = batchSize;
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	@Override
+	public Map<String, Object> startGeneration(Long couponId, int count) {
+		if (count < 1 || count > MAX_CODES_PER_JOB) {
+			throw new RuntimeException("❌ Code count must be between 1 and " + MAX_CODES_PER_JOB);
+		}
+		Coupon template = couponRepository.findById(couponId)
+				.orElseThrow(() -> new RuntimeException("Coupon not found with id: " + couponId));
+		if (template.getCode() == null || template.getCode().trim().length() > CouponCodes.MAX_PREFIX_LENGTH) {
+			throw new RuntimeException("❌ Campaign template code must be at most " + CouponCodes.MAX_PREFIX_LENGTH
+					+ " characters");
+		}
+
+		if (!template.isCampaignOnly()) {
+			// From now on its code is a visible prefix of single-use codes, not a coupon of its own
+			template.setCampaignOnly(true);
+			couponRuleCache.putAfterCommit(couponRepository.save(template));
+		}
+
+		GenerationJob job = new GenerationJob(jobIds.incrementAndGet(), couponId, count);
+		synchronized (jobs) {
+			jobs.put(job.id, job);
+			if (jobs.size() > RETAINED_JOBS) {
+				jobs.values().removeIf(old -> old.finishedAt != null && jobs.size() > RETAINED_JOBS);
+			}
+		}
+		String prefix = CouponRule.normalize(template.getCode());
+		executor.submit(() -> run(job, prefix));
+		return describe(job);
+	}
+
+	@Override
+	public Map<String, Object> getJob(Long jobId) {
+		GenerationJob job;
+		synchronized (jobs) {
+			job = jobs.get(jobId);
+		}
+		if (job == null) {
+			throw new RuntimeException("❌ Code generation job not found: " + jobId);
+		}
+		return describe(job);
+	}
+
+	@Override
+	public Map<String, Object> getCodeStats(Long couponId) {
+		Map<String, Object> stats = new HashMap<>();
+		jdbcTemplate.query("SELECT COUNT(*), SUM(CASE WHEN redeemed THEN 1 ELSE 0 END) FROM coupon_codes "
+				+ "WHERE coupon_id = ?", (RowCallbackHandler) rs -> {
+					stats.put("codes", rs.getLong(1));
+					stats.put("redeemed", rs.getLong(2));
+				}, couponId);
+		stats.put("couponId", couponId);
+		return stats;
+	}
+
+	@Override
+	public long exportCodes(Long couponId, boolean unredeemedOnly, OutputStream out) throws IOException {
+		Writer writer = new OutputStreamWriter(out, StandardCharsets.US_ASCII);
+		AtomicLong written = new AtomicLong();
+		try {
+			exportTemplate.query("SELECT code FROM coupon_codes WHERE coupon_id = ?"
+					+ (unredeemedOnly ? " AND redeemed = FALSE" : ""), (RowCallbackHandler) rs -> {
+						try {
+							writer.write(rs.getString(1));
+							writer.write('\n');
+						} catch (IOException e) {
+							throw new UncheckedIOException(e);
+						}
+						written.incrementAndGet();
+					}, couponId);
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		writer.flush();
+		return written.get();
+	}
+
+	@Override
+	public CouponRule resolve(String code) {
+		String key = CouponRule.normalize(code);
+		// The check character screens typos and guesses before any query
+		if (!CouponCodes.isWellFormed(key)) {
+			return null;
+		}
+		// Only a live campaign's codes can resolve, and its template is in the rule cache
+		if (couponRuleCache.findTemplate(CouponCodes.prefixOf(key)) == null || !couponCodeFilter.mightBeIssued(key)) {
+			return null;
+		}
+		List<Long> couponIds = jdbcTemplate.queryForList(
+				"SELECT coupon_id FROM coupon_codes WHERE code = ? AND redeemed = FALSE", Long.class, key);
+		if (couponIds.isEmpty()) {
+			couponCodeFilter.recordCampaignMiss(key);
+			return null;
+		}
+		return couponRuleCache.findById(couponIds.get(0));
+	}
+
+	@Override
+	public boolean markRedeemed(String code) {
+		String key = CouponRule.normalize(code);
+		return CouponCodes.isWellFormed(key)
+				&& jdbcTemplate.update("UPDATE coupon_codes SET redeemed = TRUE WHERE code = ? AND redeemed = FALSE",
+						key) == 1;
+	}
+
+	private void run(GenerationJob job, String prefix) {
+		job.startedAt = LocalDateTime.now();
+		job.status = "RUNNING";
+		try {
+			long first = reserve(job.couponId, job.requested);
+			long salt = CouponCodes.saltFor(job.couponId);
+			List<Object[]> rows = new ArrayList<>(Math.min(batchSize, job.requested));
+			for (int offset = 0; offset < job.requested; offset += rows.size()) {
+				rows.clear();
+				int size = Math.min(batchSize, job.requested - offset);
+				for (int i = 0; i < size; i++) {
+					rows.add(new Object[] { CouponCodes.generate(prefix, salt, first + offset + i), job.couponId });
+				}
+				transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+						"INSERT INTO coupon_codes (code, coupon_id, redeemed) VALUES (?, ?, FALSE)", rows));
+				job.generated.addAndGet(size);
+			}
+			couponCodeFilter.clearCampaignMisses();
+			job.status = "COMPLETED";
+			log.info("🎟️ Generated {} codes for coupon {}", job.requested, job.couponId);
+		} catch (DuplicateKeyException e) {
+			// Only possible when one campaign's prefix plus body spells another campaign's code
+			job.status = "FAILED";
+			job.error = "Generated code collides with an existing code";
+			log.error("❌ Code generation job {} hit a duplicate code", job.id, e);
+		} catch (RuntimeException e) {
+			job.status = "FAILED";
+			job.error = e.getMessage();
+			log.error("❌ Code generation job {} failed", job.id, e);
+		} finally {
+			job.finishedAt = LocalDateTime.now();
+		}
+	}
+
+	// Claims [first, first + count) of the campaign's sequence; the row lock serializes concurrent jobs
+	private long reserve(Long couponId, int count) {
+		String sequence = "coupon_codes_" + couponId;
+		return transactionTemplate.execute(status -> {
+			if (jdbcTemplate.update("UPDATE id_generators SET next_val = next_val + ? WHERE sequence_name = ?", count,
+					sequence) == 0) {
+				jdbcTemplate.update("INSERT INTO id_generators (sequence_name, next_val) VALUES (?, ?)", sequence,
+						count);
+				return 0L;
+			}
+			Long next = jdbcTemplate.queryForObject("SELECT next_val FROM id_generators WHERE sequence_name = ?",
+					Long.class, sequence);
+			long first = next - count;
+			if (next > CouponCodes.MAX_SEQUENCE) {
+				throw new RuntimeException("❌ Campaign " + couponId + " has no code space left");
+			}
+			return first;
+		});
+	}
+
+	private Map<String, Object> describe(GenerationJob job) {
+		Map<String, Object> progress = new HashMap<>();
+		long generated = job.generated.get();
+		progress.put("jobId", job.id);
+		progress.put("couponId", job.couponId);
+		progress.put("status", job.status);
+		progress.put("requested", job.requested);
+		progress.put("generated", generated);
+		progress.put("percent", job.requested == 0 ? 100.0 : Math.round(generated * 1000.0 / job.requested) / 10.0);
+		progress.put("createdAt", job.createdAt);
+		progress.put("startedAt", job.startedAt);
+		progress.put("finishedAt", job.finishedAt);
+		progress.put("error", job.error);
+		if (job.startedAt != null) {
+			long millis = Duration.between(job.startedAt, job.finishedAt != null ? job.finishedAt : LocalDateTime.now())
+					.toMillis();
+			progress.put("codesPerSecond", millis == 0 ? generated : generated * 1000 / millis);
+		}
+		return progress;
+	}
+
+}
@@ -0,0 +1,131 @@
+package com.pinaka.makhana.service.impl;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.pinaka.makhana.entity.CartItem;
+import com.pinaka.makhana.entity.Order;
+import com.pinaka.makhana.entity.OrderStatus;
+import com.pinaka.makhana.repository.CouponRedemptionRepository;
+import com.pinaka.makhana.repository.CouponRepository;
+import com.pinaka.makhana.repository.OrderRepository;
+import com.pinaka.makhana.service.CouponCodeService;
+import com.pinaka.makhana.service.OrderArchiveService;
+import com.pinaka.makhana.util.CouponRule;
+import com.pinaka.makhana.util.CouponRuleCache;
+
+/**
+ * Applies a coupon to an order at checkout and claims one use of it in the same
+ * transaction. The global limit is a conditional UPDATE on the coupon row, so
+ * concurrent checkouts cannot push usage past it; the per-user limit is a slot
+ * row in coupon_redemptions whose unique index lets each use be claimed once.
+ * Slot rows go in through JDBC: a duplicate key fails only that statement, so a
+ * slot taken by the same user's concurrent checkout is retried with the next one.
+ * The coupon row is locked last, keeping the hot lock held only until commit.
+ */
+@Component
+class CouponRedeemer {
+
+	private final CouponRuleCache couponRuleCache;
+	private final CouponRepository couponRepository;
+	private final CouponRedemptionRepository couponRedemptionRepository;
+	private final OrderRepository orderRepository;
+	private final CouponCodeService couponCodeService;
+	private final OrderAssembler orderAssembler;
+	private final OrderArchiveService orderArchiveService;
+	private final JdbcTemplate jdbcTemplate;
+
+	CouponRedeemer(CouponRuleCache couponRuleCache, CouponRepository couponRepository,
+			CouponRedemptionRepository couponRedemptionRepository, OrderRepository orderRepository,
+			CouponCodeService couponCodeService, OrderAssembler orderAssembler,
+			OrderArchiveService orderArchiveService, JdbcTemplate jdbcTemplate) {
+		this.couponRuleCache = couponRuleCache;
+		this.couponRepository = couponRepository;
+		this.couponRedemptionRepository = couponRedemptionRepository;
+		this.orderRepository = orderRepository;
+		this.couponCodeService = couponCodeService;
+		this.orderAssembler = orderAssembler;
+		this.orderArchiveService = orderArchiveService;
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	/** Rule for a coupon code or a campaign code (the campaign's template), or null. */
+	CouponRule find(String couponCode) {
+		CouponRule rule = couponRuleCache.find(couponCode);
+		return rule != null ? rule : couponCodeService.resolve(couponCode);
+	}
+
+	CouponRule require(String couponCode) {
+		CouponRule rule = find(couponCode);
+		if (rule == null) {
+			throw new RuntimeException("❌ Invalid coupon code: " + couponCode);
+		}
+		return rule;
+	}
+
+	/**
+	 * Assembles and prices the order, with the coupon when a code is given; call
+	 * before the usage is claimed. Returns the coupon's rule, or null without a code.
+	 */
+	CouponRule apply(Order order, List<CartItem> cartItems, String couponCode) {
+		CouponRule rule = couponCode == null || couponCode.isBlank() ? null : require(couponCode);
+		boolean firstTimeUser = rule != null && isFirstTimeUser(order);
+		OrderAssembler.Pricing pricing = orderAssembler.assemble(order, cartItems, rule, firstTimeUser);
+		if (rule == null) {
+			return null;
+		}
+		if (!pricing.couponApplied()) {
+			throw new RuntimeException("❌ Coupon " + rule.code() + " cannot be applied to this order");
+		}
+		// The code as presented: a campaign code is what gets marked redeemed
+		order.setCouponCode(CouponRule.normalize(couponCode));
+		return rule;
+	}
+
+	// Only orders that became sales count: failed, cancelled and still-pending ones (including this
+	// order during async intake) do not. Archived orders count too, the same as in FirstOrderTracker,
+	// so quote and checkout agree.
+	private boolean isFirstTimeUser(Order order) {
+		return !orderRepository.existsByUserAndStatusIn(order.getUser(), OrderStatus.saleStatuses())
+				&& !orderArchiveService.hasArchivedOrders(order.getUser().getId());
+	}
+
+	/** Claims one use for the saved order; throws, rolling the checkout back, when a limit is reached. */
+	void redeem(CouponRule rule, Order order) {
+		// No per-user limit (null compiles to -1, and 0 has always meant unlimited): nothing to claim
+		if (rule.userUsageLimit() > 0) {
+			claimSlot(rule, order.getUser().getId(), order.getId());
+		}
+
+		if (!rule.code().equals(order.getCouponCode()) && !couponCodeService.markRedeemed(order.getCouponCode())) {
+			throw new RuntimeException("❌ Coupon code " + order.getCouponCode() + " has already been used");
+		}
+
+		if (couponRepository.incrementUsageIfAvailable(rule.id()) == 0) {
+			couponRuleCache.evict(rule.id());
+			throw new RuntimeException("❌ Coupon " + rule.code() + " has reached its usage limit");
+		}
+		couponRuleCache.recordUseAfterCommit(rule.id());
+	}
+
+	private void claimSlot(CouponRule rule, Long userId, Long orderId) {
+		long used = couponRedemptionRepository.countByCouponIdAndUserId(rule.id(), userId);
+		for (long slot = used + 1; slot <= rule.userUsageLimit(); slot++) {
+			try {
+				jdbcTemplate.update("INSERT INTO coupon_redemptions (coupon_id, user_id, slot, order_id, redeemed_at) "
+						+ "VALUES (?, ?, ?, ?, ?)", rule.id(), userId, slot, orderId,
+						Timestamp.valueOf(LocalDateTime.now()));
+				return;
+			} catch (DuplicateKeyException e) {
+				// Another checkout by the same user claimed this use first; try the next one
+			}
+		}
+		throw new RuntimeException("❌ You have already used coupon " + rule.code());
+	}
+
+}
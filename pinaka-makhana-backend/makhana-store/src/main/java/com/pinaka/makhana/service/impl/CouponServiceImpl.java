@@ -2,21 +2,58 @@ package com.pinaka.makhana.service.impl;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.pinaka.makhana.dto.CouponSuggestion;
 import com.pinaka.makhana.entity.Coupon;
 import com.pinaka.makhana.repository.CouponRepository;
+import com.pinaka.makhana.repository.UserRepository;
+import com.pinaka.makhana.service.CouponCodeService;
 import com.pinaka.makhana.service.CouponService;
+import com.pinaka.makhana.util.CheckoutVersions;
+import com.pinaka.makhana.util.CouponCodeFilter;
+import com.pinaka.makhana.util.CouponRule;
+import com.pinaka.makhana.util.CouponRuleCache;
+import com.pinaka.makhana.util.CouponRuleIndex.RankedCoupon;
+import com.pinaka.makhana.util.FirstOrderTracker;
+import com.pinaka.makhana.util.PricingEngine;
 
 @Service
 public class CouponServiceImpl implements CouponService {
 
     private final CouponRepository couponRepository;
-
-    public CouponServiceImpl(CouponRepository couponRepository) {
+    private final CheckoutVersions checkoutVersions;
+    private final CouponRuleCache couponRuleCache;
+    private final FirstOrderTracker firstOrderTracker;
+    private final CouponCodeFilter couponCodeFilter;
+    private final CouponCodeService couponCodeService;
+    private final UserRepository userRepository;
+    private final long shippingFeePaise;
+    private final long freeShippingThresholdPaise;
+    private final long startedAt = System.currentTimeMillis();
+
+    private static final int MAX_SUGGESTIONS = 20;
+
+    public CouponServiceImpl(CouponRepository couponRepository, CheckoutVersions checkoutVersions,
+            CouponRuleCache couponRuleCache, FirstOrderTracker firstOrderTracker, UserRepository userRepository,
+            CouponCodeFilter couponCodeFilter, CouponCodeService couponCodeService,
+            @Value("${app.checkout.shipping-fee:50}") double shippingFee,
+            @Value("${app.checkout.free-shipping-threshold:500}") double freeShippingThreshold) {
         this.couponRepository = couponRepository;
+        this.checkoutVersions = checkoutVersions;
+        this.couponRuleCache = couponRuleCache;
+        this.firstOrderTracker = firstOrderTracker;
+        this.couponCodeFilter = couponCodeFilter;
+        this.couponCodeService = couponCodeService;
+        this.userRepository = userRepository;
+        this.shippingFeePaise = PricingEngine.toPaise(shippingFee);
+        this.freeShippingThresholdPaise = PricingEngine.toPaise(freeShippingThreshold);
     }
 
     @Override
@@ -32,18 +69,50 @@ public class CouponServiceImpl implements CouponService {
 
     @Override
     public Coupon getCouponByCode(String code) {
-        return couponRepository.findByCode(code)
+        return findCouponByCode(code)
                 .orElseThrow(() -> new RuntimeException("Coupon not found with code: " + code));
     }
 
+    @Override
+    public Optional<Coupon> findCouponByCode(String code) {
+        if (!couponCodeFilter.mightExist(code)) {
+            // Campaign codes are not in the filter; resolve screens them by check character,
+            // live template and its own negative cache
+            CouponRule campaign = couponCodeService.resolve(code);
+            return campaign == null ? Optional.empty() : couponRepository.findById(campaign.id());
+        }
+        Optional<Coupon> coupon = couponRepository.findByCode(code);
+        if (coupon.isEmpty()) {
+            couponCodeFilter.recordMiss(code);
+        }
+        return coupon;
+    }
+
+    @Override
+    public Map<String, Object> getCodeLookupStats() {
+        return couponCodeFilter.getStats();
+    }
+
+    // The rule cache already knows which coupons are live, so this is a primary key lookup
     @Override
     public List<Coupon> getActiveCoupons() {
-        return couponRepository.findByActiveTrue();
+        Set<Long> liveIds = couponRuleCache.liveIds();
+        return liveIds.isEmpty() ? List.of() : couponRepository.findAllById(liveIds);
     }
 
     @Override
     public List<Coupon> getActiveCouponsForFirstTimeUsers() {
-        return couponRepository.findByActiveTrueAndFirstTimeUserOnly(true);
+        List<Long> liveIds = couponRuleCache.rules().stream()
+                .filter(CouponRule::firstTimeUserOnly)
+                .map(CouponRule::id)
+                .toList();
+        return liveIds.isEmpty() ? List.of() : couponRepository.findAllById(liveIds);
+    }
+
+    @Override
+    public String getActiveCouponsETag() {
+        // The start time keeps a restarted instance from reusing an earlier instance's tags
+        return "\"coupons-" + startedAt + "-" + couponRuleCache.version() + "\"";
     }
 
     @Override
@@ -55,13 +124,22 @@ public class CouponServiceImpl implements CouponService {
             coupon.setCreatedAt(now);
             coupon.setUpdatedAt(now);
         }
-        return couponRepository.save(coupon);
+        couponCodeFilter.add(coupon.getCode());
+        Coupon saved = couponRepository.save(coupon);
+        couponRuleCache.putAfterCommit(saved);
+        checkoutVersions.bumpCatalog();
+        return saved;
     }
 
     @Override
     @Transactional
     public Coupon updateCoupon(Long id, Coupon couponDetails) {
         Coupon coupon = getCouponById(id);
+        if (couponDetails.getCode() != null && !couponDetails.getCode().equals(coupon.getCode())) {
+            // Renamed: admit the new code now, drop the old one from the filter after commit
+            couponCodeFilter.add(couponDetails.getCode());
+            couponCodeFilter.rebuildAfterCommit();
+        }
         
         // Update fields
         coupon.setCode(couponDetails.getCode());
@@ -78,7 +156,10 @@ public class CouponServiceImpl implements CouponService {
         coupon.setFirstTimeUserOnly(couponDetails.isFirstTimeUserOnly());
         coupon.setFreeShipping(couponDetails.isFreeShipping());
         
-        return couponRepository.save(coupon);
+        Coupon saved = couponRepository.save(coupon);
+        couponRuleCache.putAfterCommit(saved);
+        checkoutVersions.bumpCatalog();
+        return saved;
     }
 
     @Override
@@ -86,38 +167,57 @@ public class CouponServiceImpl implements CouponService {
     public void deleteCoupon(Long id) {
         Coupon coupon = getCouponById(id);
         couponRepository.delete(coupon);
+        couponRuleCache.removeAfterCommit(id);
+        couponCodeFilter.rebuildAfterCommit();
+        checkoutVersions.bumpCatalog();
+    }
+
+    // Bit test against the first-order bitmap; only tokens without a user id cost a lookup
+    @Override
+    public boolean isFirstTimeUser(String email, Long userId) {
+        Long id = userId != null ? userId
+                : userRepository.findByEmail(email)
+                        .orElseThrow(() -> new RuntimeException("❌ User not found: " + email)).getId();
+        return firstOrderTracker.isFirstTimeUser(id);
     }
 
+    // Served from the compiled rule cache: one map lookup, no query, zero for unknown or invalid codes
     @Override
     public Double calculateDiscount(String couponCode, Double orderAmount, boolean isFirstTimeUser) {
-        try {
-            Coupon coupon = getCouponByCode(couponCode);
-            
-            if (!validateCoupon(couponCode, orderAmount, isFirstTimeUser)) {
-                return 0.0;
-            }
-            
-            return coupon.calculateDiscount(orderAmount, isFirstTimeUser);
-        } catch (Exception e) {
-            return 0.0; // Return zero discount if coupon not found or invalid
+        CouponRule rule = findRule(couponCode);
+        if (rule == null || orderAmount == null) {
+            return 0.0;
         }
+        long discount = rule.discount(PricingEngine.toPaise(orderAmount), isFirstTimeUser);
+        return PricingEngine.toRupeesDouble(discount);
     }
 
     @Override
     public boolean validateCoupon(String couponCode, Double orderAmount, boolean isFirstTimeUser) {
-        try {
-            Coupon coupon = getCouponByCode(couponCode);
-            return coupon.canBeUsed(orderAmount, isFirstTimeUser);
-        } catch (Exception e) {
-            return false;
-        }
+        CouponRule rule = findRule(couponCode);
+        return rule != null && orderAmount != null
+                && rule.canBeUsed(PricingEngine.toPaise(orderAmount), isFirstTimeUser);
     }
 
     @Override
-    @Transactional
-    public void incrementCouponUsage(String couponCode) {
-        Coupon coupon = getCouponByCode(couponCode);
-        coupon.incrementUsage();
-        couponRepository.save(coupon);
+    public List<CouponSuggestion> findBestCoupons(Double orderAmount, boolean isFirstTimeUser, int limit) {
+        if (orderAmount == null || orderAmount <= 0) {
+            return List.of();
+        }
+        List<RankedCoupon> ranked = couponRuleCache.index().rank(PricingEngine.toPaise(orderAmount),
+                isFirstTimeUser,
+                amount -> PricingEngine.shipping(amount, shippingFeePaise, freeShippingThresholdPaise, false),
+                Math.max(1, Math.min(limit, MAX_SUGGESTIONS)));
+        return ranked.stream()
+                .map(r -> new CouponSuggestion(r.rule().code(), r.rule().description(), r.rule().discountType(),
+                        PricingEngine.toRupees(r.discountPaise()), PricingEngine.toRupees(r.shippingSavingPaise()),
+                        PricingEngine.toRupees(r.savingsPaise()), r.rule().freeShipping()))
+                .toList();
+    }
+
+    // A coupon's own code, or a campaign code resolving to its template (one primary key lookup)
+    private CouponRule findRule(String couponCode) {
+        CouponRule rule = couponRuleCache.find(couponCode);
+        return rule != null ? rule : couponCodeService.resolve(couponCode);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,452 @@
+package com.pinaka.makhana.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.pinaka.makhana.dto.OrderLineDTO;
+import com.pinaka.makhana.dto.OrderSummaryDTO;
+import com.pinaka.makhana.entity.Order;
+import com.pinaka.makhana.entity.OrderItem;
+import com.pinaka.makhana.entity.OrderStatus;
+import com.pinaka.makhana.entity.OrderStatusHistory;
+import com.pinaka.makhana.entity.Product;
+import com.pinaka.makhana.entity.User;
+import com.pinaka.makhana.repository.UserRepository;
+import com.pinaka.makhana.service.OrderArchiveService;
+import com.pinaka.makhana.util.OrderCursor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Moves finished orders (terminal status, older than the retention age) together
+ * with their lines and status history into the *_archive tables. Each batch is
+ * selected by (order_date, id), copied, checksummed on both sides and deleted from
+ * the hot tables in one short transaction; a mismatch rolls the batch back.
+ * Archived orders stay readable through the find* methods.
+ */
+@Service
+public class OrderArchiveServiceImpl implements OrderArchiveService {
+
+	private static final Logger log = LoggerFactory.getLogger(OrderArchiveServiceImpl.class);
+
+	private static final String ORDER_COLUMNS = "id, user_id, order_date, total_amount, status, version, coupon_code, "
+			+ "discount_amount, promotion_discount, shipping_amount, tax_amount";
+	private static final String ITEM_COLUMNS = "id, order_id, product_id, quantity, price, product_name, "
+			+ "product_sku, product_weight, original_price, thumbnail_url";
+	private static final String HISTORY_COLUMNS = "id, order_id, from_status, to_status, changed_at, changed_by";
+
+	private static final List<String> ARCHIVABLE_STATUSES = Arrays.stream(OrderStatus.values())
+			.filter(OrderStatus::isTerminal).map(OrderStatus::name).toList();
+
+	// How long a cached archive high-water mark is trusted before it is re-read
+	private static final long ARCHIVED_THROUGH_TTL_MILLIS = 60_000L;
+
+	private final NamedParameterJdbcTemplate jdbc;
+	private final TransactionTemplate transactionTemplate;
+	private final UserRepository userRepository;
+
+	private final boolean enabled;
+	private final int minAgeDays;
+	private final int batchSize;
+	private final int maxBatchesPerRun;
+	private final long pauseMillis;
+
+	private final AtomicBoolean running = new AtomicBoolean(false);
+	private volatile int lastRunArchived;
+	private volatile LocalDateTime lastRunAt;
+	private volatile LocalDateTime archivedThrough;
+	private volatile long archivedThroughLoadedAt;
+
+	private final Counter archivedCounter;
+	private final Counter batchCounter;
+	private final Timer runTimer;
+
+	public OrderArchiveServiceImpl(NamedParameterJdbcTemplate jdbc, TransactionTemplate transactionTemplate,
+			UserRepository userRepository, MeterRegistry meterRegistry,
+			@Value("${app.orders.archive.enabled:false}") boolean enabled,
+			@Value("${app.orders.archive.min-age-days:365}") int minAgeDays,
+			@Value("${app.orders.archive.batch-size:500}") int batchSize,
+			@Value("${app.orders.archive.max-batches-per-run:200}") int maxBatchesPerRun,
+			@Value("${app.orders.archive.batch-pause-ms:100}") long pauseMillis) {
+		this.jdbc = jdbc;
+		this.transactionTemplate = transactionTemplate;
+		this.userRepository = userRepository;
+		this.enabled = enabled;
+		this.minAgeDays = minAgeDays;
+		this.batchSize = batchSize;
+		this.maxBatchesPerRun = maxBatchesPerRun;
+		this.pauseMillis = pauseMillis;
+
+		this.archivedCounter = Counter.builder("orders.archive.orders")
+				.description("Orders moved to the archive tables").register(meterRegistry);
+		this.batchCounter = Counter.builder("orders.archive.batches")
+				.description("Archive batches committed").register(meterRegistry);
+		this.runTimer = Timer.builder("orders.archive.duration")
+				.description("Wall time of a full archive run").register(meterRegistry);
+		meterRegistry.gauge("orders.archive.running", running, r -> r.get() ? 1 : 0);
+	}
+
+	@Scheduled(cron = "${app.orders.archive.cron:0 0 4 * * *}")
+	public void scheduledArchive() {
+		if (enabled) {
+			archiveOldOrders();
+		}
+	}
+
+	@Override
+	public int archiveOldOrders() {
+		if (!running.compareAndSet(false, true)) {
+			log.warn("⏭️ Order archival already in progress, skipping");
+			return 0;
+		}
+
+		long start = System.nanoTime();
+		LocalDateTime cutoff = LocalDateTime.now().minusDays(minAgeDays);
+		log.info("🗄️ Archiving finished orders placed before {}", cutoff);
+
+		int archived = 0;
+		try {
+			for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+				BatchResult result = transactionTemplate.execute(status -> archiveBatch(cutoff));
+				if (result == null || result.orders() == 0) {
+					break;
+				}
+				archived += result.orders();
+				archivedCounter.increment(result.orders());
+				batchCounter.increment();
+				advanceArchivedThrough(result.lastOrderDate());
+
+				if (result.orders() < batchSize) {
+					break;
+				}
+				pause();
+			}
+		} finally {
+			lastRunArchived = archived;
+			lastRunAt = LocalDateTime.now();
+			runTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			running.set(false);
+		}
+
+		log.info("✅ Order archival moved {} orders", archived);
+		return archived;
+	}
+
+	private record BatchResult(int orders, LocalDateTime lastOrderDate) {
+	}
+
+	private BatchResult archiveBatch(LocalDateTime cutoff) {
+		// Orders with rollup events still queued stay hot until the rollup worker has applied them
+		List<Long> ids = jdbc.queryForList("SELECT o.id FROM orders o WHERE o.order_date < :cutoff "
+				+ "AND o.status IN (:statuses) "
+				+ "AND NOT EXISTS (SELECT 1 FROM sales_rollup_outbox b WHERE b.order_id = o.id) "
+				+ "ORDER BY o.order_date, o.id LIMIT :limit FOR UPDATE",
+				new MapSqlParameterSource("cutoff", Timestamp.valueOf(cutoff))
+						.addValue("statuses", ARCHIVABLE_STATUSES).addValue("limit", batchSize),
+				Long.class);
+		if (ids.isEmpty()) {
+			return new BatchResult(0, null);
+		}
+
+		MapSqlParameterSource params = new MapSqlParameterSource("ids", ids);
+		String expected = checksum("orders", "order_items", "order_status_history", params);
+
+		KeyHolder key = new GeneratedKeyHolder();
+		jdbc.update("INSERT INTO order_archive_batches (cutoff, created_at) VALUES (:cutoff, :createdAt)",
+				new MapSqlParameterSource("cutoff", Timestamp.valueOf(cutoff)).addValue("createdAt",
+						Timestamp.valueOf(LocalDateTime.now())),
+				key, new String[] { "id" });
+		long batchId = key.getKey().longValue();
+		params.addValue("batchId", batchId);
+
+		int orders = jdbc.update("INSERT INTO orders_archive (" + ORDER_COLUMNS + ", archive_batch_id) SELECT "
+				+ ORDER_COLUMNS + ", :batchId FROM orders WHERE id IN (:ids)", params);
+		int items = jdbc.update("INSERT INTO order_items_archive (" + ITEM_COLUMNS + ") SELECT " + ITEM_COLUMNS
+				+ " FROM order_items WHERE order_id IN (:ids)", params);
+		int history = jdbc.update("INSERT INTO order_status_history_archive (" + HISTORY_COLUMNS + ") SELECT "
+				+ HISTORY_COLUMNS + " FROM order_status_history WHERE order_id IN (:ids)", params);
+
+		String actual = checksum("orders_archive", "order_items_archive", "order_status_history_archive", params);
+		if (!expected.equals(actual)) {
+			throw new RuntimeException("❌ Archive checksum mismatch in batch " + batchId + ", batch rolled back");
+		}
+
+		jdbc.update("DELETE FROM order_status_history WHERE order_id IN (:ids)", params);
+		jdbc.update("DELETE FROM order_items WHERE order_id IN (:ids)", params);
+		if (jdbc.update("DELETE FROM orders WHERE id IN (:ids)", params) != orders) {
+			throw new RuntimeException("❌ Archive batch " + batchId + " deleted a different number of orders");
+		}
+
+		Map<String, Object> range = jdbc.queryForMap("SELECT MIN(order_date) AS first_date, "
+				+ "MAX(order_date) AS last_date FROM orders_archive WHERE archive_batch_id = :batchId", params);
+		params.addValue("firstDate", range.get("first_date")).addValue("lastDate", range.get("last_date"))
+				.addValue("orders", orders).addValue("items", items).addValue("history", history)
+				.addValue("checksum", actual);
+		jdbc.update("UPDATE order_archive_batches SET first_order_date = :firstDate, last_order_date = :lastDate, "
+				+ "order_count = :orders, item_count = :items, history_count = :history, checksum = :checksum "
+				+ "WHERE id = :batchId", params);
+
+		log.debug("🗄️ Archive batch {}: {} orders, {} lines, {} history rows", batchId, orders, items, history);
+		return new BatchResult(orders, toLocalDateTime(range.get("last_date")));
+	}
+
+	@Override
+	public Map<String, Object> verifyBatch(Long batchId) {
+		MapSqlParameterSource params = new MapSqlParameterSource("batchId", batchId);
+		List<Map<String, Object>> batches = jdbc.queryForList(
+				"SELECT order_count, checksum FROM order_archive_batches WHERE id = :batchId", params);
+		if (batches.isEmpty()) {
+			throw new RuntimeException("❌ Archive batch not found: " + batchId);
+		}
+		Map<String, Object> batch = batches.get(0);
+
+		List<Long> ids = jdbc.queryForList("SELECT id FROM orders_archive WHERE archive_batch_id = :batchId",
+				params, Long.class);
+		String actual = ids.isEmpty() ? null
+				: checksum("orders_archive", "order_items_archive", "order_status_history_archive",
+						new MapSqlParameterSource("ids", ids));
+		boolean valid = actual != null && actual.equals(batch.get("checksum"));
+		if (valid) {
+			jdbc.update("UPDATE order_archive_batches SET verified_at = :now WHERE id = :batchId",
+					params.addValue("now", Timestamp.valueOf(LocalDateTime.now())));
+		} else {
+			log.error("❌ Archive batch {} failed verification", batchId);
+		}
+
+		Map<String, Object> result = new HashMap<>();
+		result.put("batchId", batchId);
+		result.put("valid", valid);
+		result.put("orders", ids.size());
+		result.put("expectedOrders", batch.get("order_count"));
+		result.put("checksum", batch.get("checksum"));
+		return result;
+	}
+
+	@Override
+	public Map<String, Object> getArchiveSummary() {
+		Map<String, Object> totals = jdbc.getJdbcTemplate().queryForMap("SELECT COUNT(*) AS batches, "
+				+ "COALESCE(SUM(order_count), 0) AS orders, COALESCE(SUM(item_count), 0) AS items, "
+				+ "MIN(first_order_date) AS oldest, MAX(last_order_date) AS newest FROM order_archive_batches");
+
+		Map<String, Object> summary = new HashMap<>();
+		summary.put("enabled", enabled);
+		summary.put("minAgeDays", minAgeDays);
+		summary.put("cutoff", LocalDateTime.now().minusDays(minAgeDays));
+		summary.put("batches", totals.get("batches"));
+		summary.put("archivedOrders", totals.get("orders"));
+		summary.put("archivedItems", totals.get("items"));
+		summary.put("oldestArchivedOrder", totals.get("oldest"));
+		summary.put("newestArchivedOrder", totals.get("newest"));
+		summary.put("running", running.get());
+		summary.put("lastRunArchived", lastRunArchived);
+		summary.put("lastRunAt", lastRunAt);
+		return summary;
+	}
+
+	@Override
+	public LocalDateTime getArchivedThrough() {
+		long now = System.currentTimeMillis();
+		if (now - archivedThroughLoadedAt > ARCHIVED_THROUGH_TTL_MILLIS) {
+			// Re-read so batches committed by other instances are seen
+			archivedThrough = jdbc.getJdbcTemplate().queryForObject(
+					"SELECT MAX(last_order_date) FROM order_archive_batches", LocalDateTime.class);
+			archivedThroughLoadedAt = now;
+		}
+		return archivedThrough;
+	}
+
+	private void advanceArchivedThrough(LocalDateTime lastOrderDate) {
+		LocalDateTime current = archivedThrough;
+		if (lastOrderDate != null && (current == null || lastOrderDate.isAfter(current))) {
+			archivedThrough = lastOrderDate;
+		}
+	}
+
+	// ---- Read-through ----
+
+	@Override
+	public Order findArchivedOrder(Long orderId) {
+		List<Order> orders = findOrders("id = :id", new MapSqlParameterSource("id", orderId),
+				userId -> userRepository.findById(userId).orElse(null));
+		return orders.isEmpty() ? null : orders.get(0);
+	}
+
+	@Override
+	public List<Order> findArchivedOrdersByUser(User user) {
+		return findOrders("user_id = :userId ORDER BY order_date DESC, id DESC",
+				new MapSqlParameterSource("userId", user.getId()), userId -> user);
+	}
+
+	@Override
+	public boolean hasArchivedOrders(Long userId) {
+		return Boolean.TRUE.equals(jdbc.queryForObject(
+				"SELECT EXISTS (SELECT 1 FROM orders_archive WHERE user_id = :userId AND status IN (:statuses))",
+				new MapSqlParameterSource("userId", userId).addValue("statuses",
+						OrderStatus.saleStatuses().stream().map(Enum::name).toList()),
+				Boolean.class));
+	}
+
+	private List<Order> findOrders(String where, MapSqlParameterSource params, Function<Long, User> users) {
+		Map<Long, Order> orders = new LinkedHashMap<>();
+		jdbc.query("SELECT " + ORDER_COLUMNS + " FROM orders_archive WHERE " + where, params, (RowCallbackHandler) rs -> {
+			Order order = new Order(rs.getLong("id"), users.apply(rs.getLong("user_id")),
+					toLocalDateTime(rs.getTimestamp("order_date")), rs.getBigDecimal("total_amount"),
+					toStatus(rs.getString("status")), new ArrayList<>());
+			order.setVersion(rs.getLong("version"));
+			order.setCouponCode(rs.getString("coupon_code"));
+			order.setDiscountAmount(rs.getBigDecimal("discount_amount"));
+			order.setPromotionDiscount(rs.getBigDecimal("promotion_discount"));
+			order.setShippingAmount(rs.getBigDecimal("shipping_amount"));
+			order.setTaxAmount(rs.getBigDecimal("tax_amount"));
+			orders.put(order.getId(), order);
+		});
+		if (orders.isEmpty()) {
+			return List.of();
+		}
+
+		jdbc.query("SELECT " + ITEM_COLUMNS + " FROM order_items_archive WHERE order_id IN (:ids) ORDER BY id",
+				new MapSqlParameterSource("ids", orders.keySet()), (RowCallbackHandler) rs -> {
+					Order order = orders.get(rs.getLong("order_id"));
+					Product product = new Product();
+					product.setId(rs.getLong("product_id"));
+					OrderItem item = new OrderItem(rs.getLong("id"), order, product, rs.getInt("quantity"),
+							rs.getBigDecimal("price"));
+					item.setProductName(rs.getString("product_name"));
+					item.setProductSku(rs.getString("product_sku"));
+					item.setProductWeight(rs.getString("product_weight"));
+					item.setOriginalPrice(rs.getBigDecimal("original_price"));
+					item.setThumbnailUrl(rs.getString("thumbnail_url"));
+					order.getItems().add(item);
+				});
+		return new ArrayList<>(orders.values());
+	}
+
+	@Override
+	public List<OrderSummaryDTO> findArchivedHistory(String email, OrderCursor before, int limit) {
+		MapSqlParameterSource params = new MapSqlParameterSource("email", email).addValue("limit", limit);
+		String sql = "SELECT o.id, o.order_date, o.status, o.total_amount, COUNT(i.id) AS line_count, "
+				+ "SUM(i.quantity) AS item_count FROM orders_archive o JOIN users u ON u.id = o.user_id "
+				+ "LEFT JOIN order_items_archive i ON i.order_id = o.id WHERE u.email = :email ";
+		if (before != null) {
+			sql += "AND (o.order_date < :beforeDate OR (o.order_date = :beforeDate AND o.id < :beforeId)) ";
+			params.addValue("beforeDate", Timestamp.valueOf(before.orderDate())).addValue("beforeId", before.id());
+		}
+		sql += "GROUP BY o.id, o.order_date, o.status, o.total_amount ORDER BY o.order_date DESC, o.id DESC "
+				+ "LIMIT :limit";
+
+		return jdbc.query(sql, params, (rs, rowNum) -> new OrderSummaryDTO(rs.getLong("id"),
+				toLocalDateTime(rs.getTimestamp("order_date")), toStatus(rs.getString("status")),
+				rs.getBigDecimal("total_amount"), rs.getLong("line_count"), rs.getLong("item_count")));
+	}
+
+	@Override
+	public List<OrderLineDTO> findArchivedOrderLines(String email, Long orderId) {
+		return jdbc.query("SELECT i.id, i.product_id, i.product_name, i.product_sku, i.product_weight, i.quantity, "
+				+ "i.price, i.original_price, i.thumbnail_url FROM order_items_archive i "
+				+ "JOIN orders_archive o ON o.id = i.order_id JOIN users u ON u.id = o.user_id "
+				+ "WHERE i.order_id = :orderId AND u.email = :email ORDER BY i.id",
+				new MapSqlParameterSource("orderId", orderId).addValue("email", email),
+				(rs, rowNum) -> new OrderLineDTO(rs.getLong("id"), rs.getLong("product_id"),
+						rs.getString("product_name"), rs.getString("product_sku"), rs.getString("product_weight"),
+						rs.getInt("quantity"), rs.getBigDecimal("price"), rs.getBigDecimal("original_price"),
+						rs.getString("thumbnail_url")));
+	}
+
+	@Override
+	public List<OrderStatusHistory> findArchivedStatusHistory(Long orderId) {
+		return jdbc.query("SELECT " + HISTORY_COLUMNS + " FROM order_status_history_archive "
+				+ "WHERE order_id = :orderId ORDER BY changed_at, id", new MapSqlParameterSource("orderId", orderId),
+				(rs, rowNum) -> new OrderStatusHistory(rs.getLong("id"), rs.getLong("order_id"),
+						toStatus(rs.getString("from_status")), toStatus(rs.getString("to_status")),
+						toLocalDateTime(rs.getTimestamp("changed_at")), rs.getString("changed_by")));
+	}
+
+	// ---- Checksums ----
+
+	/**
+	 * SHA-256 over every column of the given orders, their lines and their history,
+	 * in id order. Computed from the hot tables before the copy and from the archive
+	 * tables after it; the two must agree before anything is deleted.
+	 */
+	private String checksum(String ordersTable, String itemsTable, String historyTable,
+			MapSqlParameterSource params) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+		digestRows(digest, "SELECT " + ORDER_COLUMNS + " FROM " + ordersTable + " WHERE id IN (:ids) ORDER BY id",
+				params);
+		digestRows(digest, "SELECT " + ITEM_COLUMNS + " FROM " + itemsTable
+				+ " WHERE order_id IN (:ids) ORDER BY id", params);
+		digestRows(digest, "SELECT " + HISTORY_COLUMNS + " FROM " + historyTable
+				+ " WHERE order_id IN (:ids) ORDER BY id", params);
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	private void digestRows(MessageDigest digest, String sql, MapSqlParameterSource params) {
+		jdbc.query(sql, params, (RowCallbackHandler) rs -> digest.update(canonicalRow(rs)));
+	}
+
+	private static byte[] canonicalRow(ResultSet rs) throws SQLException {
+		int columns = rs.getMetaData().getColumnCount();
+		StringBuilder row = new StringBuilder();
+		for (int column = 1; column <= columns; column++) {
+			row.append(rs.getString(column)).append('\u001f');
+		}
+		return row.append('\n').toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static OrderStatus toStatus(String status) {
+		return status != null ? OrderStatus.valueOf(status) : null;
+	}
+
+	private static LocalDateTime toLocalDateTime(Object value) {
+		if (value instanceof Timestamp timestamp) {
+			return timestamp.toLocalDateTime();
+		}
+		return value instanceof LocalDateTime dateTime ? dateTime : null;
+	}
+
+	private void pause() {
+		if (pauseMillis <= 0) {
+			return;
+		}
+		try {
+			Thread.sleep(pauseMillis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
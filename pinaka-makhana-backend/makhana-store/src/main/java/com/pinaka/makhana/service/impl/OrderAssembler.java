@@ -0,0 +1,134 @@
+package com.pinaka.makhana.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.pinaka.makhana.entity.CartItem;
+import com.pinaka.makhana.entity.Order;
+import com.pinaka.makhana.entity.OrderItem;
+import com.pinaka.makhana.entity.Product;
+import com.pinaka.makhana.util.CouponRule;
+import com.pinaka.makhana.util.PricingEngine;
+import com.pinaka.makhana.util.PromotionCache;
+import com.pinaka.makhana.util.PromotionEngine;
+
+/**
+ * Turns cart lines into priced order lines on an in-memory Order. Pricing
+ * (promotions, then the coupon, then shipping and tax on what is left) is one
+ * routine shared by quotes, synchronous placement and the async intake workers,
+ * so the total a customer is quoted is the total their order is saved with.
+ */
+@Component
+class OrderAssembler {
+
+	private static final int MAX_THUMBNAIL_LENGTH = 1000;
+
+	/** Cart price breakdown in paise; the coupon counts only when {@code couponApplied}. */
+	record Pricing(long subtotal, PromotionEngine.Result promotions, long discount, boolean couponApplied,
+			long shipping, long tax) {
+
+		long total() {
+			return subtotal - promotions.discountPaise() - discount + shipping + tax;
+		}
+	}
+
+	private final PromotionCache promotionCache;
+	private final long shippingFeePaise;
+	private final long freeShippingThresholdPaise;
+	private final long taxBasisPoints;
+
+	OrderAssembler(PromotionCache promotionCache,
+			@Value("${app.checkout.shipping-fee:50}") double shippingFee,
+			@Value("${app.checkout.free-shipping-threshold:500}") double freeShippingThreshold,
+			@Value("${app.checkout.tax-rate:0}") double taxRate) {
+		this.promotionCache = promotionCache;
+		this.shippingFeePaise = PricingEngine.toPaise(shippingFee);
+		this.freeShippingThresholdPaise = PricingEngine.toPaise(freeShippingThreshold);
+		this.taxBasisPoints = PricingEngine.toBasisPoints(taxRate * 100.0);
+	}
+
+	/**
+	 * Builds the order lines and writes the pricing onto the order. A coupon that
+	 * cannot be used on this cart is returned unapplied; the caller decides
+	 * whether that fails the checkout.
+	 */
+	Pricing assemble(Order order, List<CartItem> cartItems, CouponRule coupon, boolean firstTimeUser) {
+		List<OrderItem> orderItems = new ArrayList<>(cartItems.size());
+		for (CartItem cartItem : cartItems) {
+			Product product = cartItem.getProduct();
+
+			OrderItem item = new OrderItem();
+			item.setOrder(order);
+			item.setProduct(product);
+			item.setQuantity(cartItem.getQuantity());
+			item.setPrice(PricingEngine.toRupees(PricingEngine.toPaise(product.getPrice())));
+			snapshot(item, product);
+			orderItems.add(item);
+		}
+		order.setItems(orderItems);
+
+		Pricing pricing = price(cartItems, coupon, firstTimeUser);
+		long promotionPaise = pricing.promotions().discountPaise();
+		order.setPromotionDiscount(promotionPaise > 0 ? PricingEngine.toRupees(promotionPaise) : null);
+		order.setDiscountAmount(pricing.couponApplied() ? PricingEngine.toRupees(pricing.discount()) : null);
+		order.setShippingAmount(PricingEngine.toRupees(pricing.shipping()));
+		order.setTaxAmount(PricingEngine.toRupees(pricing.tax()));
+		order.setTotalAmount(PricingEngine.toRupees(pricing.total()));
+		return pricing;
+	}
+
+	/** Prices the cart without touching the database; {@code coupon} may be null. */
+	Pricing price(List<CartItem> cartItems, CouponRule coupon, boolean firstTimeUser) {
+		long subtotal = 0L;
+		for (CartItem cartItem : cartItems) {
+			subtotal += PricingEngine.lineTotal(PricingEngine.toPaise(cartItem.getProduct().getPrice()),
+					cartItem.getQuantity());
+		}
+
+		// Promotions first, then the coupon on what is left
+		PromotionEngine.Result promotions = promotions(cartItems);
+		long promoted = subtotal - promotions.discountPaise();
+		boolean couponApplied = coupon != null && !cartItems.isEmpty() && coupon.canBeUsed(promoted, firstTimeUser);
+		long discount = couponApplied ? coupon.discount(promoted, firstTimeUser) : 0L;
+
+		long discounted = promoted - discount;
+		long shipping = PricingEngine.shipping(discounted, shippingFeePaise, freeShippingThresholdPaise,
+				cartItems.isEmpty() || (couponApplied && coupon.freeShipping()));
+		long tax = PricingEngine.tax(discounted, taxBasisPoints);
+		return new Pricing(subtotal, promotions, discount, couponApplied, shipping, tax);
+	}
+
+	/** Automatic promotions for the cart; evaluated in memory, no queries. */
+	PromotionEngine.Result promotions(List<CartItem> cartItems) {
+		List<PromotionEngine.Line> lines = new ArrayList<>(cartItems.size());
+		for (CartItem cartItem : cartItems) {
+			Product product = cartItem.getProduct();
+			lines.add(new PromotionEngine.Line(product.getId(), product.getCategory(),
+					PricingEngine.toPaise(product.getPrice()), cartItem.getQuantity()));
+		}
+		return promotionCache.evaluate(lines);
+	}
+
+	private void snapshot(OrderItem item, Product product) {
+		item.setProductName(product.getName());
+		item.setProductSku(product.getSku());
+		item.setProductWeight(product.getWeight());
+		if (product.getOriginalPrice() != null) {
+			item.setOriginalPrice(PricingEngine.toRupees(PricingEngine.toPaise(product.getOriginalPrice())));
+		}
+		item.setThumbnailUrl(thumbnailOf(product.getImageUrl()));
+	}
+
+	// Only real URLs are copied; inline base64 images stay on the product row
+	static String thumbnailOf(String imageUrl) {
+		if (imageUrl == null || imageUrl.isBlank() || imageUrl.startsWith("data:")
+				|| imageUrl.length() > MAX_THUMBNAIL_LENGTH) {
+			return null;
+		}
+		return imageUrl.trim();
+	}
+
+}
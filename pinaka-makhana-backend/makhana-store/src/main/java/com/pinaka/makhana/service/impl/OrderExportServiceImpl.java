@@ -0,0 +1,252 @@
+package com.pinaka.makhana.service.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.pinaka.makhana.dto.OrderSearchCriteria;
+import com.pinaka.makhana.entity.OrderStatus;
+import com.pinaka.makhana.service.OrderExportService;
+
+/**
+ * Order dumps for finance. Rows come off a forward-only cursor (orders joined to
+ * their lines, grouped by order) and are written as they arrive, so memory use
+ * is one order's lines regardless of how many orders match.
+ */
+@Service
+public class OrderExportServiceImpl implements OrderExportService {
+
+	private static final Logger log = LoggerFactory.getLogger(OrderExportServiceImpl.class);
+
+	private static final String EXPORT_SELECT = "SELECT o.id, o.order_date, o.status, o.total_amount, u.id AS user_id, "
+			+ "u.email, u.name, i.id AS item_id, i.product_id, i.product_name, i.product_sku, i.quantity, i.price "
+			+ "FROM orders o JOIN users u ON u.id = o.user_id LEFT JOIN order_items i ON i.order_id = o.id WHERE 1 = 1";
+
+	private static final String CSV_HEADER = "order_id,order_date,status,total_amount,user_id,user_email,user_name,"
+			+ "item_id,product_id,product_name,product_sku,quantity,unit_price\n";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final JsonFactory jsonFactory = new JsonFactory();
+
+	public OrderExportServiceImpl(DataSource dataSource, @Value("${app.orders.export.fetch-size:1000}") int fetchSize) {
+		// Dedicated template so the fetch size only applies to export cursors
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.jdbcTemplate.setFetchSize(fetchSize);
+	}
+
+	@Override
+	public long exportOrders(OrderSearchCriteria criteria, Format format, OutputStream out) throws IOException {
+		StringBuilder sql = new StringBuilder(EXPORT_SELECT);
+		List<Object> args = new ArrayList<>();
+		if (criteria != null) {
+			if (criteria.getStatus() != null) {
+				sql.append(" AND o.status = ?");
+				args.add(OrderStatus.fromString(criteria.getStatus()).name());
+			}
+			if (criteria.getFrom() != null) {
+				sql.append(" AND o.order_date >= ?");
+				args.add(Timestamp.valueOf(criteria.getFrom()));
+			}
+			if (criteria.getTo() != null) {
+				sql.append(" AND o.order_date < ?");
+				args.add(Timestamp.valueOf(criteria.getTo()));
+			}
+		}
+		// (order_date, id) is unique per order, so each order's lines arrive contiguously
+		sql.append(" ORDER BY o.order_date, o.id");
+
+		OrderRowWriter writer = format == Format.CSV ? new CsvWriter(out) : new NdjsonWriter(out);
+		try {
+			jdbcTemplate.query(sql.toString(), writer, args.toArray());
+			writer.finish();
+		} catch (UncheckedIOException e) {
+			// Client went away mid-stream; stop reading the cursor
+			log.warn("⚠️ Order export aborted after {} orders: {}", writer.orders, e.getMessage());
+			throw e.getCause();
+		}
+		log.info("📤 Exported {} orders as {}", writer.orders, format);
+		return writer.orders;
+	}
+
+	private abstract static class OrderRowWriter implements RowCallbackHandler {
+		long orders;
+		private Long currentOrderId;
+
+		@Override
+		public void processRow(ResultSet rs) throws SQLException {
+			long orderId = rs.getLong("id");
+			try {
+				if (currentOrderId == null || currentOrderId != orderId) {
+					if (currentOrderId != null) {
+						endOrder();
+					}
+					currentOrderId = orderId;
+					orders++;
+					startOrder(rs);
+				}
+				if (rs.getObject("item_id") != null) {
+					writeItem(rs);
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		void finish() throws IOException {
+			if (currentOrderId != null) {
+				endOrder();
+			}
+			close();
+		}
+
+		abstract void startOrder(ResultSet rs) throws SQLException, IOException;
+
+		abstract void writeItem(ResultSet rs) throws SQLException, IOException;
+
+		abstract void endOrder() throws IOException;
+
+		abstract void close() throws IOException;
+	}
+
+	/** One JSON object per line: the order header with an "items" array. */
+	private class NdjsonWriter extends OrderRowWriter {
+		private final OutputStream out;
+		private final JsonGenerator json;
+
+		NdjsonWriter(OutputStream out) throws IOException {
+			this.out = out;
+			this.json = jsonFactory.createGenerator(out, JsonEncoding.UTF8);
+			// Lines are separated manually, and the generator must not close the response stream
+			this.json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			this.json.setRootValueSeparator(null);
+		}
+
+		@Override
+		void startOrder(ResultSet rs) throws SQLException, IOException {
+			json.writeStartObject();
+			json.writeNumberField("id", rs.getLong("id"));
+			Timestamp orderDate = rs.getTimestamp("order_date");
+			json.writeStringField("orderDate", orderDate != null ? orderDate.toLocalDateTime().toString() : null);
+			json.writeStringField("status", rs.getString("status"));
+			writeDecimal("totalAmount", rs.getBigDecimal("total_amount"));
+			json.writeNumberField("userId", rs.getLong("user_id"));
+			json.writeStringField("userEmail", rs.getString("email"));
+			json.writeStringField("userName", rs.getString("name"));
+			json.writeArrayFieldStart("items");
+		}
+
+		@Override
+		void writeItem(ResultSet rs) throws SQLException, IOException {
+			json.writeStartObject();
+			json.writeNumberField("id", rs.getLong("item_id"));
+			json.writeNumberField("productId", rs.getLong("product_id"));
+			json.writeStringField("productName", rs.getString("product_name"));
+			json.writeStringField("productSku", rs.getString("product_sku"));
+			json.writeNumberField("quantity", rs.getInt("quantity"));
+			writeDecimal("unitPrice", rs.getBigDecimal("price"));
+			json.writeEndObject();
+		}
+
+		@Override
+		void endOrder() throws IOException {
+			json.writeEndArray();
+			json.writeEndObject();
+			json.flush();
+			out.write('\n');
+		}
+
+		@Override
+		void close() throws IOException {
+			json.close();
+			out.flush();
+		}
+
+		private void writeDecimal(String field, BigDecimal value) throws IOException {
+			if (value == null) {
+				json.writeNullField(field);
+			} else {
+				json.writeNumberField(field, value);
+			}
+		}
+	}
+
+	/** One row per order line; orders without lines get a single row with empty item columns. */
+	private static class CsvWriter extends OrderRowWriter {
+		private final Writer out;
+		private String orderColumns;
+		private boolean orderHasItems;
+
+		CsvWriter(OutputStream out) throws IOException {
+			this.out = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+			this.out.write(CSV_HEADER);
+		}
+
+		@Override
+		void startOrder(ResultSet rs) throws SQLException {
+			Timestamp orderDate = rs.getTimestamp("order_date");
+			orderColumns = rs.getLong("id") + "," + (orderDate != null ? orderDate.toLocalDateTime() : "") + ","
+					+ escape(rs.getString("status")) + "," + plain(rs.getBigDecimal("total_amount")) + ","
+					+ rs.getLong("user_id") + "," + escape(rs.getString("email")) + ","
+					+ escape(rs.getString("name"));
+			orderHasItems = false;
+		}
+
+		@Override
+		void writeItem(ResultSet rs) throws SQLException, IOException {
+			orderHasItems = true;
+			out.write(orderColumns);
+			out.write("," + rs.getLong("item_id") + "," + rs.getLong("product_id") + ","
+					+ escape(rs.getString("product_name")) + "," + escape(rs.getString("product_sku")) + ","
+					+ rs.getInt("quantity") + "," + plain(rs.getBigDecimal("price")) + "\n");
+		}
+
+		@Override
+		void endOrder() throws IOException {
+			if (!orderHasItems) {
+				out.write(orderColumns + ",,,,,,\n");
+			}
+		}
+
+		@Override
+		void close() throws IOException {
+			out.flush();
+		}
+
+		private static String plain(BigDecimal value) {
+			return value != null ? value.toPlainString() : "";
+		}
+
+		private static String escape(String value) {
+			if (value == null) {
+				return "";
+			}
+			if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+					&& value.indexOf('\r') < 0) {
+				return value;
+			}
+			return '"' + value.replace("\"", "\"\"") + '"';
+		}
+	}
+
+}
@@ -0,0 +1,278 @@
+package com.pinaka.makhana.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.pinaka.makhana.entity.CartItem;
+import com.pinaka.makhana.entity.Order;
+import com.pinaka.makhana.entity.OrderStatus;
+import com.pinaka.makhana.entity.User;
+import com.pinaka.makhana.repository.CartItemRepository;
+import com.pinaka.makhana.repository.OrderRepository;
+import com.pinaka.makhana.repository.UserRepository;
+import com.pinaka.makhana.service.OrderIntakeService;
+import com.pinaka.makhana.util.CheckoutVersions;
+import com.pinaka.makhana.util.CouponRule;
+import com.pinaka.makhana.util.FirstOrderTracker;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Opt-in asynchronous order placement. The request thread only validates the cart
+ * and reserves an order id (a PENDING row); worker threads drain a bounded queue
+ * and complete orders in batches, one transaction per batch.
+ */
+@Service
+public class OrderIntakeServiceImpl implements OrderIntakeService {
+
+	private static final Logger log = LoggerFactory.getLogger(OrderIntakeServiceImpl.class);
+
+	private record IntakeTicket(Long orderId, String email) {
+	}
+
+	private final UserRepository userRepository;
+	private final CartItemRepository cartItemRepository;
+	private final OrderRepository orderRepository;
+	private final CouponRedeemer couponRedeemer;
+	private final FirstOrderTracker firstOrderTracker;
+	private final OrderLifecycle orderLifecycle;
+	private final CheckoutVersions checkoutVersions;
+	private final TransactionTemplate transactionTemplate;
+
+	private final boolean enabled;
+	private final int workerCount;
+	private final int batchSize;
+	private final BlockingQueue<IntakeTicket> queue;
+	private final List<Thread> workers = new ArrayList<>();
+	private volatile boolean running;
+
+	private final AtomicInteger lastBatchSize = new AtomicInteger();
+	private final Timer commitTimer;
+	private final DistributionSummary batchSizes;
+
+	public OrderIntakeServiceImpl(UserRepository userRepository, CartItemRepository cartItemRepository,
+			OrderRepository orderRepository, CouponRedeemer couponRedeemer,
+			FirstOrderTracker firstOrderTracker, OrderLifecycle orderLifecycle,
+			CheckoutVersions checkoutVersions, TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+			@Value("${app.orders.async-intake.enabled:false}") boolean enabled,
+			@Value("${app.orders.async-intake.queue-capacity:10000}") int queueCapacity,
+			@Value("${app.orders.async-intake.workers:2}") int workerCount,
+			@Value("${app.orders.async-intake.batch-size:50}") int batchSize) {
+		this.userRepository = userRepository;
+		this.cartItemRepository = cartItemRepository;
+		this.orderRepository = orderRepository;
+		this.couponRedeemer = couponRedeemer;
+		this.firstOrderTracker = firstOrderTracker;
+		this.orderLifecycle = orderLifecycle;
+		this.checkoutVersions = checkoutVersions;
+		this.transactionTemplate = transactionTemplate;
+		this.enabled = enabled;
+		this.workerCount = workerCount;
+		this.batchSize = batchSize;
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+		this.commitTimer = Timer.builder("orders.intake.commit").description("Time to complete and commit one batch")
+				.register(meterRegistry);
+		this.batchSizes = DistributionSummary.builder("orders.intake.batch.size")
+				.description("Orders committed per batch").register(meterRegistry);
+		meterRegistry.gaugeCollectionSize("orders.intake.queue.depth", List.of(), queue);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		if (!enabled) {
+			return;
+		}
+		running = true;
+		for (int i = 0; i < workerCount; i++) {
+			Thread worker = new Thread(this::drainLoop, "order-intake-" + i);
+			worker.setDaemon(true);
+			worker.start();
+			workers.add(worker);
+		}
+		requeuePending();
+		log.info("📥 Async order intake started with {} workers, batch size {}", workerCount, batchSize);
+	}
+
+	@PreDestroy
+	public void stop() {
+		running = false;
+		workers.forEach(Thread::interrupt);
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	@Override
+	public Map<String, Object> submitOrder(String email) {
+		return submitOrder(email, null);
+	}
+
+	@Override
+	public Map<String, Object> submitOrder(String email, String couponCode) {
+		// Unknown codes are rejected up front; limits are checked when the worker redeems
+		String code = couponCode == null || couponCode.isBlank() ? null : CouponRule.normalize(couponCode);
+		if (code != null) {
+			couponRedeemer.require(code);
+		}
+		Long orderId = transactionTemplate.execute(status -> {
+			User user = userRepository.findByEmail(email)
+					.orElseThrow(() -> new RuntimeException("❌ User not found: " + email));
+			if (!cartItemRepository.existsByUser(user)) {
+				throw new RuntimeException("🛒 Cart is empty. Add items to cart before placing an order.");
+			}
+
+			Order order = new Order();
+			order.setUser(user);
+			order.setOrderDate(LocalDateTime.now());
+			order.setStatus(OrderStatus.PENDING);
+			order.setCouponCode(code);
+			order.setItems(new ArrayList<>());
+			orderRepository.save(order);
+			orderLifecycle.record(orderLifecycle.created(order, email));
+			return order.getId();
+		});
+
+		IntakeTicket ticket = new IntakeTicket(orderId, email);
+		if (!queue.offer(ticket)) {
+			// Queue full: degrade to completing inline rather than rejecting an accepted order
+			log.warn("⚠️ Order intake queue full, completing order {} inline", orderId);
+			processBatch(List.of(ticket));
+		}
+
+		Map<String, Object> response = new HashMap<>();
+		response.put("orderId", orderId);
+		response.put("status", OrderStatus.PENDING.name());
+		response.put("statusUrl", "/api/orders/" + orderId + "/status");
+		return response;
+	}
+
+	@Override
+	public Map<String, Object> getIntakeStats() {
+		Map<String, Object> stats = new HashMap<>();
+		stats.put("enabled", enabled);
+		stats.put("workers", workerCount);
+		stats.put("queueDepth", queue.size());
+		stats.put("queueRemainingCapacity", queue.remainingCapacity());
+		stats.put("maxBatchSize", batchSize);
+		stats.put("lastBatchSize", lastBatchSize.get());
+		stats.put("meanBatchSize", batchSizes.mean());
+		stats.put("batchesCommitted", commitTimer.count());
+		stats.put("meanCommitLatencyMs", commitTimer.mean(TimeUnit.MILLISECONDS));
+		stats.put("maxCommitLatencyMs", commitTimer.max(TimeUnit.MILLISECONDS));
+		return stats;
+	}
+
+	private void drainLoop() {
+		List<IntakeTicket> batch = new ArrayList<>(batchSize);
+		while (running) {
+			try {
+				IntakeTicket first = queue.poll(1, TimeUnit.SECONDS);
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+				queue.drainTo(batch, batchSize - 1);
+				processBatch(batch);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (RuntimeException e) {
+				log.error("❌ Order intake worker error", e);
+			} finally {
+				batch.clear();
+			}
+		}
+	}
+
+	private void processBatch(List<IntakeTicket> batch) {
+		long start = System.nanoTime();
+		try {
+			transactionTemplate.executeWithoutResult(status -> batch.forEach(this::complete));
+		} catch (RuntimeException e) {
+			// One bad order must not sink the rest of the batch; retry each on its own
+			log.warn("⚠️ Batch of {} orders failed, retrying individually: {}", batch.size(), e.getMessage());
+			for (IntakeTicket ticket : batch) {
+				try {
+					transactionTemplate.executeWithoutResult(status -> complete(ticket));
+				} catch (RuntimeException single) {
+					log.error("❌ Could not complete order {}", ticket.orderId(), single);
+					markFailed(ticket);
+				}
+			}
+		}
+		commitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		batchSizes.record(batch.size());
+		lastBatchSize.set(batch.size());
+	}
+
+	private void complete(IntakeTicket ticket) {
+		Order order = orderRepository.findById(ticket.orderId()).orElse(null);
+		if (order == null || order.getStatus() != OrderStatus.PENDING) {
+			return;
+		}
+
+		User user = order.getUser();
+		List<CartItem> cartItems = cartItemRepository.findByUserWithProduct(user);
+		if (cartItems.isEmpty()) {
+			orderLifecycle.record(orderLifecycle.transition(order, OrderStatus.FAILED, OrderLifecycle.SYSTEM));
+			return;
+		}
+
+		CouponRule coupon = couponRedeemer.apply(order, cartItems, order.getCouponCode());
+		orderLifecycle.record(orderLifecycle.transition(order, OrderStatus.PLACED, OrderLifecycle.SYSTEM));
+		cartItemRepository.deleteCheckedOut(cartItems.stream().map(CartItem::getId).toList());
+		if (coupon != null) {
+			// A rejected coupon fails the order through the individual retry rather than placing it undiscounted
+			couponRedeemer.redeem(coupon, order);
+		}
+		// Only a placed order makes the user a returning customer; a pending or failed one does not
+		firstOrderTracker.markOrderedAfterCommit(user.getId());
+		checkoutVersions.bumpCart(ticket.email());
+	}
+
+	private void markFailed(IntakeTicket ticket) {
+		try {
+			transactionTemplate.executeWithoutResult(status -> orderRepository.findById(ticket.orderId())
+					.filter(order -> order.getStatus() == OrderStatus.PENDING)
+					.ifPresent(order -> orderLifecycle
+							.record(orderLifecycle.transition(order, OrderStatus.FAILED, OrderLifecycle.SYSTEM))));
+		} catch (RuntimeException e) {
+			log.error("❌ Could not mark order {} as failed", ticket.orderId(), e);
+		}
+	}
+
+	private void requeuePending() {
+		List<Object[]> pending = orderRepository.findIdAndEmailByStatus(OrderStatus.PENDING);
+		for (Object[] row : pending) {
+			IntakeTicket ticket = new IntakeTicket((Long) row[0], (String) row[1]);
+			if (!queue.offer(ticket)) {
+				processBatch(List.of(ticket));
+			}
+		}
+		if (!pending.isEmpty()) {
+			log.info("🔁 Re-queued {} pending orders", pending.size());
+		}
+	}
+
+}
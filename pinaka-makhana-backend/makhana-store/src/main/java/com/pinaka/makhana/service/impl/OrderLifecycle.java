@@ -0,0 +1,83 @@
+package com.pinaka.makhana.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.pinaka.makhana.entity.Order;
+import com.pinaka.makhana.entity.OrderStatus;
+import com.pinaka.makhana.entity.OrderStatusHistory;
+import com.pinaka.makhana.entity.SalesRollupEvent;
+import com.pinaka.makhana.repository.OrderStatusHistoryRepository;
+import com.pinaka.makhana.repository.SalesRollupEventRepository;
+import com.pinaka.makhana.util.OrderEventHub;
+
+/**
+ * Applies status transitions to managed orders and records them: history rows and
+ * sales rollup outbox rows are saved in the caller's transaction, and events are
+ * published to order streams after it commits. Bulk paths collect entries and
+ * record them together so they batch.
+ */
+@Component
+class OrderLifecycle {
+
+	static final String SYSTEM = "system";
+
+	private final OrderStatusHistoryRepository statusHistoryRepository;
+	private final SalesRollupEventRepository salesRollupEventRepository;
+	private final OrderEventHub orderEventHub;
+
+	OrderLifecycle(OrderStatusHistoryRepository statusHistoryRepository,
+			SalesRollupEventRepository salesRollupEventRepository, OrderEventHub orderEventHub) {
+		this.statusHistoryRepository = statusHistoryRepository;
+		this.salesRollupEventRepository = salesRollupEventRepository;
+		this.orderEventHub = orderEventHub;
+	}
+
+	void record(OrderStatusHistory entry) {
+		if (entry != null) {
+			recordAll(List.of(entry));
+		}
+	}
+
+	void recordAll(List<OrderStatusHistory> entries) {
+		statusHistoryRepository.saveAll(entries);
+
+		// Only moves into or out of a counted status change the sales figures
+		List<SalesRollupEvent> rollupEvents = new ArrayList<>();
+		for (OrderStatusHistory entry : entries) {
+			boolean counted = entry.getFromStatus() != null && entry.getFromStatus().countsAsSale();
+			if (entry.getToStatus().countsAsSale() != counted) {
+				rollupEvents.add(new SalesRollupEvent(entry.getOrderId(), counted ? -1 : 1));
+			}
+		}
+		if (!rollupEvents.isEmpty()) {
+			salesRollupEventRepository.saveAll(rollupEvents);
+		}
+
+		orderEventHub.publishAfterCommit(entries);
+	}
+
+	OrderStatusHistory created(Order order, String changedBy) {
+		return new OrderStatusHistory(order.getId(), null, order.getStatus(), LocalDateTime.now(), changedBy);
+	}
+
+	/**
+	 * Moves the order to {@code target}. Returns null when it is already there,
+	 * throws when the lifecycle does not allow the move.
+	 */
+	OrderStatusHistory transition(Order order, OrderStatus target, String changedBy) {
+		OrderStatus current = order.getStatus();
+		if (current == target) {
+			return null;
+		}
+		if (current != null && !current.canTransitionTo(target)) {
+			throw new RuntimeException("❌ Order " + order.getId() + " cannot move from " + current + " to " + target);
+		}
+		order.setStatus(target);
+		return new OrderStatusHistory(order.getId(), current, target, LocalDateTime.now(), changedBy);
+	}
+
+}
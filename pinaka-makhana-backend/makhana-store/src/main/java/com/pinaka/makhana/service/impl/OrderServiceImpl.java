@@ -1,90 +1,302 @@
 package com.pinaka.makhana.service.impl;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.pinaka.makhana.dto.AdminOrderPage;
+import com.pinaka.makhana.dto.AdminOrderSummaryDTO;
+import com.pinaka.makhana.dto.OrderHistoryPage;
+import com.pinaka.makhana.dto.OrderLineDTO;
+import com.pinaka.makhana.dto.OrderQuote;
+import com.pinaka.makhana.dto.OrderSearchCriteria;
+import com.pinaka.makhana.dto.OrderSummaryDTO;
 import com.pinaka.makhana.entity.CartItem;
 import com.pinaka.makhana.entity.Order;
-import com.pinaka.makhana.entity.OrderItem;
+import com.pinaka.makhana.entity.OrderStatus;
+import com.pinaka.makhana.entity.OrderStatusHistory;
 import com.pinaka.makhana.entity.User;
 import com.pinaka.makhana.repository.CartItemRepository;
-import com.pinaka.makhana.repository.OrderItemRepository;
 import com.pinaka.makhana.repository.OrderRepository;
+import com.pinaka.makhana.repository.OrderStatusHistoryRepository;
 import com.pinaka.makhana.repository.UserRepository;
+import com.pinaka.makhana.service.OrderArchiveService;
 import com.pinaka.makhana.service.OrderService;
+import com.pinaka.makhana.util.CheckoutVersions;
+import com.pinaka.makhana.util.CouponRule;
+import com.pinaka.makhana.util.FirstOrderTracker;
+import com.pinaka.makhana.util.OrderCursor;
+import com.pinaka.makhana.util.PricingEngine;
+import com.pinaka.makhana.util.PromotionEngine;
 
 @Service
 public class OrderServiceImpl implements OrderService {
 
 	private static final Logger log = LoggerFactory.getLogger(OrderServiceImpl.class);
 
+	private static final int MAX_HISTORY_PAGE_SIZE = 100;
+	private static final int MAX_ADMIN_PAGE_SIZE = 200;
+	private static final int MAX_BULK_STATUS_UPDATE = 1000;
+
 	private final UserRepository userRepository;
 	private final CartItemRepository cartItemRepository;
 	private final OrderRepository orderRepository;
-	private final OrderItemRepository orderItemRepository;
+	private final CheckoutVersions checkoutVersions;
+	private final OrderAssembler orderAssembler;
+	private final CouponRedeemer couponRedeemer;
+	private final FirstOrderTracker firstOrderTracker;
+	private final OrderLifecycle orderLifecycle;
+	private final OrderStatusHistoryRepository statusHistoryRepository;
+	private final OrderArchiveService orderArchiveService;
+	// Quote misses only: a cache hit is answered without borrowing a connection
+	private final TransactionTemplate readOnlyTransaction;
+
+	private final long quoteTtlMillis;
+
+	// Quotes keyed by (user, cart version, coupon, catalog version); refreshes during checkout hit this
+	private final Map<QuoteKey, CachedQuote> quoteCache;
 
 	public OrderServiceImpl(UserRepository userRepository, CartItemRepository cartItemRepository,
-			OrderRepository orderRepository, OrderItemRepository orderItemRepository) {
+			OrderRepository orderRepository, CheckoutVersions checkoutVersions,
+			OrderAssembler orderAssembler, CouponRedeemer couponRedeemer,
+			FirstOrderTracker firstOrderTracker, OrderLifecycle orderLifecycle,
+			OrderStatusHistoryRepository statusHistoryRepository, OrderArchiveService orderArchiveService,
+			TransactionTemplate transactionTemplate,
+			@Value("${app.checkout.quote-ttl-seconds:300}") long quoteTtlSeconds,
+			@Value("${app.checkout.quote-cache-size:10000}") int quoteCacheSize) {
 		this.userRepository = userRepository;
 		this.cartItemRepository = cartItemRepository;
 		this.orderRepository = orderRepository;
-		this.orderItemRepository = orderItemRepository;
+		this.checkoutVersions = checkoutVersions;
+		this.orderAssembler = orderAssembler;
+		this.couponRedeemer = couponRedeemer;
+		this.firstOrderTracker = firstOrderTracker;
+		this.orderLifecycle = orderLifecycle;
+		this.statusHistoryRepository = statusHistoryRepository;
+		this.orderArchiveService = orderArchiveService;
+		this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+		this.readOnlyTransaction.setReadOnly(true);
+		this.quoteTtlMillis = quoteTtlSeconds * 1000L;
+		this.quoteCache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<QuoteKey, CachedQuote> eldest) {
+				return size() > quoteCacheSize;
+			}
+		});
 	}
 
 	@Override
 	@Transactional
 	public void placeOrder(String email) {
+		placeOrder(email, null);
+	}
+
+	@Override
+	@Transactional
+	public void placeOrder(String email, String couponCode) {
 		User user = userRepository.findByEmail(email)
 				.orElseThrow(() -> new RuntimeException("❌ User not found: " + email));
 
-		List<CartItem> cartItems = cartItemRepository.findByUser(user);
+		List<CartItem> cartItems = cartItemRepository.findByUserWithProduct(user);
 		if (cartItems.isEmpty()) {
 			throw new RuntimeException("🛒 Cart is empty. Add items to cart before placing an order.");
 		}
 
-		// Create and save initial order
+		// Build and price the whole aggregate in memory; items cascade through Order.items
 		Order order = new Order();
 		order.setUser(user);
 		order.setOrderDate(LocalDateTime.now());
-		order.setStatus("PLACED");
-		Order savedOrder = orderRepository.save(order);
+		order.setStatus(OrderStatus.PLACED);
 
-		// Convert cart items to order items & calculate total
-		List<OrderItem> orderItems = cartItems.stream().map(cartItem -> {
-			OrderItem item = new OrderItem();
-			item.setOrder(savedOrder);
-			item.setProduct(cartItem.getProduct());
-			item.setQuantity(cartItem.getQuantity());
+		CouponRule coupon = couponRedeemer.apply(order, cartItems, couponCode);
 
-			double unitPrice = cartItem.getProduct().getPrice();
-			item.setPrice(unitPrice);
-			return item;
-		}).collect(Collectors.toList());
+		// One persist for the aggregate plus its first history row, one bulk delete for the lines priced
+		orderRepository.save(order);
+		orderLifecycle.record(orderLifecycle.created(order, email));
+		cartItemRepository.deleteCheckedOut(cartItems.stream().map(CartItem::getId).toList());
+		if (coupon != null) {
+			couponRedeemer.redeem(coupon, order);
+		}
+		firstOrderTracker.markOrderedAfterCommit(user.getId());
+		checkoutVersions.bumpCart(email);
 
-		double totalAmount = orderItems.stream().mapToDouble(item -> item.getPrice() * item.getQuantity()).sum();
+		log.info("✅ Order placed successfully for user: {}", email);
+	}
 
-		savedOrder.setTotalAmount(Math.round(totalAmount * 100.0) / 100.0);
+	@Override
+	public OrderQuote quoteOrder(String email, String couponCode) {
+		// Normalized like checkout normalizes it, so "save10" and "SAVE10 " share one entry
+		String code = (couponCode == null || couponCode.isBlank()) ? null : CouponRule.normalize(couponCode);
+		QuoteKey key = new QuoteKey(email, checkoutVersions.cartVersion(email), code,
+				checkoutVersions.catalogVersion());
 
-		orderItemRepository.saveAll(orderItems);
-		orderRepository.save(savedOrder);
+		CachedQuote cached = quoteCache.get(key);
+		long now = System.currentTimeMillis();
+		if (cached != null && now - cached.createdAt() < quoteTtlMillis) {
+			return cached.quote();
+		}
 
-		cartItemRepository.deleteAll(cartItems);
+		OrderQuote quote = readOnlyTransaction.execute(status -> computeQuote(email, code));
+		quote.setCartVersion(key.cartVersion());
+		quote.setCatalogVersion(key.catalogVersion());
+		quoteCache.put(key, new CachedQuote(quote, now));
+		return quote;
+	}
 
-		log.info("✅ Order placed successfully for user: {}", email);
+	private OrderQuote computeQuote(String email, String couponCode) {
+		User user = userRepository.findByEmail(email)
+				.orElseThrow(() -> new RuntimeException("❌ User not found: " + email));
+
+		List<CartItem> cartItems = cartItemRepository.findByUser(user);
+		// Resolved like checkout resolves it, so campaign codes quote their template's discount
+		CouponRule coupon = couponCode != null ? couponRedeemer.find(couponCode) : null;
+		boolean firstTimeUser = coupon != null && firstOrderTracker.isFirstTimeUser(user.getId());
+		// The same routine prices the order at placement, so the quoted total is the charged one
+		OrderAssembler.Pricing pricing = orderAssembler.price(cartItems, coupon, firstTimeUser);
+
+		OrderQuote quote = new OrderQuote();
+		quote.setItemCount(cartItems.stream().mapToInt(CartItem::getQuantity).sum());
+		quote.setSubtotal(PricingEngine.toRupees(pricing.subtotal()));
+		quote.setCouponCode(couponCode);
+		quote.setPromotionDiscount(PricingEngine.toRupees(pricing.promotions().discountPaise()));
+		quote.setPromotions(pricing.promotions().applied().stream().map(PromotionEngine.Applied::name).toList());
+		quote.setCouponApplied(pricing.couponApplied());
+		quote.setDiscount(PricingEngine.toRupees(pricing.discount()));
+		quote.setShipping(PricingEngine.toRupees(pricing.shipping()));
+		quote.setTax(PricingEngine.toRupees(pricing.tax()));
+		quote.setTotal(PricingEngine.toRupees(pricing.total()));
+		return quote;
 	}
 
+	private record QuoteKey(String email, long cartVersion, String couponCode, long catalogVersion) {
+	}
+
+	private record CachedQuote(OrderQuote quote, long createdAt) {
+	}
+
+	// Reads below fall back to the archive for orders moved out of the hot tables
+
 	@Override
+	@Transactional(readOnly = true)
 	public List<Order> getOrdersByUser(String email) {
 		User user = userRepository.findByEmail(email)
 				.orElseThrow(() -> new RuntimeException("❌ User not found: " + email));
 
-		return orderRepository.findByUser(user);
+		List<Order> orders = new ArrayList<>(orderRepository.findByUser(user));
+		orders.addAll(orderArchiveService.findArchivedOrdersByUser(user));
+		return orders;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public String getOrderStatus(String email, Long orderId) {
+		return findOrder(orderId)
+				.filter(order -> order.getUser().getEmail().equals(email))
+				.map(order -> order.getStatus().name())
+				.orElse(null);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<OrderStatusHistory> getOrderStatusEvents(Long orderId, Long afterEventId) {
+		List<OrderStatusHistory> events;
+		if (afterEventId == null) {
+			events = statusHistoryRepository.findFirstByOrderIdOrderByChangedAtDescIdDesc(orderId).map(List::of)
+					.orElse(List.of());
+		} else {
+			// An id the order does not know (older stream, archived row) replays everything rather than leave a gap
+			events = statusHistoryRepository.findByIdAndOrderId(afterEventId, orderId)
+					.map(seen -> statusHistoryRepository.findAfter(orderId, seen.getChangedAt(), seen.getId()))
+					.orElseGet(() -> statusHistoryRepository.findByOrderIdOrderByChangedAtAscIdAsc(orderId));
+		}
+		if (!events.isEmpty() || orderRepository.existsById(orderId)) {
+			return events;
+		}
+		// Archived orders are terminal, so their stream only ever replays history (already in changedAt, id order)
+		List<OrderStatusHistory> archived = orderArchiveService.findArchivedStatusHistory(orderId);
+		if (afterEventId == null) {
+			return archived.isEmpty() ? List.of() : List.of(archived.get(archived.size() - 1));
+		}
+		for (int i = 0; i < archived.size(); i++) {
+			if (archived.get(i).getId().equals(afterEventId)) {
+				return archived.subList(i + 1, archived.size());
+			}
+		}
+		return archived;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public OrderHistoryPage getOrderHistoryPage(String email, String cursor, int limit) {
+		int pageSize = Math.max(1, Math.min(limit, MAX_HISTORY_PAGE_SIZE));
+		// Fetch one extra row to learn whether another page exists
+		PageRequest page = PageRequest.of(0, pageSize + 1);
+
+		OrderCursor after = OrderCursor.parse(cursor);
+		List<OrderSummaryDTO> rows = after == null ? orderRepository.findHistoryFirstPage(email, page)
+				: orderRepository.findHistoryPageBefore(email, after.orderDate(), after.id(), page);
+		rows = mergeArchivedHistory(email, after, rows, pageSize + 1);
+
+		boolean hasMore = rows.size() > pageSize;
+		List<OrderSummaryDTO> orders = hasMore ? rows.subList(0, pageSize) : rows;
+		String nextCursor = null;
+		if (hasMore) {
+			OrderSummaryDTO last = orders.get(orders.size() - 1);
+			nextCursor = new OrderCursor(last.getOrderDate(), last.getId()).encode();
+		}
+		return new OrderHistoryPage(orders, nextCursor, hasMore);
+	}
+
+	/**
+	 * Merges the archived part of a user's history into a page read from the hot
+	 * table. Skipped when the hot page is full and its oldest row is newer than
+	 * anything that has been archived.
+	 */
+	private List<OrderSummaryDTO> mergeArchivedHistory(String email, OrderCursor after, List<OrderSummaryDTO> rows,
+			int limit) {
+		LocalDateTime archivedThrough = orderArchiveService.getArchivedThrough();
+		if (archivedThrough == null
+				|| (rows.size() >= limit && rows.get(rows.size() - 1).getOrderDate().isAfter(archivedThrough))) {
+			return rows;
+		}
+		List<OrderSummaryDTO> archived = orderArchiveService.findArchivedHistory(email, after, limit);
+		if (archived.isEmpty()) {
+			return rows;
+		}
+		List<OrderSummaryDTO> merged = new ArrayList<>(rows);
+		merged.addAll(archived);
+		merged.sort(Comparator.comparing(OrderSummaryDTO::getOrderDate).thenComparing(OrderSummaryDTO::getId)
+				.reversed());
+		return merged.size() > limit ? merged.subList(0, limit) : merged;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<OrderLineDTO> getOrderLines(String email, Long orderId) {
+		List<OrderLineDTO> lines = orderRepository.findOrderLines(email, orderId);
+		return lines.isEmpty() ? orderArchiveService.findArchivedOrderLines(email, orderId) : lines;
 	}
 
 	// Admin methods implementation
@@ -97,25 +309,159 @@ public class OrderServiceImpl implements OrderService {
 	}
 
 	@Override
+	@Transactional(readOnly = true)
+	public AdminOrderPage searchOrders(OrderSearchCriteria criteria, String cursor, int limit) {
+		int pageSize = Math.max(1, Math.min(limit, MAX_ADMIN_PAGE_SIZE));
+		List<AdminOrderSummaryDTO> rows = orderRepository.searchOrders(criteria, OrderCursor.parse(cursor),
+				pageSize + 1);
+
+		boolean hasMore = rows.size() > pageSize;
+		List<AdminOrderSummaryDTO> orders = hasMore ? rows.subList(0, pageSize) : rows;
+		String nextCursor = null;
+		if (hasMore) {
+			AdminOrderSummaryDTO last = orders.get(orders.size() - 1);
+			nextCursor = new OrderCursor(last.getOrderDate(), last.getId()).encode();
+		}
+		// Counts only accompany the first page; they don't change as the admin pages through
+		Map<String, Long> statusCounts = cursor == null || cursor.isBlank()
+				? orderRepository.countOrdersByStatus(criteria)
+				: null;
+		return new AdminOrderPage(orders, nextCursor, hasMore, statusCounts);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
 	public Order getOrderById(Long orderId) {
 		log.info("🔍 Admin: Fetching order by ID: {}", orderId);
-		return orderRepository.findById(orderId).orElse(null);
+		return findOrder(orderId).orElse(null);
+	}
+
+	private Optional<Order> findOrder(Long orderId) {
+		Optional<Order> order = orderRepository.findById(orderId);
+		return order.isPresent() ? order : Optional.ofNullable(orderArchiveService.findArchivedOrder(orderId));
 	}
 
 	@Override
-	public Order updateOrderStatus(Long orderId, String status) {
+	@Transactional
+	public Order updateOrderStatus(Long orderId, String status, Long expectedVersion, String changedBy) {
 		log.info("🔄 Admin: Updating order {} status to: {}", orderId, status);
+		OrderStatus target = OrderStatus.fromString(status);
 
 		Order order = orderRepository.findById(orderId).orElse(null);
-		if (order != null) {
-			order.setStatus(status);
-			Order savedOrder = orderRepository.save(order);
+		if (order == null) {
+			log.warn("❌ Order not found: {}", orderId);
+			return null;
+		}
+		if (expectedVersion != null && !expectedVersion.equals(order.getVersion())) {
+			throw new ObjectOptimisticLockingFailureException(Order.class, orderId);
+		}
+
+		OrderStatusHistory entry = orderLifecycle.transition(order, target, changedBy);
+		if (entry != null) {
+			orderLifecycle.record(entry);
+			// Flush here so a concurrent update surfaces as a version conflict from this call
+			orderRepository.saveAndFlush(order);
 			log.info("✅ Order status updated successfully");
-			return savedOrder;
 		}
+		return order;
+	}
+
+	@Override
+	@Transactional
+	public Map<String, Object> bulkUpdateOrderStatus(List<Long> orderIds, String status, String changedBy) {
+		OrderStatus target = OrderStatus.fromString(status);
+		if (orderIds == null || orderIds.isEmpty()) {
+			throw new RuntimeException("❌ No order ids given");
+		}
+		if (orderIds.size() > MAX_BULK_STATUS_UPDATE) {
+			throw new RuntimeException("❌ At most " + MAX_BULK_STATUS_UPDATE + " orders per bulk update");
+		}
+		log.info("🔄 Admin: Bulk updating {} orders to: {}", orderIds.size(), target);
+
+		// One IN select; the versioned updates and history inserts then go out as JDBC batches on flush
+		Map<Long, Order> orders = orderRepository.findAllById(Set.copyOf(orderIds)).stream()
+				.collect(Collectors.toMap(Order::getId, Function.identity()));
+
+		List<OrderStatusHistory> entries = new ArrayList<>();
+		List<Long> updated = new ArrayList<>();
+		List<Long> unchanged = new ArrayList<>();
+		List<Long> notFound = new ArrayList<>();
+		Map<Long, String> rejected = new HashMap<>();
+		for (Long orderId : Set.copyOf(orderIds)) {
+			Order order = orders.get(orderId);
+			if (order == null) {
+				notFound.add(orderId);
+				continue;
+			}
+			if (order.getStatus() != null && order.getStatus() != target
+					&& !order.getStatus().canTransitionTo(target)) {
+				rejected.put(orderId, order.getStatus() + " -> " + target + " is not allowed");
+				continue;
+			}
+			OrderStatusHistory entry = orderLifecycle.transition(order, target, changedBy);
+			if (entry == null) {
+				unchanged.add(orderId);
+			} else {
+				entries.add(entry);
+				updated.add(orderId);
+			}
+		}
+		orderLifecycle.recordAll(entries);
+		orderRepository.flush();
+
+		Map<String, Object> result = new HashMap<>();
+		result.put("status", target.name());
+		result.put("updated", updated);
+		result.put("unchanged", unchanged);
+		result.put("rejected", rejected);
+		result.put("notFound", notFound);
+		log.info("✅ Bulk status update: {} updated, {} rejected, {} not found", updated.size(), rejected.size(),
+				notFound.size());
+		return result;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<OrderStatusHistory> getOrderStatusHistory(Long orderId) {
+		List<OrderStatusHistory> history = statusHistoryRepository.findByOrderIdOrderByChangedAtAscIdAsc(orderId);
+		return history.isEmpty() ? orderArchiveService.findArchivedStatusHistory(orderId) : history;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Map<String, Object> getStatusTransitionSla(String fromStatus, String toStatus, LocalDateTime since,
+			LocalDateTime until) {
+		OrderStatus from = OrderStatus.fromString(fromStatus);
+		OrderStatus to = OrderStatus.fromString(toStatus);
+		List<Object[]> rows = statusHistoryRepository.findTransitionTimes(from, to, since, until);
+
+		long[] seconds = new long[rows.size()];
+		for (int i = 0; i < rows.size(); i++) {
+			Object[] row = rows.get(i);
+			seconds[i] = Duration.between((LocalDateTime) row[0], (LocalDateTime) row[1]).getSeconds();
+		}
+		Arrays.sort(seconds);
+
+		Map<String, Object> sla = new HashMap<>();
+		sla.put("from", from.name());
+		sla.put("to", to.name());
+		sla.put("since", since);
+		sla.put("until", until);
+		sla.put("orders", seconds.length);
+		if (seconds.length > 0) {
+			sla.put("averageMinutes", Arrays.stream(seconds).average().orElse(0) / 60.0);
+			sla.put("p50Minutes", percentile(seconds, 50) / 60.0);
+			sla.put("p90Minutes", percentile(seconds, 90) / 60.0);
+			sla.put("p99Minutes", percentile(seconds, 99) / 60.0);
+			sla.put("maxMinutes", seconds[seconds.length - 1] / 60.0);
+		}
+		return sla;
+	}
 
-		log.warn("❌ Order not found: {}", orderId);
-		return null;
+	// Nearest-rank percentile over sorted values
+	private static long percentile(long[] sorted, int percent) {
+		int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+		return sorted[Math.max(0, rank - 1)];
 	}
 
 }
\ No newline at end of file
@@ -11,6 +11,7 @@ import com.pinaka.makhana.dto.ProductDTO;
 import com.pinaka.makhana.entity.Product;
 import com.pinaka.makhana.repository.ProductRepository;
 import com.pinaka.makhana.service.ProductService;
+import com.pinaka.makhana.util.CheckoutVersions;
 
 @Service
 public class ProductServiceImpl implements ProductService {
@@ -18,9 +19,11 @@ public class ProductServiceImpl implements ProductService {
 	private static final Logger logger = LoggerFactory.getLogger(ProductServiceImpl.class);
 
 	private final ProductRepository productRepository;
+	private final CheckoutVersions checkoutVersions;
 
-	public ProductServiceImpl(ProductRepository productRepository) {
+	public ProductServiceImpl(ProductRepository productRepository, CheckoutVersions checkoutVersions) {
 		this.productRepository = productRepository;
+		this.checkoutVersions = checkoutVersions;
 	}
 
 	@Override
@@ -54,6 +57,7 @@ public class ProductServiceImpl implements ProductService {
 
 		try {
 			Product savedProduct = productRepository.save(product);
+			checkoutVersions.bumpCatalog();
 			logger.info("✅ Product created successfully with ID: {}", savedProduct.getId());
 			return savedProduct;
 		} catch (Exception e) {
@@ -140,6 +144,7 @@ public class ProductServiceImpl implements ProductService {
 
 		try {
 			Product savedProduct = productRepository.save(product);
+			checkoutVersions.bumpCatalog();
 			logger.info("✅ Product updated successfully with ID: {}", savedProduct.getId());
 			return savedProduct;
 		} catch (Exception e) {
@@ -155,5 +160,6 @@ public class ProductServiceImpl implements ProductService {
 	@Transactional
 	public void deleteProduct(Long id) {
 		productRepository.deleteById(id);
+		checkoutVersions.bumpCatalog();
 	}
 }
\ No newline at end of file
@@ -0,0 +1,121 @@
+package com.pinaka.makhana.service.impl;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.pinaka.makhana.entity.Promotion;
+import com.pinaka.makhana.repository.PromotionRepository;
+import com.pinaka.makhana.service.PromotionService;
+import com.pinaka.makhana.util.CheckoutVersions;
+import com.pinaka.makhana.util.PromotionCache;
+
+@Service
+public class PromotionServiceImpl implements PromotionService {
+
+	private final PromotionRepository promotionRepository;
+	private final PromotionCache promotionCache;
+	private final CheckoutVersions checkoutVersions;
+
+	public PromotionServiceImpl(PromotionRepository promotionRepository, PromotionCache promotionCache,
+			CheckoutVersions checkoutVersions) {
+		this.promotionRepository = promotionRepository;
+		this.promotionCache = promotionCache;
+		this.checkoutVersions = checkoutVersions;
+	}
+
+	@Override
+	public List<Promotion> getAllPromotions() {
+		return promotionRepository.findAll();
+	}
+
+	@Override
+	public Promotion getPromotionById(Long id) {
+		return promotionRepository.findById(id)
+				.orElseThrow(() -> new RuntimeException("❌ Promotion not found with id: " + id));
+	}
+
+	@Override
+	@Transactional
+	public Promotion createPromotion(Promotion promotion) {
+		validate(promotion);
+		promotion.setId(null);
+		Promotion saved = promotionRepository.save(promotion);
+		promotionCache.putAfterCommit(saved);
+		checkoutVersions.bumpCatalog();
+		return saved;
+	}
+
+	@Override
+	@Transactional
+	public Promotion updatePromotion(Long id, Promotion details) {
+		validate(details);
+		Promotion promotion = getPromotionById(id);
+		promotion.setName(details.getName());
+		promotion.setDescription(details.getDescription());
+		promotion.setType(details.getType());
+		promotion.setProductId(details.getProductId());
+		promotion.setCategory(details.getCategory());
+		promotion.setBuyQuantity(details.getBuyQuantity());
+		promotion.setFreeQuantity(details.getFreeQuantity());
+		promotion.setMinQuantity(details.getMinQuantity());
+		promotion.setDiscountPercent(details.getDiscountPercent());
+		promotion.setBundleQuantity(details.getBundleQuantity());
+		promotion.setBundlePrice(details.getBundlePrice());
+		promotion.setStartDate(details.getStartDate());
+		promotion.setEndDate(details.getEndDate());
+		promotion.setActive(details.isActive());
+
+		Promotion saved = promotionRepository.save(promotion);
+		promotionCache.putAfterCommit(saved);
+		checkoutVersions.bumpCatalog();
+		return saved;
+	}
+
+	@Override
+	@Transactional
+	public void deletePromotion(Long id) {
+		promotionRepository.delete(getPromotionById(id));
+		promotionCache.removeAfterCommit(id);
+		checkoutVersions.bumpCatalog();
+	}
+
+	private static void validate(Promotion promotion) {
+		if (promotion.getName() == null || promotion.getName().isBlank() || promotion.getType() == null) {
+			throw new RuntimeException("❌ Promotion needs a name and a type");
+		}
+		if ((promotion.getProductId() == null) == (promotion.getCategory() == null)) {
+			throw new RuntimeException("❌ Promotion must target either one product or one category");
+		}
+		if (promotion.getStartDate() != null && promotion.getEndDate() != null
+				&& !promotion.getEndDate().isAfter(promotion.getStartDate())) {
+			throw new RuntimeException("❌ Promotion must end after it starts");
+		}
+		switch (promotion.getType()) {
+		case BUY_X_GET_Y:
+			if (!positive(promotion.getBuyQuantity()) || !positive(promotion.getFreeQuantity())) {
+				throw new RuntimeException("❌ Buy-X-get-Y needs positive buy and free quantities");
+			}
+			break;
+		case BUNDLE:
+			if (promotion.getBundleQuantity() == null || promotion.getBundleQuantity() < 2
+					|| promotion.getBundlePrice() == null || promotion.getBundlePrice() < 0) {
+				throw new RuntimeException("❌ Bundle needs at least 2 units and a price");
+			}
+			break;
+		case QUANTITY_TIER:
+		default:
+			if (!positive(promotion.getMinQuantity()) || promotion.getDiscountPercent() == null
+					|| promotion.getDiscountPercent() <= 0 || promotion.getDiscountPercent() > 100) {
+				throw new RuntimeException("❌ Quantity tier needs a minimum quantity and a percentage up to 100");
+			}
+			break;
+		}
+	}
+
+	private static boolean positive(Integer value) {
+		return value != null && value > 0;
+	}
+
+}
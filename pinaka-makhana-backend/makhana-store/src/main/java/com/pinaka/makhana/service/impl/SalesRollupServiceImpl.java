@@ -0,0 +1,436 @@
+package com.pinaka.makhana.service.impl;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.pinaka.makhana.service.SalesRollupService;
+import com.pinaka.makhana.util.PricingEngine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Hourly and daily sales rollups by product, category and customer state, plus a
+ * TOTAL row per bucket. Order status changes leave a row in sales_rollup_outbox
+ * (same transaction); a scheduled worker drains it and applies each batch with one
+ * set-based upsert per table and dimension. Rollups are bucketed by order date, in
+ * integer paise, and only count orders in a sale status.
+ * <p>
+ * A batch and a rebuild must not overlap. Within one instance applyLock keeps
+ * them apart; across instances they also take the MySQL named lock
+ * {@value #ROLLUP_LOCK}, which the server drops if its session dies.
+ */
+@Service
+public class SalesRollupServiceImpl implements SalesRollupService {
+
+	private static final Logger log = LoggerFactory.getLogger(SalesRollupServiceImpl.class);
+
+	private static final String COUNTED_STATUSES = "('PLACED', 'CONFIRMED', 'SHIPPED', 'DELIVERED')";
+
+	static final String ROLLUP_LOCK = "sales_rollup_apply";
+
+	private final NamedParameterJdbcTemplate jdbc;
+	private final TransactionTemplate transactionTemplate;
+	private final int batchSize;
+	private final int rebuildThreads;
+	private final int lockWaitSeconds;
+
+	// Held by the outbox worker per batch and by a rebuild for its whole run
+	private final ReentrantLock applyLock = new ReentrantLock();
+	private final Counter appliedEvents;
+
+	public SalesRollupServiceImpl(NamedParameterJdbcTemplate jdbc, TransactionTemplate transactionTemplate,
+			MeterRegistry meterRegistry,
+			@Value("${app.sales.rollup.batch-size:500}") int batchSize,
+			@Value("${app.sales.rollup.rebuild-threads:4}") int rebuildThreads,
+			@Value("${app.sales.rollup.lock-wait-seconds:30}") int lockWaitSeconds) {
+		this.jdbc = jdbc;
+		this.transactionTemplate = transactionTemplate;
+		this.batchSize = batchSize;
+		this.rebuildThreads = rebuildThreads;
+		this.lockWaitSeconds = lockWaitSeconds;
+		this.appliedEvents = Counter.builder("sales.rollup.events.applied")
+				.description("Order events folded into the sales rollups").register(meterRegistry);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuildIfEmpty() {
+		Integer rollups = jdbc.getJdbcTemplate().queryForObject("SELECT COUNT(*) FROM sales_rollup_daily",
+				Integer.class);
+		Integer orders = jdbc.getJdbcTemplate().queryForObject(
+				"SELECT COUNT(*) FROM orders WHERE status IN " + COUNTED_STATUSES, Integer.class);
+		if (rollups != null && rollups == 0 && orders != null && orders > 0) {
+			Thread rebuild = new Thread(this::rebuildIfStillEmpty, "sales-rollup-rebuild");
+			rebuild.setDaemon(true);
+			rebuild.start();
+		}
+	}
+
+	// Every instance sees the empty table at startup; the first to take the lock rebuilds, the rest find it filled
+	private void rebuildIfStillEmpty() {
+		applyLock.lock();
+		try {
+			Boolean done = withRollupLock(0, () -> {
+				Integer rollups = jdbc.getJdbcTemplate().queryForObject("SELECT COUNT(*) FROM sales_rollup_daily",
+						Integer.class);
+				if (rollups == null || rollups == 0) {
+					rebuildLocked();
+				}
+				return Boolean.TRUE;
+			});
+			if (done == null) {
+				log.info("📊 Another instance is rebuilding the sales rollups");
+			}
+		} finally {
+			applyLock.unlock();
+		}
+	}
+
+	@Override
+	@Scheduled(fixedDelayString = "${app.sales.rollup.apply-interval-ms:5000}")
+	public int applyPendingEvents() {
+		int total = 0;
+		while (true) {
+			if (!applyLock.tryLock()) {
+				// A rebuild is running and will account for everything committed before it
+				return total;
+			}
+			Integer applied;
+			try {
+				// Another instance's rebuild (or batch) holds the named lock: leave the outbox to it for now
+				applied = withRollupLock(0, () -> transactionTemplate.execute(status -> applyBatch()));
+			} finally {
+				applyLock.unlock();
+			}
+			if (applied == null || applied == 0) {
+				return total;
+			}
+			total += applied;
+			appliedEvents.increment(applied);
+			if (applied < batchSize) {
+				return total;
+			}
+		}
+	}
+
+	private int applyBatch() {
+		// Batches are serialized by the named lock; SKIP LOCKED still keeps a worker clear of rows a
+		// status change is writing
+		List<Map<String, Object>> events = jdbc.queryForList(
+				"SELECT id, order_id, delta FROM sales_rollup_outbox ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+				new MapSqlParameterSource("limit", batchSize));
+		if (events.isEmpty()) {
+			return 0;
+		}
+
+		List<Long> eventIds = new ArrayList<>(events.size());
+		List<Long> added = new ArrayList<>();
+		List<Long> removed = new ArrayList<>();
+		for (Map<String, Object> event : events) {
+			eventIds.add(((Number) event.get("id")).longValue());
+			Long orderId = ((Number) event.get("order_id")).longValue();
+			(((Number) event.get("delta")).intValue() > 0 ? added : removed).add(orderId);
+		}
+		// An order added and removed in the same batch appears in both lists; the two upserts cancel out
+		upsertOrders(added, 1);
+		upsertOrders(removed, -1);
+		jdbc.update("DELETE FROM sales_rollup_outbox WHERE id IN (:ids)", new MapSqlParameterSource("ids", eventIds));
+		return events.size();
+	}
+
+	private void upsertOrders(List<Long> orderIds, int sign) {
+		if (orderIds.isEmpty()) {
+			return;
+		}
+		MapSqlParameterSource params = new MapSqlParameterSource("ids", orderIds).addValue("sign", sign);
+		for (Granularity granularity : Granularity.values()) {
+			for (Dimension dimension : Dimension.values()) {
+				jdbc.update(upsertSql(granularity, dimension, "orders", "order_items", "o.id IN (:ids)"), params);
+			}
+		}
+	}
+
+	private static String upsertSql(Granularity granularity, Dimension dimension, String ordersTable,
+			String itemsTable, String filter) {
+		String bucket = bucketExpression(granularity);
+		String key = keyExpression(dimension);
+		return "INSERT INTO " + table(granularity)
+				+ " (dimension, bucket_start, dimension_key, order_count, units, revenue_paise) "
+				+ "SELECT '" + dimension.name() + "', " + bucket + ", " + key + ", "
+				+ ":sign * COUNT(DISTINCT o.id), :sign * SUM(i.quantity), "
+				+ ":sign * SUM(ROUND(i.price * 100) * i.quantity) "
+				+ "FROM " + ordersTable + " o JOIN " + itemsTable + " i ON i.order_id = o.id "
+				+ "JOIN users u ON u.id = o.user_id "
+				+ "LEFT JOIN product p ON p.id = i.product_id WHERE " + filter + " GROUP BY " + bucket + ", " + key
+				+ " ON DUPLICATE KEY UPDATE order_count = order_count + VALUES(order_count), "
+				+ "units = units + VALUES(units), revenue_paise = revenue_paise + VALUES(revenue_paise)";
+	}
+
+	private static String table(Granularity granularity) {
+		return granularity == Granularity.HOUR ? "sales_rollup_hourly" : "sales_rollup_daily";
+	}
+
+	private static String bucketExpression(Granularity granularity) {
+		return granularity == Granularity.HOUR ? "DATE_FORMAT(o.order_date, '%Y-%m-%d %H:00:00')"
+				: "DATE(o.order_date)";
+	}
+
+	private static String keyExpression(Dimension dimension) {
+		switch (dimension) {
+		case PRODUCT:
+			return "CAST(i.product_id AS CHAR)";
+		case CATEGORY:
+			return "COALESCE(p.category, 'UNCATEGORIZED')";
+		case STATE:
+			return "COALESCE(NULLIF(TRIM(u.state), ''), 'UNKNOWN')";
+		case TOTAL:
+		default:
+			return "'ALL'";
+		}
+	}
+
+	// ---- Reads (one range scan over the bucket primary key) ----
+
+	@Override
+	public List<Map<String, Object>> getSeries(Granularity granularity, Dimension dimension, String key,
+			LocalDateTime from, LocalDateTime to) {
+		MapSqlParameterSource params = new MapSqlParameterSource("dimension", dimension.name())
+				.addValue("from", Timestamp.valueOf(from)).addValue("to", Timestamp.valueOf(to));
+		String sql = "SELECT bucket_start, dimension_key, order_count, units, revenue_paise FROM " + table(granularity)
+				+ " WHERE dimension = :dimension AND bucket_start >= :from AND bucket_start < :to";
+		if (key != null) {
+			sql += " AND dimension_key = :key";
+			params.addValue("key", key);
+		}
+		sql += " ORDER BY bucket_start, dimension_key";
+
+		return jdbc.query(sql, params, (rs, rowNum) -> {
+			Map<String, Object> bucket = new HashMap<>();
+			bucket.put("bucketStart", rs.getTimestamp("bucket_start").toLocalDateTime());
+			bucket.put("key", rs.getString("dimension_key"));
+			bucket.put("orders", rs.getLong("order_count"));
+			bucket.put("units", rs.getLong("units"));
+			bucket.put("revenue", PricingEngine.toRupees(rs.getLong("revenue_paise")));
+			return bucket;
+		});
+	}
+
+	@Override
+	public List<Map<String, Object>> getTopKeys(Granularity granularity, Dimension dimension, LocalDateTime from,
+			LocalDateTime to, int limit) {
+		MapSqlParameterSource params = new MapSqlParameterSource("dimension", dimension.name())
+				.addValue("from", Timestamp.valueOf(from)).addValue("to", Timestamp.valueOf(to))
+				.addValue("limit", Math.max(1, Math.min(limit, 100)));
+		String sql = "SELECT dimension_key, SUM(order_count) AS orders, SUM(units) AS units, "
+				+ "SUM(revenue_paise) AS revenue FROM " + table(granularity)
+				+ " WHERE dimension = :dimension AND bucket_start >= :from AND bucket_start < :to "
+				+ "GROUP BY dimension_key ORDER BY revenue DESC LIMIT :limit";
+
+		return jdbc.query(sql, params, (rs, rowNum) -> {
+			Map<String, Object> row = new HashMap<>();
+			row.put("key", rs.getString("dimension_key"));
+			row.put("orders", rs.getLong("orders"));
+			row.put("units", rs.getLong("units"));
+			row.put("revenue", PricingEngine.toRupees(rs.getLong("revenue")));
+			return row;
+		});
+	}
+
+	@Override
+	public Map<String, Object> getOverview() {
+		LocalDateTime now = LocalDateTime.now();
+		LocalDateTime today = now.toLocalDate().atStartOfDay();
+		LocalDateTime weekStart = now.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+				.atStartOfDay();
+		LocalDateTime monthStart = now.toLocalDate().withDayOfMonth(1).atStartOfDay();
+		LocalDateTime tomorrow = today.plusDays(1);
+
+		Map<String, Object> overview = new HashMap<>();
+		overview.put("today", totals(Granularity.DAY, today, tomorrow));
+		overview.put("yesterday", totals(Granularity.DAY, today.minusDays(1), today));
+		overview.put("thisWeek", totals(Granularity.DAY, weekStart, tomorrow));
+		overview.put("thisMonth", totals(Granularity.DAY, monthStart, tomorrow));
+		overview.put("last24Hours", totals(Granularity.HOUR, now.truncatedTo(ChronoUnit.HOURS).minusHours(23),
+				now.truncatedTo(ChronoUnit.HOURS).plusHours(1)));
+		overview.put("pendingEvents",
+				jdbc.getJdbcTemplate().queryForObject("SELECT COUNT(*) FROM sales_rollup_outbox", Long.class));
+		return overview;
+	}
+
+	private Map<String, Object> totals(Granularity granularity, LocalDateTime from, LocalDateTime to) {
+		long orders = 0;
+		long units = 0;
+		long revenuePaise = 0;
+		for (Map<String, Object> bucket : getSeries(granularity, Dimension.TOTAL, "ALL", from, to)) {
+			orders += (Long) bucket.get("orders");
+			units += (Long) bucket.get("units");
+			revenuePaise += PricingEngine.toPaise((BigDecimal) bucket.get("revenue"));
+		}
+		Map<String, Object> totals = new HashMap<>();
+		totals.put("orders", orders);
+		totals.put("units", units);
+		totals.put("revenue", PricingEngine.toRupees(revenuePaise));
+		return totals;
+	}
+
+	// ---- Rebuild ----
+
+	@Override
+	public Map<String, Object> rebuild() {
+		applyLock.lock();
+		try {
+			// Waits for a batch in flight on another instance, but not for a whole rebuild
+			Map<String, Object> result = withRollupLock(lockWaitSeconds, this::rebuildLocked);
+			if (result == null) {
+				throw new RuntimeException("❌ Sales rollups are being rebuilt or applied by another instance");
+			}
+			return result;
+		} finally {
+			applyLock.unlock();
+		}
+	}
+
+	private Map<String, Object> rebuildLocked() {
+		long start = System.currentTimeMillis();
+		// Archived orders still count towards their days
+		Map<String, Object> range = jdbc.getJdbcTemplate().queryForMap("SELECT MIN(first_date) AS first_date, "
+				+ "MAX(last_date) AS last_date FROM (SELECT MIN(order_date) AS first_date, "
+				+ "MAX(order_date) AS last_date FROM orders UNION ALL "
+				+ "SELECT MIN(order_date), MAX(order_date) FROM orders_archive) r");
+		Timestamp first = (Timestamp) range.get("first_date");
+		Timestamp last = (Timestamp) range.get("last_date");
+		if (first == null || last == null) {
+			transactionTemplate.executeWithoutResult(status -> {
+				jdbc.getJdbcTemplate().update("DELETE FROM sales_rollup_hourly");
+				jdbc.getJdbcTemplate().update("DELETE FROM sales_rollup_daily");
+				jdbc.getJdbcTemplate().update("DELETE FROM sales_rollup_outbox");
+			});
+			return Map.of("days", 0, "durationMs", System.currentTimeMillis() - start);
+		}
+
+		LocalDate firstDay = first.toLocalDateTime().toLocalDate();
+		LocalDate lastDay = last.toLocalDateTime().toLocalDate();
+		// Buckets outside the order range can only be stale
+		MapSqlParameterSource bounds = new MapSqlParameterSource("from",
+				Timestamp.valueOf(firstDay.atStartOfDay()))
+				.addValue("to", Timestamp.valueOf(lastDay.plusDays(1).atStartOfDay()));
+		transactionTemplate.executeWithoutResult(status -> {
+			for (Granularity granularity : Granularity.values()) {
+				jdbc.update("DELETE FROM " + table(granularity)
+						+ " WHERE bucket_start < :from OR bucket_start >= :to", bounds);
+			}
+		});
+
+		ExecutorService pool = Executors.newFixedThreadPool(rebuildThreads);
+		try {
+			List<Future<?>> tasks = new ArrayList<>();
+			for (LocalDate day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+				LocalDate chunk = day;
+				tasks.add(pool.submit(() -> transactionTemplate.executeWithoutResult(status -> rebuildDay(chunk))));
+			}
+			for (Future<?> task : tasks) {
+				task.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("❌ Sales rollup rebuild interrupted");
+		} catch (ExecutionException e) {
+			throw new RuntimeException("❌ Sales rollup rebuild failed: " + e.getCause().getMessage(), e.getCause());
+		} finally {
+			pool.shutdownNow();
+		}
+
+		long days = ChronoUnit.DAYS.between(firstDay, lastDay) + 1;
+		long duration = System.currentTimeMillis() - start;
+		log.info("📊 Rebuilt sales rollups for {} days in {} ms", days, duration);
+		Map<String, Object> result = new HashMap<>();
+		result.put("days", days);
+		result.put("from", firstDay);
+		result.put("to", lastDay);
+		result.put("threads", rebuildThreads);
+		result.put("durationMs", duration);
+		return result;
+	}
+
+	/**
+	 * Runs {@code work} while holding {@link #ROLLUP_LOCK}, or returns null when
+	 * the lock is not free within {@code waitSeconds}. Named locks belong to a
+	 * session, so one connection is held for the whole run; the work itself uses
+	 * its own.
+	 */
+	private <T> T withRollupLock(int waitSeconds, Supplier<T> work) {
+		return jdbc.getJdbcTemplate().execute((ConnectionCallback<T>) con -> {
+			if (!namedLock(con, "SELECT GET_LOCK(?, " + waitSeconds + ")")) {
+				return null;
+			}
+			try {
+				return work.get();
+			} finally {
+				namedLock(con, "SELECT RELEASE_LOCK(?)");
+			}
+		});
+	}
+
+	private static boolean namedLock(Connection con, String sql) throws SQLException {
+		try (PreparedStatement statement = con.prepareStatement(sql)) {
+			statement.setString(1, ROLLUP_LOCK);
+			try (ResultSet rs = statement.executeQuery()) {
+				return rs.next() && rs.getInt(1) == 1;
+			}
+		}
+	}
+
+	private void rebuildDay(LocalDate day) {
+		MapSqlParameterSource params = new MapSqlParameterSource("from", Timestamp.valueOf(day.atStartOfDay()))
+				.addValue("to", Timestamp.valueOf(day.plusDays(1).atStartOfDay())).addValue("sign", 1);
+		for (Granularity granularity : Granularity.values()) {
+			jdbc.update("DELETE FROM " + table(granularity) + " WHERE bucket_start >= :from AND bucket_start < :to",
+					params);
+		}
+		String filter = "o.order_date >= :from AND o.order_date < :to AND o.status IN " + COUNTED_STATUSES;
+		for (Granularity granularity : Granularity.values()) {
+			for (Dimension dimension : Dimension.values()) {
+				// An order is either hot or archived, so the two passes add up without overlap
+				jdbc.update(upsertSql(granularity, dimension, "orders", "order_items", filter), params);
+				jdbc.update(upsertSql(granularity, dimension, "orders_archive", "order_items_archive", filter),
+						params);
+			}
+		}
+		// INSERT ... SELECT locked this day's orders, so every committed status change is counted above;
+		// its outbox rows are now redundant
+		jdbc.update("DELETE b FROM sales_rollup_outbox b JOIN orders o ON o.id = b.order_id "
+				+ "WHERE o.order_date >= :from AND o.order_date < :to", params);
+	}
+
+}
@@ -0,0 +1,97 @@
+package com.pinaka.makhana.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over strings: no false negatives, a tunable false
+ * positive rate. Bits live in an {@link AtomicLongArray} so puts from several
+ * threads do not lose each other's bits and reads need no lock. Probe positions
+ * come from one 64-bit hash split into two (Kirsch-Mitzenmacher double hashing).
+ */
+public final class BloomFilter {
+
+	private final AtomicLongArray words;
+	private final long bitCount;
+	private final int hashCount;
+
+	private BloomFilter(long bitCount, int hashCount) {
+		long wordCount = (bitCount + 63) >>> 6;
+		if (wordCount > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Bloom filter too large: " + bitCount + " bits");
+		}
+		this.words = new AtomicLongArray((int) wordCount);
+		this.bitCount = wordCount << 6;
+		this.hashCount = hashCount;
+	}
+
+	/** Sized for {@code expectedInsertions} values at the given false positive probability. */
+	public static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+		long n = Math.max(1L, expectedInsertions);
+		double p = Math.min(Math.max(falsePositiveRate, 1e-9), 0.5);
+		long bits = Math.max(64L, (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2))));
+		int hashes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+		return new BloomFilter(bits, hashes);
+	}
+
+	public void put(String value) {
+		long hash = hash64(value);
+		long h1 = hash;
+		long h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1L;
+		for (int i = 0; i < hashCount; i++) {
+			long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+			int word = (int) (bit >>> 6);
+			long mask = 1L << bit;
+			long current = words.get(word);
+			while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+				current = words.get(word);
+			}
+		}
+	}
+
+	public boolean mightContain(String value) {
+		long hash = hash64(value);
+		long h1 = hash;
+		long h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1L;
+		for (int i = 0; i < hashCount; i++) {
+			long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+			if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public long bitSize() {
+		return bitCount;
+	}
+
+	public int hashCount() {
+		return hashCount;
+	}
+
+	public long sizeInBytes() {
+		return bitCount >>> 3;
+	}
+
+	/** False positive probability once {@code insertions} distinct values have been added. */
+	public double expectedFalsePositiveRate(long insertions) {
+		return Math.pow(1 - Math.exp(-(double) hashCount * insertions / bitCount), hashCount);
+	}
+
+	// FNV-1a over the UTF-16 chars, finished with a 64-bit avalanche
+	private static long hash64(String value) {
+		long hash = 0xCBF29CE484222325L;
+		for (int i = 0; i < value.length(); i++) {
+			hash ^= value.charAt(i);
+			hash *= 0x100000001B3L;
+		}
+		return mix(hash);
+	}
+
+	private static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+}
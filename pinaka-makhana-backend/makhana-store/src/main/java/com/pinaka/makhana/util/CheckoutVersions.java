@@ -0,0 +1,58 @@
+package com.pinaka.makhana.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory version counters used to key checkout caches.
+ * A cart version changes whenever that user's cart changes; the catalog version
+ * changes whenever products or coupons change. Bumps inside a transaction are
+ * applied after commit so a concurrent reader never caches pre-commit data under
+ * the new version.
+ */
+@Component
+public class CheckoutVersions {
+
+	private final ConcurrentHashMap<String, Long> cartVersions = new ConcurrentHashMap<>();
+	private final AtomicLong cartEpoch = new AtomicLong();
+	private final AtomicLong catalogVersion = new AtomicLong();
+
+	public long cartVersion(String email) {
+		// Epoch in the high bits so a global bump (e.g. the cart sweeper) invalidates every cart
+		return (cartEpoch.get() << 32) | cartVersions.getOrDefault(email, 0L);
+	}
+
+	public long catalogVersion() {
+		return catalogVersion.get();
+	}
+
+	public void bumpCart(String email) {
+		afterCommit(() -> cartVersions.merge(email, 1L, (a, b) -> (a + b) & 0xFFFFFFFFL));
+	}
+
+	public void bumpAllCarts() {
+		afterCommit(cartEpoch::incrementAndGet);
+	}
+
+	public void bumpCatalog() {
+		afterCommit(catalogVersion::incrementAndGet);
+	}
+
+	private void afterCommit(Runnable action) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					action.run();
+				}
+			});
+		} else {
+			action.run();
+		}
+	}
+
+}
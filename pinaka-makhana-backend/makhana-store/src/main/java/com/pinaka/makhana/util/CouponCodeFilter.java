@@ -0,0 +1,229 @@
+package com.pinaka.makhana.util;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.pinaka.makhana.repository.CouponRepository;
+
+/**
+ * Screens public coupon code lookups before they reach the database. A Bloom
+ * filter over every stored code (any status) rejects codes that cannot exist; a
+ * short-lived negative cache catches repeats of the filter's false positives.
+ * New codes are added to the filter before their transaction commits, so a real
+ * code is never rejected; deletes and renames rebuild it after commit, and a
+ * periodic rebuild picks up other instances' changes. Campaign codes are too
+ * many to keep in the filter; misses on them go to a negative cache of their
+ * own, so a guessed or already redeemed code is looked up once per TTL.
+ */
+@Component
+public class CouponCodeFilter {
+
+	private static final Logger log = LoggerFactory.getLogger(CouponCodeFilter.class);
+
+	private final CouponRepository couponRepository;
+	private final double falsePositiveRate;
+	private final long minimumCapacity;
+	private final long negativeTtlMillis;
+
+	private volatile BloomFilter bloom;
+	private volatile long codeCount;
+	private final Map<String, Long> negativeCache;
+	private final Map<String, Long> campaignMisses;
+	// Codes added by transactions still in flight, which a rebuild's query cannot see yet
+	private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+	private final AtomicLong lookups = new AtomicLong();
+	private final AtomicLong rejectedByBloom = new AtomicLong();
+	private final AtomicLong rejectedByNegativeCache = new AtomicLong();
+	private final AtomicLong databaseMisses = new AtomicLong();
+	private final AtomicLong campaignLookups = new AtomicLong();
+	private final AtomicLong rejectedCampaignCodes = new AtomicLong();
+
+	public CouponCodeFilter(CouponRepository couponRepository,
+			@Value("${app.coupons.lookup.false-positive-rate:0.01}") double falsePositiveRate,
+			@Value("${app.coupons.lookup.minimum-capacity:10000}") long minimumCapacity,
+			@Value("${app.coupons.lookup.negative-ttl-ms:60000}") long negativeTtlMillis,
+			@Value("${app.coupons.lookup.negative-cache-size:10000}") int negativeCacheSize) {
+		this.couponRepository = couponRepository;
+		this.falsePositiveRate = falsePositiveRate;
+		this.minimumCapacity = minimumCapacity;
+		this.negativeTtlMillis = negativeTtlMillis;
+		this.negativeCache = expiringCache(negativeCacheSize);
+		this.campaignMisses = expiringCache(negativeCacheSize);
+	}
+
+	/** False when the code is certainly unknown; true means "ask the database". */
+	public boolean mightExist(String code) {
+		if (code == null || code.isBlank()) {
+			return false;
+		}
+		lookups.incrementAndGet();
+		String key = CouponRule.normalize(code);
+		if (!bloom().mightContain(key)) {
+			rejectedByBloom.incrementAndGet();
+			return false;
+		}
+		Long expiresAt = negativeCache.get(key);
+		if (expiresAt != null) {
+			if (expiresAt > System.currentTimeMillis()) {
+				rejectedByNegativeCache.incrementAndGet();
+				return false;
+			}
+			negativeCache.remove(key);
+		}
+		return true;
+	}
+
+	/** The database had no such code although the filter let it through. */
+	public void recordMiss(String code) {
+		databaseMisses.incrementAndGet();
+		negativeCache.put(CouponRule.normalize(code), System.currentTimeMillis() + negativeTtlMillis);
+	}
+
+	/** False when this campaign code missed recently; true means "ask the database". */
+	public boolean mightBeIssued(String campaignCode) {
+		campaignLookups.incrementAndGet();
+		String key = CouponRule.normalize(campaignCode);
+		Long expiresAt = campaignMisses.get(key);
+		if (expiresAt != null) {
+			if (expiresAt > System.currentTimeMillis()) {
+				rejectedCampaignCodes.incrementAndGet();
+				return false;
+			}
+			campaignMisses.remove(key);
+		}
+		return true;
+	}
+
+	/** No unredeemed campaign code matched; redeemed codes never come back, guesses rarely do. */
+	public void recordCampaignMiss(String campaignCode) {
+		campaignMisses.put(CouponRule.normalize(campaignCode), System.currentTimeMillis() + negativeTtlMillis);
+	}
+
+	/** Newly generated codes may have been guessed before they existed. */
+	public void clearCampaignMisses() {
+		campaignMisses.clear();
+	}
+
+	/** Admits a new code right away; a rollback only leaves a harmless false positive. */
+	public synchronized void add(String code) {
+		if (code == null) {
+			return;
+		}
+		String key = CouponRule.normalize(code);
+		pending.add(key);
+		bloom().put(key);
+		codeCount++;
+		negativeCache.remove(key);
+		afterCompletion(() -> {
+			synchronized (this) {
+				pending.remove(key);
+			}
+			// A lookup racing the insert may have cached a miss before the row was visible
+			negativeCache.remove(key);
+		});
+	}
+
+	/** Bloom filters cannot forget, so deletes and renames rebuild once committed. */
+	public void rebuildAfterCommit() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					rebuild();
+				}
+			});
+		} else {
+			rebuild();
+		}
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(initialDelayString = "${app.coupons.lookup.rebuild-interval-ms:300000}",
+			fixedDelayString = "${app.coupons.lookup.rebuild-interval-ms:300000}")
+	public synchronized void rebuild() {
+		List<String> codes = couponRepository.findAllCodes();
+		// Headroom so codes added until the next rebuild stay within the target rate
+		BloomFilter fresh = BloomFilter.create(Math.max(minimumCapacity, codes.size() * 2L), falsePositiveRate);
+		for (String code : codes) {
+			if (code != null) {
+				fresh.put(CouponRule.normalize(code));
+			}
+		}
+		pending.forEach(fresh::put);
+		bloom = fresh;
+		codeCount = codes.size();
+		negativeCache.clear();
+		log.debug("🎟️ Coupon code filter rebuilt over {} codes ({} bytes)", codes.size(), fresh.sizeInBytes());
+	}
+
+	public Map<String, Object> getStats() {
+		BloomFilter current = bloom();
+		Map<String, Object> stats = new HashMap<>();
+		stats.put("codes", codeCount);
+		stats.put("bloomBits", current.bitSize());
+		stats.put("bloomBytes", current.sizeInBytes());
+		stats.put("hashFunctions", current.hashCount());
+		stats.put("targetFalsePositiveRate", falsePositiveRate);
+		stats.put("expectedFalsePositiveRate", current.expectedFalsePositiveRate(codeCount));
+		stats.put("negativeCacheSize", negativeCache.size());
+		stats.put("lookups", lookups.get());
+		stats.put("rejectedByBloom", rejectedByBloom.get());
+		stats.put("rejectedByNegativeCache", rejectedByNegativeCache.get());
+		stats.put("databaseMisses", databaseMisses.get());
+		stats.put("campaignLookups", campaignLookups.get());
+		stats.put("rejectedCampaignCodes", rejectedCampaignCodes.get());
+		stats.put("campaignMissesCached", campaignMisses.size());
+		return stats;
+	}
+
+	private BloomFilter bloom() {
+		BloomFilter current = bloom;
+		if (current == null) {
+			rebuild();
+			current = bloom;
+		}
+		return current;
+	}
+
+	private static Map<String, Long> expiringCache(int maxEntries) {
+		return Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+				return size() > maxEntries;
+			}
+		});
+	}
+
+	private void afterCompletion(Runnable action) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					action.run();
+				}
+			});
+		} else {
+			action.run();
+		}
+	}
+
+}
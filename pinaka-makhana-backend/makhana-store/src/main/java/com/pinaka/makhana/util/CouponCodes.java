@@ -0,0 +1,93 @@
+package com.pinaka.makhana.util;
+
+/**
+ * Campaign code format: {@code <template code>-<8 body chars><check char>} in
+ * Crockford base32 (no I, L, O or U). The body is a bijective scramble of a
+ * per-campaign sequence number, so codes look random yet never collide within a
+ * campaign and need no uniqueness probe. The check character (Luhn mod 32) catches
+ * every single-character typo and most transpositions before any lookup.
+ */
+public final class CouponCodes {
+
+	public static final String ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+	public static final char SEPARATOR = '-';
+	public static final int MAX_PREFIX_LENGTH = 40;
+
+	static final int BODY_LENGTH = 8;
+	public static final long MAX_SEQUENCE = 1L << (5 * BODY_LENGTH);
+	private static final long MASK = MAX_SEQUENCE - 1;
+	private static final long[] MULTIPLIERS = { 0x9E3779B97FL, 0xC2B2AE3D27L, 0x165667B19FL };
+
+	private CouponCodes() {
+	}
+
+	/** Code number {@code sequence} of the campaign whose template has {@code prefix}. */
+	public static String generate(String prefix, long salt, long sequence) {
+		if (sequence < 0 || sequence >= MAX_SEQUENCE) {
+			throw new IllegalArgumentException("Sequence out of range: " + sequence);
+		}
+		long body = scramble(sequence, salt);
+		char[] chars = new char[BODY_LENGTH + 1];
+		for (int i = BODY_LENGTH - 1; i >= 0; i--) {
+			chars[i] = ALPHABET.charAt((int) (body & 31));
+			body >>>= 5;
+		}
+		chars[BODY_LENGTH] = checkCharacter(chars, BODY_LENGTH);
+		return new StringBuilder(prefix.length() + chars.length + 1).append(prefix).append(SEPARATOR).append(chars)
+				.toString();
+	}
+
+	/** Per-campaign salt, so two campaigns' sequences map to different bodies. */
+	public static long saltFor(long couponId) {
+		long z = couponId * 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 31)) * 0xBF58476D1CE4E5B9L;
+		return (z ^ (z >>> 29)) & MASK;
+	}
+
+	/** Shape and check character of a normalized code; says nothing about whether it was issued. */
+	public static boolean isWellFormed(String code) {
+		if (code == null || code.length() < BODY_LENGTH + 3
+				|| code.charAt(code.length() - BODY_LENGTH - 2) != SEPARATOR) {
+			return false;
+		}
+		int sum = 0;
+		int factor = 1;
+		for (int i = code.length() - 1; i >= code.length() - BODY_LENGTH - 1; i--) {
+			int value = ALPHABET.indexOf(code.charAt(i));
+			if (value < 0) {
+				return false;
+			}
+			int addend = factor * value;
+			sum += addend / 32 + addend % 32;
+			factor = factor == 2 ? 1 : 2;
+		}
+		return sum % 32 == 0;
+	}
+
+	/** Template code a well-formed campaign code was generated from. */
+	public static String prefixOf(String code) {
+		return code.substring(0, code.length() - BODY_LENGTH - 2);
+	}
+
+	static char checkCharacter(char[] body, int length) {
+		int sum = 0;
+		int factor = 2;
+		for (int i = length - 1; i >= 0; i--) {
+			int addend = factor * ALPHABET.indexOf(body[i]);
+			sum += addend / 32 + addend % 32;
+			factor = factor == 2 ? 1 : 2;
+		}
+		return ALPHABET.charAt((32 - sum % 32) % 32);
+	}
+
+	// Xor, odd multiplies and xor-shifts are each invertible modulo 2^40, so this is a permutation
+	static long scramble(long sequence, long salt) {
+		long x = (sequence ^ salt) & MASK;
+		for (long multiplier : MULTIPLIERS) {
+			x = (x * multiplier) & MASK;
+			x ^= x >>> 19;
+		}
+		return x;
+	}
+
+}
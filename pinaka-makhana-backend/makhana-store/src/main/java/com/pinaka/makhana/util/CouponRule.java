@@ -0,0 +1,81 @@
+package com.pinaka.makhana.util;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Locale;
+
+import com.pinaka.makhana.entity.Coupon;
+
+/**
+ * Immutable, pre-computed form of an active coupon. Money is in paise, the
+ * validity window in epoch millis, so checks and discounts are plain long
+ * arithmetic with no allocation.
+ */
+public record CouponRule(Long id, String code, String description, Coupon.DiscountType discountType,
+		long valueBasisPoints, long valuePaise, long capPaise, long minimumPaise, long startMillis, long endMillis,
+		long usageLimit, long usageCount, long userUsageLimit, boolean firstTimeUserOnly, boolean freeShipping,
+		boolean campaignOnly) {
+
+	public static CouponRule compile(Coupon coupon) {
+		double value = coupon.getDiscountValue() != null ? coupon.getDiscountValue() : 0.0;
+		return new CouponRule(coupon.getId(), normalize(coupon.getCode()), coupon.getDescription(),
+				coupon.getDiscountType(), PricingEngine.toBasisPoints(value), PricingEngine.toPaise(value),
+				coupon.getMaximumDiscountAmount() != null ? PricingEngine.toPaise(coupon.getMaximumDiscountAmount())
+						: -1L,
+				coupon.getMinimumOrderAmount() != null ? PricingEngine.toPaise(coupon.getMinimumOrderAmount()) : 0L,
+				toMillis(coupon.getStartDate(), Long.MIN_VALUE), toMillis(coupon.getEndDate(), Long.MAX_VALUE),
+				coupon.getUsageLimit() != null ? coupon.getUsageLimit() : -1L,
+				coupon.getUsageCount() != null ? coupon.getUsageCount() : 0L,
+				coupon.getUserUsageLimit() != null ? coupon.getUserUsageLimit() : -1L, coupon.isFirstTimeUserOnly(),
+				coupon.isFreeShipping() || coupon.getDiscountType() == Coupon.DiscountType.FREE_SHIPPING,
+				coupon.isCampaignOnly());
+	}
+
+	/** The same rule with one more recorded use. */
+	public CouponRule withOneMoreUse() {
+		return new CouponRule(id, code, description, discountType, valueBasisPoints, valuePaise, capPaise,
+				minimumPaise, startMillis, endMillis, usageLimit, usageCount + 1, userUsageLimit, firstTimeUserOnly,
+				freeShipping, campaignOnly);
+	}
+
+	/** Canonical lookup key; returns the argument itself when it is already trimmed upper case. */
+	public static String normalize(String code) {
+		return code == null ? null : code.trim().toUpperCase(Locale.ROOT);
+	}
+
+	/**
+	 * Order-level rules of {@link Coupon#canBeUsed(long, boolean)}: minimum met and
+	 * first-order restriction. Window and usage are not re-checked here;
+	 * {@link CouponRuleCache} only hands out rules that are {@link #isLive live}.
+	 */
+	public boolean canBeUsed(long orderAmountPaise, boolean firstTimeUser) {
+		return orderAmountPaise >= minimumPaise && (!firstTimeUserOnly || firstTimeUser);
+	}
+
+	/** Open window and usage left; evaluated by the cache at window boundaries, not per request. */
+	public boolean isLive(long nowMillis) {
+		return nowMillis > startMillis && nowMillis < endMillis && (usageLimit < 0 || usageCount < usageLimit);
+	}
+
+	/** Discount in paise, 0 when the coupon cannot be used for this order. */
+	public long discount(long orderAmountPaise, boolean firstTimeUser) {
+		if (!canBeUsed(orderAmountPaise, firstTimeUser)) {
+			return 0L;
+		}
+		switch (discountType) {
+		case PERCENTAGE:
+			return PricingEngine.percentageDiscount(orderAmountPaise, valueBasisPoints, capPaise);
+		case FIXED_AMOUNT:
+			return PricingEngine.fixedDiscount(orderAmountPaise, valuePaise);
+		case FREE_SHIPPING:
+		default:
+			// Free shipping is applied to the shipping charge, not the order amount
+			return 0L;
+		}
+	}
+
+	private static long toMillis(LocalDateTime dateTime, long fallback) {
+		return dateTime != null ? dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : fallback;
+	}
+
+}
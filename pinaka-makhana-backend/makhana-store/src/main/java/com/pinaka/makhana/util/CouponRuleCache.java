@@ -0,0 +1,232 @@
+package com.pinaka.makhana.util;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.pinaka.makhana.entity.Coupon;
+import com.pinaka.makhana.repository.CouponRepository;
+
+/**
+ * Active coupons compiled to {@link CouponRule}s, keyed by normalized code, in an
+ * immutable snapshot swapped on every change. Reads never touch the database.
+ * Admin writes patch the snapshot after commit and a periodic reload picks up
+ * changes made by other instances.
+ * <p>
+ * Only live rules (window open, usage left) are handed out, so request paths
+ * never compare dates. Every window start and end is scheduled on the
+ * {@link WheelTimer}; when one passes, the live set is recomputed and the catalog
+ * version bumped, so cached quotes and coupon listings are not served across the
+ * boundary.
+ * <p>
+ * Campaign templates are live like any other rule, but only reachable by id or
+ * through {@link #findTemplate}: their own code is never redeemable or offered.
+ */
+@Component
+public class CouponRuleCache {
+
+	private static final Logger log = LoggerFactory.getLogger(CouponRuleCache.class);
+
+	// rules: every active coupon not yet ended, including upcoming ones; live and byId: the usable subset;
+	// redeemable: live rules whose own code can be used, i.e. not campaign templates
+	private record Snapshot(long version, Map<String, CouponRule> rules, Map<String, CouponRule> live,
+			Map<Long, CouponRule> byId, Map<String, CouponRule> redeemable, Set<Long> redeemableIds,
+			CouponRuleIndex index) {
+	}
+
+	private final CouponRepository couponRepository;
+	private final CheckoutVersions checkoutVersions;
+	private final WheelTimer wheelTimer;
+
+	private volatile Snapshot snapshot;
+	// Boundaries already on the timer, so reloads and patches do not schedule them twice
+	private final Set<Long> scheduledBoundaries = ConcurrentHashMap.newKeySet();
+
+	public CouponRuleCache(CouponRepository couponRepository, CheckoutVersions checkoutVersions,
+			WheelTimer wheelTimer) {
+		this.couponRepository = couponRepository;
+		this.checkoutVersions = checkoutVersions;
+		this.wheelTimer = wheelTimer;
+	}
+
+	/** Rule for a code in any case, or null when no live coupon can be redeemed with it. */
+	public CouponRule find(String code) {
+		return code == null ? null : snapshot().redeemable().get(CouponRule.normalize(code));
+	}
+
+	/** Live rule whose code is the given campaign prefix, template or not. */
+	public CouponRule findTemplate(String prefix) {
+		return prefix == null ? null : snapshot().live().get(prefix);
+	}
+
+	/** Rule of a live coupon by id, e.g. the template behind a campaign code. */
+	public CouponRule findById(Long couponId) {
+		return couponId == null ? null : snapshot().byId().get(couponId);
+	}
+
+	/** Live rules that can be redeemed by their own code. */
+	public Collection<CouponRule> rules() {
+		return snapshot().redeemable().values();
+	}
+
+	/** Ids of the live, redeemable coupons, e.g. to list them without filtering on dates. */
+	public Set<Long> liveIds() {
+		return snapshot().redeemableIds();
+	}
+
+	/** The same rules ordered by minimum order amount, for best-coupon lookups. */
+	public CouponRuleIndex index() {
+		return snapshot().index();
+	}
+
+	public long version() {
+		return snapshot().version();
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(initialDelayString = "${app.coupons.rules.reload-interval-ms:300000}",
+			fixedDelayString = "${app.coupons.rules.reload-interval-ms:300000}")
+	public synchronized void reload() {
+		Map<String, CouponRule> rules = new HashMap<>();
+		long now = System.currentTimeMillis();
+		for (Coupon coupon : couponRepository.findByActiveTrue()) {
+			CouponRule rule = CouponRule.compile(coupon);
+			// Still flagged active after the window closed, but it can never become live again
+			if (rule.endMillis() <= now) {
+				continue;
+			}
+			if (rule.code() != null && rules.put(rule.code(), rule) != null) {
+				log.warn("⚠️ Coupon code {} differs only by case from another active coupon", rule.code());
+			}
+		}
+		Snapshot current = snapshot;
+		if (current == null || !current.rules().equals(rules)) {
+			install(rules);
+			if (current != null) {
+				checkoutVersions.bumpCatalog();
+			}
+		}
+	}
+
+	/** Recompiles one coupon once the surrounding transaction commits. */
+	public void putAfterCommit(Coupon coupon) {
+		CouponRule rule = coupon.isActive() ? CouponRule.compile(coupon) : null;
+		Long id = coupon.getId();
+		afterCommit(() -> update(rules -> {
+			rules.values().removeIf(existing -> existing.id().equals(id));
+			if (rule != null && rule.code() != null) {
+				rules.put(rule.code(), rule);
+			}
+		}));
+	}
+
+	public void removeAfterCommit(Long couponId) {
+		afterCommit(() -> update(rules -> rules.values().removeIf(existing -> existing.id().equals(couponId))));
+	}
+
+	/** Counts one redemption in the cached rule once it commits; the database count stays authoritative. */
+	public void recordUseAfterCommit(Long couponId) {
+		afterCommit(() -> update(rules -> rules.replaceAll(
+				(code, rule) -> rule.id().equals(couponId) ? rule.withOneMoreUse() : rule)));
+	}
+
+	/**
+	 * Drops a rule right away, without waiting for commit: used when the database
+	 * reports the coupon exhausted, so later checkouts stop offering it.
+	 */
+	public void evict(Long couponId) {
+		update(rules -> rules.values().removeIf(existing -> existing.id().equals(couponId)));
+		checkoutVersions.bumpCatalog();
+	}
+
+	// Runs on the timer thread when a window opens or closes
+	private void onBoundary(long boundaryMillis) {
+		scheduledBoundaries.remove(boundaryMillis);
+		if (snapshot == null) {
+			return;
+		}
+		refresh();
+		// Quotes and listings cached under the old catalog version are stale
+		checkoutVersions.bumpCatalog();
+		log.debug("🎟️ Coupon window boundary passed, {} live rules", snapshot.live().size());
+	}
+
+	// Same rules, re-installed: recomputes the live set and drops ended ones
+	private synchronized void refresh() {
+		install(new HashMap<>(snapshot().rules()));
+	}
+
+	private synchronized void update(Consumer<Map<String, CouponRule>> change) {
+		Map<String, CouponRule> rules = new HashMap<>(snapshot().rules());
+		change.accept(rules);
+		install(rules);
+	}
+
+	private void install(Map<String, CouponRule> rules) {
+		long now = System.currentTimeMillis();
+		// Ended windows never reopen without an admin edit, which re-adds the rule
+		rules.values().removeIf(rule -> rule.endMillis() <= now);
+		Map<String, CouponRule> live = new HashMap<>();
+		Map<Long, CouponRule> byId = new HashMap<>();
+		Map<String, CouponRule> redeemable = new HashMap<>();
+		for (CouponRule rule : rules.values()) {
+			if (rule.isLive(now)) {
+				live.put(rule.code(), rule);
+				byId.put(rule.id(), rule);
+				if (!rule.campaignOnly()) {
+					redeemable.put(rule.code(), rule);
+				}
+			}
+			scheduleBoundary(rule.startMillis(), now);
+			scheduleBoundary(rule.endMillis(), now);
+		}
+		Snapshot current = snapshot;
+		snapshot = new Snapshot(current != null ? current.version() + 1 : 1L, Map.copyOf(rules), Map.copyOf(live),
+				Map.copyOf(byId), Map.copyOf(redeemable),
+				redeemable.values().stream().map(CouponRule::id).collect(Collectors.toUnmodifiableSet()),
+				new CouponRuleIndex(redeemable.values()));
+	}
+
+	private void scheduleBoundary(long boundaryMillis, long now) {
+		if (boundaryMillis >= now && boundaryMillis != Long.MAX_VALUE && scheduledBoundaries.add(boundaryMillis)) {
+			// Just past the boundary: the window excludes both of its ends
+			wheelTimer.schedule(boundaryMillis + 1, () -> onBoundary(boundaryMillis));
+		}
+	}
+
+	private Snapshot snapshot() {
+		Snapshot current = snapshot;
+		if (current == null) {
+			reload();
+			current = snapshot;
+		}
+		return current;
+	}
+
+	private void afterCommit(Runnable action) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					action.run();
+				}
+			});
+		} else {
+			action.run();
+		}
+	}
+
+}
@@ -0,0 +1,102 @@
+package com.pinaka.makhana.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Coupon rules sorted by minimum order amount. For a given total, a binary search
+ * finds the prefix of rules whose minimum is met; only that prefix is evaluated.
+ */
+public final class CouponRuleIndex {
+
+	/** One applicable coupon and what it saves on the order, in paise. */
+	public record RankedCoupon(CouponRule rule, long discountPaise, long shippingSavingPaise) {
+
+		public long savingsPaise() {
+			return discountPaise + shippingSavingPaise;
+		}
+	}
+
+	private static final Comparator<RankedCoupon> BEST_FIRST = Comparator
+			.comparingLong(RankedCoupon::savingsPaise).reversed()
+			.thenComparing(ranked -> ranked.rule().code(), Comparator.nullsLast(Comparator.naturalOrder()));
+
+	private final CouponRule[] rules;
+	private final long[] minimums;
+
+	public CouponRuleIndex(Collection<CouponRule> rules) {
+		this.rules = rules.toArray(CouponRule[]::new);
+		Arrays.sort(this.rules, Comparator.comparingLong(CouponRule::minimumPaise));
+		this.minimums = new long[this.rules.length];
+		for (int i = 0; i < this.rules.length; i++) {
+			this.minimums[i] = this.rules[i].minimumPaise();
+		}
+	}
+
+	public int size() {
+		return rules.length;
+	}
+
+	/** Number of rules whose minimum order amount is at most {@code amountPaise}. */
+	public int eligibleCount(long amountPaise) {
+		int low = 0;
+		int high = minimums.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (minimums[mid] <= amountPaise) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Applicable coupons for an order, best savings first, at most {@code limit}.
+	 * {@code shipping} gives the shipping charge for a (discounted) amount, so a
+	 * discount that drops the order below the free-shipping threshold is ranked by
+	 * what the customer actually saves.
+	 */
+	public List<RankedCoupon> rank(long amountPaise, boolean firstTimeUser, LongUnaryOperator shipping, int limit) {
+		long baseShipping = shipping.applyAsLong(amountPaise);
+		int eligible = eligibleCount(amountPaise);
+		List<RankedCoupon> ranked = new ArrayList<>();
+		for (int i = 0; i < eligible; i++) {
+			CouponRule rule = rules[i];
+			if (!rule.canBeUsed(amountPaise, firstTimeUser)) {
+				continue;
+			}
+			long discount = rule.discount(amountPaise, firstTimeUser);
+			long shippingAfter = rule.freeShipping() ? 0L : shipping.applyAsLong(amountPaise - discount);
+			long savings = discount + baseShipping - shippingAfter;
+			// Most rules lose to the current top list; reject those before allocating anything
+			if (savings <= 0
+					|| (ranked.size() >= limit && savings < ranked.get(ranked.size() - 1).savingsPaise())) {
+				continue;
+			}
+			insertBounded(ranked, new RankedCoupon(rule, discount, baseShipping - shippingAfter), limit);
+		}
+		return ranked;
+	}
+
+	// Keeps the list sorted and at most limit long; limit is small, so insertion beats a full sort
+	private static void insertBounded(List<RankedCoupon> ranked, RankedCoupon candidate, int limit) {
+		if (ranked.size() >= limit && BEST_FIRST.compare(candidate, ranked.get(ranked.size() - 1)) >= 0) {
+			return;
+		}
+		int position = ranked.size();
+		while (position > 0 && BEST_FIRST.compare(candidate, ranked.get(position - 1)) < 0) {
+			position--;
+		}
+		ranked.add(position, candidate);
+		if (ranked.size() > limit) {
+			ranked.remove(ranked.size() - 1);
+		}
+	}
+
+}
@@ -0,0 +1,134 @@
+package com.pinaka.makhana.util;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.pinaka.makhana.entity.OrderStatus;
+
+/**
+ * "Has ever ordered" bit per user id, so first-time-user coupon checks are a bit
+ * test instead of a query. Only orders in a status that counts as a sale set it:
+ * pending, failed and cancelled orders do not make a user a returning customer.
+ * Loaded in one pass over the hot and archived orders, set after an order placed
+ * here commits, and topped up periodically with recent orders so checkouts on
+ * other instances are picked up. User ids are dense
+ * (IDENTITY), which keeps the bitmap at one bit per user ever registered.
+ */
+@Component
+public class FirstOrderTracker {
+
+	private static final Logger log = LoggerFactory.getLogger(FirstOrderTracker.class);
+
+	// Overlap between refreshes so orders committed late with an earlier order_date are not missed
+	private static final long REFRESH_OVERLAP_MINUTES = 10;
+
+	private static final String SALE_STATUSES = OrderStatus.saleStatuses().stream()
+			.map(status -> "'" + status.name() + "'").collect(Collectors.joining(", ", "(", ")"));
+
+	private final JdbcTemplate jdbcTemplate;
+	private final BitSet ordered = new BitSet();
+	private boolean loaded;
+	private LocalDateTime refreshedAt;
+
+	public FirstOrderTracker(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	public boolean isFirstTimeUser(long userId) {
+		return !hasOrdered(userId);
+	}
+
+	public synchronized boolean hasOrdered(long userId) {
+		if (!loaded) {
+			load();
+		}
+		return userId >= 0 && userId <= Integer.MAX_VALUE && ordered.get((int) userId);
+	}
+
+	/** Sets the user's bit once the transaction that moved their order to PLACED commits. */
+	public void markOrderedAfterCommit(long userId) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					mark(userId);
+				}
+			});
+		} else {
+			mark(userId);
+		}
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void preload() {
+		try {
+			load();
+		} catch (DataAccessException e) {
+			// Not fatal: the first check loads it instead
+			log.warn("⚠️ Could not preload first-order bitmap: {}", e.getMessage());
+		}
+	}
+
+	public synchronized void load() {
+		LocalDateTime start = LocalDateTime.now();
+		BitSet fresh = new BitSet();
+		RowCallbackHandler collect = rs -> set(fresh, rs.getLong(1));
+		jdbcTemplate.query("SELECT DISTINCT user_id FROM orders WHERE status IN " + SALE_STATUSES, collect);
+		jdbcTemplate.query("SELECT DISTINCT user_id FROM orders_archive WHERE status IN " + SALE_STATUSES, collect);
+
+		ordered.clear();
+		ordered.or(fresh);
+		loaded = true;
+		refreshedAt = start;
+		log.info("🧾 Loaded first-order bitmap: {} users have ordered", ordered.cardinality());
+	}
+
+	@Scheduled(initialDelayString = "${app.coupons.first-order.refresh-ms:60000}",
+			fixedDelayString = "${app.coupons.first-order.refresh-ms:60000}")
+	public void refresh() {
+		LocalDateTime since;
+		synchronized (this) {
+			if (!loaded) {
+				return;
+			}
+			since = refreshedAt.minusMinutes(REFRESH_OVERLAP_MINUTES);
+		}
+		LocalDateTime start = LocalDateTime.now();
+		BitSet recent = new BitSet();
+		jdbcTemplate.query("SELECT DISTINCT user_id FROM orders WHERE order_date >= ? AND status IN " + SALE_STATUSES,
+				(RowCallbackHandler) rs -> set(recent, rs.getLong(1)), Timestamp.valueOf(since));
+		synchronized (this) {
+			ordered.or(recent);
+			refreshedAt = start;
+		}
+	}
+
+	public synchronized int orderedUserCount() {
+		return ordered.cardinality();
+	}
+
+	private synchronized void mark(long userId) {
+		set(ordered, userId);
+	}
+
+	private static void set(BitSet bits, long userId) {
+		if (userId >= 0 && userId <= Integer.MAX_VALUE) {
+			bits.set((int) userId);
+		}
+	}
+
+}
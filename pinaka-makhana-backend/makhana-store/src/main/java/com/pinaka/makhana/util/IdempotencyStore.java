@@ -0,0 +1,145 @@
+package com.pinaka.makhana.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded in-memory map from idempotency key to the response it produced.
+ * The first caller for a key claims it and executes; concurrent duplicates wait
+ * on the same future and replay the stored bytes. Entries expire after the TTL,
+ * and at capacity the oldest completed ones make room early. In-flight entries
+ * are never dropped, so when every slot is in flight a new key is refused.
+ */
+@Component
+public class IdempotencyStore {
+
+	public record StoredResponse(int status, String contentType, byte[] body) {
+	}
+
+	private static final class Entry {
+		final String fingerprint;
+		final CompletableFuture<StoredResponse> response = new CompletableFuture<>();
+		volatile long expiresAt;
+
+		Entry(String fingerprint, long expiresAt) {
+			this.fingerprint = fingerprint;
+			this.expiresAt = expiresAt;
+		}
+	}
+
+	/** Result of {@link #claim}: either this caller owns the key or it must replay another's result. */
+	public static final class Claim {
+		private final Entry entry;
+		private final boolean owner;
+
+		private Claim(Entry entry, boolean owner) {
+			this.entry = entry;
+			this.owner = owner;
+		}
+
+		public boolean isOwner() {
+			return owner;
+		}
+
+		public boolean matches(String fingerprint) {
+			return entry.fingerprint.equals(fingerprint);
+		}
+
+		/** Waits for the owner's response; null if the owner failed or the wait timed out. */
+		public StoredResponse await(long timeoutMillis) throws InterruptedException {
+			try {
+				return entry.response.get(timeoutMillis, TimeUnit.MILLISECONDS);
+			} catch (ExecutionException | TimeoutException e) {
+				return null;
+			}
+		}
+	}
+
+	// Insertion order, so the eldest entries are the first candidates for eviction
+	private final Map<String, Entry> entries = new LinkedHashMap<>();
+	private final long ttlMillis;
+	private final int maxEntries;
+
+	public IdempotencyStore(@Value("${app.idempotency.ttl-seconds:86400}") long ttlSeconds,
+			@Value("${app.idempotency.max-entries:100000}") int maxEntries) {
+		this.ttlMillis = ttlSeconds * 1000L;
+		this.maxEntries = Math.max(1, maxEntries);
+	}
+
+	/** Claims the key or joins its owner; null when the store is full of requests still in flight. */
+	public Claim claim(String key, String fingerprint) {
+		long now = System.currentTimeMillis();
+		synchronized (entries) {
+			Entry current = entries.get(key);
+			if (current != null && current.expiresAt >= now) {
+				return new Claim(current, false);
+			}
+			if (current != null) {
+				entries.remove(key);
+			}
+			if (entries.size() >= maxEntries && !makeRoom()) {
+				return null;
+			}
+			Entry fresh = new Entry(fingerprint, now + ttlMillis);
+			entries.put(key, fresh);
+			return new Claim(fresh, true);
+		}
+	}
+
+	public void complete(Claim claim, StoredResponse response) {
+		claim.entry.expiresAt = System.currentTimeMillis() + ttlMillis;
+		claim.entry.response.complete(response);
+	}
+
+	/** Releases the key so a retry can execute again; waiters see a failed claim. */
+	public void abandon(String key, Claim claim) {
+		synchronized (entries) {
+			entries.remove(key, claim.entry);
+		}
+		claim.entry.response.completeExceptionally(new IllegalStateException("Original request failed"));
+	}
+
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${app.idempotency.sweep-interval-ms:60000}")
+	public void evictExpired() {
+		evictExpired(System.currentTimeMillis());
+	}
+
+	private void evictExpired(long now) {
+		synchronized (entries) {
+			Iterator<Entry> it = entries.values().iterator();
+			while (it.hasNext()) {
+				Entry entry = it.next();
+				if (entry.expiresAt < now && entry.response.isDone()) {
+					it.remove();
+				}
+			}
+		}
+	}
+
+	// Drops completed entries, eldest first, until one slot is free; their keys simply execute again
+	private boolean makeRoom() {
+		Iterator<Entry> it = entries.values().iterator();
+		while (entries.size() >= maxEntries && it.hasNext()) {
+			if (it.next().response.isDone()) {
+				it.remove();
+			}
+		}
+		return entries.size() < maxEntries;
+	}
+
+}
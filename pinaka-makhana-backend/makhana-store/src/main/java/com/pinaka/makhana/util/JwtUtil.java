@@ -1,30 +1,77 @@
 package com.pinaka.makhana.util;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
 
+/**
+ * Issues and verifies tokens. Verification goes through one shared parser, and
+ * the fields callers read from tokens that passed are kept in a bounded LRU
+ * keyed by the token's SHA-256, so the filters and controllers handling one
+ * request (and the requests after it) pay for the signature check once. A
+ * cached entry is only served until the token's own expiry; after that the
+ * parser sees the token again and rejects it.
+ */
 @Component
 public class JwtUtil {
 
+	/**
+	 * What a verified token says about its caller. Immutable, so one cached entry
+	 * can be handed to every request thread presenting the token; the parser's
+	 * own Claims map is not.
+	 */
+	public record VerifiedToken(String email, Long userId, long expiresAt) {
+	}
+
 	@Value("${jwt.secret}")
 	private String base64Secret;
 
+	@Value("${jwt.claims-cache-size:10000}")
+	private int claimsCacheSize;
+
 	private Key key;
+	private JwtParser parser;
+	private Map<String, VerifiedToken> verified;
+
+	private final AtomicLong cacheHits = new AtomicLong();
+	private final AtomicLong verifications = new AtomicLong();
 
 	@PostConstruct
 	public void init() {
 		byte[] keyBytes = Decoders.BASE64.decode(base64Secret);
 		key = Keys.hmacShaKeyFor(keyBytes);
+		// Immutable once built, safe to share between request threads
+		parser = Jwts.parserBuilder().setSigningKey(key).build();
+		int maxEntries = Math.max(1, claimsCacheSize);
+		verified = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+				return size() > maxEntries;
+			}
+		});
 	}
 
 	public String generateToken(String email) {
@@ -33,26 +80,77 @@ public class JwtUtil {
 				.signWith(key, SignatureAlgorithm.HS512).compact();
 	}
 
-	public String generateToken(String email, String role, String name) {
+	public String generateToken(String email, String role, String name, Long userId) {
 		return Jwts.builder()
 				.setSubject(email)
 				.claim("role", role)
 				.claim("name", name)
+				.claim("uid", userId)
 				.setIssuedAt(new Date())
 				.setExpiration(new Date(System.currentTimeMillis() + 86400000)) // 1 day
 				.signWith(key, SignatureAlgorithm.HS512).compact();
 	}
 
+	/**
+	 * A token whose signature and expiry check out, from the cache when this token
+	 * was verified before. Throws {@link JwtException} otherwise.
+	 */
+	public VerifiedToken verify(String token) {
+		if (token == null || token.isBlank()) {
+			throw new MalformedJwtException("JWT string is empty");
+		}
+		String hash = hash(token);
+		VerifiedToken cached = verified.get(hash);
+		if (cached != null) {
+			if (cached.expiresAt() > System.currentTimeMillis()) {
+				cacheHits.incrementAndGet();
+				return cached;
+			}
+			verified.remove(hash);
+		}
+		verifications.incrementAndGet();
+		Claims claims = parser.parseClaimsJws(token).getBody();
+		Date expiration = claims.getExpiration();
+		// uid is absent from tokens issued before the claim existed
+		Number userId = claims.get("uid", Number.class);
+		VerifiedToken result = new VerifiedToken(claims.getSubject(), userId != null ? userId.longValue() : null,
+				expiration != null ? expiration.getTime() : Long.MAX_VALUE);
+		verified.put(hash, result);
+		return result;
+	}
+
 	public String extractEmail(String token) {
-		return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody().getSubject();
+		return verify(token).email();
+	}
+
+	/** User id carried by the token, or null for tokens issued before the claim existed. */
+	public Long extractUserId(String token) {
+		return verify(token).userId();
 	}
 
 	public boolean validateToken(String token) {
 		try {
-			Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+			verify(token);
 			return true;
 		} catch (JwtException e) {
 			return false;
 		}
 	}
+
+	public Map<String, Object> getStats() {
+		Map<String, Object> stats = new HashMap<>();
+		stats.put("cachedTokens", verified.size());
+		stats.put("cacheHits", cacheHits.get());
+		stats.put("verifications", verifications.get());
+		return stats;
+	}
+
+	private static String hash(String token) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+			return Base64.getEncoder().encodeToString(digest);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
 }
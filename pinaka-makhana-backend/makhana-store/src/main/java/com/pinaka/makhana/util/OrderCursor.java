@@ -0,0 +1,30 @@
+package com.pinaka.makhana.util;
+
+import java.time.LocalDateTime;
+
+/**
+ * Opaque keyset cursor over (order_date, id), encoded as "{orderDate}_{id}".
+ */
+public record OrderCursor(LocalDateTime orderDate, Long id) {
+
+	public static OrderCursor parse(String cursor) {
+		if (cursor == null || cursor.isBlank()) {
+			return null;
+		}
+		int separator = cursor.lastIndexOf('_');
+		if (separator < 0) {
+			throw new RuntimeException("Invalid order cursor: " + cursor);
+		}
+		try {
+			return new OrderCursor(LocalDateTime.parse(cursor.substring(0, separator)),
+					Long.valueOf(cursor.substring(separator + 1)));
+		} catch (RuntimeException e) {
+			throw new RuntimeException("Invalid order cursor: " + cursor);
+		}
+	}
+
+	public String encode() {
+		return orderDate + "_" + id;
+	}
+
+}
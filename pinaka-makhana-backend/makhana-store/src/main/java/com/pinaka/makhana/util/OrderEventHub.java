@@ -0,0 +1,372 @@
+package com.pinaka.makhana.util;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.pinaka.makhana.entity.OrderStatusHistory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * In-process pub/sub of order status changes to Server-Sent Event streams.
+ * Connections are async servlet requests, so an idle subscriber costs an emitter
+ * and a small object, never a thread. Each subscriber has a bounded buffer drained
+ * by a shared dispatcher; a subscriber that falls behind is disconnected and
+ * catches up from history on reconnect via Last-Event-ID.
+ * <p>
+ * A write to a client that stopped reading blocks until the socket times out, so
+ * the dispatcher hands each write to a writer thread and waits at most the send
+ * timeout. A write that misses it is abandoned and the subscriber disconnected,
+ * which bounds how long one stalled client can hold up everyone else's events.
+ */
+@Component
+public class OrderEventHub {
+
+	private static final Logger log = LoggerFactory.getLogger(OrderEventHub.class);
+
+	private static final Object HEARTBEAT = new Object();
+
+	/** Payload of one "status" event; the id is the order_status_history row id. */
+	public record OrderEvent(long id, Long orderId, String status, String previousStatus, LocalDateTime changedAt) {
+
+		public static OrderEvent from(OrderStatusHistory entry) {
+			return new OrderEvent(entry.getId(), entry.getOrderId(), entry.getToStatus().name(),
+					entry.getFromStatus() != null ? entry.getFromStatus().name() : null, entry.getChangedAt());
+		}
+	}
+
+	private static final Comparator<OrderEvent> STREAM_ORDER = Comparator
+			.comparing(OrderEvent::changedAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+			.thenComparingLong(OrderEvent::id);
+
+	private final ConcurrentHashMap<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+	private final AtomicInteger connections = new AtomicInteger();
+	private final ExecutorService dispatcher;
+	// Writes that may block on a stalled socket; a thread stays parked only until the socket gives up
+	private final ExecutorService writers;
+	private final Counter overflows;
+	private final Counter sendTimeouts;
+
+	private final int bufferSize;
+	private final int maxConnections;
+	private final long timeoutMillis;
+	private final long sendTimeoutMillis;
+
+	public OrderEventHub(MeterRegistry meterRegistry,
+			@Value("${app.orders.events.buffer-size:16}") int bufferSize,
+			@Value("${app.orders.events.max-connections:10000}") int maxConnections,
+			@Value("${app.orders.events.timeout-minutes:30}") long timeoutMinutes,
+			@Value("${app.orders.events.dispatcher-threads:2}") int dispatcherThreads,
+			@Value("${app.orders.events.send-timeout-ms:2000}") long sendTimeoutMillis) {
+		this.bufferSize = bufferSize;
+		this.maxConnections = maxConnections;
+		this.timeoutMillis = timeoutMinutes * 60_000L;
+		this.sendTimeoutMillis = sendTimeoutMillis;
+		AtomicInteger threadCount = new AtomicInteger();
+		this.dispatcher = Executors.newFixedThreadPool(dispatcherThreads, runnable -> {
+			Thread thread = new Thread(runnable, "order-events-" + threadCount.getAndIncrement());
+			thread.setDaemon(true);
+			return thread;
+		});
+		AtomicInteger writerCount = new AtomicInteger();
+		this.writers = Executors.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable, "order-events-writer-" + writerCount.getAndIncrement());
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.overflows = Counter.builder("orders.events.overflows")
+				.description("Subscribers disconnected because their buffer filled").register(meterRegistry);
+		this.sendTimeouts = Counter.builder("orders.events.send.timeouts")
+				.description("Subscribers disconnected because a write did not finish in time")
+				.register(meterRegistry);
+		meterRegistry.gauge("orders.events.connections", connections);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		dispatcher.shutdownNow();
+		writers.shutdownNow();
+		subscribers.values().forEach(set -> set.forEach(Subscriber::close));
+	}
+
+	/**
+	 * Opens a stream for one order. {@code replay} supplies the events the client
+	 * missed (everything after its Last-Event-ID); live events published meanwhile
+	 * are held back until the replay is written, then deduplicated by id.
+	 */
+	public SseEmitter subscribe(Long orderId, Supplier<List<OrderEvent>> replay) {
+		return subscribe(orderId, replay, () -> new SseEmitter(timeoutMillis));
+	}
+
+	SseEmitter subscribe(Long orderId, Supplier<List<OrderEvent>> replay, Supplier<SseEmitter> emitters) {
+		if (connections.incrementAndGet() > maxConnections) {
+			connections.decrementAndGet();
+			throw new RuntimeException("⚠️ Too many open order event streams");
+		}
+		SseEmitter emitter = emitters.get();
+		Subscriber subscriber = new Subscriber(orderId, emitter);
+		emitter.onCompletion(() -> remove(subscriber));
+		emitter.onTimeout(() -> remove(subscriber));
+		emitter.onError(error -> remove(subscriber));
+		subscribers.computeIfAbsent(orderId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+
+		try {
+			for (OrderEvent event : replay.get()) {
+				subscriber.send(event);
+			}
+			subscriber.goLive();
+		} catch (IOException | RuntimeException e) {
+			subscriber.close();
+			remove(subscriber);
+			throw e instanceof RuntimeException runtime ? runtime : new RuntimeException(e);
+		}
+		return emitter;
+	}
+
+	/** Publishes saved history rows once the surrounding transaction commits. */
+	public void publishAfterCommit(List<OrderStatusHistory> entries) {
+		if (entries.isEmpty()) {
+			return;
+		}
+		List<OrderEvent> events = entries.stream().map(OrderEvent::from).toList();
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					events.forEach(OrderEventHub.this::publish);
+				}
+			});
+		} else {
+			events.forEach(this::publish);
+		}
+	}
+
+	public void publish(OrderEvent event) {
+		Set<Subscriber> listeners = subscribers.get(event.orderId());
+		if (listeners != null) {
+			listeners.forEach(subscriber -> subscriber.enqueue(event));
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${app.orders.events.heartbeat-ms:15000}")
+	public void heartbeat() {
+		// Keeps proxies from closing idle streams and detects clients that went away
+		subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.enqueue(HEARTBEAT)));
+	}
+
+	public int getConnectionCount() {
+		return connections.get();
+	}
+
+	private void remove(Subscriber subscriber) {
+		if (!subscriber.markRemoved()) {
+			return;
+		}
+		connections.decrementAndGet();
+		subscribers.computeIfPresent(subscriber.orderId, (id, set) -> {
+			set.remove(subscriber);
+			return set.isEmpty() ? null : set;
+		});
+	}
+
+	private final class Subscriber {
+		private final Long orderId;
+		private final SseEmitter emitter;
+		// Allocated on first buffered event so idle connections stay small
+		private ArrayDeque<Object> pending;
+		private boolean live;
+		private boolean draining;
+		private boolean closed;
+		private boolean removed;
+		private OrderEvent lastSent;
+
+		Subscriber(Long orderId, SseEmitter emitter) {
+			this.orderId = orderId;
+			this.emitter = emitter;
+		}
+
+		void enqueue(Object item) {
+			boolean overflow = false;
+			synchronized (this) {
+				if (closed) {
+					return;
+				}
+				if (pending == null) {
+					pending = new ArrayDeque<>(4);
+				}
+				if (pending.size() >= bufferSize) {
+					// Slow consumer: drop the connection, the client resumes from Last-Event-ID
+					pending = null;
+					closed = true;
+					overflow = true;
+				} else {
+					pending.add(item);
+					if (!live || draining) {
+						return;
+					}
+					draining = true;
+				}
+			}
+			if (overflow) {
+				overflows.increment();
+				log.debug("⚠️ Order {} event stream overflowed, disconnecting", orderId);
+				emitter.complete();
+				remove(this);
+				return;
+			}
+			dispatch();
+		}
+
+		void goLive() {
+			synchronized (this) {
+				live = true;
+				if (pending == null || pending.isEmpty() || draining) {
+					return;
+				}
+				draining = true;
+			}
+			dispatch();
+		}
+
+		private void dispatch() {
+			try {
+				dispatcher.execute(this::drain);
+			} catch (RuntimeException e) {
+				close();
+			}
+		}
+
+		private void drain() {
+			while (true) {
+				Object item;
+				synchronized (this) {
+					item = pending != null ? pending.poll() : null;
+					if (item == null) {
+						draining = false;
+						return;
+					}
+				}
+				try {
+					if (item == HEARTBEAT) {
+						sendWithin(SseEmitter.event().comment("keep-alive"));
+					} else {
+						OrderEvent event = (OrderEvent) item;
+						if (isNew(event)) {
+							sendWithin(statusEvent(event));
+							lastSent = event;
+						}
+					}
+				} catch (TimeoutException e) {
+					sendTimeouts.increment();
+					log.debug("⚠️ Order {} event stream stopped reading, disconnecting", orderId);
+					abandon();
+					return;
+				} catch (IOException | IllegalStateException e) {
+					close();
+					remove(this);
+					return;
+				}
+			}
+		}
+
+		// Replay runs on the subscribing request's own thread, so it writes directly
+		void send(OrderEvent event) throws IOException {
+			if (isNew(event)) {
+				emitter.send(statusEvent(event));
+				lastSent = event;
+			}
+		}
+
+		// Replay and live delivery can overlap; ids alone do not follow time across instances
+		private boolean isNew(OrderEvent event) {
+			return lastSent == null || STREAM_ORDER.compare(event, lastSent) > 0;
+		}
+
+		private SseEmitter.SseEventBuilder statusEvent(OrderEvent event) {
+			return SseEmitter.event().id(Long.toString(event.id())).name("status").data(event,
+					MediaType.APPLICATION_JSON);
+		}
+
+		private void sendWithin(SseEmitter.SseEventBuilder event) throws IOException, TimeoutException {
+			Future<?> write = writers.submit(() -> {
+				emitter.send(event);
+				return null;
+			});
+			try {
+				write.get(sendTimeoutMillis, TimeUnit.MILLISECONDS);
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof IOException io) {
+					throw io;
+				}
+				throw new IllegalStateException(e.getCause());
+			} catch (TimeoutException e) {
+				write.cancel(true);
+				throw e;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				write.cancel(true);
+				throw new IllegalStateException(e);
+			}
+		}
+
+		// The stuck write still holds the emitter, so completing it must not park the dispatcher either
+		private void abandon() {
+			synchronized (this) {
+				closed = true;
+				pending = null;
+			}
+			remove(this);
+			try {
+				writers.execute(this::close);
+			} catch (RuntimeException ignored) {
+				// Shutting down
+			}
+		}
+
+		void close() {
+			synchronized (this) {
+				closed = true;
+				pending = null;
+			}
+			try {
+				emitter.complete();
+			} catch (RuntimeException ignored) {
+				// Already completed
+			}
+		}
+
+		synchronized boolean markRemoved() {
+			if (removed) {
+				return false;
+			}
+			removed = true;
+			return true;
+		}
+	}
+
+}
@@ -0,0 +1,116 @@
+package com.pinaka.makhana.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Order and coupon arithmetic in integer paise (1 rupee = 100 paise).
+ * Every operation works on primitive longs and allocates nothing; conversion to
+ * and from rupees happens only at the entity/DTO boundary. Percentages and tax
+ * rates are expressed in basis points (1% = 100 bp) so they stay integral too.
+ */
+public final class PricingEngine {
+
+	public static final long PAISE_PER_RUPEE = 100L;
+	public static final long BASIS_POINTS = 10_000L;
+
+	/** How fractional paise are resolved when dividing. */
+	public enum Rounding {
+		HALF_UP, HALF_EVEN, DOWN
+	}
+
+	public static final Rounding DEFAULT_ROUNDING = Rounding.HALF_UP;
+
+	private PricingEngine() {
+	}
+
+	// ---- Conversions (boundary only) ----
+
+	public static long toPaise(double rupees) {
+		// Inputs carry at most two decimals, so the nearest long is the exact amount
+		return Math.round(rupees * PAISE_PER_RUPEE);
+	}
+
+	public static long toPaise(Double rupees) {
+		return rupees == null ? 0L : toPaise(rupees.doubleValue());
+	}
+
+	public static long toPaise(BigDecimal rupees) {
+		return rupees == null ? 0L : rupees.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+	}
+
+	public static BigDecimal toRupees(long paise) {
+		return BigDecimal.valueOf(paise, 2);
+	}
+
+	public static double toRupeesDouble(long paise) {
+		return paise / (double) PAISE_PER_RUPEE;
+	}
+
+	public static long toBasisPoints(double percent) {
+		return Math.round(percent * 100.0);
+	}
+
+	// ---- Core arithmetic ----
+
+	public static long lineTotal(long unitPaise, int quantity) {
+		return Math.multiplyExact(unitPaise, (long) quantity);
+	}
+
+	/** amount * basisPoints / 10000, rounded with the given policy. */
+	public static long applyBasisPoints(long amountPaise, long basisPoints, Rounding rounding) {
+		return divide(Math.multiplyExact(amountPaise, basisPoints), BASIS_POINTS, rounding);
+	}
+
+	public static long divide(long numerator, long denominator, Rounding rounding) {
+		long quotient = numerator / denominator;
+		long remainder = numerator % denominator;
+		if (remainder == 0) {
+			return quotient;
+		}
+		long twice = Math.abs(remainder) * 2;
+		long abs = Math.abs(denominator);
+		int sign = (numerator < 0) == (denominator < 0) ? 1 : -1;
+		switch (rounding) {
+		case HALF_UP:
+			return twice >= abs ? quotient + sign : quotient;
+		case HALF_EVEN:
+			if (twice > abs || (twice == abs && (quotient & 1) != 0)) {
+				return quotient + sign;
+			}
+			return quotient;
+		case DOWN:
+		default:
+			return quotient;
+		}
+	}
+
+	// ---- Coupon rules ----
+
+	/**
+	 * Percentage discount on the amount, capped at {@code capPaise} when the cap is non-negative.
+	 */
+	public static long percentageDiscount(long amountPaise, long basisPoints, long capPaise) {
+		long discount = applyBasisPoints(amountPaise, basisPoints, DEFAULT_ROUNDING);
+		if (capPaise >= 0 && discount > capPaise) {
+			discount = capPaise;
+		}
+		return Math.min(discount, amountPaise);
+	}
+
+	/** Fixed discount never exceeds the amount it applies to. */
+	public static long fixedDiscount(long amountPaise, long valuePaise) {
+		return Math.max(0L, Math.min(valuePaise, amountPaise));
+	}
+
+	// ---- Tax and totals ----
+
+	public static long tax(long taxablePaise, long taxBasisPoints) {
+		return applyBasisPoints(taxablePaise, taxBasisPoints, DEFAULT_ROUNDING);
+	}
+
+	public static long shipping(long discountedPaise, long feePaise, long freeThresholdPaise, boolean waived) {
+		return waived || discountedPaise >= freeThresholdPaise ? 0L : feePaise;
+	}
+
+}
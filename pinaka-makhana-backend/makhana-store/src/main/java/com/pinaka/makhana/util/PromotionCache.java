@@ -0,0 +1,163 @@
+package com.pinaka.makhana.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.pinaka.makhana.entity.Promotion;
+import com.pinaka.makhana.repository.PromotionRepository;
+
+/**
+ * Active promotions compiled into a {@link PromotionEngine}, swapped as a whole
+ * on every change, so pricing a cart never touches the database. Works like
+ * {@link CouponRuleCache}: admin writes patch it after commit, a periodic reload
+ * picks up other instances' edits, and window starts and ends are scheduled on
+ * the {@link WheelTimer}, rebuilding the engine and bumping the catalog version.
+ */
+@Component
+public class PromotionCache {
+
+	private static final Logger log = LoggerFactory.getLogger(PromotionCache.class);
+
+	// rules: every active promotion not yet ended, including upcoming ones; the engine holds the live ones
+	private record Snapshot(Map<Long, PromotionRule> rules, PromotionEngine engine) {
+	}
+
+	private final PromotionRepository promotionRepository;
+	private final CheckoutVersions checkoutVersions;
+	private final WheelTimer wheelTimer;
+
+	private volatile Snapshot snapshot;
+	private final Set<Long> scheduledBoundaries = ConcurrentHashMap.newKeySet();
+
+	public PromotionCache(PromotionRepository promotionRepository, CheckoutVersions checkoutVersions,
+			WheelTimer wheelTimer) {
+		this.promotionRepository = promotionRepository;
+		this.checkoutVersions = checkoutVersions;
+		this.wheelTimer = wheelTimer;
+	}
+
+	public PromotionEngine engine() {
+		return snapshot().engine();
+	}
+
+	public PromotionEngine.Result evaluate(List<PromotionEngine.Line> lines) {
+		return engine().evaluate(lines);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(initialDelayString = "${app.promotions.reload-interval-ms:300000}",
+			fixedDelayString = "${app.promotions.reload-interval-ms:300000}")
+	public synchronized void reload() {
+		Map<Long, PromotionRule> rules = new HashMap<>();
+		long now = System.currentTimeMillis();
+		for (Promotion promotion : promotionRepository.findByActiveTrue()) {
+			PromotionRule rule = PromotionRule.compile(promotion);
+			if (rule.endMillis() > now) {
+				rules.put(rule.id(), rule);
+			}
+		}
+		Snapshot current = snapshot;
+		if (current == null || !current.rules().equals(rules)) {
+			install(rules);
+			if (current != null) {
+				checkoutVersions.bumpCatalog();
+			}
+		}
+	}
+
+	/** Recompiles one promotion once the surrounding transaction commits. */
+	public void putAfterCommit(Promotion promotion) {
+		PromotionRule rule = promotion.isActive() ? PromotionRule.compile(promotion) : null;
+		Long id = promotion.getId();
+		afterCommit(() -> update(rules -> {
+			rules.remove(id);
+			if (rule != null) {
+				rules.put(id, rule);
+			}
+		}));
+	}
+
+	public void removeAfterCommit(Long promotionId) {
+		afterCommit(() -> update(rules -> rules.remove(promotionId)));
+	}
+
+	// Runs on the timer thread when a window opens or closes
+	private void onBoundary(long boundaryMillis) {
+		scheduledBoundaries.remove(boundaryMillis);
+		if (snapshot == null) {
+			return;
+		}
+		refresh();
+		checkoutVersions.bumpCatalog();
+		log.debug("🏷️ Promotion window boundary passed, {} live promotions", snapshot.engine().ruleCount());
+	}
+
+	// Same rules, re-installed: recomputes the live set and drops ended ones
+	private synchronized void refresh() {
+		install(new HashMap<>(snapshot().rules()));
+	}
+
+	private synchronized void update(Consumer<Map<Long, PromotionRule>> change) {
+		Map<Long, PromotionRule> rules = new HashMap<>(snapshot().rules());
+		change.accept(rules);
+		install(rules);
+	}
+
+	private void install(Map<Long, PromotionRule> rules) {
+		long now = System.currentTimeMillis();
+		rules.values().removeIf(rule -> rule.endMillis() <= now);
+		List<PromotionRule> live = new ArrayList<>();
+		for (PromotionRule rule : rules.values()) {
+			if (rule.isLive(now)) {
+				live.add(rule);
+			}
+			scheduleBoundary(rule.startMillis(), now);
+			scheduleBoundary(rule.endMillis(), now);
+		}
+		snapshot = new Snapshot(Map.copyOf(rules), live.isEmpty() ? PromotionEngine.EMPTY : new PromotionEngine(live));
+	}
+
+	private void scheduleBoundary(long boundaryMillis, long now) {
+		if (boundaryMillis >= now && boundaryMillis != Long.MAX_VALUE && scheduledBoundaries.add(boundaryMillis)) {
+			// Just past the boundary: the window excludes both of its ends
+			wheelTimer.schedule(boundaryMillis + 1, () -> onBoundary(boundaryMillis));
+		}
+	}
+
+	private Snapshot snapshot() {
+		Snapshot current = snapshot;
+		if (current == null) {
+			reload();
+			current = snapshot;
+		}
+		return current;
+	}
+
+	private void afterCommit(Runnable action) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					action.run();
+				}
+			});
+		} else {
+			action.run();
+		}
+	}
+
+}
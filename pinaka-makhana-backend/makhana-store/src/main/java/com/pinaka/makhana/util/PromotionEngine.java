@@ -0,0 +1,323 @@
+package com.pinaka.makhana.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.pinaka.makhana.entity.Product;
+import com.pinaka.makhana.entity.Promotion.PromotionType;
+
+/**
+ * Live promotions compiled into a lookup structure indexed by product id and by
+ * category. Each target keeps only what can win: a precomputed best
+ * buy-X-get-Y rule per quantity, a tier ladder searched by quantity, and the
+ * cheapest bundle per bundle size. Evaluating a cart therefore costs one lookup
+ * per line and per category present, whatever the number of rules.
+ * <p>
+ * Product promotions are applied first, one per line. Units they leave unused
+ * (e.g. the fourth unit under "buy 2 get 1") then pool by category, and each
+ * category gets its single best promotion. Nothing else stacks.
+ */
+public final class PromotionEngine {
+
+	/** A cart line as the engine sees it. */
+	public record Line(Long productId, Product.ProductCategory category, long unitPaise, int quantity) {
+	}
+
+	/** One promotion applied to the cart and what it took off, in paise. */
+	public record Applied(Long promotionId, String name, long savingsPaise) {
+	}
+
+	public record Result(long discountPaise, List<Applied> applied) {
+
+		public static final Result NONE = new Result(0L, List.of());
+	}
+
+	// Quantities below this get their best buy-X-get-Y rule from a table; larger ones scan
+	static final int BUY_GET_TABLE_SIZE = 64;
+
+	private static final Product.ProductCategory[] CATEGORIES = Product.ProductCategory.values();
+
+	public static final PromotionEngine EMPTY = new PromotionEngine(List.of());
+
+	private final Map<Long, Target> byProduct;
+	private final Target[] byCategory = new Target[CATEGORIES.length];
+	private final int ruleCount;
+
+	public PromotionEngine(Collection<PromotionRule> rules) {
+		Map<Long, List<PromotionRule>> productRules = new HashMap<>();
+		Map<Product.ProductCategory, List<PromotionRule>> categoryRules = new HashMap<>();
+		int count = 0;
+		for (PromotionRule rule : rules) {
+			if (rule.productId() != null) {
+				productRules.computeIfAbsent(rule.productId(), id -> new ArrayList<>()).add(rule);
+			} else if (rule.category() != null) {
+				categoryRules.computeIfAbsent(rule.category(), category -> new ArrayList<>()).add(rule);
+			} else {
+				continue;
+			}
+			count++;
+		}
+		Map<Long, Target> products = new HashMap<>();
+		productRules.forEach((productId, targeted) -> products.put(productId, new Target(targeted)));
+		this.byProduct = Map.copyOf(products);
+		categoryRules.forEach((category, targeted) -> byCategory[category.ordinal()] = new Target(targeted));
+		this.ruleCount = count;
+	}
+
+	public int ruleCount() {
+		return ruleCount;
+	}
+
+	public Result evaluate(List<Line> lines) {
+		if (ruleCount == 0 || lines.isEmpty()) {
+			return Result.NONE;
+		}
+		int[] left = new int[lines.size()];
+		List<Applied> applied = new ArrayList<>(2);
+		long total = 0L;
+
+		// Product promotions: the more specific offer wins the units it can use
+		for (int i = 0; i < left.length; i++) {
+			Line line = lines.get(i);
+			left[i] = line.quantity();
+			Target target = line.productId() != null ? byProduct.get(line.productId()) : null;
+			if (target == null || line.quantity() <= 0) {
+				continue;
+			}
+			Offer offer = target.best(new long[] { line.unitPaise() }, new int[] { line.quantity() },
+					line.quantity());
+			if (offer != null) {
+				total += offer.savingsPaise();
+				left[i] -= offer.unitsUsed();
+				record(applied, offer);
+			}
+		}
+
+		// Category promotions over the units that are left
+		for (Product.ProductCategory category : CATEGORIES) {
+			Target target = byCategory[category.ordinal()];
+			if (target == null) {
+				continue;
+			}
+			Offer offer = bestForCategory(target, category, lines, left);
+			if (offer != null) {
+				total += offer.savingsPaise();
+				record(applied, offer);
+			}
+		}
+		return applied.isEmpty() ? Result.NONE : new Result(total, applied);
+	}
+
+	private static Offer bestForCategory(Target target, Product.ProductCategory category, List<Line> lines,
+			int[] left) {
+		int pooled = 0;
+		int units = 0;
+		long[] prices = new long[lines.size()];
+		int[] counts = new int[lines.size()];
+		for (int i = 0; i < left.length; i++) {
+			Line line = lines.get(i);
+			if (line.category() == category && left[i] > 0) {
+				prices[pooled] = line.unitPaise();
+				counts[pooled] = left[i];
+				units += left[i];
+				pooled++;
+			}
+		}
+		if (pooled == 0) {
+			return null;
+		}
+		sortByPrice(prices, counts, pooled);
+		return target.best(Arrays.copyOf(prices, pooled), Arrays.copyOf(counts, pooled), units);
+	}
+
+	// Insertion sort: a category rarely has more than a handful of lines
+	private static void sortByPrice(long[] prices, int[] counts, int size) {
+		for (int i = 1; i < size; i++) {
+			long price = prices[i];
+			int count = counts[i];
+			int j = i - 1;
+			while (j >= 0 && prices[j] > price) {
+				prices[j + 1] = prices[j];
+				counts[j + 1] = counts[j];
+				j--;
+			}
+			prices[j + 1] = price;
+			counts[j + 1] = count;
+		}
+	}
+
+	private static void record(List<Applied> applied, Offer offer) {
+		PromotionRule rule = offer.rule();
+		for (int i = 0; i < applied.size(); i++) {
+			Applied existing = applied.get(i);
+			if (existing.promotionId().equals(rule.id())) {
+				applied.set(i, new Applied(rule.id(), rule.name(), existing.savingsPaise() + offer.savingsPaise()));
+				return;
+			}
+		}
+		applied.add(new Applied(rule.id(), rule.name(), offer.savingsPaise()));
+	}
+
+	private record Offer(PromotionRule rule, long savingsPaise, int unitsUsed) {
+	}
+
+	/** The rules targeting one product or one category, reduced to what can win. */
+	private static final class Target {
+
+		private static final Comparator<PromotionRule> BY_ID = Comparator.comparing(PromotionRule::id,
+				Comparator.nullsLast(Comparator.naturalOrder()));
+
+		private final PromotionRule[] buyGetByQuantity = new PromotionRule[BUY_GET_TABLE_SIZE];
+		private final PromotionRule[] buyGet;
+		private final int[] tierMinimums;
+		private final PromotionRule[] tierBest;
+		private final PromotionRule[] bundles;
+
+		Target(List<PromotionRule> rules) {
+			List<PromotionRule> sorted = new ArrayList<>(rules);
+			sorted.sort(BY_ID);
+			List<PromotionRule> buyGetRules = new ArrayList<>();
+			TreeMap<Integer, PromotionRule> tiers = new TreeMap<>();
+			TreeMap<Integer, PromotionRule> cheapestBundles = new TreeMap<>();
+			for (PromotionRule rule : sorted) {
+				if (rule.type() == PromotionType.BUY_X_GET_Y && rule.buyQuantity() > 0 && rule.freeQuantity() > 0) {
+					buyGetRules.add(rule);
+				} else if (rule.type() == PromotionType.QUANTITY_TIER && rule.basisPoints() > 0) {
+					// Same threshold: the bigger percentage shadows the rest
+					tiers.merge(Math.max(1, rule.minQuantity()), rule,
+							(kept, other) -> other.basisPoints() > kept.basisPoints() ? other : kept);
+				} else if (rule.type() == PromotionType.BUNDLE && rule.bundleQuantity() > 1) {
+					cheapestBundles.merge(rule.bundleQuantity(), rule,
+							(kept, other) -> other.bundlePricePaise() < kept.bundlePricePaise() ? other : kept);
+				}
+			}
+
+			this.buyGet = buyGetRules.toArray(PromotionRule[]::new);
+			for (int quantity = 0; quantity < BUY_GET_TABLE_SIZE; quantity++) {
+				buyGetByQuantity[quantity] = scanBuyGet(buyGet, quantity);
+			}
+
+			// Ladder: at each threshold, the best percentage reachable with that many units
+			this.tierMinimums = new int[tiers.size()];
+			this.tierBest = new PromotionRule[tiers.size()];
+			int i = 0;
+			PromotionRule best = null;
+			for (Map.Entry<Integer, PromotionRule> tier : tiers.entrySet()) {
+				if (best == null || tier.getValue().basisPoints() > best.basisPoints()) {
+					best = tier.getValue();
+				}
+				tierMinimums[i] = tier.getKey();
+				tierBest[i] = best;
+				i++;
+			}
+
+			this.bundles = cheapestBundles.values().toArray(PromotionRule[]::new);
+		}
+
+		/** Best offer for a pool of units sorted by ascending unit price. */
+		Offer best(long[] prices, int[] counts, int units) {
+			Offer best = null;
+
+			PromotionRule buyGetRule = units < BUY_GET_TABLE_SIZE ? buyGetByQuantity[units] : scanBuyGet(buyGet, units);
+			if (buyGetRule != null) {
+				int groups = units / buyGetRule.groupSize();
+				// The free units are the cheapest ones
+				long savings = cheapest(prices, counts, groups * buyGetRule.freeQuantity());
+				best = better(best, new Offer(buyGetRule, savings, groups * buyGetRule.groupSize()));
+			}
+
+			PromotionRule tier = tierFor(units);
+			if (tier != null) {
+				long value = 0L;
+				for (int i = 0; i < prices.length; i++) {
+					value += PricingEngine.lineTotal(prices[i], counts[i]);
+				}
+				long savings = PricingEngine.applyBasisPoints(value, Math.min(tier.basisPoints(),
+						PricingEngine.BASIS_POINTS), PricingEngine.DEFAULT_ROUNDING);
+				best = better(best, new Offer(tier, savings, units));
+			}
+
+			// Bundles are ordered by size, so the first one that does not fit ends the scan
+			for (PromotionRule bundle : bundles) {
+				int sets = units / bundle.bundleQuantity();
+				if (sets == 0) {
+					break;
+				}
+				int bundled = sets * bundle.bundleQuantity();
+				// Bundling the priciest units saves the most
+				long savings = priciest(prices, counts, bundled) - sets * bundle.bundlePricePaise();
+				best = better(best, new Offer(bundle, savings, bundled));
+			}
+			return best != null && best.savingsPaise() > 0 ? best : null;
+		}
+
+		private PromotionRule tierFor(int units) {
+			int low = 0;
+			int high = tierMinimums.length;
+			while (low < high) {
+				int mid = (low + high) >>> 1;
+				if (tierMinimums[mid] <= units) {
+					low = mid + 1;
+				} else {
+					high = mid;
+				}
+			}
+			return low == 0 ? null : tierBest[low - 1];
+		}
+
+		// Most free units wins; on a tie, the rule that uses fewer units leaves more for category promotions
+		private static PromotionRule scanBuyGet(PromotionRule[] rules, int units) {
+			PromotionRule best = null;
+			int bestFree = 0;
+			int bestUsed = 0;
+			for (PromotionRule rule : rules) {
+				int groups = units / rule.groupSize();
+				int free = groups * rule.freeQuantity();
+				int used = groups * rule.groupSize();
+				if (free > bestFree || (free == bestFree && free > 0 && used < bestUsed)) {
+					best = rule;
+					bestFree = free;
+					bestUsed = used;
+				}
+			}
+			return best;
+		}
+
+		// Equal savings: the offer using fewer units leaves more for category promotions
+		private static Offer better(Offer current, Offer candidate) {
+			if (current == null || candidate.savingsPaise() > current.savingsPaise()) {
+				return candidate;
+			}
+			return candidate.savingsPaise() == current.savingsPaise() && candidate.unitsUsed() < current.unitsUsed()
+					? candidate
+					: current;
+		}
+
+		private static long cheapest(long[] prices, int[] counts, int units) {
+			long sum = 0L;
+			for (int i = 0; i < prices.length && units > 0; i++) {
+				int take = Math.min(units, counts[i]);
+				sum += PricingEngine.lineTotal(prices[i], take);
+				units -= take;
+			}
+			return sum;
+		}
+
+		private static long priciest(long[] prices, int[] counts, int units) {
+			long sum = 0L;
+			for (int i = prices.length - 1; i >= 0 && units > 0; i--) {
+				int take = Math.min(units, counts[i]);
+				sum += PricingEngine.lineTotal(prices[i], take);
+				units -= take;
+			}
+			return sum;
+		}
+	}
+
+}
@@ -0,0 +1,45 @@
+package com.pinaka.makhana.util;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import com.pinaka.makhana.entity.Product;
+import com.pinaka.makhana.entity.Promotion;
+
+/**
+ * Immutable, pre-computed form of a {@link Promotion}: money in paise, the
+ * percentage in basis points, the window in epoch millis. Quantities a type does
+ * not use are 0.
+ */
+public record PromotionRule(Long id, String name, Promotion.PromotionType type, Long productId,
+		Product.ProductCategory category, int buyQuantity, int freeQuantity, int minQuantity, long basisPoints,
+		int bundleQuantity, long bundlePricePaise, long startMillis, long endMillis) {
+
+	public static PromotionRule compile(Promotion promotion) {
+		return new PromotionRule(promotion.getId(), promotion.getName(), promotion.getType(),
+				promotion.getProductId(), promotion.getCategory(), orZero(promotion.getBuyQuantity()),
+				orZero(promotion.getFreeQuantity()), orZero(promotion.getMinQuantity()),
+				promotion.getDiscountPercent() != null ? PricingEngine.toBasisPoints(promotion.getDiscountPercent())
+						: 0L,
+				orZero(promotion.getBundleQuantity()), PricingEngine.toPaise(promotion.getBundlePrice()),
+				toMillis(promotion.getStartDate(), Long.MIN_VALUE), toMillis(promotion.getEndDate(), Long.MAX_VALUE));
+	}
+
+	public boolean isLive(long nowMillis) {
+		return nowMillis > startMillis && nowMillis < endMillis;
+	}
+
+	/** Units bought plus units given away, i.e. one complete buy-X-get-Y group. */
+	int groupSize() {
+		return buyQuantity + freeQuantity;
+	}
+
+	private static int orZero(Integer value) {
+		return value != null ? value : 0;
+	}
+
+	private static long toMillis(LocalDateTime dateTime, long fallback) {
+		return dateTime != null ? dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : fallback;
+	}
+
+}
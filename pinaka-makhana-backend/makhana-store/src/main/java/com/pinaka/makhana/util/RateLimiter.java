@@ -0,0 +1,160 @@
+package com.pinaka.makhana.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets per client, lock-free. Each bucket is a single "theoretical
+ * arrival time" updated by compare-and-set (the GCRA form of a token bucket): a
+ * request is admitted while the bucket is no more than {@code capacity} refill
+ * intervals ahead of now, which is exactly a bucket of {@code capacity} tokens
+ * refilled at a steady rate, without a lock or a refill thread.
+ * <p>
+ * The bucket map is bounded. A bucket whose arrival time has passed is full and
+ * indistinguishable from a new one, so it can be dropped at no cost; only when
+ * the map is still over its bound are the least recently used buckets evicted.
+ * Time is passed in by the caller, in nanoseconds.
+ */
+public final class RateLimiter {
+
+	/** {@code capacity} requests at once, then one more every {@code intervalNanos}. */
+	public record Policy(String name, int capacity, long intervalNanos) {
+
+		public Policy {
+			if (capacity < 1 || intervalNanos < 1) {
+				throw new IllegalArgumentException("capacity and refill interval must be positive");
+			}
+		}
+
+		public static Policy perMinute(String name, int capacity, int refillPerMinute) {
+			return new Policy(name, capacity, 60_000_000_000L / Math.max(1, refillPerMinute));
+		}
+
+		long burstNanos() {
+			return capacity * intervalNanos;
+		}
+	}
+
+	private static final class Bucket {
+		final AtomicLong arrival;
+		volatile long lastUsed;
+
+		Bucket(long now) {
+			this.arrival = new AtomicLong(now);
+			this.lastUsed = now;
+		}
+	}
+
+	private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+	private final int maxBuckets;
+	private final AtomicBoolean evicting = new AtomicBoolean();
+
+	private final AtomicLong allowed = new AtomicLong();
+	private final AtomicLong rejected = new AtomicLong();
+	private final AtomicLong idleEvictions = new AtomicLong();
+	private final AtomicLong lruEvictions = new AtomicLong();
+
+	public RateLimiter(int maxBuckets) {
+		if (maxBuckets < 1) {
+			throw new IllegalArgumentException("maxBuckets must be positive");
+		}
+		this.maxBuckets = maxBuckets;
+	}
+
+	/**
+	 * Takes one token for {@code client} under {@code policy}. Returns 0 when the
+	 * request is admitted, otherwise how many nanoseconds until it would be.
+	 */
+	public long tryAcquire(Policy policy, String client, long now) {
+		String key = policy.name() + '|' + client;
+		Bucket bucket = buckets.get(key);
+		if (bucket == null) {
+			Bucket fresh = new Bucket(now);
+			bucket = buckets.putIfAbsent(key, fresh);
+			if (bucket == null) {
+				bucket = fresh;
+				if (buckets.size() > maxBuckets) {
+					evict(now);
+				}
+			}
+		}
+		bucket.lastUsed = now;
+
+		long interval = policy.intervalNanos();
+		long burst = policy.burstNanos();
+		while (true) {
+			long arrival = bucket.arrival.get();
+			long next = Math.max(arrival, now) + interval;
+			long ahead = next - now;
+			if (ahead > burst) {
+				rejected.incrementAndGet();
+				return ahead - burst;
+			}
+			if (bucket.arrival.compareAndSet(arrival, next)) {
+				allowed.incrementAndGet();
+				return 0L;
+			}
+		}
+	}
+
+	/** Drops buckets that have refilled completely; they carry no state. */
+	public int evictIdle(long now) {
+		int removed = 0;
+		for (Map.Entry<String, Bucket> entry : buckets.entrySet()) {
+			if (entry.getValue().arrival.get() <= now && buckets.remove(entry.getKey(), entry.getValue())) {
+				removed++;
+			}
+		}
+		idleEvictions.addAndGet(removed);
+		return removed;
+	}
+
+	public int size() {
+		return buckets.size();
+	}
+
+	public Map<String, Object> getStats() {
+		Map<String, Object> stats = new HashMap<>();
+		stats.put("buckets", buckets.size());
+		stats.put("maxBuckets", maxBuckets);
+		stats.put("allowed", allowed.get());
+		stats.put("rejected", rejected.get());
+		stats.put("idleEvictions", idleEvictions.get());
+		stats.put("lruEvictions", lruEvictions.get());
+		return stats;
+	}
+
+	// One thread evicts at a time; others carry on and may briefly overshoot the bound
+	private void evict(long now) {
+		if (!evicting.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			evictIdle(now);
+			// Shrink to 90% so the next few new clients do not trigger another pass
+			int target = maxBuckets - maxBuckets / 10;
+			int excess = buckets.size() - target;
+			if (excess <= 0) {
+				return;
+			}
+			long[] lastUsed = buckets.values().stream().mapToLong(bucket -> bucket.lastUsed).toArray();
+			Arrays.sort(lastUsed);
+			long cutoff = lastUsed[Math.min(excess, lastUsed.length) - 1];
+			int removed = 0;
+			for (Map.Entry<String, Bucket> entry : buckets.entrySet()) {
+				if (removed < excess && entry.getValue().lastUsed <= cutoff
+						&& buckets.remove(entry.getKey(), entry.getValue())) {
+					removed++;
+				}
+			}
+			lruEvictions.addAndGet(removed);
+		} finally {
+			evicting.set(false);
+		}
+	}
+
+}
@@ -0,0 +1,168 @@
+package com.pinaka.makhana.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel: O(1) scheduling of tasks against wall-clock
+ * deadlines. The first wheel has {@code wheelSize} buckets of {@code tickMillis}
+ * each; deadlines beyond its span go to an overflow wheel whose tick is the whole
+ * span of the wheel below, created on demand. When an overflow bucket comes due
+ * its tasks cascade down to finer wheels, so a task fires in the first tick at or
+ * after its deadline, never before it.
+ * <p>
+ * Not thread-safe and has no thread of its own: the owner calls
+ * {@link #advance(long, Consumer)} with the current time, e.g. after sleeping
+ * until {@link #nextExpiration()}.
+ */
+public final class TimingWheel {
+
+	private static final class Bucket {
+		final TimingWheel owner;
+		final List<Entry> entries = new ArrayList<>();
+		long fireAt = Long.MAX_VALUE;
+
+		Bucket(TimingWheel owner) {
+			this.owner = owner;
+		}
+	}
+
+	private record Entry(long deadline, Runnable task) {
+	}
+
+	private final long tickMillis;
+	private final int wheelSize;
+	private final long spanMillis;
+	private final boolean lowest;
+	private final Bucket[] buckets;
+	private long currentTime;
+	private int size;
+	private TimingWheel overflow;
+
+	public TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+		this(tickMillis, wheelSize, startMillis, true);
+	}
+
+	private TimingWheel(long tickMillis, int wheelSize, long startMillis, boolean lowest) {
+		if (tickMillis < 1 || wheelSize < 2) {
+			throw new IllegalArgumentException("tick must be positive and the wheel needs at least two buckets");
+		}
+		this.tickMillis = tickMillis;
+		this.wheelSize = wheelSize;
+		this.spanMillis = Math.multiplyExact(tickMillis, wheelSize);
+		this.lowest = lowest;
+		this.buckets = new Bucket[wheelSize];
+		for (int i = 0; i < wheelSize; i++) {
+			buckets[i] = new Bucket(this);
+		}
+		this.currentTime = startMillis - Math.floorMod(startMillis, tickMillis);
+	}
+
+	/**
+	 * Schedules {@code task} for {@code deadlineMillis}. Returns false, without
+	 * keeping the task, when the deadline has already passed on the wheel's clock;
+	 * the caller should run it right away.
+	 */
+	public boolean add(long deadlineMillis, Runnable task) {
+		return add(new Entry(deadlineMillis, task));
+	}
+
+	/**
+	 * Moves the clock to {@code nowMillis}, handing every task whose deadline has
+	 * passed to {@code due}, earliest bucket first.
+	 */
+	public void advance(long nowMillis, Consumer<Runnable> due) {
+		Bucket bucket;
+		while ((bucket = earliestDue(nowMillis)) != null) {
+			advanceClock(bucket.fireAt);
+			List<Entry> entries = new ArrayList<>(bucket.entries);
+			clear(bucket);
+			for (Entry entry : entries) {
+				// Re-adding cascades overflow entries into a finer wheel, or reports them due
+				if (!add(entry)) {
+					due.accept(entry.task());
+				}
+			}
+		}
+		advanceClock(nowMillis);
+	}
+
+	/** Time the earliest non-empty bucket comes due, or {@link Long#MAX_VALUE} when nothing is scheduled. */
+	public long nextExpiration() {
+		long next = Long.MAX_VALUE;
+		for (TimingWheel wheel = this; wheel != null; wheel = wheel.overflow) {
+			for (Bucket bucket : wheel.buckets) {
+				next = Math.min(next, bucket.fireAt);
+			}
+		}
+		return next;
+	}
+
+	/** Tasks scheduled and not yet handed out, across every level. */
+	public int size() {
+		int total = 0;
+		for (TimingWheel wheel = this; wheel != null; wheel = wheel.overflow) {
+			total += wheel.size;
+		}
+		return total;
+	}
+
+	/** Number of wheels in the hierarchy, including the first. */
+	public int levels() {
+		int levels = 0;
+		for (TimingWheel wheel = this; wheel != null; wheel = wheel.overflow) {
+			levels++;
+		}
+		return levels;
+	}
+
+	private boolean add(Entry entry) {
+		long deadline = entry.deadline();
+		if (deadline < currentTime) {
+			return false;
+		}
+		if (deadline - currentTime >= spanMillis) {
+			if (overflow == null) {
+				overflow = new TimingWheel(spanMillis, wheelSize, currentTime, false);
+			}
+			return overflow.add(entry);
+		}
+		long virtualTick = Math.floorDiv(deadline, tickMillis);
+		Bucket bucket = buckets[(int) Math.floorMod(virtualTick, (long) wheelSize)];
+		bucket.entries.add(entry);
+		// The lowest wheel fires at the end of a tick so nothing runs early; higher
+		// wheels fire at the start so their entries cascade down in time
+		bucket.fireAt = (lowest ? virtualTick + 1 : virtualTick) * tickMillis;
+		size++;
+		return true;
+	}
+
+	private Bucket earliestDue(long nowMillis) {
+		Bucket earliest = null;
+		for (TimingWheel wheel = this; wheel != null; wheel = wheel.overflow) {
+			for (Bucket bucket : wheel.buckets) {
+				if (bucket.fireAt <= nowMillis && (earliest == null || bucket.fireAt < earliest.fireAt)) {
+					earliest = bucket;
+				}
+			}
+		}
+		return earliest;
+	}
+
+	private static void clear(Bucket bucket) {
+		bucket.owner.size -= bucket.entries.size();
+		bucket.entries.clear();
+		bucket.fireAt = Long.MAX_VALUE;
+	}
+
+	private void advanceClock(long timeMillis) {
+		if (timeMillis >= currentTime + tickMillis) {
+			currentTime = timeMillis - Math.floorMod(timeMillis, tickMillis);
+		}
+		if (overflow != null) {
+			overflow.advanceClock(currentTime);
+		}
+	}
+
+}
@@ -0,0 +1,132 @@
+package com.pinaka.makhana.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs tasks at wall-clock deadlines off a {@link TimingWheel}. One daemon
+ * thread sleeps until the earliest bucket is due, or until an earlier task is
+ * scheduled, instead of polling on a fixed delay; tasks run on that thread, so
+ * they should be short.
+ */
+@Component
+public class WheelTimer {
+
+	private static final Logger log = LoggerFactory.getLogger(WheelTimer.class);
+
+	private final TimingWheel wheel;
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition scheduled = lock.newCondition();
+	private final long tickMillis;
+	private final AtomicLong fired = new AtomicLong();
+
+	private Thread thread;
+	private volatile boolean running = true;
+
+	public WheelTimer(@Value("${app.timer.tick-ms:100}") long tickMillis,
+			@Value("${app.timer.wheel-size:64}") int wheelSize) {
+		this.tickMillis = tickMillis;
+		this.wheel = new TimingWheel(tickMillis, wheelSize, System.currentTimeMillis());
+	}
+
+	/** Runs {@code task} in the first tick at or after {@code deadlineMillis}; right away if that has passed. */
+	public void schedule(long deadlineMillis, Runnable task) {
+		boolean queued;
+		lock.lock();
+		try {
+			queued = running && wheel.add(deadlineMillis, task);
+			if (queued) {
+				start();
+				scheduled.signal();
+			}
+		} finally {
+			lock.unlock();
+		}
+		if (!queued && running) {
+			run(task);
+		}
+	}
+
+	public Map<String, Object> getStats() {
+		Map<String, Object> stats = new HashMap<>();
+		lock.lock();
+		try {
+			stats.put("pending", wheel.size());
+			stats.put("levels", wheel.levels());
+			long next = wheel.nextExpiration();
+			stats.put("nextExpirationMillis", next == Long.MAX_VALUE ? null : next);
+		} finally {
+			lock.unlock();
+		}
+		stats.put("tickMillis", tickMillis);
+		stats.put("fired", fired.get());
+		return stats;
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		lock.lock();
+		try {
+			running = false;
+			scheduled.signal();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// Started on first use so contexts that never schedule anything carry no thread
+	private void start() {
+		if (thread == null) {
+			thread = new Thread(this::loop, "wheel-timer");
+			thread.setDaemon(true);
+			thread.start();
+		}
+	}
+
+	private void loop() {
+		List<Runnable> due = new ArrayList<>();
+		while (running) {
+			lock.lock();
+			try {
+				long now = System.currentTimeMillis();
+				long next = wheel.nextExpiration();
+				if (next > now) {
+					// Nothing scheduled still wakes now and then, in case the wall clock jumps
+					scheduled.await(Math.min(next - now, TimeUnit.MINUTES.toMillis(1)), TimeUnit.MILLISECONDS);
+					continue;
+				}
+				wheel.advance(now, due::add);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} finally {
+				lock.unlock();
+			}
+			due.forEach(this::run);
+			due.clear();
+		}
+	}
+
+	private void run(Runnable task) {
+		fired.incrementAndGet();
+		try {
+			task.run();
+		} catch (RuntimeException e) {
+			log.error("❌ Timer task failed", e);
+		}
+	}
+
+}
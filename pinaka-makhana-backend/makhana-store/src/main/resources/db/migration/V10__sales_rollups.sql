@@ -0,0 +1,31 @@
+-- Sales rollups: one row per (dimension, bucket, key); dimension is TOTAL, PRODUCT, CATEGORY or STATE
+CREATE TABLE sales_rollup_hourly (
+    dimension VARCHAR(16) NOT NULL,
+    bucket_start DATETIME NOT NULL,
+    dimension_key VARCHAR(255) NOT NULL,
+    order_count BIGINT NOT NULL DEFAULT 0,
+    units BIGINT NOT NULL DEFAULT 0,
+    revenue_paise BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (dimension, bucket_start, dimension_key)
+);
+
+CREATE TABLE sales_rollup_daily (
+    dimension VARCHAR(16) NOT NULL,
+    bucket_start DATETIME NOT NULL,
+    dimension_key VARCHAR(255) NOT NULL,
+    order_count BIGINT NOT NULL DEFAULT 0,
+    units BIGINT NOT NULL DEFAULT 0,
+    revenue_paise BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (dimension, bucket_start, dimension_key)
+);
+
+-- Pending +1/-1 order contributions, written with each status change and drained by the rollup worker
+CREATE TABLE sales_rollup_outbox (
+    id BIGINT NOT NULL PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    delta INT NOT NULL,
+    created_at DATETIME(6) NOT NULL
+);
+CREATE INDEX idx_sales_rollup_outbox_order ON sales_rollup_outbox (order_id);
+
+INSERT INTO id_generators (sequence_name, next_val) VALUES ('sales_rollup_outbox', 51);
@@ -0,0 +1,52 @@
+-- Cold storage for finished orders past the retention age. Same columns as the hot
+-- tables, no foreign keys (rows are copied, never edited), indexed for read-through.
+CREATE TABLE orders_archive (
+    id BIGINT NOT NULL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    order_date DATETIME(6) NULL,
+    total_amount DECIMAL(12,2) NULL,
+    status VARCHAR(20) NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    archive_batch_id BIGINT NOT NULL
+);
+CREATE INDEX idx_orders_archive_user_date ON orders_archive (user_id, order_date, id);
+CREATE INDEX idx_orders_archive_date ON orders_archive (order_date, id);
+CREATE INDEX idx_orders_archive_batch ON orders_archive (archive_batch_id);
+
+CREATE TABLE order_items_archive (
+    id BIGINT NOT NULL PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    quantity INT NOT NULL,
+    price DECIMAL(12,2) NOT NULL,
+    product_name VARCHAR(255) NULL,
+    product_sku VARCHAR(100) NULL,
+    product_weight VARCHAR(50) NULL,
+    original_price DECIMAL(12,2) NULL,
+    thumbnail_url VARCHAR(1000) NULL
+);
+CREATE INDEX idx_order_items_archive_order ON order_items_archive (order_id);
+
+CREATE TABLE order_status_history_archive (
+    id BIGINT NOT NULL PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    from_status VARCHAR(20) NULL,
+    to_status VARCHAR(20) NOT NULL,
+    changed_at DATETIME(6) NOT NULL,
+    changed_by VARCHAR(255) NULL
+);
+CREATE INDEX idx_osh_archive_order ON order_status_history_archive (order_id);
+
+-- One row per moved batch; the checksum covers every copied row and can be re-verified later
+CREATE TABLE order_archive_batches (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    cutoff DATETIME(6) NOT NULL,
+    first_order_date DATETIME(6) NULL,
+    last_order_date DATETIME(6) NULL,
+    order_count INT NOT NULL DEFAULT 0,
+    item_count INT NOT NULL DEFAULT 0,
+    history_count INT NOT NULL DEFAULT 0,
+    checksum CHAR(64) NULL,
+    created_at DATETIME(6) NOT NULL,
+    verified_at DATETIME(6) NULL
+);
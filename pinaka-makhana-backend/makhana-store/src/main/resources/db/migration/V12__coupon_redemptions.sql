@@ -0,0 +1,21 @@
+-- Coupon applied at checkout, kept on the order (and its archived copy) for receipts and rollups
+ALTER TABLE orders
+    ADD COLUMN coupon_code VARCHAR(50) NULL,
+    ADD COLUMN discount_amount DECIMAL(12,2) NULL;
+ALTER TABLE orders_archive
+    ADD COLUMN coupon_code VARCHAR(50) NULL,
+    ADD COLUMN discount_amount DECIMAL(12,2) NULL;
+
+-- One row per use of a coupon. slot counts a user's uses of that coupon from 1, so the
+-- unique index lets two concurrent checkouts claim the same use only once.
+CREATE TABLE coupon_redemptions (
+    id BIGINT NOT NULL PRIMARY KEY,
+    coupon_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    slot INT NOT NULL,
+    order_id BIGINT NULL,
+    redeemed_at DATETIME(6) NOT NULL,
+    CONSTRAINT uk_coupon_redemptions_slot UNIQUE (coupon_id, user_id, slot)
+);
+
+INSERT INTO id_generators (sequence_name, next_val) VALUES ('coupon_redemptions', 51);
@@ -0,0 +1,9 @@
+-- Single-use codes generated in bulk for a campaign. coupon_id points at the coupon
+-- that acts as the campaign template (discount, window, limits), so millions of codes
+-- share one coupons row. Per-campaign sequence counters live in id_generators.
+CREATE TABLE coupon_codes (
+    code VARCHAR(64) NOT NULL PRIMARY KEY,
+    coupon_id BIGINT NOT NULL,
+    redeemed BOOLEAN NOT NULL DEFAULT FALSE
+);
+CREATE INDEX idx_coupon_codes_coupon ON coupon_codes (coupon_id, redeemed);
@@ -0,0 +1,30 @@
+-- Automatic cart promotions (no code needed). A promotion targets either one product
+-- or a whole category; the type decides which quantity/price columns are used.
+CREATE TABLE promotions (
+    id BIGINT NOT NULL PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    description VARCHAR(255) NULL,
+    type VARCHAR(20) NOT NULL,
+    product_id BIGINT NULL,
+    category VARCHAR(50) NULL,
+    buy_quantity INT NULL,
+    free_quantity INT NULL,
+    min_quantity INT NULL,
+    discount_percent DECIMAL(5,2) NULL,
+    bundle_quantity INT NULL,
+    bundle_price DECIMAL(12,2) NULL,
+    start_date DATETIME(6) NULL,
+    end_date DATETIME(6) NULL,
+    active BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NULL
+);
+CREATE INDEX idx_promotions_active ON promotions (active);
+
+INSERT INTO id_generators (sequence_name, next_val) VALUES ('promotions', 51);
+
+-- Promotion savings applied at checkout, separate from the coupon discount
+ALTER TABLE orders
+    ADD COLUMN promotion_discount DECIMAL(12,2) NULL;
+ALTER TABLE orders_archive
+    ADD COLUMN promotion_discount DECIMAL(12,2) NULL;
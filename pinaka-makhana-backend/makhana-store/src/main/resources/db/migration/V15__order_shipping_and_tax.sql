@@ -0,0 +1,8 @@
+-- Shipping and tax charged at checkout, so an order's total matches the quote it was
+-- placed from. Orders placed before this migration keep NULL: they were charged neither.
+ALTER TABLE orders
+    ADD COLUMN shipping_amount DECIMAL(12,2) NULL,
+    ADD COLUMN tax_amount DECIMAL(12,2) NULL;
+ALTER TABLE orders_archive
+    ADD COLUMN shipping_amount DECIMAL(12,2) NULL,
+    ADD COLUMN tax_amount DECIMAL(12,2) NULL;
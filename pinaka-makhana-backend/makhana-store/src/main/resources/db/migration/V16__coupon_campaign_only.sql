@@ -0,0 +1,4 @@
+-- Campaign templates redeem only through their generated codes. The template's own code is
+-- the visible prefix of every issued code, so it must not be accepted on its own.
+ALTER TABLE coupons ADD COLUMN campaign_only BOOLEAN NOT NULL DEFAULT FALSE;
+UPDATE coupons SET campaign_only = TRUE WHERE id IN (SELECT DISTINCT coupon_id FROM coupon_codes);
@@ -0,0 +1,4 @@
+-- Slot rows are inserted with plain JDBC so a lost slot can be retried with the next one in the
+-- same transaction; one row per checkout never batches, so the id comes from AUTO_INCREMENT.
+ALTER TABLE coupon_redemptions MODIFY id BIGINT NOT NULL AUTO_INCREMENT;
+DELETE FROM id_generators WHERE sequence_name = 'coupon_redemptions';
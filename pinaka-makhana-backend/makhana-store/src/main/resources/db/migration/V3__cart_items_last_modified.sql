@@ -0,0 +1,8 @@
+-- Track when each cart row was last touched so abandoned carts can be swept
+ALTER TABLE cart_items ADD COLUMN last_modified DATETIME(6) NULL;
+
+-- Existing rows have no history; start their retention window now
+UPDATE cart_items SET last_modified = CURRENT_TIMESTAMP(6) WHERE last_modified IS NULL;
+
+-- Supports the sweeper's "stale rows after id X" scan and the admin summary
+CREATE INDEX idx_cart_items_last_modified ON cart_items (last_modified, id);
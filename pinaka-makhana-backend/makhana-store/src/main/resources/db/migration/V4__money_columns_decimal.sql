@@ -0,0 +1,10 @@
+-- Store money as exact decimals instead of binary floating point
+ALTER TABLE product MODIFY COLUMN price DECIMAL(12,2) NOT NULL;
+ALTER TABLE product MODIFY COLUMN original_price DECIMAL(12,2);
+
+ALTER TABLE orders MODIFY COLUMN total_amount DECIMAL(12,2);
+ALTER TABLE order_items MODIFY COLUMN price DECIMAL(12,2) NOT NULL;
+
+ALTER TABLE coupons MODIFY COLUMN discount_value DECIMAL(12,2) NOT NULL;
+ALTER TABLE coupons MODIFY COLUMN minimum_order_amount DECIMAL(12,2);
+ALTER TABLE coupons MODIFY COLUMN maximum_discount_amount DECIMAL(12,2);
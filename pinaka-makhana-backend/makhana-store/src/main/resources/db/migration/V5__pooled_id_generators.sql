@@ -0,0 +1,19 @@
+-- Hi/lo style id allocation so Hibernate can batch inserts (IDENTITY disables batching).
+-- Each row hands out blocks of 50 ids; the pooled optimizer may start up to one block
+-- below next_val, so seed one block above the current maximum.
+CREATE TABLE IF NOT EXISTS id_generators (
+    sequence_name VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_val BIGINT NOT NULL
+);
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'orders', COALESCE(MAX(id), 0) + 51 FROM orders;
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'order_items', COALESCE(MAX(id), 0) + 51 FROM order_items;
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'cart_items', COALESCE(MAX(id), 0) + 51 FROM cart_items;
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'product', COALESCE(MAX(id), 0) + 51 FROM product;
@@ -0,0 +1,20 @@
+-- Immutable product snapshot on each order line, so order reads never join product
+ALTER TABLE order_items
+    ADD COLUMN product_name VARCHAR(255) NULL,
+    ADD COLUMN product_sku VARCHAR(100) NULL,
+    ADD COLUMN product_weight VARCHAR(50) NULL,
+    ADD COLUMN original_price DECIMAL(12,2) NULL,
+    ADD COLUMN thumbnail_url VARCHAR(1000) NULL;
+
+-- Backfill existing lines from the current catalog (best information available)
+UPDATE order_items oi
+JOIN product p ON p.id = oi.product_id
+SET oi.product_name = p.name,
+    oi.product_sku = p.sku,
+    oi.product_weight = p.weight,
+    oi.original_price = p.original_price,
+    oi.thumbnail_url = CASE
+        WHEN p.image_url IS NULL OR p.image_url LIKE 'data:%' OR CHAR_LENGTH(p.image_url) > 1000 THEN NULL
+        ELSE p.image_url
+    END
+WHERE oi.product_name IS NULL;
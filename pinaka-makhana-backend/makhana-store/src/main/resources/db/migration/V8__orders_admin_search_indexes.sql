@@ -0,0 +1,3 @@
+-- Admin order search: keyset pagination newest first, optionally narrowed by status
+CREATE INDEX idx_orders_date_id ON orders (order_date, id);
+CREATE INDEX idx_orders_status_date ON orders (status, order_date, id);
@@ -0,0 +1,34 @@
+-- Typed order lifecycle: normalise free-text statuses written by the old admin UI
+UPDATE orders SET status = UPPER(TRIM(status)) WHERE status IS NOT NULL;
+UPDATE orders SET status = 'CANCELLED' WHERE status = 'CANCELED';
+UPDATE orders SET status = 'CONFIRMED' WHERE status = 'PROCESSING';
+UPDATE orders SET status = 'PLACED'
+WHERE status IS NULL
+   OR status NOT IN ('PENDING', 'PLACED', 'CONFIRMED', 'SHIPPED', 'DELIVERED', 'CANCELLED', 'FAILED');
+
+ALTER TABLE orders
+    MODIFY COLUMN status VARCHAR(20) NULL,
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+-- Append-only transition log
+CREATE TABLE order_status_history (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    from_status VARCHAR(20) NULL,
+    to_status VARCHAR(20) NOT NULL,
+    changed_at DATETIME(6) NOT NULL,
+    changed_by VARCHAR(255) NULL,
+    CONSTRAINT fk_order_status_history_order FOREIGN KEY (order_id) REFERENCES orders (id)
+);
+
+-- Timeline of one order, and the probe from one status to another within an order
+CREATE INDEX idx_osh_order_status ON order_status_history (order_id, to_status, changed_at);
+-- SLA windows: orders that entered a status within a time range
+CREATE INDEX idx_osh_status_time ON order_status_history (to_status, changed_at, order_id);
+
+-- Existing orders start their history at the status they hold today
+INSERT INTO order_status_history (order_id, from_status, to_status, changed_at, changed_by)
+SELECT id, NULL, status, COALESCE(order_date, NOW(6)), 'migration' FROM orders;
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'order_status_history', COALESCE(MAX(id), 0) + 51 FROM order_status_history;
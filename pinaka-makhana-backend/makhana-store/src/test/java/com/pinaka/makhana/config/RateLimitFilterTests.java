@@ -0,0 +1,88 @@
+package com.pinaka.makhana.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.util.Properties;
+
+import org.apache.catalina.filters.RemoteIpFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.pinaka.makhana.util.JwtUtil;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Login throttling behind the proxy. RemoteIpFilter is the filter form of the
+ * RemoteIpValve that server.forward-headers-strategy=native installs, set up
+ * with the trusted range from application.properties.
+ */
+class RateLimitFilterTests {
+
+	private static final String SECRET = "3gDmPjc+nuej/Tnen2sGFr27s/o4B52Ki1Th43rf18sP1dHziwRdoBPg6EmDKi3PA/SvYTI6gnuQu3ZHZcOCFQ==";
+	private static final String PROXY = "10.204.17.3";
+
+	private RemoteIpFilter remoteIp;
+	private RateLimitFilter rateLimit;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		Properties properties = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"));
+		assertEquals("native", properties.getProperty("server.forward-headers-strategy"));
+		remoteIp = new RemoteIpFilter();
+		remoteIp.setInternalProxies(new StandardEnvironment()
+				.resolvePlaceholders(properties.getProperty("server.tomcat.remoteip.internal-proxies")));
+
+		JwtUtil jwtUtil = new JwtUtil();
+		ReflectionTestUtils.setField(jwtUtil, "base64Secret", SECRET);
+		ReflectionTestUtils.setField(jwtUtil, "claimsCacheSize", 100);
+		jwtUtil.init();
+		rateLimit = new RateLimitFilter(jwtUtil, new SimpleMeterRegistry(), true, 1_000, 2, 1, 5, 5, 60, 300);
+	}
+
+	@Test
+	void clientsBehindTheProxyGetTheirOwnBuckets() throws Exception {
+		assertEquals(200, login(PROXY, "203.0.113.7"));
+		assertEquals(200, login(PROXY, "203.0.113.7"));
+		assertEquals(429, login(PROXY, "203.0.113.7"));
+
+		// Same proxy address, different client: not throttled by the first one's attempts
+		assertEquals(200, login(PROXY, "198.51.100.24"));
+	}
+
+	@Test
+	void forwardedHeaderFromAnUntrustedAddressIsIgnored() throws Exception {
+		// A direct caller cannot pick a fresh bucket by rotating X-Forwarded-For
+		assertEquals(200, login("198.51.100.99", "203.0.113.1"));
+		assertEquals(200, login("198.51.100.99", "203.0.113.2"));
+		assertEquals(429, login("198.51.100.99", "203.0.113.3"));
+	}
+
+	private int login(String remoteAddr, String forwardedFor) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+		request.setRemoteAddr(remoteAddr);
+		request.addHeader("X-Forwarded-For", forwardedFor);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		new MockFilterChain(new HttpServlet() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void service(HttpServletRequest req, HttpServletResponse resp) {
+				resp.setStatus(200);
+			}
+		}, remoteIp, rateLimit).doFilter(request, response);
+		return response.getStatus();
+	}
+
+}
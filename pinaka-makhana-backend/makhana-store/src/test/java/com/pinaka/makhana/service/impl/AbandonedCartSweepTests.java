@@ -0,0 +1,109 @@
+package com.pinaka.makhana.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.pinaka.makhana.entity.CartItem;
+import com.pinaka.makhana.entity.Product;
+import com.pinaka.makhana.entity.User;
+import com.pinaka.makhana.repository.CartItemRepository;
+import com.pinaka.makhana.repository.ProductRepository;
+import com.pinaka.makhana.repository.UserRepository;
+import com.pinaka.makhana.util.CheckoutVersions;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+
+/**
+ * A cart is abandoned only when all of its lines are past the retention window;
+ * one old line in a cart that was just added to must survive the sweep.
+ */
+@CheckoutJpaTest
+class AbandonedCartSweepTests {
+
+	private static final int RETENTION_DAYS = 30;
+
+	@Autowired
+	private CartItemRepository cartItemRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private CheckoutVersions checkoutVersions;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Test
+	void cartIsSweptOnlyWhenEveryLineIsStale() {
+		Product first = product("Classic");
+		Product second = product("Peri Peri");
+		User idle = user("idle");
+		User active = user("active");
+
+		CartItem idleLine = cartItemRepository.save(new CartItem(idle, first, 1));
+		CartItem idleOther = cartItemRepository.save(new CartItem(idle, second, 2));
+		CartItem activeOld = cartItemRepository.save(new CartItem(active, first, 1));
+		CartItem activeNew = cartItemRepository.save(new CartItem(active, second, 3));
+		entityManager.flush();
+		age(idleLine, 45);
+		age(idleOther, 40);
+		age(activeOld, 90);
+		age(activeNew, 1);
+		entityManager.clear();
+
+		// Chunk size 1 walks the carts one user at a time
+		AbandonedCartServiceImpl sweeper = new AbandonedCartServiceImpl(cartItemRepository,
+				new TransactionTemplate(transactionManager), checkoutVersions, new SimpleMeterRegistry(),
+				RETENTION_DAYS, 1, 0);
+
+		Map<String, Object> summary = sweeper.getAbandonedCartSummary();
+		assertEquals(1L, ((Number) summary.get("abandonedCarts")).longValue());
+		assertEquals(2L, ((Number) summary.get("abandonedItems")).longValue());
+		assertEquals(3L, ((Number) summary.get("abandonedUnits")).longValue());
+
+		assertEquals(2, sweeper.sweepAbandonedCarts());
+		entityManager.clear();
+		assertEquals(0, cartItemRepository.findByUser(idle).size());
+		assertEquals(2, cartItemRepository.findByUser(active).size());
+		assertEquals(0L, ((Number) sweeper.getAbandonedCartSummary().get("abandonedCarts")).longValue());
+	}
+
+	private void age(CartItem item, int days) {
+		jdbcTemplate.update("UPDATE cart_items SET last_modified = ? WHERE id = ?",
+				Timestamp.valueOf(LocalDateTime.now().minusDays(days)), item.getId());
+	}
+
+	private User user(String name) {
+		return userRepository.save(User.builder().name(name).email(name + "@example.com").password("x")
+				.role("ROLE_USER").active(true).build());
+	}
+
+	private Product product(String name) {
+		Product product = new Product();
+		product.setName(name);
+		product.setPrice(99.5);
+		product.setAvailable(true);
+		return productRepository.save(product);
+	}
+
+}
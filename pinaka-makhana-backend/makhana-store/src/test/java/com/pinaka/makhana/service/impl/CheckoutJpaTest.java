@@ -0,0 +1,49 @@
+package com.pinaka.makhana.service.impl;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import com.pinaka.makhana.util.CheckoutVersions;
+import com.pinaka.makhana.util.CouponCodeFilter;
+import com.pinaka.makhana.util.CouponRuleCache;
+import com.pinaka.makhana.util.FirstOrderTracker;
+import com.pinaka.makhana.util.OrderEventHub;
+import com.pinaka.makhana.util.PromotionCache;
+import com.pinaka.makhana.util.WheelTimer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * JPA slice with the checkout services on H2: hot tables from the entities,
+ * archive tables from the V11 migration plus the columns added after it, and
+ * campaign codes from V13. Test classes that only add properties of their own
+ * share one cached context.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@DataJpaTest
+@Import({ OrderServiceImpl.class, OrderAssembler.class, CouponRedeemer.class, OrderLifecycle.class,
+		CheckoutVersions.class, OrderEventHub.class, SimpleMeterRegistry.class, OrderArchiveServiceImpl.class,
+		CouponRuleCache.class, WheelTimer.class, FirstOrderTracker.class, CouponCodeServiceImpl.class,
+		CouponCodeFilter.class, PromotionCache.class })
+@TestPropertySource(properties = {
+		"spring.flyway.enabled=false",
+		"spring.sql.init.mode=never",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"spring.jpa.properties.hibernate.hbm2ddl.import_files="
+				+ "db/migration/V11__order_archive.sql,db/archive-columns.sql,"
+				+ "db/migration/V13__coupon_campaign_codes.sql",
+		"spring.jpa.properties.hibernate.hbm2ddl.import_files_sql_extractor="
+				+ "org.hibernate.tool.schema.internal.script.MultiLineSqlScriptExtractor" })
+@interface CheckoutJpaTest {
+}
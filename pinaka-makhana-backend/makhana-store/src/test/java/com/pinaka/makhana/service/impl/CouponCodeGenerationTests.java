@@ -0,0 +1,127 @@
+package com.pinaka.makhana.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.pinaka.makhana.entity.Coupon;
+import com.pinaka.makhana.repository.CouponRepository;
+import com.pinaka.makhana.util.CheckoutVersions;
+import com.pinaka.makhana.util.CouponCodeFilter;
+import com.pinaka.makhana.util.CouponRule;
+import com.pinaka.makhana.util.CouponRuleCache;
+import com.pinaka.makhana.util.WheelTimer;
+
+/**
+ * Runs a generation job end to end against H2: batched inserts, progress, then
+ * resolving and redeeming one of the codes through the campaign template.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ CouponCodeServiceImpl.class, CouponCodeFilter.class, CouponRuleCache.class, WheelTimer.class,
+		CheckoutVersions.class })
+@Sql("classpath:db/migration/V13__coupon_campaign_codes.sql")
+@TestPropertySource(properties = {
+		"spring.flyway.enabled=false",
+		"spring.sql.init.mode=never",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"app.coupons.codes.batch-size=1000" })
+class CouponCodeGenerationTests {
+
+	private static final Logger log = LoggerFactory.getLogger(CouponCodeGenerationTests.class);
+
+	@Autowired
+	private CouponCodeServiceImpl couponCodeService;
+
+	@Autowired
+	private CouponRepository couponRepository;
+
+	@Autowired
+	private CouponRuleCache couponRuleCache;
+
+	@Test
+	void generatedCodesResolveToTheirTemplateAndRedeemOnce() throws Exception {
+		int count = 5_000;
+		Coupon template = saveTemplate("FESTIVE");
+		Map<String, Object> finished = generate(template, count);
+
+		assertEquals("COMPLETED", finished.get("status"), String.valueOf(finished.get("error")));
+		assertEquals((long) count, finished.get("generated"));
+		assertEquals((long) count, couponCodeService.getCodeStats(template.getId()).get("codes"));
+
+		String[] codes = export(template.getId());
+		assertEquals(count, codes.length);
+
+		String code = codes[count / 2];
+		assertTrue(code.startsWith("FESTIVE-"), code);
+		CouponRule rule = couponCodeService.resolve(code.toLowerCase());
+		assertNotNull(rule);
+		assertEquals(template.getId(), rule.id());
+
+		assertTrue(couponCodeService.markRedeemed(code));
+		assertFalse(couponCodeService.markRedeemed(code));
+		assertNull(couponCodeService.resolve(code));
+		assertEquals(1L, couponCodeService.getCodeStats(template.getId()).get("redeemed"));
+		assertEquals(count - 1, export(template.getId()).length);
+	}
+
+	@Test
+	@Tag("benchmark")
+	void generatesHalfAMillionCodes() throws Exception {
+		int count = 500_000;
+		Coupon template = saveTemplate("MEGASALE");
+		long start = System.nanoTime();
+		Map<String, Object> finished = generate(template, count);
+		long millis = (System.nanoTime() - start) / 1_000_000;
+
+		log.info("Campaign codes: {} generated in {} ms ({} codes/s)", count, millis, finished.get("codesPerSecond"));
+		assertEquals("COMPLETED", finished.get("status"), String.valueOf(finished.get("error")));
+	}
+
+	private Coupon saveTemplate(String code) {
+		Coupon template = couponRepository.save(new Coupon(code, "Campaign", Coupon.DiscountType.PERCENTAGE, 10.0,
+				LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(30)));
+		couponRuleCache.reload();
+		return template;
+	}
+
+	private Map<String, Object> generate(Coupon template, int count) throws InterruptedException {
+		Long jobId = (Long) couponCodeService.startGeneration(template.getId(), count).get("jobId");
+		while (!isFinished(couponCodeService.getJob(jobId))) {
+			Thread.sleep(20);
+		}
+		return couponCodeService.getJob(jobId);
+	}
+
+	private String[] export(Long couponId) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		couponCodeService.exportCodes(couponId, true, out);
+		return out.toString(StandardCharsets.US_ASCII).split("\n");
+	}
+
+	private static boolean isFinished(Map<String, Object> job) {
+		return "COMPLETED".equals(job.get("status")) || "FAILED".equals(job.get("status"));
+	}
+
+}
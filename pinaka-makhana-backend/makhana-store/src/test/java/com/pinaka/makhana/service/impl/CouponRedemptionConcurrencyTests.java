@@ -0,0 +1,173 @@
+package com.pinaka.makhana.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.pinaka.makhana.entity.CartItem;
+import com.pinaka.makhana.entity.Coupon;
+import com.pinaka.makhana.entity.Product;
+import com.pinaka.makhana.entity.User;
+import com.pinaka.makhana.repository.CartItemRepository;
+import com.pinaka.makhana.repository.CouponRepository;
+import com.pinaka.makhana.repository.ProductRepository;
+import com.pinaka.makhana.repository.UserRepository;
+import com.pinaka.makhana.util.CouponRuleCache;
+
+/**
+ * Hammers one coupon from many threads through real checkouts, each in its own
+ * transaction, and checks that neither the global nor the per-user limit is
+ * exceeded.
+ */
+@CheckoutJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+		"spring.test.database.replace=none",
+		"spring.datasource.url=jdbc:h2:mem:redemptions;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000" })
+class CouponRedemptionConcurrencyTests {
+
+	private static final int THREADS = 16;
+
+	@Autowired
+	private OrderServiceImpl orderService;
+
+	@Autowired
+	private CouponRuleCache couponRuleCache;
+
+	@Autowired
+	private CouponRepository couponRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private CartItemRepository cartItemRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void globalUsageLimitHoldsUnderConcurrentCheckouts() throws InterruptedException {
+		Coupon coupon = saveCoupon("HAMMER50", 50, 1);
+		List<String> buyers = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			buyers.add(saveBuyerWithCart("hammer" + i + "@example.com"));
+		}
+		couponRuleCache.reload();
+
+		int placed = checkoutConcurrently(buyers, "hammer50");
+
+		assertEquals(50, placed);
+		assertEquals(50, couponRepository.findById(coupon.getId()).orElseThrow().getUsageCount());
+		assertEquals(50, count("SELECT COUNT(*) FROM coupon_redemptions WHERE coupon_id = ?", coupon.getId()));
+		assertEquals(50, count("SELECT COUNT(*) FROM orders WHERE coupon_code = ?", "HAMMER50"));
+	}
+
+	@Test
+	void perUserLimitHoldsWhenOneUserChecksOutTwiceAtOnce() throws InterruptedException {
+		Coupon coupon = saveCoupon("ONCEONLY", null, 1);
+		String email = "twice@example.com";
+		saveBuyerWithCart(email);
+		couponRuleCache.reload();
+
+		int placed = checkoutConcurrently(List.of(email, email, email, email), "ONCEONLY");
+
+		assertEquals(1, placed);
+		assertEquals(1, couponRepository.findById(coupon.getId()).orElseThrow().getUsageCount());
+		assertEquals(1, count("SELECT COUNT(*) FROM coupon_redemptions WHERE coupon_id = ?", coupon.getId()));
+	}
+
+	@Test
+	void oneUserGetsEveryUseOfAMultiUseCouponWhenCheckingOutAtOnce() throws InterruptedException {
+		Coupon coupon = saveCoupon("THRICE", null, 3);
+		String email = "thrice@example.com";
+		saveBuyerWithCart(email);
+		couponRuleCache.reload();
+
+		// All four start from the same slot count; the losers move on to the next free slot
+		int placed = checkoutConcurrently(List.of(email, email, email, email), "THRICE");
+
+		assertEquals(3, placed);
+		assertEquals(3, couponRepository.findById(coupon.getId()).orElseThrow().getUsageCount());
+		assertEquals(3, count("SELECT COUNT(DISTINCT slot) FROM coupon_redemptions WHERE coupon_id = ?",
+				coupon.getId()));
+	}
+
+	@Test
+	void couponWithoutPerUserLimitWritesNoSlotRows() throws InterruptedException {
+		Coupon coupon = saveCoupon("ANYTIME", null, 0);
+		String email = "anytime@example.com";
+		saveBuyerWithCart(email);
+		couponRuleCache.reload();
+
+		int placed = checkoutConcurrently(List.of(email, email, email), "ANYTIME");
+
+		assertEquals(3, placed);
+		assertEquals(3, couponRepository.findById(coupon.getId()).orElseThrow().getUsageCount());
+		assertEquals(0, count("SELECT COUNT(*) FROM coupon_redemptions WHERE coupon_id = ?", coupon.getId()));
+	}
+
+	private int checkoutConcurrently(List<String> emails, String couponCode) throws InterruptedException {
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicInteger placed = new AtomicInteger();
+		for (String email : emails) {
+			pool.submit(() -> {
+				try {
+					start.await();
+					orderService.placeOrder(email, couponCode);
+					placed.incrementAndGet();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} catch (RuntimeException rejected) {
+					// Limit reached, slot already claimed or coupon dropped from the cache
+				}
+			});
+		}
+		start.countDown();
+		pool.shutdown();
+		pool.awaitTermination(2, TimeUnit.MINUTES);
+		return placed.get();
+	}
+
+	private Coupon saveCoupon(String code, Integer usageLimit, Integer userUsageLimit) {
+		Coupon coupon = new Coupon(code, "Concurrency test", Coupon.DiscountType.FIXED_AMOUNT, 10.0,
+				LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1));
+		coupon.setUsageLimit(usageLimit);
+		coupon.setUserUsageLimit(userUsageLimit);
+		return couponRepository.save(coupon);
+	}
+
+	private String saveBuyerWithCart(String email) {
+		User user = userRepository.save(User.builder().name("Buyer").email(email).password("x").role("ROLE_USER")
+				.active(true).build());
+		Product product = new Product();
+		product.setName("Makhana");
+		product.setPrice(199.0);
+		product.setAvailable(true);
+		cartItemRepository.save(new CartItem(user, productRepository.save(product), 1));
+		return email;
+	}
+
+	private long count(String sql, Object arg) {
+		return jdbcTemplate.queryForObject(sql, Long.class, arg);
+	}
+
+}
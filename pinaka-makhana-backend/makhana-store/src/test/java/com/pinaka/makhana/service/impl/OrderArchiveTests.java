@@ -0,0 +1,195 @@
+package com.pinaka.makhana.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import com.pinaka.makhana.dto.OrderHistoryPage;
+import com.pinaka.makhana.dto.OrderSearchCriteria;
+import com.pinaka.makhana.entity.Order;
+import com.pinaka.makhana.entity.Product;
+import com.pinaka.makhana.entity.User;
+import com.pinaka.makhana.repository.OrderRepository;
+import com.pinaka.makhana.repository.ProductRepository;
+import com.pinaka.makhana.repository.UserRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Archiving 90% of orders, then the read-through paths for the archived ones.
+ * The benchmark repeats it at 10k orders and logs hot-table query latency before
+ * and after; on in-memory H2 that shows the trend, not production latencies.
+ */
+@CheckoutJpaTest
+@TestPropertySource(properties = {
+		"app.orders.archive.min-age-days=30",
+		"app.orders.archive.batch-size=1000",
+		"app.orders.archive.max-batches-per-run=1000",
+		"app.orders.archive.batch-pause-ms=0" })
+class OrderArchiveTests {
+
+	private static final Logger log = LoggerFactory.getLogger(OrderArchiveTests.class);
+
+	private static final int USERS = 5;
+	private static final long FIRST_ORDER_ID = 1_000_000L;
+	private static final int ITERATIONS = 5;
+
+	@Autowired
+	private OrderServiceImpl orderService;
+
+	@Autowired
+	private OrderArchiveServiceImpl orderArchiveService;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Test
+	void archivedOrdersStayReadableThroughTheHotPaths() {
+		int orders = 500;
+		List<User> users = seedOrders(orders);
+
+		int archived = orderArchiveService.archiveOldOrders();
+		entityManager.clear();
+
+		assertEquals(orders * 9 / 10, archived);
+		assertEquals(orders / 10, count("orders"));
+		assertEquals(orders * 9 / 10, count("orders_archive"));
+		assertEquals(orders * 9 / 10 * 2, count("order_items_archive"));
+		assertEquals(orders * 9 / 10, count("order_status_history_archive"));
+
+		Long firstBatch = jdbcTemplate.queryForObject("SELECT MIN(id) FROM order_archive_batches", Long.class);
+		assertEquals(Boolean.TRUE, orderArchiveService.verifyBatch(firstBatch).get("valid"));
+
+		// Read-through: an archived order and its lines are still served
+		Order order = orderService.getOrderById(FIRST_ORDER_ID);
+		assertNotNull(order);
+		assertEquals(2, order.getItems().size());
+		assertEquals(2, orderService.getOrderLines(order.getUser().getEmail(), FIRST_ORDER_ID).size());
+		assertEquals(1, orderService.getOrderStatusHistory(FIRST_ORDER_ID).size());
+
+		// Paging a user's history walks from the hot rows into the archived ones without gaps
+		User user = users.get(0);
+		Set<Long> seen = new HashSet<>();
+		String cursor = null;
+		do {
+			OrderHistoryPage page = orderService.getOrderHistoryPage(user.getEmail(), cursor, 25);
+			page.getOrders().forEach(summary -> assertTrue(seen.add(summary.getId())));
+			cursor = page.getNextCursor();
+		} while (cursor != null);
+		assertEquals(orders / USERS, seen.size());
+		assertEquals(orders / USERS, orderService.getOrdersByUser(user.getEmail()).size());
+	}
+
+	@Test
+	@Tag("benchmark")
+	void archivingNinetyPercentOfOrdersShrinksHotQueries() {
+		int orders = 10_000;
+		List<User> users = seedOrders(orders);
+
+		double historyBefore = measure(() -> users.forEach(user -> orderRepository
+				.findHistoryFirstPage(user.getEmail(), PageRequest.of(0, 21))));
+		double countsBefore = measure(() -> orderRepository.countOrdersByStatus(emptyCriteria()));
+
+		int archived = orderArchiveService.archiveOldOrders();
+		entityManager.clear();
+
+		double historyAfter = measure(() -> users.forEach(user -> orderRepository
+				.findHistoryFirstPage(user.getEmail(), PageRequest.of(0, 21))));
+		double countsAfter = measure(() -> orderRepository.countOrdersByStatus(emptyCriteria()));
+
+		log.info("Order archival: {} of {} orders archived", archived, orders);
+		log.info("  history first page ({} users): {} us -> {} us", USERS, Math.round(historyBefore),
+				Math.round(historyAfter));
+		log.info("  admin status counts: {} us -> {} us", Math.round(countsBefore), Math.round(countsAfter));
+		assertEquals(orders * 9 / 10, archived);
+	}
+
+	private List<User> seedOrders(int count) {
+		List<User> users = new ArrayList<>();
+		for (int i = 0; i < USERS; i++) {
+			users.add(userRepository.save(User.builder().name("Buyer " + i).email("archive" + i + "@example.com")
+					.password("x").role("ROLE_USER").active(true).build()));
+		}
+		Product product = new Product();
+		product.setName("Makhana");
+		product.setPrice(99.5);
+		product.setAvailable(true);
+		product = productRepository.save(product);
+		entityManager.flush();
+
+		// Every tenth order is recent and still open; the rest are old and finished
+		LocalDateTime now = LocalDateTime.now();
+		List<Object[]> orders = new ArrayList<>();
+		List<Object[]> items = new ArrayList<>();
+		List<Object[]> history = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			long id = FIRST_ORDER_ID + i;
+			boolean recent = i % 10 == 9;
+			Timestamp date = Timestamp.valueOf(recent ? now.minusHours(i % 240) : now.minusDays(60 + i % 700)
+					.minusMinutes(i));
+			String status = recent ? "PLACED" : (i % 7 == 0 ? "CANCELLED" : "DELIVERED");
+			orders.add(new Object[] { id, users.get(i % USERS).getId(), date, new BigDecimal("249.00"), status });
+			items.add(new Object[] { id * 2, id, product.getId(), 1, new BigDecimal("99.50"), "Makhana" });
+			items.add(new Object[] { id * 2 + 1, id, product.getId(), 1, new BigDecimal("149.50"), "Makhana" });
+			history.add(new Object[] { id, id, status, date, "seed" });
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO orders (id, user_id, order_date, total_amount, status, version) "
+				+ "VALUES (?, ?, ?, ?, ?, 0)", orders);
+		jdbcTemplate.batchUpdate("INSERT INTO order_items (id, order_id, product_id, quantity, price, product_name) "
+				+ "VALUES (?, ?, ?, ?, ?, ?)", items);
+		jdbcTemplate.batchUpdate("INSERT INTO order_status_history (id, order_id, to_status, changed_at, changed_by) "
+				+ "VALUES (?, ?, ?, ?, ?)", history);
+		return users;
+	}
+
+	private static OrderSearchCriteria emptyCriteria() {
+		return new OrderSearchCriteria(null, null, null, null, null, null);
+	}
+
+	private long count(String table) {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+	}
+
+	// Average wall time in microseconds, after a short warm-up
+	private double measure(Runnable query) {
+		for (int i = 0; i < 3; i++) {
+			query.run();
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			query.run();
+			entityManager.clear();
+		}
+		return (System.nanoTime() - start) / 1_000.0 / ITERATIONS;
+	}
+
+}
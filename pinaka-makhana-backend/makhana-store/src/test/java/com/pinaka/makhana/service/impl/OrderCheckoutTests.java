@@ -0,0 +1,272 @@
+package com.pinaka.makhana.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import com.pinaka.makhana.dto.OrderQuote;
+import com.pinaka.makhana.entity.CartItem;
+import com.pinaka.makhana.entity.Coupon;
+import com.pinaka.makhana.entity.Order;
+import com.pinaka.makhana.entity.Product;
+import com.pinaka.makhana.entity.User;
+import com.pinaka.makhana.repository.CartItemRepository;
+import com.pinaka.makhana.repository.CouponRepository;
+import com.pinaka.makhana.repository.OrderRepository;
+import com.pinaka.makhana.repository.ProductRepository;
+import com.pinaka.makhana.repository.UserRepository;
+import com.pinaka.makhana.util.CouponCodeFilter;
+import com.pinaka.makhana.util.CouponCodes;
+import com.pinaka.makhana.util.CouponRuleCache;
+import com.pinaka.makhana.util.FirstOrderTracker;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Checkout behaviour end to end on H2: what the customer is quoted, what the
+ * saved order carries, and what happens to the cart.
+ */
+@CheckoutJpaTest
+@TestPropertySource(properties = {
+		"app.checkout.shipping-fee=50",
+		"app.checkout.free-shipping-threshold=500",
+		"app.checkout.tax-rate=0.05" })
+class OrderCheckoutTests {
+
+	@Autowired
+	private OrderServiceImpl orderService;
+
+	@Autowired
+	private CouponRuleCache couponRuleCache;
+
+	@Autowired
+	private CouponRepository couponRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@MockitoSpyBean
+	private CartItemRepository cartItemRepository;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private CouponCodeFilter couponCodeFilter;
+
+	@Autowired
+	private OrderArchiveServiceImpl orderArchiveService;
+
+	@Autowired
+	private FirstOrderTracker firstOrderTracker;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Test
+	void placedOrderIsChargedTheQuotedTotal() {
+		saveCoupon("TENOFF");
+		User user = saveBuyer("quoted@example.com");
+		addToCart(user, 199.0, 2);
+		couponRuleCache.reload();
+
+		// 398.00 - 10.00 coupon = 388.00, under the free-shipping threshold, 5% tax on the discounted amount
+		OrderQuote quote = orderService.quoteOrder(user.getEmail(), "TENOFF");
+		assertTrue(quote.isCouponApplied());
+		assertEquals(new BigDecimal("50.00"), quote.getShipping());
+		assertEquals(new BigDecimal("19.40"), quote.getTax());
+		assertEquals(new BigDecimal("457.40"), quote.getTotal());
+		// The code is normalized before the cache lookup, so a differently typed refresh is a hit
+		assertSame(quote, orderService.quoteOrder(user.getEmail(), " tenoff"));
+
+		orderService.placeOrder(user.getEmail(), "TENOFF");
+		entityManager.flush();
+		entityManager.clear();
+
+		Order order = single(user);
+		assertEquals(quote.getTotal(), order.getTotalAmount());
+		assertEquals(quote.getDiscount(), order.getDiscountAmount());
+		assertEquals(quote.getShipping(), order.getShippingAmount());
+		assertEquals(quote.getTax(), order.getTaxAmount());
+	}
+
+	@Test
+	void campaignCodeQuotesWhatCheckoutCharges() {
+		Coupon template = saveCoupon("FESTIVE");
+		template.setCampaignOnly(true);
+		couponRepository.save(template);
+		String issued = CouponCodes.generate("FESTIVE", CouponCodes.saltFor(template.getId()), 0);
+		String guessed = CouponCodes.generate("FESTIVE", CouponCodes.saltFor(template.getId()), 1);
+		jdbcTemplate.update("INSERT INTO coupon_codes (code, coupon_id, redeemed) VALUES (?, ?, FALSE)", issued,
+				template.getId());
+		User user = saveBuyer("campaign@example.com");
+		addToCart(user, 199.0, 2);
+		couponRuleCache.reload();
+
+		OrderQuote quote = orderService.quoteOrder(user.getEmail(), issued);
+		assertTrue(quote.isCouponApplied());
+		assertEquals(new BigDecimal("10.00"), quote.getDiscount());
+
+		orderService.placeOrder(user.getEmail(), issued);
+		entityManager.flush();
+		entityManager.clear();
+		assertEquals(quote.getTotal(), single(user).getTotalAmount());
+		assertEquals(issued, single(user).getCouponCode());
+
+		// A well-formed code that was never issued goes to the database once, then the negative cache answers
+		addToCart(user, 199.0, 1);
+		long rejected = (Long) couponCodeFilter.getStats().get("rejectedCampaignCodes");
+		assertTrue(assertThrows(RuntimeException.class, () -> orderService.placeOrder(user.getEmail(), guessed))
+				.getMessage().contains("Invalid coupon code"));
+		assertThrows(RuntimeException.class, () -> orderService.placeOrder(user.getEmail(), guessed));
+		assertEquals(rejected + 1, couponCodeFilter.getStats().get("rejectedCampaignCodes"));
+	}
+
+	@Test
+	void bareCampaignTemplateCodeIsRejected() {
+		Coupon template = saveCoupon("SPRING");
+		template.setCampaignOnly(true);
+		couponRepository.save(template);
+		String issued = CouponCodes.generate("SPRING", CouponCodes.saltFor(template.getId()), 0);
+		jdbcTemplate.update("INSERT INTO coupon_codes (code, coupon_id, redeemed) VALUES (?, ?, FALSE)", issued,
+				template.getId());
+		User user = saveBuyer("stripped@example.com");
+		addToCart(user, 199.0, 2);
+		couponRuleCache.reload();
+
+		// The prefix of every issued code, with the single-use suffix stripped
+		assertFalse(orderService.quoteOrder(user.getEmail(), "spring").isCouponApplied());
+		assertTrue(couponRuleCache.index().rank(39_800L, false, amount -> 0L, 5).isEmpty());
+		RuntimeException refused = assertThrows(RuntimeException.class,
+				() -> orderService.placeOrder(user.getEmail(), "SPRING"));
+		assertTrue(refused.getMessage().contains("Invalid coupon code"), refused.getMessage());
+
+		// The issued code still redeems the campaign
+		orderService.placeOrder(user.getEmail(), issued);
+		entityManager.flush();
+		entityManager.clear();
+		assertEquals(issued, single(user).getCouponCode());
+	}
+
+	@Test
+	void lineAddedDuringCheckoutStaysInTheCart() {
+		User user = saveBuyer("racing@example.com");
+		addToCart(user, 120.0, 1);
+		addToCart(user, 80.0, 2);
+
+		// Another tab adds a line after checkout has read and priced the cart
+		Long[] lateLine = new Long[1];
+		// The repository is a JDK proxy, so the spy's default answer is what reaches the real one
+		var repository = mockingDetails(cartItemRepository).getMockCreationSettings().getDefaultAnswer();
+		doAnswer(invocation -> {
+			Object priced = repository.answer(invocation);
+			lateLine[0] = addToCart(user, 45.0, 1).getId();
+			return priced;
+		}).when(cartItemRepository).findByUserWithProduct(any(User.class));
+
+		orderService.placeOrder(user.getEmail());
+		entityManager.flush();
+		entityManager.clear();
+
+		Order order = single(user);
+		assertEquals(2, order.getItems().size());
+		List<CartItem> left = cartItemRepository.findByUser(order.getUser());
+		assertEquals(1, left.size());
+		assertEquals(lateLine[0], left.get(0).getId());
+	}
+
+	@Test
+	void firstOrderCouponIsRefusedOnceThePreviousOrdersAreArchived() {
+		Coupon welcome = saveCoupon("WELCOME");
+		welcome.setFirstTimeUserOnly(true);
+		couponRepository.save(welcome);
+		User user = saveBuyer("returning@example.com");
+		addToCart(user, 199.0, 1);
+		couponRuleCache.reload();
+
+		// A delivered order from two years ago, moved out of the hot table
+		jdbcTemplate.update("INSERT INTO orders (id, user_id, order_date, total_amount, status, version) "
+				+ "VALUES (?, ?, ?, 249.00, 'DELIVERED', 0)", 9_000_000L, user.getId(),
+				Timestamp.valueOf(LocalDateTime.now().minusYears(2)));
+		assertEquals(1, orderArchiveService.archiveOldOrders());
+		assertTrue(orderRepository.findByUser(user).isEmpty());
+
+		RuntimeException refused = assertThrows(RuntimeException.class,
+				() -> orderService.placeOrder(user.getEmail(), "WELCOME"));
+		assertTrue(refused.getMessage().contains("cannot be applied"), refused.getMessage());
+	}
+
+	@Test
+	void failedAndCancelledOrdersDoNotUseUpAFirstOrderCoupon() {
+		Coupon welcome = saveCoupon("WELCOME");
+		welcome.setFirstTimeUserOnly(true);
+		couponRepository.save(welcome);
+		User user = saveBuyer("retrying@example.com");
+		addToCart(user, 199.0, 1);
+		couponRuleCache.reload();
+
+		// An old cancelled order that gets archived, plus a failed and a still-pending one in the hot table
+		String insert = "INSERT INTO orders (id, user_id, order_date, total_amount, status, version) "
+				+ "VALUES (?, ?, ?, 249.00, ?, 0)";
+		jdbcTemplate.update(insert, 9_100_000L, user.getId(),
+				Timestamp.valueOf(LocalDateTime.now().minusYears(2)), "CANCELLED");
+		assertEquals(1, orderArchiveService.archiveOldOrders());
+		jdbcTemplate.update(insert, 9_100_001L, user.getId(), Timestamp.valueOf(LocalDateTime.now()), "FAILED");
+		jdbcTemplate.update(insert, 9_100_002L, user.getId(), Timestamp.valueOf(LocalDateTime.now()), "PENDING");
+		firstOrderTracker.load();
+
+		assertTrue(firstOrderTracker.isFirstTimeUser(user.getId()));
+		orderService.placeOrder(user.getEmail(), "WELCOME");
+		entityManager.flush();
+		entityManager.clear();
+		assertEquals(1, orderRepository.findByUser(user).stream()
+				.filter(order -> "WELCOME".equals(order.getCouponCode())).count());
+	}
+
+	private Order single(User user) {
+		List<Order> orders = orderRepository.findByUser(userRepository.findByEmail(user.getEmail()).orElseThrow());
+		assertEquals(1, orders.size());
+		return orders.get(0);
+	}
+
+	private Coupon saveCoupon(String code) {
+		return couponRepository.save(new Coupon(code, "Checkout test", Coupon.DiscountType.FIXED_AMOUNT, 10.0,
+				LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1)));
+	}
+
+	private User saveBuyer(String email) {
+		return userRepository.save(User.builder().name("Buyer").email(email).password("x").role("ROLE_USER")
+				.active(true).build());
+	}
+
+	private CartItem addToCart(User user, double price, int quantity) {
+		Product product = new Product();
+		product.setName("Makhana");
+		product.setPrice(price);
+		product.setAvailable(true);
+		return cartItemRepository.save(new CartItem(user, productRepository.save(product), quantity));
+	}
+
+}
@@ -0,0 +1,92 @@
+package com.pinaka.makhana.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.pinaka.makhana.entity.CartItem;
+import com.pinaka.makhana.entity.Order;
+import com.pinaka.makhana.entity.Product;
+import com.pinaka.makhana.entity.User;
+import com.pinaka.makhana.repository.CartItemRepository;
+import com.pinaka.makhana.repository.OrderRepository;
+import com.pinaka.makhana.repository.ProductRepository;
+import com.pinaka.makhana.repository.UserRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Pins the number of JDBC statements a checkout issues, regardless of cart size.
+ */
+@CheckoutJpaTest
+class OrderPlacementStatementCountTests {
+
+	// user lookup, cart fetch-join, order insert, order_items batch insert, status history insert,
+	// sales rollup outbox insert, cart bulk delete
+	private static final long STATEMENTS_PER_CHECKOUT = 7;
+
+	@Autowired
+	private OrderServiceImpl orderService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private CartItemRepository cartItemRepository;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@ParameterizedTest
+	@ValueSource(ints = { 1, 10, 50 })
+	void checkoutStatementCountIsIndependentOfCartSize(int lines) {
+		String email = "buyer" + lines + "@example.com";
+		User user = userRepository.save(User.builder().name("Buyer").email(email).password("x").role("ROLE_USER")
+				.active(true).build());
+
+		List<CartItem> cart = new ArrayList<>();
+		for (int i = 0; i < lines; i++) {
+			Product product = new Product();
+			product.setName("Makhana " + i);
+			product.setPrice(99.5 + i);
+			product.setAvailable(true);
+			cart.add(new CartItem(user, productRepository.save(product), 1 + i % 3));
+		}
+		cartItemRepository.saveAll(cart);
+		entityManager.flush();
+		entityManager.clear();
+
+		// Id block fetches from id_generators run in isolated work and are not part of this count
+		Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		orderService.placeOrder(email);
+		entityManager.flush();
+
+		long statements = statistics.getPrepareStatementCount();
+		entityManager.clear();
+
+		User reloaded = userRepository.findByEmail(email).orElseThrow();
+		List<Order> orders = orderRepository.findByUser(reloaded);
+		assertEquals(1, orders.size());
+		assertEquals(lines, orders.get(0).getItems().size());
+		assertTrue(cartItemRepository.findByUser(reloaded).isEmpty());
+
+		assertEquals(STATEMENTS_PER_CHECKOUT, statements, "statements per checkout for a " + lines + "-line cart");
+	}
+
+}
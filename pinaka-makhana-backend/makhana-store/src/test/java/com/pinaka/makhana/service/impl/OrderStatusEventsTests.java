@@ -0,0 +1,66 @@
+package com.pinaka.makhana.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.pinaka.makhana.entity.OrderStatusHistory;
+
+/**
+ * Resuming an order's status stream when history ids come from different
+ * instances' pooled blocks and so do not follow time.
+ */
+@CheckoutJpaTest
+class OrderStatusEventsTests {
+
+	private static final long ORDER_ID = 42L;
+
+	@Autowired
+	private OrderServiceImpl orderService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void seedHistory() {
+		LocalDateTime placedAt = LocalDateTime.now().minusHours(1);
+		// The SHIPPED row was written by an instance still drawing from an older, lower block
+		insert(120L, null, "PLACED", placedAt);
+		insert(130L, "PLACED", "CONFIRMED", placedAt.plusMinutes(5));
+		insert(70L, "CONFIRMED", "SHIPPED", placedAt.plusMinutes(30));
+	}
+
+	@Test
+	void resumeFollowsChangeTimeNotId() {
+		assertEquals(List.of(130L, 70L), ids(orderService.getOrderStatusEvents(ORDER_ID, 120L)));
+		assertEquals(List.of(70L), ids(orderService.getOrderStatusEvents(ORDER_ID, 130L)));
+		assertEquals(List.of(), ids(orderService.getOrderStatusEvents(ORDER_ID, 70L)));
+	}
+
+	@Test
+	void latestEventIsTheLastChange() {
+		assertEquals(List.of(70L), ids(orderService.getOrderStatusEvents(ORDER_ID, null)));
+	}
+
+	@Test
+	void unknownEventIdReplaysTheWholeHistory() {
+		assertEquals(List.of(120L, 130L, 70L), ids(orderService.getOrderStatusEvents(ORDER_ID, 999L)));
+	}
+
+	private void insert(long id, String from, String to, LocalDateTime changedAt) {
+		jdbcTemplate.update("INSERT INTO order_status_history (id, order_id, from_status, to_status, changed_at, "
+				+ "changed_by) VALUES (?, ?, ?, ?, ?, 'system')", id, ORDER_ID, from, to, Timestamp.valueOf(changedAt));
+	}
+
+	private static List<Long> ids(List<OrderStatusHistory> events) {
+		return events.stream().map(OrderStatusHistory::getId).toList();
+	}
+
+}
@@ -0,0 +1,293 @@
+package com.pinaka.makhana.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.pinaka.makhana.entity.Product;
+import com.pinaka.makhana.entity.User;
+import com.pinaka.makhana.repository.ProductRepository;
+import com.pinaka.makhana.repository.UserRepository;
+import com.pinaka.makhana.service.SalesRollupService.Dimension;
+import com.pinaka.makhana.service.SalesRollupService.Granularity;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Outbox deltas, concurrent workers and rebuilds against MySQL: the rollup SQL
+ * (SKIP LOCKED, ON DUPLICATE KEY UPDATE, DELETE ... JOIN, named locks) does not
+ * run on H2. Hot tables come from the entities, the rest from V11 and the
+ * rollup tables of V10. Skipped where Docker is not available.
+ */
+@DataJpaTest
+@Testcontainers(disabledWithoutDocker = true)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ SalesRollupServiceImpl.class, SimpleMeterRegistry.class })
+@TestPropertySource(properties = {
+		"spring.flyway.enabled=false",
+		"spring.sql.init.mode=never",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.jpa.properties.hibernate.hbm2ddl.import_files="
+				+ "db/migration/V11__order_archive.sql,db/archive-columns.sql,db/sales-rollup-tables.sql",
+		"spring.jpa.properties.hibernate.hbm2ddl.import_files_sql_extractor="
+				+ "org.hibernate.tool.schema.internal.script.MultiLineSqlScriptExtractor",
+		"app.sales.rollup.batch-size=3",
+		"app.sales.rollup.lock-wait-seconds=1" })
+class SalesRollupServiceTests {
+
+	@Container
+	@ServiceConnection
+	static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+	private static final LocalDate DAY = LocalDate.of(2026, 3, 14);
+
+	private final AtomicLong ids = new AtomicLong(1_000);
+
+	@Autowired
+	private SalesRollupServiceImpl salesRollupService;
+
+	@Autowired
+	private NamedParameterJdbcTemplate namedJdbc;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	private User buyer;
+	private Product product;
+
+	@BeforeEach
+	void cleanTables() {
+		for (String table : List.of("sales_rollup_outbox", "sales_rollup_hourly", "sales_rollup_daily",
+				"order_items", "orders", "order_items_archive", "orders_archive", "users", "product")) {
+			jdbcTemplate.update("DELETE FROM " + table);
+		}
+		buyer = userRepository.save(User.builder().name("Buyer").email("rollup@example.com").password("x")
+				.role("ROLE_USER").state("Bihar").build());
+		product = new Product();
+		product.setName("Makhana");
+		product.setPrice(199.5);
+		product.setAvailable(true);
+		product.setCategory(Product.ProductCategory.ROASTED_MAKHANA);
+		product = productRepository.save(product);
+	}
+
+	@Test
+	void cancellationTakesBackWhatPlacingAdded() {
+		long orderId = order(DAY.atTime(10, 15), "PLACED", 2);
+		event(orderId, 1);
+		assertEquals(1, salesRollupService.applyPendingEvents());
+
+		Map<String, Object> day = dailyTotal();
+		assertEquals(1L, day.get("orders"));
+		assertEquals(2L, day.get("units"));
+		assertEquals(0, new BigDecimal("399.00").compareTo((BigDecimal) day.get("revenue")));
+		assertEquals(1, salesRollupService.getSeries(Granularity.HOUR, Dimension.PRODUCT,
+				product.getId().toString(), DAY.atTime(10, 0), DAY.atTime(11, 0)).size());
+		assertEquals(1L, salesRollupService.getSeries(Granularity.DAY, Dimension.STATE, "Bihar",
+				DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay()).get(0).get("orders"));
+
+		jdbcTemplate.update("UPDATE orders SET status = 'CANCELLED' WHERE id = ?", orderId);
+		event(orderId, -1);
+		assertEquals(1, salesRollupService.applyPendingEvents());
+
+		day = dailyTotal();
+		assertEquals(0L, day.get("orders"));
+		assertEquals(0L, day.get("units"));
+		assertEquals(0, BigDecimal.ZERO.compareTo((BigDecimal) day.get("revenue")));
+	}
+
+	@Test
+	void eachEventIsAppliedOnceAcrossInstances() throws Exception {
+		for (int i = 0; i < 10; i++) {
+			event(order(DAY.atTime(9, i), "PLACED", 1), 1);
+		}
+		// A second instance draining the same outbox
+		SalesRollupServiceImpl other = new SalesRollupServiceImpl(namedJdbc, transactionTemplate,
+				new SimpleMeterRegistry(), 3, 2, 1);
+
+		AtomicInteger applied = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		List<CompletableFuture<Void>> workers = new ArrayList<>();
+		for (SalesRollupServiceImpl worker : List.of(salesRollupService, other)) {
+			workers.add(CompletableFuture.runAsync(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				while (pendingEvents() > 0) {
+					applied.addAndGet(worker.applyPendingEvents());
+				}
+			}));
+		}
+		start.countDown();
+		CompletableFuture.allOf(workers.toArray(CompletableFuture[]::new)).get();
+
+		assertEquals(10, applied.get());
+		assertEquals(10L, dailyTotal().get("orders"));
+		// Nothing left to apply twice
+		assertEquals(0, salesRollupService.applyPendingEvents());
+		assertEquals(10L, dailyTotal().get("orders"));
+	}
+
+	@Test
+	void rebuildMatchesTheIncrementalRollupsAndAFreshAggregate() {
+		for (int d = 0; d < 3; d++) {
+			for (int h = 8; h < 20; h += 3) {
+				long orderId = order(DAY.plusDays(d).atTime(h, 30), "DELIVERED", 1 + h % 4);
+				event(orderId, 1);
+			}
+		}
+		long cancelled = order(DAY.atTime(12, 0), "PLACED", 5);
+		event(cancelled, 1);
+		long archived = order(DAY.plusDays(1).atTime(7, 45), "DELIVERED", 3);
+		event(archived, 1);
+		while (salesRollupService.applyPendingEvents() > 0) {
+			// drain
+		}
+		jdbcTemplate.update("UPDATE orders SET status = 'CANCELLED' WHERE id = ?", cancelled);
+		event(cancelled, -1);
+		salesRollupService.applyPendingEvents();
+		archive(archived);
+
+		List<Map<String, Object>> incremental = rollupRows();
+		salesRollupService.rebuild();
+		assertEquals(incremental, rollupRows());
+
+		List<Map<String, Object>> fresh = jdbcTemplate.queryForList("SELECT DATE(o.order_date) AS day, "
+				+ "COUNT(DISTINCT o.id) AS orders, SUM(i.quantity) AS units, "
+				+ "SUM(ROUND(i.price * 100) * i.quantity) AS revenue FROM (SELECT id, order_date, status FROM orders "
+				+ "UNION ALL SELECT id, order_date, status FROM orders_archive) o "
+				+ "JOIN (SELECT order_id, quantity, price FROM order_items "
+				+ "UNION ALL SELECT order_id, quantity, price FROM order_items_archive) i ON i.order_id = o.id "
+				+ "WHERE o.status IN ('PLACED', 'CONFIRMED', 'SHIPPED', 'DELIVERED') "
+				+ "GROUP BY DATE(o.order_date) ORDER BY day");
+		List<Map<String, Object>> rebuilt = jdbcTemplate.queryForList("SELECT DATE(bucket_start) AS day, "
+				+ "order_count AS orders, units, revenue_paise AS revenue FROM sales_rollup_daily "
+				+ "WHERE dimension = 'TOTAL' ORDER BY day");
+		assertEquals(3, fresh.size());
+		assertEquals(fresh.size(), rebuilt.size());
+		for (int i = 0; i < fresh.size(); i++) {
+			for (String column : List.of("day", "orders", "units", "revenue")) {
+				assertEquals(fresh.get(i).get(column).toString(), rebuilt.get(i).get(column).toString(), column);
+			}
+		}
+	}
+
+	@Test
+	void workAndRebuildsWaitForTheLockHeldByAnotherInstance() throws Exception {
+		event(order(DAY.atTime(11, 0), "PLACED", 1), 1);
+
+		try (Connection otherInstance = dataSource.getConnection()) {
+			assertEquals(1, lock(otherInstance, "SELECT GET_LOCK(?, 0)"));
+			assertEquals(0, salesRollupService.applyPendingEvents());
+			RuntimeException refused = assertThrows(RuntimeException.class, salesRollupService::rebuild);
+			assertTrue(refused.getMessage().contains("another instance"), refused.getMessage());
+			assertEquals(1, lock(otherInstance, "SELECT RELEASE_LOCK(?)"));
+		}
+
+		assertEquals(1, salesRollupService.applyPendingEvents());
+		assertEquals(1L, dailyTotal().get("orders"));
+	}
+
+	private long order(LocalDateTime at, String status, int quantity) {
+		long orderId = ids.incrementAndGet();
+		jdbcTemplate.update("INSERT INTO orders (id, user_id, order_date, total_amount, status, version) "
+				+ "VALUES (?, ?, ?, ?, ?, 0)", orderId, buyer.getId(), Timestamp.valueOf(at),
+				new BigDecimal("199.50").multiply(BigDecimal.valueOf(quantity)), status);
+		jdbcTemplate.update("INSERT INTO order_items (id, order_id, product_id, quantity, price, product_name) "
+				+ "VALUES (?, ?, ?, ?, 199.50, 'Makhana')", ids.incrementAndGet(), orderId, product.getId(),
+				quantity);
+		return orderId;
+	}
+
+	private void event(long orderId, int delta) {
+		jdbcTemplate.update("INSERT INTO sales_rollup_outbox (id, order_id, delta, created_at) VALUES (?, ?, ?, ?)",
+				ids.incrementAndGet(), orderId, delta, Timestamp.valueOf(LocalDateTime.now()));
+	}
+
+	private void archive(long orderId) {
+		jdbcTemplate.update("INSERT INTO orders_archive (id, user_id, order_date, total_amount, status, version, "
+				+ "archive_batch_id) SELECT id, user_id, order_date, total_amount, status, version, 1 FROM orders "
+				+ "WHERE id = ?", orderId);
+		jdbcTemplate.update("INSERT INTO order_items_archive (id, order_id, product_id, quantity, price, "
+				+ "product_name) SELECT id, order_id, product_id, quantity, price, product_name FROM order_items "
+				+ "WHERE order_id = ?", orderId);
+		jdbcTemplate.update("DELETE FROM order_items WHERE order_id = ?", orderId);
+		jdbcTemplate.update("DELETE FROM orders WHERE id = ?", orderId);
+	}
+
+	private long pendingEvents() {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sales_rollup_outbox", Long.class);
+	}
+
+	private Map<String, Object> dailyTotal() {
+		return salesRollupService.getSeries(Granularity.DAY, Dimension.TOTAL, "ALL", DAY.atStartOfDay(),
+				DAY.plusDays(1).atStartOfDay()).get(0);
+	}
+
+	// Incremental rollups keep buckets that netted out to zero; a rebuild does not write them
+	private List<Map<String, Object>> rollupRows() {
+		return jdbcTemplate.queryForList("SELECT 'HOUR' AS granularity, r.* FROM sales_rollup_hourly r "
+				+ "WHERE order_count <> 0 OR units <> 0 OR revenue_paise <> 0 UNION ALL "
+				+ "SELECT 'DAY', d.* FROM sales_rollup_daily d WHERE order_count <> 0 OR units <> 0 OR revenue_paise <> 0 "
+				+ "ORDER BY 1, 2, 3, 4");
+	}
+
+	private static int lock(Connection con, String sql) throws Exception {
+		try (var statement = con.prepareStatement(sql)) {
+			statement.setString(1, SalesRollupServiceImpl.ROLLUP_LOCK);
+			try (var rs = statement.executeQuery()) {
+				rs.next();
+				return rs.getInt(1);
+			}
+		}
+	}
+
+}
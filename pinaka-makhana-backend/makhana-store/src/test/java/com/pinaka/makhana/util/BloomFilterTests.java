@@ -0,0 +1,90 @@
+package com.pinaka.makhana.util;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+class BloomFilterTests {
+
+	private static final Logger log = LoggerFactory.getLogger(BloomFilterTests.class);
+
+	private static final double TARGET_RATE = 0.01;
+	private static final String ALPHABET = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789";
+
+	@Test
+	void addedCodesAreAlwaysFoundAndOthersRarely() {
+		Random random = new Random(45);
+		Set<String> codes = randomCodes(random, 20_000);
+		BloomFilter filter = BloomFilter.create(codes.size(), TARGET_RATE);
+		codes.forEach(filter::put);
+
+		double measured = falsePositiveRate(filter, codes, random, 20_000);
+		assertTrue(measured < TARGET_RATE * 1.5, "measured false positive rate " + measured);
+		// About 9.6 bits per code for a 1% rate
+		assertTrue(filter.bitSize() < 11L * codes.size(), "bits: " + filter.bitSize());
+	}
+
+	/**
+	 * Sizes a filter for 1M coupon codes and logs its memory footprint and the
+	 * measured false positive rate against 1M codes that were never added.
+	 */
+	@Test
+	@Tag("benchmark")
+	void oneMillionCodes() {
+		int count = 1_000_000;
+		Random random = new Random(45);
+		Set<String> codes = randomCodes(random, count);
+		BloomFilter filter = BloomFilter.create(count, TARGET_RATE);
+		codes.forEach(filter::put);
+
+		double measured = falsePositiveRate(filter, codes, random, 1_000_000);
+		log.info("Coupon code Bloom filter: {} codes, {} hash functions, {} bytes ({} bits/code)", count,
+				filter.hashCount(), filter.sizeInBytes(), filter.bitSize() / count);
+		log.info("  false positive rate: target {}, expected {}, measured {}", TARGET_RATE,
+				filter.expectedFalsePositiveRate(count), measured);
+	}
+
+	// Also asserts there are no false negatives
+	private static double falsePositiveRate(BloomFilter filter, Set<String> codes, Random random, int probes) {
+		for (String code : codes) {
+			assertTrue(filter.mightContain(code), code);
+		}
+		int falsePositives = 0;
+		int probed = 0;
+		while (probed < probes) {
+			String probe = randomCode(random);
+			if (codes.contains(probe)) {
+				continue;
+			}
+			probed++;
+			if (filter.mightContain(probe)) {
+				falsePositives++;
+			}
+		}
+		return (double) falsePositives / probed;
+	}
+
+	private static Set<String> randomCodes(Random random, int count) {
+		Set<String> codes = new HashSet<>(count * 2);
+		while (codes.size() < count) {
+			codes.add(randomCode(random));
+		}
+		return codes;
+	}
+
+	private static String randomCode(Random random) {
+		char[] code = new char[10];
+		for (int i = 0; i < code.length; i++) {
+			code[i] = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+		}
+		return new String(code);
+	}
+
+}
@@ -0,0 +1,77 @@
+package com.pinaka.makhana.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class CouponCodesTests {
+
+	private static final int CODES = 1_000_000;
+
+	@Test
+	void sequencesMapToDistinctWellFormedCodes() {
+		long salt = CouponCodes.saltFor(42L);
+		Set<String> codes = new HashSet<>(CODES * 2);
+		for (long sequence = 0; sequence < CODES; sequence++) {
+			String code = CouponCodes.generate("DIWALI", salt, sequence);
+			assertTrue(CouponCodes.isWellFormed(code), code);
+			assertTrue(codes.add(code), "duplicate " + code);
+		}
+		assertEquals(CODES, codes.size());
+	}
+
+	@Test
+	void campaignsWithTheSameSequenceGetDifferentBodies() {
+		String first = CouponCodes.generate("X", CouponCodes.saltFor(1L), 7);
+		String second = CouponCodes.generate("X", CouponCodes.saltFor(2L), 7);
+		assertFalse(first.equals(second));
+		assertEquals("X", CouponCodes.prefixOf(first));
+		assertEquals("DIWALI-SALE", CouponCodes.prefixOf(CouponCodes.generate("DIWALI-SALE", 0L, 0)));
+	}
+
+	@Test
+	void checkCharacterCatchesTypos() {
+		long salt = CouponCodes.saltFor(7L);
+		int transpositions = 0;
+		int transpositionsCaught = 0;
+		for (long sequence = 0; sequence < 2_000; sequence++) {
+			char[] code = CouponCodes.generate("SALE", salt, sequence).toCharArray();
+			int bodyStart = code.length - CouponCodes.BODY_LENGTH - 1;
+			for (int i = bodyStart; i < code.length; i++) {
+				char original = code[i];
+				for (char replacement : CouponCodes.ALPHABET.toCharArray()) {
+					if (replacement != original) {
+						code[i] = replacement;
+						assertFalse(CouponCodes.isWellFormed(new String(code)), new String(code));
+					}
+				}
+				code[i] = original;
+			}
+			for (int i = bodyStart; i < code.length - 1; i++) {
+				if (code[i] == code[i + 1]) {
+					continue;
+				}
+				swap(code, i);
+				transpositions++;
+				if (!CouponCodes.isWellFormed(new String(code))) {
+					transpositionsCaught++;
+				}
+				swap(code, i);
+			}
+		}
+		assertTrue(transpositionsCaught > transpositions * 0.95,
+				transpositionsCaught + " of " + transpositions + " adjacent transpositions caught");
+	}
+
+	private static void swap(char[] chars, int i) {
+		char tmp = chars[i];
+		chars[i] = chars[i + 1];
+		chars[i + 1] = tmp;
+	}
+
+}
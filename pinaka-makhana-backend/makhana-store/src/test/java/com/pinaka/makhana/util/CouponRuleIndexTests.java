@@ -0,0 +1,107 @@
+package com.pinaka.makhana.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.LongUnaryOperator;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.pinaka.makhana.entity.Coupon.DiscountType;
+import com.pinaka.makhana.util.CouponRuleIndex.RankedCoupon;
+
+class CouponRuleIndexTests {
+
+	private static final Logger log = LoggerFactory.getLogger(CouponRuleIndexTests.class);
+	private static final int ACTIVE_COUPONS = 10_000;
+	private static final int QUERIES = 2_000;
+	private static final LongUnaryOperator SHIPPING = amount -> PricingEngine.shipping(amount, 5_000L, 50_000L,
+			false);
+
+	@Test
+	void rankingMatchesFullScan() {
+		SplittableRandom random = new SplittableRandom(3);
+		long now = System.currentTimeMillis();
+		List<CouponRule> rules = randomRules(random, 1_000, now);
+		// Indexed the way the cache does it: live rules only
+		CouponRuleIndex index = new CouponRuleIndex(rules.stream().filter(rule -> rule.isLive(now)).toList());
+
+		for (int i = 0; i < 200; i++) {
+			long amount = random.nextLong(1_000, 600_000);
+			List<RankedCoupon> ranked = index.rank(amount, i % 2 == 0, SHIPPING, 5);
+			assertEquals(fullScan(rules, amount, i % 2 == 0, now), ranked.stream()
+					.map(r -> r.rule().code() + ":" + r.savingsPaise()).toList());
+		}
+	}
+
+	@Test
+	@Tag("benchmark")
+	void lookupLatencyOverTenThousandCoupons() {
+		SplittableRandom random = new SplittableRandom(3);
+		long now = System.currentTimeMillis();
+		CouponRuleIndex index = new CouponRuleIndex(
+				randomRules(random, ACTIVE_COUPONS, now).stream().filter(rule -> rule.isLive(now)).toList());
+
+		long[] amounts = new long[QUERIES];
+		for (int i = 0; i < QUERIES; i++) {
+			amounts[i] = random.nextLong(1_000, 600_000);
+		}
+		long start = System.nanoTime();
+		for (int round = 0; round < 5; round++) {
+			for (int i = 0; i < QUERIES; i++) {
+				index.rank(amounts[i], i % 2 == 0, SHIPPING, 5);
+			}
+		}
+		long nanos = (System.nanoTime() - start) / (5 * QUERIES);
+		log.info("Best coupon over {} active coupons: ~{} ns per lookup", ACTIVE_COUPONS, nanos);
+	}
+
+	@Test
+	void binarySearchCountsRulesWhoseMinimumIsMet() {
+		List<CouponRule> rules = new ArrayList<>();
+		for (long minimum : new long[] { 0, 100, 100, 500, 1_000 }) {
+			rules.add(new CouponRule(minimum, "M" + minimum, null, DiscountType.FIXED_AMOUNT, 0, 100, -1, minimum,
+					Long.MIN_VALUE, Long.MAX_VALUE, -1, 0, 1, false, false, false));
+		}
+		CouponRuleIndex index = new CouponRuleIndex(rules);
+		assertEquals(0, index.eligibleCount(-1));
+		assertEquals(1, index.eligibleCount(99));
+		assertEquals(3, index.eligibleCount(100));
+		assertEquals(5, index.eligibleCount(10_000));
+	}
+
+	private static List<CouponRule> randomRules(SplittableRandom random, int count, long now) {
+		List<CouponRule> rules = new ArrayList<>();
+		DiscountType[] types = DiscountType.values();
+		for (int i = 0; i < count; i++) {
+			rules.add(new CouponRule((long) i, "CODE" + i, "coupon " + i, types[random.nextInt(types.length)],
+					random.nextLong(100, 5_000), random.nextLong(1_000, 50_000), random.nextBoolean() ? -1L
+							: random.nextLong(1_000, 100_000),
+					random.nextLong(0, 500_000), now - 60_000L, now + (random.nextInt(10) == 0 ? -1 : 60_000L),
+					-1L, 0L, 1L, random.nextInt(5) == 0, random.nextInt(10) == 0, false));
+		}
+		return rules;
+	}
+
+	private static List<String> fullScan(List<CouponRule> rules, long amount, boolean firstTime, long now) {
+		long base = SHIPPING.applyAsLong(amount);
+		List<RankedCoupon> all = new ArrayList<>();
+		for (CouponRule rule : rules) {
+			long discount = rule.discount(amount, firstTime);
+			long saving = base - (rule.freeShipping() ? 0L : SHIPPING.applyAsLong(amount - discount));
+			if (rule.isLive(now) && rule.canBeUsed(amount, firstTime) && discount + saving > 0) {
+				all.add(new RankedCoupon(rule, discount, saving));
+			}
+		}
+		all.sort(Comparator.comparingLong(RankedCoupon::savingsPaise).reversed()
+				.thenComparing(r -> r.rule().code()));
+		return all.stream().limit(5).map(r -> r.rule().code() + ":" + r.savingsPaise()).toList();
+	}
+
+}
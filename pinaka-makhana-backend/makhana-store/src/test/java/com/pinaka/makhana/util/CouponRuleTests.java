@@ -0,0 +1,69 @@
+package com.pinaka.makhana.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import com.pinaka.makhana.entity.Coupon;
+
+class CouponRuleTests {
+
+	private static final int SAMPLES = 20_000;
+
+	@Test
+	void compiledRuleMatchesEntity() {
+		SplittableRandom random = new SplittableRandom(11);
+		Coupon.DiscountType[] types = Coupon.DiscountType.values();
+		for (int i = 0; i < SAMPLES; i++) {
+			LocalDateTime now = LocalDateTime.now();
+			Coupon coupon = new Coupon("c" + i, "test", types[random.nextInt(types.length)],
+					random.nextInt(1, 5_000) / 100.0, now.plusHours(randomOffset(random)),
+					now.plusHours(randomOffset(random)));
+			coupon.setMinimumOrderAmount(random.nextBoolean() ? random.nextInt(0, 100_000) / 100.0 : null);
+			coupon.setMaximumDiscountAmount(random.nextBoolean() ? random.nextInt(1, 50_000) / 100.0 : null);
+			coupon.setUsageLimit(random.nextBoolean() ? random.nextInt(1, 5) : null);
+			coupon.setUsageCount(random.nextInt(0, 5));
+			coupon.setFirstTimeUserOnly(random.nextBoolean());
+
+			CouponRule rule = CouponRule.compile(coupon);
+			long amount = random.nextLong(0, 20_000_000L);
+			boolean firstTime = random.nextBoolean();
+			long nowMillis = System.currentTimeMillis();
+			// The cache only serves live rules, so the window and usage checks happen there
+			boolean live = rule.isLive(nowMillis);
+			assertEquals(coupon.canBeUsed(amount, firstTime), live && rule.canBeUsed(amount, firstTime));
+			assertEquals(coupon.calculateDiscount(amount, firstTime), live ? rule.discount(amount, firstTime) : 0L);
+		}
+	}
+
+	// Whole hours either side of now, never zero, so the test clock cannot straddle a boundary
+	private static int randomOffset(SplittableRandom random) {
+		int hours = random.nextInt(1, 48);
+		return random.nextBoolean() ? hours : -hours;
+	}
+
+	@Test
+	void codesAreNormalizedWithoutCopyingCanonicalInput() {
+		String canonical = "WELCOME10";
+		assertSame(canonical, CouponRule.normalize(canonical));
+		assertEquals(canonical, CouponRule.normalize("  welcome10 "));
+	}
+
+	@Test
+	void windowIsExclusiveAtBothEnds() {
+		LocalDateTime start = LocalDateTime.now().minusHours(1);
+		Coupon coupon = new Coupon("EDGE", "test", Coupon.DiscountType.FIXED_AMOUNT, 10.0, start, start.plusHours(2));
+		CouponRule rule = CouponRule.compile(coupon);
+		assertFalse(rule.isLive(rule.startMillis()));
+		assertFalse(rule.isLive(rule.endMillis()));
+		assertTrue(rule.isLive(rule.startMillis() + 1));
+		assertEquals(1_000L, rule.discount(50_000L, false));
+	}
+
+}
@@ -0,0 +1,55 @@
+package com.pinaka.makhana.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.pinaka.makhana.util.IdempotencyStore.Claim;
+import com.pinaka.makhana.util.IdempotencyStore.StoredResponse;
+
+class IdempotencyStoreTests {
+
+	private static final int MAX_ENTRIES = 100;
+	private static final StoredResponse OK = new StoredResponse(200, "application/json", "{}".getBytes());
+
+	@Test
+	void completedEntriesAreEvictedOldestFirstWithinTheTtl() {
+		// A day-long TTL: nothing expires during the test, so only the size bound can make room
+		IdempotencyStore store = new IdempotencyStore(86_400, MAX_ENTRIES);
+		for (int i = 0; i < MAX_ENTRIES + 500; i++) {
+			Claim claim = store.claim("key" + i, "POST /api/orders/place?");
+			assertNotNull(claim);
+			assertTrue(claim.isOwner());
+			store.complete(claim, OK);
+			assertTrue(store.size() <= MAX_ENTRIES, "entries: " + store.size());
+		}
+		assertEquals(MAX_ENTRIES, store.size());
+
+		// The newest keys still replay; the oldest were dropped and execute again
+		assertFalse(store.claim("key" + (MAX_ENTRIES + 499), "POST /api/orders/place?").isOwner());
+		assertTrue(store.claim("key0", "POST /api/orders/place?").isOwner());
+	}
+
+	@Test
+	void inFlightEntriesAreKeptAndNewKeysRefusedWhenFull() {
+		IdempotencyStore store = new IdempotencyStore(86_400, MAX_ENTRIES);
+		Claim first = null;
+		for (int i = 0; i < MAX_ENTRIES; i++) {
+			Claim claim = store.claim("key" + i, "POST /api/cart?");
+			first = first == null ? claim : first;
+		}
+		assertNull(store.claim("overflow", "POST /api/cart?"));
+		assertEquals(MAX_ENTRIES, store.size());
+
+		// Once one of them completes its slot can be reused
+		store.complete(first, OK);
+		assertTrue(store.claim("overflow", "POST /api/cart?").isOwner());
+		assertEquals(MAX_ENTRIES, store.size());
+		assertNull(store.claim("key0", "POST /api/cart?"));
+	}
+
+}
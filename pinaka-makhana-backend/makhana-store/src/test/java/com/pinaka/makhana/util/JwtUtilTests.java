@@ -0,0 +1,140 @@
+package com.pinaka.makhana.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+class JwtUtilTests {
+
+	private static final Logger log = LoggerFactory.getLogger(JwtUtilTests.class);
+	private static final String SECRET = "3gDmPjc+nuej/Tnen2sGFr27s/o4B52Ki1Th43rf18sP1dHziwRdoBPg6EmDKi3PA/SvYTI6gnuQu3ZHZcOCFQ==";
+	private static final int REQUESTS = 20_000;
+
+	@Test
+	void verifiesEachTokenOnceAndRejectsTamperedOnes() {
+		JwtUtil jwtUtil = jwtUtil(100);
+		String token = jwtUtil.generateToken("asha@example.com", "ROLE_USER", "Asha", 7L);
+
+		// The filter, the rate limiter and a controller all read the same token
+		assertTrue(jwtUtil.validateToken(token));
+		assertEquals("asha@example.com", jwtUtil.extractEmail(token));
+		assertEquals(7L, jwtUtil.extractUserId(token));
+		assertEquals(1L, jwtUtil.getStats().get("verifications"));
+		assertEquals(2L, jwtUtil.getStats().get("cacheHits"));
+		// Every reader gets the same immutable entry
+		assertSame(jwtUtil.verify(token), jwtUtil.verify(token));
+
+		// A different token never hits the cached entry
+		String tampered = token.substring(0, token.length() - 4) + "AAAA";
+		assertFalse(jwtUtil.validateToken(tampered));
+		assertThrows(JwtException.class, () -> jwtUtil.verify(tampered));
+		assertFalse(jwtUtil.validateToken(""));
+	}
+
+	@Test
+	void cachedClaimsAreNotServedPastExpiry() throws InterruptedException {
+		JwtUtil jwtUtil = jwtUtil(100);
+		long expiresAt = System.currentTimeMillis() / 1000 * 1000 + 2000;
+		String token = Jwts.builder().setSubject("ravi@example.com").setExpiration(new Date(expiresAt))
+				.signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)), SignatureAlgorithm.HS512).compact();
+		assertEquals("ravi@example.com", jwtUtil.extractEmail(token));
+
+		Thread.sleep(Math.max(0L, expiresAt - System.currentTimeMillis()) + 50);
+		assertThrows(ExpiredJwtException.class, () -> jwtUtil.verify(token));
+		assertFalse(jwtUtil.validateToken(token));
+	}
+
+	@Test
+	void cacheIsBounded() {
+		JwtUtil jwtUtil = jwtUtil(50);
+		for (long id = 0; id < 200; id++) {
+			jwtUtil.extractEmail(jwtUtil.generateToken("user" + id + "@example.com", "ROLE_USER", "U", id));
+		}
+		assertEquals(50, jwtUtil.getStats().get("cachedTokens"));
+	}
+
+	@Test
+	void repeatedRequestsVerifyAtMostOnce() {
+		JwtUtil jwtUtil = jwtUtil(1_000);
+		String[] tokens = tokens(jwtUtil, 100);
+		for (int round = 0; round < 3; round++) {
+			for (String token : tokens) {
+				// The filter, then the controller
+				jwtUtil.verify(token);
+				jwtUtil.extractEmail(token);
+			}
+		}
+		assertEquals((long) tokens.length, jwtUtil.getStats().get("verifications"));
+	}
+
+	/**
+	 * One authenticated request used to verify its token three or four times
+	 * (validateToken and extractEmail in the filter, extractEmail again in the
+	 * controller), each time through a freshly built parser. Logs that cost per
+	 * request against the cached path.
+	 */
+	@Test
+	@Tag("benchmark")
+	void cachedVerificationCost() {
+		JwtUtil jwtUtil = jwtUtil(10_000);
+		String[] tokens = tokens(jwtUtil, 100);
+		var key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+
+		long checksum = 0L;
+		long start = System.nanoTime();
+		for (int i = 0; i < REQUESTS; i++) {
+			String token = tokens[i % tokens.length];
+			// Previous path: validate, extract in the filter, extract again in the controller
+			Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+			Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody().getSubject();
+			checksum += Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody().getSubject()
+					.length();
+		}
+		long uncachedNanos = (System.nanoTime() - start) / REQUESTS;
+
+		start = System.nanoTime();
+		for (int i = 0; i < REQUESTS; i++) {
+			String token = tokens[i % tokens.length];
+			checksum += jwtUtil.verify(token).email().length();
+			checksum += jwtUtil.extractEmail(token).length();
+		}
+		long cachedNanos = (System.nanoTime() - start) / REQUESTS;
+
+		log.info("JWT per request: ~{} ns with 3 verifications, ~{} ns cached ({}, {})", uncachedNanos, cachedNanos,
+				jwtUtil.getStats(), checksum % 10);
+	}
+
+	private static String[] tokens(JwtUtil jwtUtil, int count) {
+		String[] tokens = new String[count];
+		for (int i = 0; i < tokens.length; i++) {
+			tokens[i] = jwtUtil.generateToken("user" + i + "@example.com", "ROLE_USER", "U", (long) i);
+		}
+		return tokens;
+	}
+
+	private static JwtUtil jwtUtil(int cacheSize) {
+		JwtUtil jwtUtil = new JwtUtil();
+		ReflectionTestUtils.setField(jwtUtil, "base64Secret", SECRET);
+		ReflectionTestUtils.setField(jwtUtil, "claimsCacheSize", cacheSize);
+		jwtUtil.init();
+		return jwtUtil;
+	}
+
+}
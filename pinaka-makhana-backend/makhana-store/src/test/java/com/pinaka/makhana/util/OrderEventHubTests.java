@@ -0,0 +1,96 @@
+package com.pinaka.makhana.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.pinaka.makhana.util.OrderEventHub.OrderEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OrderEventHubTests {
+
+	@Test
+	void subscriberIsDisconnectedWhenItsBufferFills() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		OrderEventHub hub = new OrderEventHub(registry, 4, 100, 30, 1, 2000);
+
+		// Live events published while the replay is still being written are held in the buffer
+		hub.subscribe(1L, () -> {
+			for (long id = 1; id <= 5; id++) {
+				hub.publish(new OrderEvent(id, 1L, "SHIPPED", "PLACED", LocalDateTime.now()));
+			}
+			return List.of();
+		});
+
+		assertEquals(0, hub.getConnectionCount());
+		assertEquals(1.0, registry.get("orders.events.overflows").counter().count());
+		hub.shutdown();
+	}
+
+	@Test
+	void stalledSubscriberIsDroppedWithoutHoldingUpOthers() throws Exception {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		// One dispatcher thread, so a write it waited on forever would stall every stream
+		OrderEventHub hub = new OrderEventHub(registry, 16, 100, 30, 1, 200);
+		CountDownLatch never = new CountDownLatch(1);
+		BlockingQueue<SseEmitter.SseEventBuilder> received = new LinkedBlockingQueue<>();
+
+		hub.subscribe(1L, List::of, () -> new SseEmitter() {
+			@Override
+			public void send(SseEventBuilder builder) throws IOException {
+				try {
+					never.await();
+				} catch (InterruptedException e) {
+					throw new IOException(e);
+				}
+			}
+		});
+		hub.subscribe(1L, List::of, () -> new SseEmitter() {
+			@Override
+			public void send(SseEventBuilder builder) {
+				received.add(builder);
+			}
+		});
+
+		for (long id = 1; id <= 5; id++) {
+			hub.publish(new OrderEvent(id, 1L, "SHIPPED", "PLACED", LocalDateTime.now().plusSeconds(id)));
+		}
+		for (int i = 0; i < 5; i++) {
+			assertNotNull(received.poll(5, TimeUnit.SECONDS));
+		}
+
+		// The healthy stream may finish before the stalled write times out
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (hub.getConnectionCount() > 1 && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		assertEquals(1, hub.getConnectionCount());
+		assertEquals(1.0, registry.get("orders.events.send.timeouts").counter().count());
+		never.countDown();
+		hub.shutdown();
+	}
+
+	@Test
+	void connectionLimitIsEnforced() {
+		OrderEventHub hub = new OrderEventHub(new SimpleMeterRegistry(), 16, 2, 30, 1, 2000);
+		hub.subscribe(1L, List::of);
+		hub.subscribe(1L, List::of);
+
+		assertThrows(RuntimeException.class, () -> hub.subscribe(2L, List::of));
+		assertEquals(2, hub.getConnectionCount());
+		hub.shutdown();
+	}
+
+}
@@ -0,0 +1,85 @@
+package com.pinaka.makhana.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import com.pinaka.makhana.util.PricingEngine.Rounding;
+
+class PricingEngineTests {
+
+	private static final int SAMPLES = 100_000;
+
+	@Test
+	void paiseRoundTripIsExact() {
+		SplittableRandom random = new SplittableRandom(42);
+		for (int i = 0; i < SAMPLES; i++) {
+			long paise = random.nextLong(0, 10_000_000_000L);
+			assertEquals(paise, PricingEngine.toPaise(PricingEngine.toRupees(paise)));
+			assertEquals(paise, PricingEngine.toPaise(PricingEngine.toRupeesDouble(paise)));
+		}
+	}
+
+	@Test
+	void divideMatchesBigDecimalRounding() {
+		SplittableRandom random = new SplittableRandom(7);
+		for (int i = 0; i < SAMPLES; i++) {
+			long numerator = random.nextLong(-1_000_000_000L, 1_000_000_000L);
+			long denominator = random.nextLong(1, 20_000);
+			BigDecimal exact = BigDecimal.valueOf(numerator);
+			BigDecimal divisor = BigDecimal.valueOf(denominator);
+			assertEquals(exact.divide(divisor, 0, RoundingMode.HALF_UP).longValueExact(),
+					PricingEngine.divide(numerator, denominator, Rounding.HALF_UP));
+			assertEquals(exact.divide(divisor, 0, RoundingMode.HALF_EVEN).longValueExact(),
+					PricingEngine.divide(numerator, denominator, Rounding.HALF_EVEN));
+			assertEquals(exact.divide(divisor, 0, RoundingMode.DOWN).longValueExact(),
+					PricingEngine.divide(numerator, denominator, Rounding.DOWN));
+		}
+	}
+
+	@Test
+	void percentageDiscountIsBoundedAndCapped() {
+		SplittableRandom random = new SplittableRandom(11);
+		for (int i = 0; i < SAMPLES; i++) {
+			long amount = random.nextLong(0, 100_000_000L);
+			long basisPoints = random.nextLong(0, 10_001);
+			long cap = random.nextBoolean() ? -1L : random.nextLong(0, 1_000_000L);
+
+			long discount = PricingEngine.percentageDiscount(amount, basisPoints, cap);
+
+			assertTrue(discount >= 0 && discount <= amount);
+			if (cap >= 0) {
+				assertTrue(discount <= cap);
+			}
+			long expected = BigDecimal.valueOf(amount).multiply(BigDecimal.valueOf(basisPoints))
+					.divide(BigDecimal.valueOf(10_000), 0, RoundingMode.HALF_UP).longValueExact();
+			assertEquals(cap >= 0 ? Math.min(expected, cap) : expected, discount);
+		}
+	}
+
+	@Test
+	void fixedDiscountNeverExceedsAmount() {
+		SplittableRandom random = new SplittableRandom(13);
+		for (int i = 0; i < SAMPLES; i++) {
+			long amount = random.nextLong(0, 100_000_000L);
+			long value = random.nextLong(0, 100_000_000L);
+			assertEquals(Math.min(amount, value), PricingEngine.fixedDiscount(amount, value));
+		}
+	}
+
+	@Test
+	void lineTotalsSumExactly() {
+		// 0.1 + 0.2 style drift cannot happen in paise
+		long total = 0;
+		for (int i = 0; i < 1000; i++) {
+			total += PricingEngine.lineTotal(PricingEngine.toPaise(0.10), 1);
+		}
+		assertEquals(new BigDecimal("100.00"), PricingEngine.toRupees(total));
+	}
+
+}
@@ -0,0 +1,235 @@
+package com.pinaka.makhana.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.pinaka.makhana.entity.Product.ProductCategory;
+import com.pinaka.makhana.entity.Promotion.PromotionType;
+import com.pinaka.makhana.util.PromotionEngine.Line;
+import com.pinaka.makhana.util.PromotionEngine.Result;
+
+class PromotionEngineTests {
+
+	private static final Logger log = LoggerFactory.getLogger(PromotionEngineTests.class);
+
+	private static final int ACTIVE_RULES = 5_000;
+	private static final int PRODUCTS = 500;
+	private static final int CARTS = 20_000;
+
+	@Test
+	void buyThreeFlavoredGetOneFreeGivesAwayTheCheapestUnit() {
+		PromotionEngine engine = new PromotionEngine(List.of(buyGet(1L, null, ProductCategory.FLAVORED_MAKHANA, 3, 1)));
+		Result result = engine.evaluate(List.of(new Line(10L, ProductCategory.FLAVORED_MAKHANA, 25_000L, 3),
+				new Line(11L, ProductCategory.FLAVORED_MAKHANA, 19_900L, 2),
+				new Line(12L, ProductCategory.ROASTED_MAKHANA, 9_900L, 4)));
+		// 5 flavored units make one group of 4; the roasted line is not in the category
+		assertEquals(19_900L, result.discountPaise());
+		assertEquals(1, result.applied().size());
+	}
+
+	@Test
+	void productPromotionComesFirstAndLeftoverUnitsPoolByCategory() {
+		PromotionEngine engine = new PromotionEngine(List.of(buyGet(1L, 10L, null, 2, 1),
+				tier(2L, null, ProductCategory.FLAVORED_MAKHANA, 2, 10.0)));
+		Result result = engine.evaluate(List.of(new Line(10L, ProductCategory.FLAVORED_MAKHANA, 10_000L, 4),
+				new Line(11L, ProductCategory.FLAVORED_MAKHANA, 20_000L, 1)));
+		// Product 10: 3 of 4 units used, one free; the 4th unit pools with product 11 for the 10% tier
+		assertEquals(10_000L + 3_000L, result.discountPaise());
+		assertEquals(2, result.applied().size());
+	}
+
+	@Test
+	void tierLadderAndBundlesPickTheBestReachableOffer() {
+		PromotionEngine engine = new PromotionEngine(List.of(tier(1L, null, ProductCategory.GIFT_BOX, 2, 5.0),
+				tier(2L, null, ProductCategory.GIFT_BOX, 5, 15.0), tier(3L, null, ProductCategory.GIFT_BOX, 10, 20.0),
+				bundle(4L, null, ProductCategory.VARIETY_PACK, 3, 50_000L),
+				bundle(5L, null, ProductCategory.VARIETY_PACK, 3, 45_000L)));
+		assertEquals(4_500L, engine.evaluate(List.of(new Line(1L, ProductCategory.GIFT_BOX, 5_000L, 6)))
+				.discountPaise());
+		// Two sets of 3 from the priciest units: 2 x 20000 + 4 x 18000 - 2 x 45000
+		assertEquals(22_000L, engine.evaluate(List.of(new Line(2L, ProductCategory.VARIETY_PACK, 20_000L, 2),
+				new Line(3L, ProductCategory.VARIETY_PACK, 18_000L, 5))).discountPaise());
+	}
+
+	@Test
+	void indexedEvaluationMatchesFullScan() {
+		SplittableRandom random = new SplittableRandom(48);
+		List<PromotionRule> rules = randomRules(random, 1_000);
+		PromotionEngine engine = new PromotionEngine(rules);
+		List<List<Line>> carts = randomCarts(random, 500);
+		for (int i = 0; i < carts.size(); i++) {
+			assertEquals(fullScan(rules, carts.get(i)), engine.evaluate(carts.get(i)).discountPaise(), "cart " + i);
+		}
+	}
+
+	/**
+	 * 5k live rules over 500 products and every category: logs the indexed
+	 * engine's cost per cart next to a scan of every rule.
+	 */
+	@Test
+	@Tag("benchmark")
+	void indexedEvaluationLatency() {
+		SplittableRandom random = new SplittableRandom(48);
+		List<PromotionRule> rules = randomRules(random, ACTIVE_RULES);
+		PromotionEngine engine = new PromotionEngine(rules);
+		List<List<Line>> carts = randomCarts(random, CARTS);
+
+		long checksum = 0L;
+		long start = System.nanoTime();
+		for (int round = 0; round < 5; round++) {
+			for (List<Line> cart : carts) {
+				checksum += engine.evaluate(cart).discountPaise();
+			}
+		}
+		long indexedNanos = (System.nanoTime() - start) / (5 * CARTS);
+
+		start = System.nanoTime();
+		for (int i = 0; i < 2_000; i++) {
+			checksum += fullScan(rules, carts.get(i));
+		}
+		long scanNanos = (System.nanoTime() - start) / 2_000;
+		log.info("Promotions over {} active rules: ~{} ns per cart indexed, ~{} ns full scan ({})", ACTIVE_RULES,
+				indexedNanos, scanNanos, checksum % 10);
+	}
+
+	private static List<PromotionRule> randomRules(SplittableRandom random, int count) {
+		ProductCategory[] categories = ProductCategory.values();
+		List<PromotionRule> rules = new ArrayList<>();
+		for (long id = 1; id <= count; id++) {
+			boolean onCategory = random.nextInt(10) == 0;
+			Long productId = onCategory ? null : (long) random.nextInt(PRODUCTS);
+			ProductCategory category = onCategory ? categories[random.nextInt(categories.length)] : null;
+			switch (random.nextInt(3)) {
+			case 0:
+				rules.add(buyGet(id, productId, category, random.nextInt(1, 6), random.nextInt(1, 3)));
+				break;
+			case 1:
+				rules.add(tier(id, productId, category, random.nextInt(1, 20), random.nextInt(1, 40)));
+				break;
+			default:
+				rules.add(bundle(id, productId, category, random.nextInt(2, 8), random.nextLong(10_000, 200_000)));
+				break;
+			}
+		}
+		return rules;
+	}
+
+	private static List<List<Line>> randomCarts(SplittableRandom random, int count) {
+		ProductCategory[] categories = ProductCategory.values();
+		List<List<Line>> carts = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			int size = random.nextInt(1, 11);
+			List<Line> cart = new ArrayList<>(size);
+			for (int j = 0; j < size; j++) {
+				long productId = random.nextInt(PRODUCTS);
+				cart.add(new Line(productId, categories[(int) (productId % categories.length)],
+						random.nextLong(5_000, 60_000), random.nextInt(1, 13)));
+			}
+			carts.add(cart);
+		}
+		return carts;
+	}
+
+	// Reference: every rule evaluated on its own, same precedence and tie-break as the engine
+	private static long fullScan(List<PromotionRule> rules, List<Line> cart) {
+		int[] left = new int[cart.size()];
+		long total = 0L;
+		for (int i = 0; i < cart.size(); i++) {
+			Line line = cart.get(i);
+			left[i] = line.quantity();
+			long[] best = bestOffer(rules, line.productId(), null, new long[] { line.unitPaise() },
+					new int[] { line.quantity() });
+			total += best[0];
+			left[i] -= (int) best[1];
+		}
+		for (ProductCategory category : ProductCategory.values()) {
+			List<long[]> pool = new ArrayList<>();
+			for (int i = 0; i < cart.size(); i++) {
+				if (cart.get(i).category() == category && left[i] > 0) {
+					pool.add(new long[] { cart.get(i).unitPaise(), left[i] });
+				}
+			}
+			pool.sort((a, b) -> Long.compare(a[0], b[0]));
+			long[] prices = pool.stream().mapToLong(unit -> unit[0]).toArray();
+			int[] counts = pool.stream().mapToInt(unit -> (int) unit[1]).toArray();
+			total += bestOffer(rules, null, category, prices, counts)[0];
+		}
+		return total;
+	}
+
+	private static long[] bestOffer(List<PromotionRule> rules, Long productId, ProductCategory category,
+			long[] prices, int[] counts) {
+		int units = 0;
+		long value = 0L;
+		for (int i = 0; i < prices.length; i++) {
+			units += counts[i];
+			value += prices[i] * counts[i];
+		}
+		long bestSavings = 0L;
+		long bestUsed = 0L;
+		for (PromotionRule rule : rules) {
+			boolean targets = productId != null ? productId.equals(rule.productId())
+					: rule.productId() == null && rule.category() == category;
+			if (!targets || units == 0) {
+				continue;
+			}
+			long savings = 0L;
+			long used = 0L;
+			if (rule.type() == PromotionType.BUY_X_GET_Y) {
+				int groups = units / (rule.buyQuantity() + rule.freeQuantity());
+				savings = sum(prices, counts, groups * rule.freeQuantity(), true);
+				used = (long) groups * (rule.buyQuantity() + rule.freeQuantity());
+			} else if (rule.type() == PromotionType.QUANTITY_TIER) {
+				savings = units >= rule.minQuantity() ? PricingEngine.applyBasisPoints(value, rule.basisPoints(),
+						PricingEngine.DEFAULT_ROUNDING) : 0L;
+				used = units;
+			} else {
+				int sets = units / rule.bundleQuantity();
+				savings = sum(prices, counts, sets * rule.bundleQuantity(), false) - sets * rule.bundlePricePaise();
+				used = (long) sets * rule.bundleQuantity();
+			}
+			if (savings > bestSavings || (savings == bestSavings && savings > 0 && used < bestUsed)) {
+				bestSavings = savings;
+				bestUsed = used;
+			}
+		}
+		return new long[] { bestSavings, bestUsed };
+	}
+
+	private static long sum(long[] prices, int[] counts, int units, boolean cheapestFirst) {
+		long sum = 0L;
+		for (int k = 0; k < prices.length && units > 0; k++) {
+			int i = cheapestFirst ? k : prices.length - 1 - k;
+			int take = Math.min(units, counts[i]);
+			sum += prices[i] * take;
+			units -= take;
+		}
+		return sum;
+	}
+
+	private static PromotionRule buyGet(long id, Long productId, ProductCategory category, int buy, int free) {
+		return new PromotionRule(id, "P" + id, PromotionType.BUY_X_GET_Y, productId, category, buy, free, 0, 0L, 0,
+				0L, Long.MIN_VALUE, Long.MAX_VALUE);
+	}
+
+	private static PromotionRule tier(long id, Long productId, ProductCategory category, int minimum,
+			double percent) {
+		return new PromotionRule(id, "P" + id, PromotionType.QUANTITY_TIER, productId, category, 0, 0, minimum,
+				PricingEngine.toBasisPoints(percent), 0, 0L, Long.MIN_VALUE, Long.MAX_VALUE);
+	}
+
+	private static PromotionRule bundle(long id, Long productId, ProductCategory category, int quantity,
+			long pricePaise) {
+		return new PromotionRule(id, "P" + id, PromotionType.BUNDLE, productId, category, 0, 0, 0, 0L, quantity,
+				pricePaise, Long.MIN_VALUE, Long.MAX_VALUE);
+	}
+
+}
@@ -0,0 +1,143 @@
+package com.pinaka.makhana.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.pinaka.makhana.util.RateLimiter.Policy;
+
+class RateLimiterTests {
+
+	private static final Logger log = LoggerFactory.getLogger(RateLimiterTests.class);
+
+	private static final long SECOND = 1_000_000_000L;
+	private static final int THREADS = 8;
+	private static final int TARGET_RATE = 50_000;
+
+	@Test
+	void burstIsAdmittedThenOneRequestPerInterval() {
+		RateLimiter limiter = new RateLimiter(100);
+		Policy policy = new Policy("login", 5, SECOND);
+		long now = 42 * SECOND;
+		for (int i = 0; i < 5; i++) {
+			assertEquals(0L, limiter.tryAcquire(policy, "ip:1", now));
+		}
+		assertEquals(SECOND, limiter.tryAcquire(policy, "ip:1", now));
+		assertEquals(SECOND / 4, limiter.tryAcquire(policy, "ip:1", now + 3 * SECOND / 4));
+		// Other clients and other policies have buckets of their own
+		assertEquals(0L, limiter.tryAcquire(policy, "ip:2", now));
+		assertEquals(0L, limiter.tryAcquire(new Policy("coupons", 1, SECOND), "ip:1", now));
+
+		assertEquals(0L, limiter.tryAcquire(policy, "ip:1", now + SECOND));
+		assertTrue(limiter.tryAcquire(policy, "ip:1", now + SECOND) > 0);
+		// A long pause refills to capacity, never beyond it
+		for (int i = 0; i < 5; i++) {
+			assertEquals(0L, limiter.tryAcquire(policy, "ip:1", now + 100 * SECOND));
+		}
+		assertTrue(limiter.tryAcquire(policy, "ip:1", now + 100 * SECOND) > 0);
+	}
+
+	@Test
+	void concurrentCallersNeverExceedTheBucket() throws InterruptedException {
+		RateLimiter limiter = new RateLimiter(100);
+		Policy policy = new Policy("coupons", 1_000, SECOND);
+		AtomicLong admitted = new AtomicLong();
+		runConcurrently(THREADS, 20_000, (thread, i) -> {
+			if (limiter.tryAcquire(policy, "ip:1", 7 * SECOND) == 0L) {
+				admitted.incrementAndGet();
+			}
+		});
+		assertEquals(1_000L, admitted.get());
+	}
+
+	@Test
+	void bucketMapStaysBoundedAndKeepsActiveClients() {
+		RateLimiter limiter = new RateLimiter(1_000);
+		Policy policy = new Policy("login", 3, 60 * SECOND);
+		long now = 0L;
+		for (int i = 0; i < 3; i++) {
+			limiter.tryAcquire(policy, "ip:hot", now);
+		}
+		for (int i = 0; i < 10_000; i++) {
+			now += 1_000;
+			limiter.tryAcquire(policy, "ip:" + i, now);
+			assertTrue(limiter.size() <= 1_000, "buckets: " + limiter.size());
+			if (i % 100 == 0) {
+				// Still drained: an active client is never the least recently used
+				assertTrue(limiter.tryAcquire(policy, "ip:hot", now) > 0, "hot client evicted at " + i);
+			}
+		}
+		// Once every bucket has refilled, all of them can go
+		assertEquals(limiter.size(), limiter.evictIdle(now + 200 * SECOND));
+		assertEquals(0, limiter.size());
+	}
+
+	/**
+	 * Filter overhead at production-like load: 50k requests per second spread over
+	 * 20k clients and three policies. Logs the rate the limiter sustains on this
+	 * machine against that target.
+	 */
+	@Test
+	@Tag("benchmark")
+	void sustainsFiftyThousandRequestsPerSecond() throws InterruptedException {
+		RateLimiter limiter = new RateLimiter(100_000);
+		Policy[] policies = { Policy.perMinute("login", 10, 10), Policy.perMinute("register", 5, 5),
+				Policy.perMinute("coupons", 60, 300) };
+		int requestsPerThread = 10 * TARGET_RATE / THREADS;
+		String[] clients = new String[20_000];
+		for (int i = 0; i < clients.length; i++) {
+			clients[i] = "ip:10.0." + (i >> 8) + "." + (i & 0xff);
+		}
+
+		// Warm-up, then the measured run
+		runConcurrently(THREADS, requestsPerThread, (thread, i) -> limiter.tryAcquire(policies[i % 3],
+				clients[(thread * 7919 + i) % clients.length], System.nanoTime()));
+		long start = System.nanoTime();
+		runConcurrently(THREADS, requestsPerThread, (thread, i) -> limiter.tryAcquire(policies[i % 3],
+				clients[(thread * 104_729 + i * 31) % clients.length], System.nanoTime()));
+		long elapsed = System.nanoTime() - start;
+
+		long requests = (long) THREADS * requestsPerThread;
+		double perSecond = requests * (double) SECOND / elapsed;
+		log.info("Rate limiter: {} requests in {} ms, ~{} req/s (target {}), ~{} ns per request ({})", requests,
+				elapsed / 1_000_000, Math.round(perSecond), TARGET_RATE, elapsed * THREADS / requests,
+				limiter.getStats());
+		assertTrue(limiter.size() <= 100_000);
+	}
+
+	private interface Work {
+		void run(int thread, int iteration);
+	}
+
+	private static void runConcurrently(int threads, int iterations, Work work) throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		for (int t = 0; t < threads; t++) {
+			int thread = t;
+			executor.execute(() -> {
+				try {
+					start.await();
+					for (int i = 0; i < iterations; i++) {
+						work.run(thread, i);
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+		}
+		start.countDown();
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+	}
+
+}
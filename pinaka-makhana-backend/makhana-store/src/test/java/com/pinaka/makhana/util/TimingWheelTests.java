@@ -0,0 +1,106 @@
+package com.pinaka.makhana.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+class TimingWheelTests {
+
+	private static final Logger log = LoggerFactory.getLogger(TimingWheelTests.class);
+
+	private static final long TICK = 100L;
+	private static final int WHEEL_SIZE = 64;
+	private static final long HORIZON = 30L * 24 * 60 * 60 * 1000;
+	private static final long MAX_OVERSLEEP = 250L;
+
+	/**
+	 * Coupon windows a month out land several wheels up; every task must still fire
+	 * after its deadline, and within one tick of it plus however late the clock woke.
+	 */
+	@Test
+	void tasksFireAfterTheirDeadlineWithinOneTick() {
+		drain(10_000);
+	}
+
+	@Test
+	@Tag("benchmark")
+	void drainsAHundredThousandTasks() {
+		int tasks = 100_000;
+		long millis = drain(tasks);
+		log.info("Timing wheel: {} tasks over 30 days drained in {} ms", tasks, millis);
+	}
+
+	private static long drain(int tasks) {
+		SplittableRandom random = new SplittableRandom(47);
+		long start = 1_700_000_000_000L;
+		TimingWheel wheel = new TimingWheel(TICK, WHEEL_SIZE, start);
+		long[] deadlines = new long[tasks];
+		long[] firedAt = new long[tasks];
+		long[] clock = { start };
+		for (int i = 0; i < tasks; i++) {
+			int task = i;
+			deadlines[i] = start + random.nextLong(0, HORIZON);
+			assertTrue(wheel.add(deadlines[i], () -> firedAt[task] = clock[0]));
+		}
+		assertEquals(tasks, wheel.size());
+		assertTrue(wheel.levels() >= 4, "levels: " + wheel.levels());
+
+		long addedLater = 0;
+		List<Runnable> due = new ArrayList<>();
+		long began = System.nanoTime();
+		while (wheel.size() > 0) {
+			// Sleep until the next bucket, sometimes waking early or late like the timer thread
+			long next = wheel.nextExpiration();
+			clock[0] = Math.max(clock[0] + 1, next + random.nextLong(-50, MAX_OVERSLEEP));
+			wheel.advance(clock[0], due::add);
+			due.forEach(Runnable::run);
+			due.clear();
+			if (addedLater < 1_000 && random.nextInt(20) == 0) {
+				// Scheduling against an advanced clock must still land in the right bucket
+				long deadline = clock[0] + random.nextLong(0, 10_000_000);
+				assertTrue(wheel.add(deadline, () -> assertTrue(clock[0] > deadline)));
+				addedLater++;
+			}
+		}
+		long millis = (System.nanoTime() - began) / 1_000_000;
+
+		for (int i = 0; i < tasks; i++) {
+			assertTrue(firedAt[i] > deadlines[i], "task " + i + " fired early");
+			assertTrue(firedAt[i] - deadlines[i] <= TICK + MAX_OVERSLEEP, "task " + i + " fired "
+					+ (firedAt[i] - deadlines[i]) + " ms late");
+		}
+		return millis;
+	}
+
+	@Test
+	void pastDeadlinesAreHandedBackToTheCaller() {
+		TimingWheel wheel = new TimingWheel(TICK, WHEEL_SIZE, 10_000L);
+		assertFalse(wheel.add(9_999L, () -> {
+		}));
+		assertEquals(0, wheel.size());
+		assertEquals(Long.MAX_VALUE, wheel.nextExpiration());
+	}
+
+	@Test
+	void nothingFiresBeforeItsTickEnds() {
+		TimingWheel wheel = new TimingWheel(TICK, WHEEL_SIZE, 0L);
+		List<Runnable> due = new ArrayList<>();
+		wheel.add(150L, () -> {
+		});
+		wheel.advance(150L, due::add);
+		assertTrue(due.isEmpty());
+		assertEquals(200L, wheel.nextExpiration());
+		wheel.advance(200L, due::add);
+		assertEquals(1, due.size());
+	}
+
+}
@@ -0,0 +1,20 @@
+-- The rollup tables from V10. The outbox and id_generators come from the entities.
+CREATE TABLE sales_rollup_hourly (
+    dimension VARCHAR(16) NOT NULL,
+    bucket_start DATETIME NOT NULL,
+    dimension_key VARCHAR(255) NOT NULL,
+    order_count BIGINT NOT NULL DEFAULT 0,
+    units BIGINT NOT NULL DEFAULT 0,
+    revenue_paise BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (dimension, bucket_start, dimension_key)
+);
+
+CREATE TABLE sales_rollup_daily (
+    dimension VARCHAR(16) NOT NULL,
+    bucket_start DATETIME NOT NULL,
+    dimension_key VARCHAR(255) NOT NULL,
+    order_count BIGINT NOT NULL DEFAULT 0,
+    units BIGINT NOT NULL DEFAULT 0,
+    revenue_paise BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (dimension, bucket_start, dimension_key)
+);
@@ -151,28 +151,8 @@ const Checkout = () => {
         await new Promise(resolve => setTimeout(resolve, 2000));
       }
       
-      // Prepare order data
-      const orderData = {
-        ...orderForm,
-        couponCode: couponApplied ? orderForm.couponCode : null,
-        subtotal,
-        discount: couponDiscount,
-        total
-      };
-      
-      // Place order in backend
-      const response = await apiService.placeOrder(orderData);
-      
-      // If coupon was applied, increment its usage
-      if (couponApplied) {
-        try {
-          // Call the API service to increment coupon usage
-          await apiService.incrementCouponUsage(orderForm.couponCode);
-        } catch (error) {
-          console.error('Failed to update coupon usage:', error);
-          // Non-critical error, don't show to user
-        }
-      }
+      // Place order in backend; the coupon is re-checked and redeemed with the order
+      await apiService.placeOrder(couponApplied ? orderForm.couponCode : null);
       
       // Clear cart and redirect
       clearCart();
@@ -3,7 +3,7 @@ import { formatPrice } from '../utils/formatPrice';
 import { useAuth } from '../components/context/AuthContext';
 import { useToast } from '../components/context/ToastContext';
 import { CartContext } from '../components/context/CartContext';
-import { getProductImage } from '../utils/productImageMapper';
+import { getProductImage, snapshotProduct } from '../utils/productImageMapper';
 import apiService from '../services/api';
 
 const Orders = () => {
@@ -84,7 +84,7 @@ const Orders = () => {
       
       Items:
       ${order.orderItems?.map(item => 
-        `${item.product?.name} - Qty: ${item.quantity} - ₹${item.price}`
+        `${item.product?.name || item.productName} - Qty: ${item.quantity} - ₹${item.price}`
       ).join('\n') || 'No items'}
       
       Total: ₹${order.totalAmount}
@@ -122,7 +122,7 @@ const Orders = () => {
       
       for (const item of items) {
         try {
-          const product = item.product || item;
+          const product = item.product || snapshotProduct(item);
           const quantity = item.quantity || 1;
           
           // Add items to cart multiple times based on quantity
@@ -317,7 +317,7 @@ const Orders = () => {
                             
                             return items.map((item, index) => {
                               // Handle different item structures
-                              const product = item.product || item;
+                              const product = item.product || snapshotProduct(item);
                               const productName = product.name || product.productName || 'Unknown Product';
                               const productId = product.id || product.productId || index;
                               const quantity = item.quantity || 1;
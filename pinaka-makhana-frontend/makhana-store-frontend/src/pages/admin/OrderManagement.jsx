@@ -2,7 +2,7 @@ import React, { useState, useEffect } from 'react';
 import { Link } from 'react-router-dom';
 import { useToast } from '../../components/context/ToastContext';
 import apiService from '../../services/api';
-import { getProductImage } from '../../utils/productImageMapper';
+import { getProductImage, snapshotProduct } from '../../utils/productImageMapper';
 
 const OrderManagement = () => {
   const [orders, setOrders] = useState([]);
@@ -240,7 +240,7 @@ const OrderManagement = () => {
                               </div>
                             ) : (
                               orderDetails.items.map((item, index) => {
-                                const product = item.product || item;
+                                const product = item.product || snapshotProduct(item);
                                 const unitPrice = item.quantity > 0 ? (item.price || 0) / item.quantity : 0;
                                 return (
                                   <div key={index} className="flex items-center space-x-3 p-3 bg-gray-50 rounded-lg border border-gray-100">
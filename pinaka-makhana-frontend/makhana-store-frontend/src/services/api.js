@@ -149,8 +149,10 @@ class ApiService {
   }
 
   // Order APIs
-  async placeOrder() {
-    const url = `${this.baseURL}/orders/place`;
+  // Coupon usage is recorded by the backend as part of placing the order
+  async placeOrder(couponCode) {
+    const query = couponCode ? `?couponCode=${encodeURIComponent(couponCode)}` : '';
+    const url = `${this.baseURL}/orders/place${query}`;
     const token = localStorage.getItem('token');
     
     const response = await fetch(url, {
@@ -606,12 +608,6 @@ class ApiService {
       method: 'DELETE',
     });
   }
-
-  async incrementCouponUsage(code) {
-    return this.request(`/coupons/increment-usage/${code}`, {
-      method: 'POST',
-    });
-  }
 }
 
 export default new ApiService();
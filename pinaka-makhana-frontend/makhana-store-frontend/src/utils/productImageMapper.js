@@ -100,8 +100,23 @@ export const addLocalImagesToProducts = (products) => {
   return products.map(addLocalImageToProduct);
 };
 
+/**
+ * Build a product-like object from an order line's checkout snapshot
+ * @param {Object} item - Order item with productId/productName/thumbnailUrl fields
+ * @returns {Object} - Object usable wherever a product is expected
+ */
+export const snapshotProduct = (item) => ({
+  ...item,
+  id: item.productId,
+  name: item.productName,
+  sku: item.productSku,
+  weight: item.productWeight,
+  imageUrl: item.thumbnailUrl
+});
+
 export default {
   getProductImage,
+  snapshotProduct,
   addLocalImageToProduct,
   addLocalImagesToProducts
 };